@@ -1,6 +1,5 @@
 package com.dev.education_nearby_server.config;
 
-import com.dev.education_nearby_server.models.entity.User;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -28,10 +27,7 @@ public class ApplicationAuditAware implements AuditorAware<Long> {
             return Optional.empty();
         }
 
-        Object principal = authentication.getPrincipal();
-        if (principal instanceof User userPrincipal) {
-            return Optional.ofNullable(userPrincipal.getId());
-        }
-        return Optional.empty();
+        return AuthenticatedUser.fromPrincipal(authentication.getPrincipal())
+                .map(AuthenticatedUser::getId);
     }
 }
@@ -3,8 +3,11 @@ package com.dev.education_nearby_server.config;
 import com.dev.education_nearby_server.repositories.UserRepository;
 import com.dev.education_nearby_server.repositories.TokenRepository;
 import com.dev.education_nearby_server.services.LogoutService;
+import com.dev.education_nearby_server.utils.FieldSelection;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -47,7 +50,10 @@ public class ApplicationConfig {
 
         objectMapper
                 .registerModule(new JavaTimeModule())
-                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
+                // Responses with sparse fieldsets are written in full unless a request narrows them.
+                .setFilterProvider(new SimpleFilterProvider()
+                        .addFilter(FieldSelection.FILTER_ID, SimpleBeanPropertyFilter.serializeAll()));
 
         return objectMapper;
     }
@@ -84,11 +90,11 @@ public class ApplicationConfig {
     }
 
     /**
-     * Configures JavaMailSender from Spring mail properties if provided; defaults are left unset.
+     * Configures a pooled JavaMailSender from Spring mail properties if provided; defaults are left unset.
      */
     @Bean
-    public JavaMailSender javaMailSender(Environment env) {
-        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+    public JavaMailSender javaMailSender(Environment env, SmtpPoolProperties smtpPoolProperties) {
+        JavaMailSenderImpl mailSender = new PooledJavaMailSender(smtpPoolProperties);
 
         String host = env.getProperty("spring.mail.host");
         if (host != null && !host.isBlank()) {
@@ -8,7 +8,7 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import java.util.concurrent.Executor;
 
 /**
- * Async executor configuration for background export jobs.
+ * Async executor configuration for background export jobs, outbound email delivery and subscriber notifications.
  */
 @Configuration
 @EnableAsync
@@ -24,5 +24,26 @@ public class AsyncConfiguration {
         executor.initialize();
         return executor;
     }
-}
 
+    @Bean(name = "emailTaskExecutor")
+    public Executor emailTaskExecutor(EmailOutboxProperties emailOutboxProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("email-outbox-");
+        executor.setCorePoolSize(emailOutboxProperties.getWorkers());
+        executor.setMaxPoolSize(emailOutboxProperties.getWorkers());
+        executor.setQueueCapacity(emailOutboxProperties.getWorkers());
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "notificationTaskExecutor")
+    public Executor notificationTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("notification-fanout-");
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(500);
+        executor.initialize();
+        return executor;
+    }
+}
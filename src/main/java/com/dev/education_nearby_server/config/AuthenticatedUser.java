@@ -0,0 +1,73 @@
+package com.dev.education_nearby_server.config;
+
+import com.dev.education_nearby_server.enums.Role;
+import com.dev.education_nearby_server.models.entity.User;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Immutable, detached snapshot of a user placed in the SecurityContext for JWT-authenticated requests.
+ * Holds only what authorization checks need so it can be cached without keeping a JPA entity alive.
+ */
+@Getter
+public final class AuthenticatedUser implements UserDetails, Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String username;
+    private final Role role;
+    private final List<GrantedAuthority> authorities;
+    private final boolean enabled;
+    private final Long administratedLyceumId;
+
+    private AuthenticatedUser(Long id, String username, Role role, boolean enabled, Long administratedLyceumId) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+        this.authorities = role == null ? List.of() : List.copyOf(role.getAuthorities());
+        this.enabled = enabled;
+        this.administratedLyceumId = administratedLyceumId;
+    }
+
+    /**
+     * Copies the authorization-relevant fields of a loaded user entity.
+     */
+    public static AuthenticatedUser from(User user) {
+        Long lyceumId = user.getAdministratedLyceum() != null ? user.getAdministratedLyceum().getId() : null;
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole(), user.isEnabled(), lyceumId);
+    }
+
+    /**
+     * Resolves a SecurityContext principal, accepting both cached snapshots and full user entities.
+     */
+    public static Optional<AuthenticatedUser> fromPrincipal(Object principal) {
+        if (principal instanceof AuthenticatedUser authenticatedUser) {
+            return Optional.of(authenticatedUser);
+        }
+        if (principal instanceof User user) {
+            return Optional.of(from(user));
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    /**
+     * Credentials are never cached; password checks go through the full user details service.
+     */
+    @Override
+    public String getPassword() {
+        return null;
+    }
+}
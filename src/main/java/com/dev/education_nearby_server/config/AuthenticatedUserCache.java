@@ -0,0 +1,68 @@
+package com.dev.education_nearby_server.config;
+
+import com.dev.education_nearby_server.repositories.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Short-lived, bounded cache of {@link AuthenticatedUser} snapshots keyed by token subject.
+ * Avoids loading the user entity (and its eager relations) on every authenticated request.
+ * Entries must be evicted whenever a user's identity, role, password, or status changes.
+ */
+@Component
+public class AuthenticatedUserCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, AuthenticatedUser> cache;
+
+    public AuthenticatedUserCache(UserRepository userRepository, PrincipalCacheProperties properties) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumSize(properties.getMaxSize())
+                .build();
+    }
+
+    /**
+     * Returns the cached principal for the given username or email, loading it on a miss.
+     *
+     * @throws UsernameNotFoundException when no matching user exists
+     */
+    public AuthenticatedUser get(String username) {
+        return cache.get(username, this::load);
+    }
+
+    /**
+     * Drops cached principals for every provided key; null keys are ignored.
+     * Inside a transaction the keys are dropped once it commits, so a request served before the
+     * commit cannot put the old row back into the cache.
+     */
+    public void evict(String... usernames) {
+        List<String> keys = Arrays.stream(usernames).filter(Objects::nonNull).toList();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidateAll(keys);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.invalidateAll(keys);
+            }
+        });
+    }
+
+    private AuthenticatedUser load(String username) {
+        return userRepository.findByEmail(username)
+                .or(() -> userRepository.findByUsername(username))
+                .map(AuthenticatedUser::from)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    }
+}
@@ -0,0 +1,51 @@
+package com.dev.education_nearby_server.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the per-user iCalendar feeds of subscribed courses.
+ */
+@Getter
+@Setter
+@Validated
+@Component
+@ConfigurationProperties(prefix = "app.calendar")
+public class CalendarFeedProperties {
+
+    /**
+     * Time zone in which course schedules are defined; emitted as the TZID of every event.
+     */
+    @NotBlank
+    private String timeZone = "Europe/Sofia";
+
+    /**
+     * Display name calendar apps show for the subscribed feed.
+     */
+    @NotBlank
+    private String calendarName = "Education Nearby";
+
+    /**
+     * Upper bound on rendered feed bytes kept in memory across all users.
+     */
+    @Min(1)
+    private long cacheMaxBytes = 64L * 1024 * 1024;
+
+    /**
+     * Feeds larger than this are streamed but not cached.
+     */
+    @Min(1)
+    private int maxCachedFeedBytes = 1024 * 1024;
+
+    /**
+     * How long a rendered feed stays cached after it was last served.
+     */
+    private Duration cacheExpireAfterAccess = Duration.ofHours(1);
+}
@@ -0,0 +1,55 @@
+package com.dev.education_nearby_server.config;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the precompressed catalog snapshot files.
+ */
+@Getter
+@Setter
+@Validated
+@Component
+@ConfigurationProperties(prefix = "app.catalog.snapshot")
+public class CatalogSnapshotProperties {
+
+    /**
+     * Whether snapshots are rebuilt in the background on this node; when disabled they are
+     * built once on first request only.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Local directory holding the snapshot files of this node; not to be shared between nodes.
+     */
+    @NotBlank
+    private String directory = "catalog-snapshots";
+
+    /**
+     * How often the catalog is checked for changes.
+     */
+    private Duration pollInterval = Duration.ofSeconds(10);
+
+    /**
+     * A change is published once the catalog has stayed unchanged this long, so a burst of
+     * edits produces one rebuild.
+     */
+    private Duration quietPeriod = Duration.ofSeconds(30);
+
+    /**
+     * Longest a change waits for a quiet period before it is published anyway.
+     */
+    private Duration maxDelay = Duration.ofMinutes(2);
+
+    /**
+     * Snapshots are rebuilt at least this often, because ratings and subscriber counts change
+     * without marking the catalog rows as updated.
+     */
+    private Duration maxAge = Duration.ofMinutes(15);
+}
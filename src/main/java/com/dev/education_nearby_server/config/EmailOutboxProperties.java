@@ -0,0 +1,96 @@
+package com.dev.education_nearby_server.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the workers that drain the transactional email outbox.
+ */
+@Getter
+@Setter
+@Validated
+@Component
+@ConfigurationProperties(prefix = "app.email.outbox")
+public class EmailOutboxProperties {
+
+    /**
+     * Whether this node delivers queued emails; messages are still queued when disabled.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of concurrent delivery loops on this node.
+     */
+    @Min(1)
+    private int workers = 2;
+
+    /**
+     * Due messages fetched per outbox query.
+     */
+    @Min(1)
+    private int batchSize = 20;
+
+    /**
+     * Delivery attempts before a message is dead-lettered.
+     */
+    @Min(1)
+    private int maxAttempts = 6;
+
+    /**
+     * Delay before the first retry; doubled after each further failure.
+     */
+    private Duration initialBackoff = Duration.ofSeconds(30);
+
+    /**
+     * Upper bound on the retry delay.
+     */
+    private Duration maxBackoff = Duration.ofHours(1);
+
+    /**
+     * How long a claimed message stays reserved before another worker may retry it.
+     */
+    private Duration lease = Duration.ofMinutes(5);
+
+    /**
+     * Interval of the safety poll that picks up retries and messages missed by commit notifications.
+     */
+    private Duration pollInterval = Duration.ofSeconds(5);
+
+    /**
+     * Whether the scheduled purge of sent and dead-lettered messages runs on this node.
+     */
+    private boolean purgeEnabled = true;
+
+    /**
+     * Cron expression for the purge schedule.
+     */
+    private String purgeCron = "0 30 3 * * *";
+
+    /**
+     * How long sent and dead-lettered messages are kept before they become eligible for deletion.
+     */
+    private Duration retention = Duration.ofDays(14);
+
+    /**
+     * Rows deleted per purge transaction.
+     */
+    @Min(1)
+    private int purgeBatchSize = 500;
+
+    /**
+     * Upper bound on purge batches per run.
+     */
+    @Min(1)
+    private int purgeMaxBatchesPerRun = 200;
+
+    /**
+     * Lease duration for the cluster-wide purge lock.
+     */
+    private Duration purgeLockDuration = Duration.ofMinutes(30);
+}
@@ -5,6 +5,8 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 /**
  * Storage options for asynchronous subscriber exports.
  */
@@ -28,4 +30,38 @@ public class ExportProperties {
      * Presigned download URL validity in minutes.
      */
     private int presignedUrlMinutes = 10;
+
+    /**
+     * How long a completed export is handed out again for identical requests while the subscriber
+     * set is unchanged. A running export is joined if it reported progress within this window.
+     * Zero always generates a new file.
+     */
+    private Duration reuseWindow = Duration.ofMinutes(5);
+
+    /**
+     * Most course subscriber lists a lyceum-wide export reads at the same time.
+     */
+    private int archiveConcurrency = 4;
+
+    /**
+     * Multipart upload part size for lyceum-wide export archives, in megabytes. S3 requires at least 5;
+     * values above 256 are capped because a whole part is buffered in memory.
+     */
+    private int archivePartSizeMb = 8;
+
+    /**
+     * Most export progress event streams one node keeps open; further clients are told to poll.
+     */
+    private int maxEventStreams = 200;
+
+    /**
+     * Interval between heartbeats on open event streams. Each heartbeat also re-reads the watched
+     * jobs, so jobs processed on another node are reported within this interval.
+     */
+    private Duration eventHeartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * Longest an event stream stays open; clients reconnect after it closes.
+     */
+    private Duration eventStreamTimeout = Duration.ofMinutes(30);
 }
@@ -0,0 +1,44 @@
+package com.dev.education_nearby_server.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary response encodings negotiated through the {@code Accept} header: {@code application/cbor}
+ * and {@code application/x-jackson-smile}. JSON stays the default for clients that do not ask for either.
+ * Both converters copy the application {@link ObjectMapper}, so modules, date handling and
+ * sparse fieldset filters behave exactly as they do for JSON.
+ */
+@Configuration
+public class HttpEncodingConfiguration {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper(objectMapper));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2SmileHttpMessageConverter(smileMapper(objectMapper));
+    }
+
+    public static ObjectMapper cborMapper(ObjectMapper objectMapper) {
+        return objectMapper.copyWith(new CBORFactory());
+    }
+
+    /**
+     * Catalog pages repeat towns, regions and enum values on every row, so repeated short
+     * string values are written once and back-referenced afterwards.
+     */
+    public static ObjectMapper smileMapper(ObjectMapper objectMapper) {
+        return objectMapper.copyWith(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build());
+    }
+}
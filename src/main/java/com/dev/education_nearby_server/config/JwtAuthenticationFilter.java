@@ -13,14 +13,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 /**
- * Servlet filter that validates bearer JWTs, loads user details, and populates the SecurityContext.
+ * Servlet filter that validates bearer JWTs, resolves the cached principal, and populates the SecurityContext.
  */
 @Component
 @RequiredArgsConstructor
@@ -28,7 +26,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final AuthenticatedUserCache authenticatedUserCache;
     private final TokenRepository tokenRepository;
 
     /**
@@ -55,13 +53,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         try {
             jwt = authHeader.substring(7);
-            username = jwtService.extractUsername(jwt);
+            // Verify the signature once and reuse the parsed subject/expiry for the validity check below
+            JwtService.ParsedToken parsedToken = jwtService.parseToken(jwt);
+            username = parsedToken.subject();
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                AuthenticatedUser userDetails = authenticatedUserCache.get(username);
                 var isTokenValid = tokenRepository.findByToken(jwt)
                         .map(t -> !t.isExpired() && !t.isRevoked())
                         .orElse(false);
-                if (jwtService.isTokenValid(jwt, userDetails) && isTokenValid) {
+                if (parsedToken.isValidFor(userDetails) && isTokenValid) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
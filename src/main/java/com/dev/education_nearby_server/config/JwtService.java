@@ -1,15 +1,17 @@
 package com.dev.education_nearby_server.config;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import java.security.Key;
+import jakarta.annotation.PostConstruct;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
+import javax.crypto.SecretKey;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,6 +19,7 @@ import org.springframework.stereotype.Service;
 
 /**
  * Helper for creating, parsing, and validating JWT access/refresh tokens.
+ * The HMAC key and the verifying parser are built once at startup and reused for every token.
  */
 @Service
 public class JwtService {
@@ -30,8 +33,35 @@ public class JwtService {
     @Value("${jwt.oauth2-registration.expiration}")
     private long oauth2RegistrationExpiration;
 
+    private SecretKey signInKey;
+    private JwtParser parser;
+
+    /**
+     * Decodes the configured secret and builds the immutable, thread-safe parser used for verification.
+     */
+    @PostConstruct
+    void init() {
+        signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        parser = Jwts.parser()
+                .verifyWith(signInKey)
+                .build();
+    }
+
+    /**
+     * Verifies the token signature and expiry once and returns the subject, expiry and claims together.
+     * Callers that need more than one value from a token should use this instead of the single-claim helpers.
+     *
+     * @param token compact JWS
+     * @return verified token contents
+     * @throws io.jsonwebtoken.JwtException when the token is malformed, tampered with, or expired
+     */
+    public ParsedToken parseToken(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        return new ParsedToken(claims.getSubject(), claims.getExpiration(), claims);
+    }
+
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return parseToken(token).subject();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -79,34 +109,33 @@ public class JwtService {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return parseToken(token).isValidFor(userDetails);
     }
 
     public boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return parseToken(token).isExpired();
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parseToken(token).claims();
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Result of a single signature verification: the subject, expiry and full claim set of a token.
+     */
+    public record ParsedToken(String subject, Date expiration, Claims claims) {
+
+        public boolean isExpired() {
+            return expiration != null && expiration.before(new Date());
+        }
+
+        public boolean isValidFor(UserDetails userDetails) {
+            return subject != null && subject.equals(userDetails.getUsername()) && !isExpired();
+        }
     }
 }
@@ -0,0 +1,178 @@
+package com.dev.education_nearby_server.config;
+
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.Nullable;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JavaMailSenderImpl} that keeps a small pool of connected, authenticated SMTP transports
+ * instead of opening (and negotiating STARTTLS and AUTH on) a new connection for every send.
+ * Idle connections are checked with NOOP before reuse and retired after a fixed number of messages.
+ */
+@Slf4j
+public class PooledJavaMailSender extends JavaMailSenderImpl implements DisposableBean {
+
+    private final SmtpPoolProperties properties;
+    private final BlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+
+    public PooledJavaMailSender(SmtpPoolProperties properties) {
+        this.properties = properties;
+        this.permits = new Semaphore(properties.getSize(), true);
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, @Nullable Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        PooledConnection connection = null;
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                if (connection == null) {
+                    try {
+                        connection = borrow();
+                    } catch (AuthenticationFailedException ex) {
+                        throw new MailAuthenticationException(ex);
+                    } catch (MessagingException ex) {
+                        for (int j = i; j < mimeMessages.length; j++) {
+                            failedMessages.put(original(mimeMessages, originalMessages, j), ex);
+                        }
+                        throw new MailSendException("Mail server connection failed", ex, failedMessages);
+                    }
+                }
+                MimeMessage message = mimeMessages[i];
+                try {
+                    prepare(message);
+                    Address[] addresses = message.getAllRecipients();
+                    connection.transport.sendMessage(message, addresses != null ? addresses : new Address[0]);
+                    connection.sent++;
+                } catch (MessagingException ex) {
+                    // The SMTP session state is unknown after a failure, so never hand it out again.
+                    failedMessages.put(original(mimeMessages, originalMessages, i), ex);
+                    discard(connection);
+                    connection = null;
+                    continue;
+                }
+                if (connection.sent >= properties.getMaxMessagesPerConnection()) {
+                    discard(connection);
+                    connection = null;
+                }
+            }
+        } finally {
+            if (connection != null) {
+                giveBack(connection);
+            }
+        }
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    /**
+     * Number of connected transports currently waiting in the pool.
+     */
+    public int getIdleConnectionCount() {
+        return idleConnections.size();
+    }
+
+    @Override
+    public void destroy() {
+        PooledConnection connection;
+        while ((connection = idleConnections.pollFirst()) != null) {
+            close(connection.transport);
+        }
+    }
+
+    private PooledConnection borrow() throws MessagingException {
+        try {
+            if (!permits.tryAcquire(properties.getBorrowTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("Timed out waiting for a pooled SMTP connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for a pooled SMTP connection", e);
+        }
+        try {
+            PooledConnection idle;
+            while ((idle = idleConnections.pollFirst()) != null) {
+                if (isReusable(idle)) {
+                    return idle;
+                }
+                close(idle.transport);
+            }
+            return new PooledConnection(connectTransport());
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private boolean isReusable(PooledConnection connection) {
+        long idleNanos = System.nanoTime() - connection.returnedAt;
+        if (idleNanos > properties.getMaxIdle().toNanos()) {
+            return false;
+        }
+        // For SMTP, isConnected() issues a NOOP and reports false when the server has dropped the session.
+        return connection.transport.isConnected();
+    }
+
+    private void giveBack(PooledConnection connection) {
+        connection.returnedAt = System.nanoTime();
+        idleConnections.offerFirst(connection);
+        permits.release();
+    }
+
+    private void discard(PooledConnection connection) {
+        close(connection.transport);
+        permits.release();
+    }
+
+    private static void close(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Failed to close SMTP connection cleanly", e);
+        }
+    }
+
+    private static void prepare(MimeMessage message) throws MessagingException {
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        String messageId = message.getMessageID();
+        message.saveChanges();
+        if (messageId != null) {
+            message.setHeader("Message-ID", messageId);
+        }
+    }
+
+    private static Object original(MimeMessage[] mimeMessages, @Nullable Object[] originalMessages, int index) {
+        return originalMessages != null ? originalMessages[index] : mimeMessages[index];
+    }
+
+    private static final class PooledConnection {
+        private final Transport transport;
+        private int sent;
+        private long returnedAt = System.nanoTime();
+
+        private PooledConnection(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.dev.education_nearby_server.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the in-memory cache of authenticated principals used by the JWT filter.
+ */
+@Getter
+@Setter
+@Validated
+@Component
+@ConfigurationProperties(prefix = "app.auth.principal-cache")
+public class PrincipalCacheProperties {
+
+    /**
+     * How long a cached principal is trusted before it is reloaded from the database.
+     */
+    private Duration ttl = Duration.ofSeconds(60);
+
+    /**
+     * Upper bound on cached principals; least recently used entries are evicted beyond it.
+     */
+    @Min(1)
+    private long maxSize = 10_000;
+}
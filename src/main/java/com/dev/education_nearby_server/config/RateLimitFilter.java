@@ -0,0 +1,101 @@
+package com.dev.education_nearby_server.config;
+
+import com.dev.education_nearby_server.models.dto.response.ExceptionResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles configured public route groups per client IP before they reach security or controllers,
+ * answering 429 with {@code Retry-After} once a client's bucket is empty.
+ * The client IP is the remote address after Tomcat has applied {@code X-Forwarded-For}, which it only
+ * accepts from proxies matching {@code server.tomcat.remoteip.internal-proxies}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = createUrlPathHelper();
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (!properties.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        // Matched on the decoded path that MVC routes on, so percent-encoding a character cannot dodge a group.
+        String path = urlPathHelper.getLookupPathForRequest(request);
+        for (Map.Entry<String, RateLimitProperties.RouteGroup> entry : properties.getGroups().entrySet()) {
+            RateLimitProperties.RouteGroup group = entry.getValue();
+            if (!matches(group, request.getMethod(), path)) {
+                continue;
+            }
+            String key = entry.getKey() + "|" + request.getRemoteAddr();
+            long waitNanos = rateLimiter.tryAcquire(key, group.getCapacity(), group.getWindow());
+            if (waitNanos > 0) {
+                log.debug("Rate limit exceeded. group={} client={}", entry.getKey(), request.getRemoteAddr());
+                writeTooManyRequests(response, waitNanos);
+                return;
+            }
+            break;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean matches(RateLimitProperties.RouteGroup group, String method, String path) {
+        if (!group.getMethods().isEmpty()
+                && group.getMethods().stream().noneMatch(allowed -> allowed.equalsIgnoreCase(method))) {
+            return false;
+        }
+        return group.getPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    private static UrlPathHelper createUrlPathHelper() {
+        UrlPathHelper helper = new UrlPathHelper();
+        helper.setAlwaysUseFullPath(true);
+        return helper;
+    }
+
+    private void writeTooManyRequests(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        ExceptionResponse body = ExceptionResponse.builder()
+                .dateTime(LocalDateTime.now())
+                .message("Too many requests. Try again later.")
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .statusCode(HttpStatus.TOO_MANY_REQUESTS.value())
+                .build();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
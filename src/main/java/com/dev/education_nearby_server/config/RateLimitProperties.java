@@ -0,0 +1,71 @@
+package com.dev.education_nearby_server.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-route-group limits for the in-process request rate limiter.
+ */
+@Getter
+@Setter
+@Validated
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Whether requests are throttled at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Upper bound on tracked client/route keys; least recently used keys are dropped beyond it.
+     */
+    @Min(1)
+    private long maxTrackedKeys = 100_000;
+
+    /**
+     * Keys with no traffic for this long are evicted.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Route groups by name; the first group whose method and path match a request applies.
+     */
+    private Map<String, RouteGroup> groups = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class RouteGroup {
+
+        /**
+         * Ant-style request paths covered by the group.
+         */
+        private List<String> paths = new ArrayList<>();
+
+        /**
+         * HTTP methods covered by the group; empty means every method.
+         */
+        private List<String> methods = new ArrayList<>();
+
+        /**
+         * Requests allowed per window (also the burst size).
+         */
+        private int capacity = 10;
+
+        /**
+         * Window over which the capacity is replenished.
+         */
+        private Duration window = Duration.ofMinutes(1);
+    }
+}
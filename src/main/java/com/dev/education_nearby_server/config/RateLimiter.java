@@ -0,0 +1,85 @@
+package com.dev.education_nearby_server.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process token-bucket limiter keyed by arbitrary strings (client and route group).
+ * Buckets live in a size-bounded cache that drops idle keys, and refills are guarded by striped locks
+ * so unrelated keys rarely contend.
+ */
+@Component
+public class RateLimiter {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final Cache<String, TokenBucket> buckets;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, LongSupplier nanoClock) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedKeys())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes one permit for the key.
+     *
+     * @param key client/route key
+     * @param capacity permits per window and maximum burst
+     * @param window refill window
+     * @return 0 when the request is allowed, otherwise nanoseconds until the next permit
+     */
+    public long tryAcquire(String key, int capacity, Duration window) {
+        long now = nanoClock.getAsLong();
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(capacity, now));
+        synchronized (locks[Math.floorMod(key.hashCode(), LOCK_STRIPES)]) {
+            return bucket.tryConsume(capacity, window.toNanos(), now);
+        }
+    }
+
+    long trackedKeys() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private static final class TokenBucket {
+        private double tokens;
+        private long lastRefillNanos;
+
+        private TokenBucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.lastRefillNanos = now;
+        }
+
+        private long tryConsume(int capacity, long windowNanos, long now) {
+            double nanosPerToken = (double) windowNanos / capacity;
+            long elapsed = now - lastRefillNanos;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + elapsed / nanosPerToken);
+                lastRefillNanos = now;
+            }
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) * nanosPerToken);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.dev.education_nearby_server.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration for detecting lecturers booked into overlapping course slots.
+ */
+@Getter
+@Setter
+@Validated
+@Component
+@ConfigurationProperties(prefix = "app.schedule.conflicts")
+public class ScheduleConflictProperties {
+
+    /**
+     * Whether course writes that double-book a lecturer are rejected; when off they are only logged.
+     */
+    private boolean enforce = true;
+
+    /**
+     * Most lecturer timetables kept in memory on a node.
+     */
+    @Min(1)
+    private long cacheMaxLecturers = 10_000;
+
+    /**
+     * How long a cached timetable is trusted before it is rebuilt; bounds staleness from writes on other nodes.
+     */
+    private Duration cacheExpireAfterWrite = Duration.ofMinutes(10);
+
+    /**
+     * Lecturers scanned concurrently by the validation report; keep below the connection pool size.
+     */
+    @Min(1)
+    @Max(64)
+    private int reportParallelism = 4;
+}
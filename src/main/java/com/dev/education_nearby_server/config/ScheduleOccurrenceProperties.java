@@ -0,0 +1,47 @@
+package com.dev.education_nearby_server.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration for expanding course schedules into concrete occurrences.
+ */
+@Getter
+@Setter
+@Validated
+@Component
+@ConfigurationProperties(prefix = "app.schedule.occurrences")
+public class ScheduleOccurrenceProperties {
+
+    /**
+     * Longest date range, in days, a single request may expand.
+     */
+    @Min(1)
+    @Max(1_100)
+    private int maxRangeDays = 366;
+
+    /**
+     * Most courses a multi-course request may name.
+     */
+    @Min(1)
+    @Max(1_000)
+    private int maxCourses = 100;
+
+    /**
+     * Upper bound on occurrences held in the expansion cache across all courses and months.
+     */
+    @Min(1)
+    private long cacheMaxOccurrences = 2_000_000;
+
+    /**
+     * How long an expanded month stays cached after it was last read.
+     */
+    private Duration cacheExpireAfterAccess = Duration.ofHours(1);
+}
@@ -0,0 +1,12 @@
+package com.dev.education_nearby_server.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled maintenance jobs; each job guards itself with its own enable flag and cluster lock.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
@@ -81,16 +81,20 @@ public class SecurityConfiguration {
                                 .requestMatchers(HttpMethod.GET, "/api/v1/lyceums/*/courses").permitAll()
                                 .requestMatchers(HttpMethod.GET, "/api/v1/lyceums/*/lecturers").permitAll()
                                 .requestMatchers(HttpMethod.GET, "/api/v1/lyceums/*/images").permitAll()
+                                .requestMatchers(HttpMethod.GET, "/api/v1/lyceums/*/full").permitAll()
                                 .requestMatchers(HttpMethod.GET, "/api/v1/lyceums/*/reviews/**").permitAll()
                                 .requestMatchers(HttpMethod.GET, "/api/v1/lyceums/*/subscribers").authenticated()
                                 .requestMatchers(HttpMethod.GET, "/api/v1/lyceums/*/subscribers/export/**").authenticated()
                                 .requestMatchers(HttpMethod.POST, "/api/v1/lyceums/*/subscribers/export").authenticated()
+                                .requestMatchers(HttpMethod.POST, "/api/v1/lyceums/*/courses/subscribers/export").authenticated()
+                                .requestMatchers(HttpMethod.DELETE, "/api/v1/lyceums/*/subscribers/export/*").authenticated()
                                 .requestMatchers(HttpMethod.GET, "/api/v1/lyceums/*/statistics").authenticated()
                                 .requestMatchers(HttpMethod.POST, "/api/v1/lyceums/*/share").permitAll()
                                 .requestMatchers(HttpMethod.GET, "/api/v1/lyceums/by-town").authenticated()
                                 .requestMatchers(HttpMethod.GET, "/api/v1/courses/*/subscribers").authenticated()
                                 .requestMatchers(HttpMethod.GET, "/api/v1/courses/*/subscribers/export/**").authenticated()
                                 .requestMatchers(HttpMethod.POST, "/api/v1/courses/*/subscribers/export").authenticated()
+                                .requestMatchers(HttpMethod.DELETE, "/api/v1/courses/*/subscribers/export/*").authenticated()
                                 .requestMatchers(HttpMethod.GET, "/api/v1/courses/*/statistics").authenticated()
                                 .requestMatchers(HttpMethod.POST, "/api/v1/courses/*/share").permitAll()
                                 .requestMatchers(HttpMethod.POST, "/api/v1/feedback").permitAll()
@@ -104,6 +108,8 @@ public class SecurityConfiguration {
                                 .requestMatchers(HttpMethod.PATCH, "/api/v1/users/*/role").hasRole(Role.ADMIN.name())
                                 .requestMatchers(HttpMethod.POST, "/api/v1/lyceums").hasRole(Role.ADMIN.name())
                                 .requestMatchers(HttpMethod.GET, "/api/v1/lyceums").permitAll()
+                                .requestMatchers(HttpMethod.GET, "/api/v1/sync").permitAll()
+                                .requestMatchers(HttpMethod.GET, "/api/v1/catalog/*").permitAll()
                                 .requestMatchers(HttpMethod.PUT, API_V1_LYCEUMS).authenticated()
                                 .requestMatchers(HttpMethod.DELETE, API_V1_LYCEUMS).hasRole(Role.ADMIN.name())
                                 .anyRequest()
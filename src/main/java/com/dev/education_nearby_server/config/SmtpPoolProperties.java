@@ -0,0 +1,43 @@
+package com.dev.education_nearby_server.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the pool of authenticated SMTP connections reused across outbound emails.
+ */
+@Getter
+@Setter
+@Validated
+@Component
+@ConfigurationProperties(prefix = "app.email.smtp-pool")
+public class SmtpPoolProperties {
+
+    /**
+     * Maximum number of SMTP connections open at the same time.
+     */
+    @Min(1)
+    private int size = 3;
+
+    /**
+     * Messages sent over one connection before it is closed and replaced.
+     */
+    @Min(1)
+    private int maxMessagesPerConnection = 100;
+
+    /**
+     * Idle connections older than this are closed instead of reused.
+     */
+    private Duration maxIdle = Duration.ofSeconds(30);
+
+    /**
+     * How long a sender waits for a free connection before the send fails.
+     */
+    private Duration borrowTimeout = Duration.ofSeconds(30);
+}
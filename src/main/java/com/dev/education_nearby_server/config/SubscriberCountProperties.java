@@ -0,0 +1,42 @@
+package com.dev.education_nearby_server.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the job that reconciles denormalized subscriber counters with the join tables.
+ */
+@Getter
+@Setter
+@Validated
+@Component
+@ConfigurationProperties(prefix = "app.subscriptions.count-reconcile")
+public class SubscriberCountProperties {
+
+    /**
+     * Whether the scheduled reconciliation runs on this node.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Cron expression for the reconciliation schedule.
+     */
+    private String cron = "0 45 3 * * *";
+
+    /**
+     * Width of the id range checked per transaction; kept small so each update holds its row locks briefly.
+     */
+    @Min(1)
+    private int batchSize = 1000;
+
+    /**
+     * Lease duration for the cluster-wide reconciliation lock.
+     */
+    private Duration lockDuration = Duration.ofMinutes(30);
+}
@@ -0,0 +1,83 @@
+package com.dev.education_nearby_server.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration for notifying subscribers about course changes.
+ */
+@Getter
+@Setter
+@Validated
+@Component
+@ConfigurationProperties(prefix = "app.notifications")
+public class SubscriberNotificationProperties {
+
+    /**
+     * Whether course changes fan out to subscribers and the daily digest runs on this node.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Subscribers processed per page and per transaction during fan-out and digest runs.
+     */
+    @Min(1)
+    @Max(5_000)
+    private int chunkSize = 500;
+
+    /**
+     * Cron expression for the daily digest.
+     */
+    private String digestCron = "0 0 7 * * *";
+
+    /**
+     * Upper bound on changes listed in one digest email; the rest are summarised as a count.
+     */
+    @Min(1)
+    private int maxDigestItems = 30;
+
+    /**
+     * Lease duration for the cluster-wide digest lock.
+     */
+    private Duration digestLockDuration = Duration.ofMinutes(30);
+
+    /**
+     * Whether the scheduled purge of delivered notifications runs on this node.
+     */
+    private boolean purgeEnabled = true;
+
+    /**
+     * Cron expression for the purge schedule.
+     */
+    private String purgeCron = "0 15 4 * * *";
+
+    /**
+     * How long queued and digested notifications are kept before they become eligible for deletion.
+     * A change is only deduplicated while its row exists.
+     */
+    private Duration retention = Duration.ofDays(90);
+
+    /**
+     * Rows deleted per purge transaction.
+     */
+    @Min(1)
+    private int purgeBatchSize = 500;
+
+    /**
+     * Upper bound on purge batches per run.
+     */
+    @Min(1)
+    private int purgeMaxBatchesPerRun = 200;
+
+    /**
+     * Lease duration for the cluster-wide purge lock.
+     */
+    private Duration purgeLockDuration = Duration.ofMinutes(30);
+}
@@ -0,0 +1,68 @@
+package com.dev.education_nearby_server.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the catalog delta sync feed.
+ */
+@Getter
+@Setter
+@Validated
+@Component
+@ConfigurationProperties(prefix = "app.sync")
+public class SyncProperties {
+
+    /**
+     * Most rows of each kind returned by one sync call; clients keep calling while {@code hasMore} is set.
+     */
+    @Min(1)
+    @Max(5_000)
+    private int pageSize = 500;
+
+    /**
+     * Rows updated within this window are held back until the next call, so that a transaction
+     * that stamped its rows earlier but commits later is not skipped by a watermark already past them.
+     */
+    private Duration commitLag = Duration.ofSeconds(5);
+
+    /**
+     * How long deletion tombstones are kept. A client whose token is older than this is told to
+     * drop its local copy and sync again from the start, since deletions it missed may be gone.
+     */
+    private Duration tombstoneRetention = Duration.ofDays(30);
+
+    /**
+     * Whether the scheduled purge of expired tombstones runs on this node.
+     */
+    private boolean purgeEnabled = true;
+
+    /**
+     * Cron expression for the purge schedule.
+     */
+    private String purgeCron = "0 45 4 * * *";
+
+    /**
+     * Rows deleted per purge transaction.
+     */
+    @Min(1)
+    private int purgeBatchSize = 500;
+
+    /**
+     * Upper bound on purge batches per run.
+     */
+    @Min(1)
+    private int purgeMaxBatchesPerRun = 200;
+
+    /**
+     * Lease duration for the cluster-wide purge lock.
+     */
+    private Duration purgeLockDuration = Duration.ofMinutes(30);
+}
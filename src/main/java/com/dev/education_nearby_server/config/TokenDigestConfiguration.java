@@ -0,0 +1,28 @@
+package com.dev.education_nearby_server.config;
+
+import com.dev.education_nearby_server.config.migration.V24_1__Backfill_Token_Hashes;
+import com.dev.education_nearby_server.utils.TokenDigests;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Installs the secret that keys stored token digests before anything can hash or look up a token,
+ * and registers the migration that re-keys rows written before digests were stored.
+ */
+@Configuration
+public class TokenDigestConfiguration {
+
+    public TokenDigestConfiguration(@Value("${app.tokens.digest-secret}") String digestSecret) {
+        TokenDigests.useSecret(digestSecret);
+    }
+
+    /**
+     * Exposed as a bean so Flyway runs it only after the secret above has been installed.
+     */
+    @Bean
+    JavaMigration tokenHashBackfillMigration() {
+        return new V24_1__Backfill_Token_Hashes();
+    }
+}
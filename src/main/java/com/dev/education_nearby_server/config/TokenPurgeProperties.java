@@ -0,0 +1,53 @@
+package com.dev.education_nearby_server.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the scheduled cleanup of expired and revoked rows in the tokens table.
+ */
+@Getter
+@Setter
+@Validated
+@Component
+@ConfigurationProperties(prefix = "app.tokens.purge")
+public class TokenPurgeProperties {
+
+    /**
+     * Whether the scheduled purge runs on this node.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Cron expression for the purge schedule.
+     */
+    private String cron = "0 15 3 * * *";
+
+    /**
+     * How long expired or revoked tokens are kept before they become eligible for deletion.
+     */
+    private Duration gracePeriod = Duration.ofDays(7);
+
+    /**
+     * Rows deleted per transaction; kept small so each delete holds its locks briefly.
+     */
+    @Min(1)
+    private int batchSize = 500;
+
+    /**
+     * Upper bound on batches per run so one run cannot monopolise the database.
+     */
+    @Min(1)
+    private int maxBatchesPerRun = 200;
+
+    /**
+     * Lease duration for the cluster-wide purge lock.
+     */
+    private Duration lockDuration = Duration.ofMinutes(30);
+}
@@ -0,0 +1,70 @@
+package com.dev.education_nearby_server.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the in-memory index behind the "upcoming courses near me" query.
+ */
+@Getter
+@Setter
+@Validated
+@Component
+@ConfigurationProperties(prefix = "app.courses.upcoming")
+public class UpcomingCourseProperties {
+
+    /**
+     * Zone in which course slot times are interpreted.
+     */
+    @NotBlank
+    private String timeZone = "Europe/Sofia";
+
+    /**
+     * How often the index is rebuilt; schedule edits become visible within this interval.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
+    /**
+     * Edge of a spatial grid cell in degrees; about 11 km of latitude at the default.
+     */
+    @DecimalMin("0.01")
+    @DecimalMax("1.0")
+    private double cellSizeDegrees = 0.1;
+
+    /**
+     * Largest search radius a request may ask for.
+     */
+    @Min(1)
+    @Max(500)
+    private int maxRadiusKm = 50;
+
+    /**
+     * Longest look-ahead window a request may ask for; a week by default.
+     */
+    @Min(1)
+    @Max(7 * 24 * 60)
+    private int maxWithinMinutes = 7 * 24 * 60;
+
+    /**
+     * Most sessions returned by one request.
+     */
+    @Min(1)
+    @Max(1_000)
+    private int maxResults = 100;
+
+    /**
+     * Courses loaded per query while rebuilding the index.
+     */
+    @Min(1)
+    private int loadBatchSize = 500;
+}
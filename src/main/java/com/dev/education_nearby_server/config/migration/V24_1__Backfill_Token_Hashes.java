@@ -0,0 +1,41 @@
+package com.dev.education_nearby_server.config.migration;
+
+import com.dev.education_nearby_server.utils.TokenDigests;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Fills token_hash for rows issued before tokens were stored by digest. SQL cannot compute the
+ * keyed digest, so this runs between V24, which adds the column, and V24.2, which drops the raw values.
+ */
+public class V24_1__Backfill_Token_Hashes extends BaseJavaMigration {
+
+    static final int BATCH_SIZE = 500;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement select = connection.createStatement();
+             ResultSet rows = select.executeQuery("SELECT id, token_value FROM tokens WHERE token_hash IS NULL");
+             PreparedStatement update = connection.prepareStatement("UPDATE tokens SET token_hash = ? WHERE id = ?")) {
+            int pending = 0;
+            while (rows.next()) {
+                update.setBytes(1, TokenDigests.hmac(rows.getString("token_value")));
+                update.setLong(2, rows.getLong("id"));
+                update.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    update.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        }
+    }
+}
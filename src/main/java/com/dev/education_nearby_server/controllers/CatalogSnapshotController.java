@@ -0,0 +1,103 @@
+package com.dev.education_nearby_server.controllers;
+
+import com.dev.education_nearby_server.enums.CatalogSnapshotType;
+import com.dev.education_nearby_server.services.CatalogSnapshotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Serves the precompressed catalog snapshots. Bodies match {@code GET /api/v1/lyceums/verified}
+ * and {@code GET /api/v1/courses}; each representation has a strong ETag and supports byte ranges.
+ */
+@RestController
+@RequestMapping("/api/v1/catalog")
+@RequiredArgsConstructor
+public class CatalogSnapshotController {
+
+    private static final String GZIP = "gzip";
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    /**
+     * Returns every verified lyceum.
+     *
+     * @param headers request headers, for content coding and range negotiation
+     * @param webRequest current request, used for the conditional check
+     * @return the snapshot file, or 304 when the client copy is current
+     */
+    @GetMapping("/lyceums")
+    public ResponseEntity<Resource> getLyceums(@RequestHeader HttpHeaders headers, WebRequest webRequest) {
+        return serve(CatalogSnapshotType.LYCEUMS, headers, webRequest);
+    }
+
+    /**
+     * Returns every course.
+     *
+     * @param headers request headers, for content coding and range negotiation
+     * @param webRequest current request, used for the conditional check
+     * @return the snapshot file, or 304 when the client copy is current
+     */
+    @GetMapping("/courses")
+    public ResponseEntity<Resource> getCourses(@RequestHeader HttpHeaders headers, WebRequest webRequest) {
+        return serve(CatalogSnapshotType.COURSES, headers, webRequest);
+    }
+
+    private ResponseEntity<Resource> serve(CatalogSnapshotType type, HttpHeaders headers, WebRequest webRequest) {
+        CatalogSnapshotService.Snapshot snapshot = catalogSnapshotService.getSnapshot(type);
+        boolean gzip = acceptsGzip(headers.getFirst(HttpHeaders.ACCEPT_ENCODING));
+        CatalogSnapshotService.SnapshotFile file = gzip ? snapshot.gzip() : snapshot.json();
+        if (webRequest.checkNotModified(file.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(file.etag())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        boolean rangeRequested = headers.getFirst(HttpHeaders.RANGE) != null;
+        String ifRange = headers.getFirst(HttpHeaders.IF_RANGE);
+        boolean rangeApplies = rangeRequested && (ifRange == null || ifRange.equals(file.etag()));
+        if (!rangeApplies) {
+            catalogSnapshotService.recordDownload(type);
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(file.etag())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        if (rangeRequested && !rangeApplies) {
+            // Spring answers Range for every Resource body except an InputStreamResource, and a
+            // range of a representation the client no longer has must be answered with all of it.
+            return response.contentLength(file.length())
+                    .body(new InputStreamResource(new FileSystemResource(file.path())));
+        }
+        return response.body(new FileSystemResource(file.path()));
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (GZIP.equalsIgnoreCase(parts[0].trim())) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -8,18 +8,27 @@ import com.dev.education_nearby_server.models.dto.request.ReviewRequest;
 import com.dev.education_nearby_server.models.dto.request.ReviewUpdateRequest;
 import com.dev.education_nearby_server.models.dto.response.CourseFilterResponse;
 import com.dev.education_nearby_server.models.dto.response.CourseImageResponse;
+import com.dev.education_nearby_server.models.dto.response.CourseOccurrenceResponse;
 import com.dev.education_nearby_server.models.dto.response.CourseResponse;
 import com.dev.education_nearby_server.models.dto.response.ReviewResponse;
+import com.dev.education_nearby_server.models.dto.response.ScheduleValidationReportResponse;
 import com.dev.education_nearby_server.models.dto.response.StatisticsResponse;
+import com.dev.education_nearby_server.models.dto.response.UpcomingCourseResponse;
+import com.dev.education_nearby_server.services.CourseOccurrenceService;
 import com.dev.education_nearby_server.services.CourseService;
 import com.dev.education_nearby_server.services.ReviewService;
+import com.dev.education_nearby_server.services.ScheduleConflictService;
+import com.dev.education_nearby_server.services.UpcomingCourseService;
+import com.dev.education_nearby_server.utils.FieldSelection;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -31,6 +40,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -43,16 +53,21 @@ import java.util.List;
 public class CourseController {
 
     private final CourseService courseService;
+    private final CourseOccurrenceService courseOccurrenceService;
     private final ReviewService reviewService;
+    private final ScheduleConflictService scheduleConflictService;
+    private final UpcomingCourseService upcomingCourseService;
 
     /**
      * Lists all courses without filtering.
      *
+     * @param fields optional comma-separated response fields to return; all fields when omitted
      * @return every course available to the caller
      */
     @GetMapping
-    public ResponseEntity<List<CourseResponse>> getAllCourses() {
-        return ResponseEntity.ok(courseService.getAllCourses());
+    public ResponseEntity<MappingJacksonValue> getAllCourses(@RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, CourseResponse.class);
+        return ResponseEntity.ok(selection.wrap(courseService.getAllCourses(selection)));
     }
 
     /**
@@ -61,16 +76,19 @@ public class CourseController {
      * @param request optional filter fields (category, price, etc.)
      * @param page zero-based page index
      * @param size page size
+     * @param fields optional comma-separated response fields to return; all fields when omitted
      * @return courses that satisfy the filters
      */
     @GetMapping("/filter")
-    public ResponseEntity<Page<CourseFilterResponse>> filterCourses(
+    public ResponseEntity<MappingJacksonValue> filterCourses(
             @Valid @ModelAttribute CourseFilterRequest request,
             @RequestParam(defaultValue = "0") Integer page,
             @RequestParam(defaultValue = "9") Integer size,
-            Sort sort
+            Sort sort,
+            @RequestParam(required = false) String fields
     ) {
-        return ResponseEntity.ok(courseService.filterCourses(request, page, size, sort));
+        FieldSelection selection = FieldSelection.parse(fields, CourseFilterResponse.class);
+        return ResponseEntity.ok(selection.wrap(courseService.filterCourses(request, page, size, sort, selection)));
     }
 
     /**
@@ -95,6 +113,70 @@ public class CourseController {
         return ResponseEntity.ok(courseService.getCourseById(courseId));
     }
 
+    /**
+     * Expands a course schedule into concrete classes, skipping cancelled dates and inactive months.
+     *
+     * @param courseId course identifier
+     * @param from first date of the range (inclusive, ISO format)
+     * @param to last date of the range (inclusive, ISO format)
+     * @return occurrences in chronological order
+     */
+    @GetMapping("/{courseId}/occurrences")
+    public ResponseEntity<List<CourseOccurrenceResponse>> getCourseOccurrences(
+            @PathVariable Long courseId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(courseOccurrenceService.getOccurrences(courseId, from, to));
+    }
+
+    /**
+     * Expands the schedules of several courses into one chronological list, e.g. for a personal calendar.
+     *
+     * @param courseIds course identifiers; unknown ids are ignored
+     * @param from first date of the range (inclusive, ISO format)
+     * @param to last date of the range (inclusive, ISO format)
+     * @return occurrences of all requested courses in chronological order
+     */
+    @GetMapping("/occurrences")
+    public ResponseEntity<List<CourseOccurrenceResponse>> getOccurrencesForCourses(
+            @RequestParam List<Long> courseIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(courseOccurrenceService.getOccurrences(courseIds, from, to));
+    }
+
+    /**
+     * Lists classes starting soon near a location.
+     *
+     * @param lat latitude of the caller
+     * @param lng longitude of the caller
+     * @param radiusKm search radius in kilometres
+     * @param withinMinutes how far ahead to look
+     * @return upcoming classes, soonest and then nearest first
+     */
+    @GetMapping("/upcoming")
+    public ResponseEntity<List<UpcomingCourseResponse>> getUpcomingCourses(
+            @RequestParam Double lat,
+            @RequestParam Double lng,
+            @RequestParam(defaultValue = "5") Double radiusKm,
+            @RequestParam(defaultValue = "120") Integer withinMinutes
+    ) {
+        return ResponseEntity.ok(upcomingCourseService.findUpcoming(lat, lng, radiusKm, withinMinutes));
+    }
+
+    /**
+     * Scans every lecturer's timetable for courses with overlapping slots.
+     *
+     * @return all conflicts found, grouped by lecturer
+     */
+    @GetMapping("/schedule-conflicts")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ScheduleValidationReportResponse> validateAllSchedules() {
+        return ResponseEntity.ok(scheduleConflictService.validateAllSchedules());
+    }
+
     /**
      * Fetches aggregate statistics for a course.
      *
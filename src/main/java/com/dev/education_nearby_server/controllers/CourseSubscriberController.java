@@ -2,12 +2,13 @@ package com.dev.education_nearby_server.controllers;
 
 import com.dev.education_nearby_server.enums.SubscriberExportFormat;
 import com.dev.education_nearby_server.models.dto.response.SubscriberExportJobResponse;
-import com.dev.education_nearby_server.models.dto.response.UserResponse;
+import com.dev.education_nearby_server.models.dto.response.SubscriberPageResponse;
 import com.dev.education_nearby_server.services.CourseService;
 import com.dev.education_nearby_server.services.SubscriberExportService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,8 +17,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * Endpoints for course subscriptions, subscribers listing, and subscribers exports.
@@ -58,14 +58,20 @@ public class CourseSubscriberController {
     }
 
     /**
-     * Lists users subscribed to a course.
+     * Lists users subscribed to a course, one page at a time in id order.
      *
      * @param courseId course identifier
-     * @return subscribers associated with the course
+     * @param after id of the last subscriber on the previous page; omit for the first page
+     * @param size page size
+     * @return page of subscribers and the cursor for the next page
      */
     @GetMapping("/{courseId}/subscribers")
-    public ResponseEntity<List<UserResponse>> getCourseSubscribers(@PathVariable Long courseId) {
-        return ResponseEntity.ok(courseService.getCourseSubscribers(courseId));
+    public ResponseEntity<SubscriberPageResponse> getCourseSubscribers(
+            @PathVariable Long courseId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") Integer size
+    ) {
+        return ResponseEntity.ok(courseService.getCourseSubscribers(courseId, after, size));
     }
 
     /**
@@ -99,6 +105,37 @@ public class CourseSubscriberController {
         return ResponseEntity.ok(subscriberExportService.getCourseSubscribersExportStatus(courseId, exportId));
     }
 
+    /**
+     * Cancels a pending or running course subscriber export.
+     *
+     * @param courseId course identifier
+     * @param exportId export job identifier
+     * @return empty 204 on success
+     */
+    @DeleteMapping("/{courseId}/subscribers/export/{exportId}")
+    public ResponseEntity<Void> cancelCourseSubscribersExport(
+            @PathVariable Long courseId,
+            @PathVariable Long exportId
+    ) {
+        subscriberExportService.cancelCourseSubscribersExport(courseId, exportId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Streams status and progress events for a course subscriber export until it finishes.
+     *
+     * @param courseId course identifier
+     * @param exportId export job identifier
+     * @return server-sent event stream of {@code status} and {@code progress} events
+     */
+    @GetMapping(value = "/{courseId}/subscribers/export/{exportId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCourseSubscribersExport(
+            @PathVariable Long courseId,
+            @PathVariable Long exportId
+    ) {
+        return ResponseEntity.ok(subscriberExportService.streamCourseSubscribersExport(courseId, exportId));
+    }
+
     /**
      * Returns a presigned S3 URL for the generated course subscribers export file.
      *
@@ -9,18 +9,21 @@ import com.dev.education_nearby_server.models.dto.request.LyceumLecturerRequest;
 import com.dev.education_nearby_server.models.dto.request.ReviewRequest;
 import com.dev.education_nearby_server.models.dto.request.ReviewUpdateRequest;
 import com.dev.education_nearby_server.models.dto.response.CourseResponse;
+import com.dev.education_nearby_server.models.dto.response.LyceumDetailsResponse;
 import com.dev.education_nearby_server.models.dto.response.LyceumImageResponse;
 import com.dev.education_nearby_server.models.dto.response.LyceumResponse;
 import com.dev.education_nearby_server.models.dto.response.ReviewResponse;
 import com.dev.education_nearby_server.models.dto.response.StatisticsResponse;
 import com.dev.education_nearby_server.models.dto.response.UserResponse;
+import com.dev.education_nearby_server.services.LyceumDetailsService;
 import com.dev.education_nearby_server.services.LyceumService;
 import com.dev.education_nearby_server.services.ReviewService;
+import com.dev.education_nearby_server.utils.FieldSelection;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -44,25 +47,30 @@ public class LyceumController {
 
     private final LyceumService lyceumService;
     private final ReviewService reviewService;
+    private final LyceumDetailsService lyceumDetailsService;
 
     /**
      * Returns all lyceums regardless of verification status.
      *
+     * @param fields optional comma-separated response fields to return; all fields when omitted
      * @return list of lyceums
      */
     @GetMapping
-    public ResponseEntity<List<LyceumResponse>> getAllLyceums() {
-        return ResponseEntity.ok(lyceumService.getAllLyceums());
+    public ResponseEntity<MappingJacksonValue> getAllLyceums(@RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, LyceumResponse.class);
+        return ResponseEntity.ok(selection.wrap(lyceumService.getAllLyceums(selection)));
     }
 
     /**
      * Returns only lyceums that were verified by administrators.
      *
+     * @param fields optional comma-separated response fields to return; all fields when omitted
      * @return list of verified lyceums
      */
     @GetMapping("/verified")
-    public ResponseEntity<List<LyceumResponse>> getVerifiedLyceums() {
-        return ResponseEntity.ok(lyceumService.getVerifiedLyceums());
+    public ResponseEntity<MappingJacksonValue> getVerifiedLyceums(@RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, LyceumResponse.class);
+        return ResponseEntity.ok(selection.wrap(lyceumService.getVerifiedLyceums(selection)));
     }
 
     /**
@@ -76,6 +84,18 @@ public class LyceumController {
         return ResponseEntity.ok(lyceumService.getLyceumById(id));
     }
 
+    /**
+     * Fetches a lyceum together with its images, courses, lecturers and most recent reviews,
+     * replacing the separate calls a lyceum page would otherwise make.
+     *
+     * @param id lyceum identifier
+     * @return lyceum page aggregate
+     */
+    @GetMapping("/{id}/full")
+    public ResponseEntity<LyceumDetailsResponse> getLyceumDetails(@PathVariable Long id) {
+        return ResponseEntity.ok(lyceumDetailsService.getLyceumDetails(id));
+    }
+
     /**
      * Fetches aggregate statistics for a lyceum.
      *
@@ -149,19 +169,25 @@ public class LyceumController {
      * @param town optional town name
      * @param latitude optional latitude for geo filter
      * @param longitude optional longitude for geo filter
+     * @param popular rank lyceums with more subscribers first
      * @param page zero-based page index
      * @param size page size
+     * @param fields optional comma-separated response fields to return; all fields when omitted
      * @return lyceums matching the supplied filters
      */
     @GetMapping("/filter")
-    public ResponseEntity<Page<LyceumResponse>> filterLyceums(
+    public ResponseEntity<MappingJacksonValue> filterLyceums(
             @RequestParam(required = false) String town,
             @RequestParam(required = false) Double latitude,
             @RequestParam(required = false) Double longitude,
+            @RequestParam(defaultValue = "false") boolean popular,
             @RequestParam(defaultValue = "0") Integer page,
-            @RequestParam(defaultValue = "9") Integer size
+            @RequestParam(defaultValue = "9") Integer size,
+            @RequestParam(required = false) String fields
     ) {
-        return ResponseEntity.ok(lyceumService.filterLyceums(town, latitude, longitude, page, size));
+        FieldSelection selection = FieldSelection.parse(fields, LyceumResponse.class);
+        return ResponseEntity.ok(selection.wrap(
+                lyceumService.filterLyceums(town, latitude, longitude, popular, page, size, selection)));
     }
 
     /**
@@ -2,11 +2,12 @@ package com.dev.education_nearby_server.controllers;
 
 import com.dev.education_nearby_server.enums.SubscriberExportFormat;
 import com.dev.education_nearby_server.models.dto.response.SubscriberExportJobResponse;
-import com.dev.education_nearby_server.models.dto.response.UserResponse;
+import com.dev.education_nearby_server.models.dto.response.SubscriberPageResponse;
 import com.dev.education_nearby_server.services.LyceumService;
 import com.dev.education_nearby_server.services.SubscriberExportService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,8 +16,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * Endpoints for lyceum subscriptions, subscribers listing, and subscribers exports.
@@ -54,14 +54,20 @@ public class LyceumSubscriberController {
     }
 
     /**
-     * Lists users subscribed to a lyceum.
+     * Lists users subscribed to a lyceum, one page at a time in id order.
      *
      * @param lyceumId lyceum identifier
-     * @return subscribers associated with the lyceum
+     * @param after id of the last subscriber on the previous page; omit for the first page
+     * @param size page size
+     * @return page of subscribers and the cursor for the next page
      */
     @GetMapping("/{lyceumId}/subscribers")
-    public ResponseEntity<List<UserResponse>> getLyceumSubscribers(@PathVariable Long lyceumId) {
-        return ResponseEntity.ok(lyceumService.getLyceumSubscribers(lyceumId));
+    public ResponseEntity<SubscriberPageResponse> getLyceumSubscribers(
+            @PathVariable Long lyceumId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") Integer size
+    ) {
+        return ResponseEntity.ok(lyceumService.getLyceumSubscribers(lyceumId, after, size));
     }
 
     /**
@@ -80,6 +86,19 @@ public class LyceumSubscriberController {
         return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
     }
 
+    /**
+     * Starts asynchronous export of the subscribers of every course of the lyceum as a ZIP archive
+     * with one CSV per course. Track it with the lyceum export status and download endpoints.
+     *
+     * @param lyceumId lyceum identifier
+     * @return export job metadata
+     */
+    @PostMapping("/{lyceumId}/courses/subscribers/export")
+    public ResponseEntity<SubscriberExportJobResponse> exportLyceumCourseSubscribers(@PathVariable Long lyceumId) {
+        SubscriberExportJobResponse response = subscriberExportService.createLyceumCourseSubscribersExport(lyceumId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
     /**
      * Returns status for a previously requested lyceum subscriber export.
      *
@@ -95,6 +114,37 @@ public class LyceumSubscriberController {
         return ResponseEntity.ok(subscriberExportService.getLyceumSubscribersExportStatus(lyceumId, exportId));
     }
 
+    /**
+     * Cancels a pending or running lyceum subscriber export.
+     *
+     * @param lyceumId lyceum identifier
+     * @param exportId export job identifier
+     * @return empty 204 on success
+     */
+    @DeleteMapping("/{lyceumId}/subscribers/export/{exportId}")
+    public ResponseEntity<Void> cancelLyceumSubscribersExport(
+            @PathVariable Long lyceumId,
+            @PathVariable Long exportId
+    ) {
+        subscriberExportService.cancelLyceumSubscribersExport(lyceumId, exportId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Streams status and progress events for a lyceum subscriber export until it finishes.
+     *
+     * @param lyceumId lyceum identifier
+     * @param exportId export job identifier
+     * @return server-sent event stream of {@code status} and {@code progress} events
+     */
+    @GetMapping(value = "/{lyceumId}/subscribers/export/{exportId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamLyceumSubscribersExport(
+            @PathVariable Long lyceumId,
+            @PathVariable Long exportId
+    ) {
+        return ResponseEntity.ok(subscriberExportService.streamLyceumSubscribersExport(lyceumId, exportId));
+    }
+
     /**
      * Returns a presigned S3 URL for the generated lyceum subscribers export file.
      *
@@ -0,0 +1,32 @@
+package com.dev.education_nearby_server.controllers;
+
+import com.dev.education_nearby_server.models.dto.response.SyncResponse;
+import com.dev.education_nearby_server.services.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Delta sync of the lyceum and course catalog for clients that keep an offline copy.
+ */
+@RestController
+@RequestMapping("/api/v1/sync")
+@RequiredArgsConstructor
+public class SyncController {
+
+    private final SyncService syncService;
+
+    /**
+     * Returns catalog rows changed or deleted since the given token.
+     *
+     * @param since token from the previous response; omit it for a full sync
+     * @return changed rows, deletions and the token to send next time
+     */
+    @GetMapping
+    public ResponseEntity<SyncResponse> sync(@RequestParam(required = false) String since) {
+        return ResponseEntity.ok(syncService.getChanges(since));
+    }
+}
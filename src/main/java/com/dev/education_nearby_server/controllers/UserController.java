@@ -6,15 +6,19 @@ import com.dev.education_nearby_server.models.dto.request.ReviewUpdateRequest;
 import com.dev.education_nearby_server.models.dto.request.UserImageRequest;
 import com.dev.education_nearby_server.models.dto.request.UserRoleUpdateRequest;
 import com.dev.education_nearby_server.models.dto.request.UserUpdateRequest;
+import com.dev.education_nearby_server.models.dto.response.CalendarTokenResponse;
 import com.dev.education_nearby_server.models.dto.response.ReviewResponse;
 import com.dev.education_nearby_server.models.dto.response.UserImageResponse;
 import com.dev.education_nearby_server.models.dto.response.UserResponse;
+import com.dev.education_nearby_server.services.CalendarFeedService;
 import com.dev.education_nearby_server.services.ReviewService;
 import com.dev.education_nearby_server.services.UserService;
 import lombok.RequiredArgsConstructor;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -26,7 +30,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
 import java.util.List;
 
@@ -40,6 +47,9 @@ public class UserController {
 
     private final UserService service;
     private final ReviewService reviewService;
+    private final CalendarFeedService calendarFeedService;
+
+    private static final MediaType CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
 
     /**
      * Lists users with pagination.
@@ -150,6 +160,48 @@ public class UserController {
         return ResponseEntity.ok(service.getAuthenticatedUser(connectedUser));
     }
 
+    /**
+     * Issues a new calendar feed token for a user, invalidating the previous feed URL.
+     * Allowed for the user and global admins.
+     *
+     * @param userId user identifier
+     * @param connectedUser authenticated principal performing the action
+     * @return the token and the feed path to subscribe to
+     */
+    @PostMapping("/{userId}/calendar-token")
+    public ResponseEntity<CalendarTokenResponse> issueCalendarToken(
+            @PathVariable Long userId,
+            Principal connectedUser
+    ) {
+        return ResponseEntity.ok(service.issueCalendarToken(userId, connectedUser));
+    }
+
+    /**
+     * Streams the iCalendar feed of the user's subscribed courses. Calendar apps cannot send a
+     * bearer token, so the feed is unlocked by the secret in its URL; matching ETags get a 304.
+     *
+     * @param userId user identifier
+     * @param token feed secret issued for the user
+     * @param webRequest current request, used for the conditional check
+     * @return the feed, or 304 when the client copy is current
+     */
+    @GetMapping("/{userId}/calendar.ics")
+    public ResponseEntity<StreamingResponseBody> getCalendarFeed(
+            @PathVariable Long userId,
+            @RequestParam String token,
+            WebRequest webRequest
+    ) {
+        CalendarFeedService.CalendarFeed feed = calendarFeedService.openFeed(userId, token);
+        if (webRequest.checkNotModified(feed.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(feed.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(feed.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(CALENDAR)
+                .body(calendarFeedService.openBody(feed));
+    }
+
     /**
      * Lists reviews for a user.
      *
@@ -0,0 +1,9 @@
+package com.dev.education_nearby_server.enums;
+
+/**
+ * Catalog views published as precompressed snapshot files.
+ */
+public enum CatalogSnapshotType {
+    LYCEUMS,
+    COURSES
+}
@@ -0,0 +1,11 @@
+package com.dev.education_nearby_server.enums;
+
+/**
+ * Delivery states of a queued outbound email.
+ */
+public enum EmailOutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    DEAD
+}
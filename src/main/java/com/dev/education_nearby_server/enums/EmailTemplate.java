@@ -0,0 +1,12 @@
+package com.dev.education_nearby_server.enums;
+
+/**
+ * Kinds of outbound emails; each kind is rendered from its own template with per-recipient fields.
+ */
+public enum EmailTemplate {
+    LYCEUM_VERIFICATION,
+    LYCEUM_LECTURER_INVITATION,
+    PASSWORD_RESET,
+    COURSE_CHANGED,
+    COURSE_CHANGES_DIGEST
+}
@@ -0,0 +1,9 @@
+package com.dev.education_nearby_server.enums;
+
+/**
+ * How a user wants to be told about changes to courses and lyceums they follow.
+ */
+public enum NotificationFrequency {
+    IMMEDIATE,
+    DAILY_DIGEST
+}
@@ -5,6 +5,10 @@ package com.dev.education_nearby_server.enums;
  */
 public enum SubscriberExportScope {
     COURSE,
-    LYCEUM
+    LYCEUM,
+    /**
+     * Subscribers of every course of a lyceum, one CSV per course in a ZIP archive.
+     */
+    LYCEUM_COURSES
 }
 
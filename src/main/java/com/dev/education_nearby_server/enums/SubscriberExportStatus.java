@@ -7,6 +7,7 @@ public enum SubscriberExportStatus {
     PENDING,
     IN_PROGRESS,
     COMPLETED,
-    FAILED
+    FAILED,
+    CANCELLED
 }
 
@@ -0,0 +1,10 @@
+package com.dev.education_nearby_server.enums;
+
+/**
+ * Delivery states of a subscriber notification.
+ */
+public enum SubscriberNotificationStatus {
+    QUEUED,
+    PENDING_DIGEST,
+    DIGESTED
+}
@@ -0,0 +1,9 @@
+package com.dev.education_nearby_server.enums;
+
+/**
+ * Kinds of course changes that subscribers are notified about.
+ */
+public enum SubscriberNotificationType {
+    SCHEDULE_CHANGED,
+    CLASS_CANCELLED
+}
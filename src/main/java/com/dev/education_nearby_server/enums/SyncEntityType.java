@@ -0,0 +1,11 @@
+package com.dev.education_nearby_server.enums;
+
+/**
+ * Catalog entities tracked by the delta sync feed.
+ */
+public enum SyncEntityType {
+    LYCEUM,
+    COURSE,
+    LYCEUM_IMAGE,
+    COURSE_IMAGE
+}
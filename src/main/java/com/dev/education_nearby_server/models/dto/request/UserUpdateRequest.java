@@ -1,5 +1,6 @@
 package com.dev.education_nearby_server.models.dto.request;
 
+import com.dev.education_nearby_server.enums.NotificationFrequency;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -35,4 +36,9 @@ public class UserUpdateRequest {
 
     @Size(max = 500, message = "Description must be at most 500 characters.")
     private String description;
+
+    /**
+     * How course change notifications are delivered; null keeps the current preference.
+     */
+    private NotificationFrequency notificationFrequency;
 }
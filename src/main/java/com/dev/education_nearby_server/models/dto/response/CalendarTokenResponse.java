@@ -0,0 +1,20 @@
+package com.dev.education_nearby_server.models.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Newly issued calendar feed secret; it is returned only once and replaces any earlier one.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarTokenResponse {
+    private String token;
+    private String feedPath;
+}
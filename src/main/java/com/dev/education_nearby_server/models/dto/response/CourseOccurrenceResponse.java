@@ -0,0 +1,25 @@
+package com.dev.education_nearby_server.models.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A single class of a course on a concrete date, expanded from its recurring schedule.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseOccurrenceResponse {
+    private Long courseId;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+}
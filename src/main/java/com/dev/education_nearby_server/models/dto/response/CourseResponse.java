@@ -4,6 +4,8 @@ import com.dev.education_nearby_server.enums.AgeGroup;
 import com.dev.education_nearby_server.enums.CourseExecutionType;
 import com.dev.education_nearby_server.enums.CourseType;
 import com.dev.education_nearby_server.models.entity.CourseSchedule;
+import com.dev.education_nearby_server.utils.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -14,8 +16,9 @@ import java.time.Month;
 import java.util.List;
 
 /**
- * Representation of a course returned to API consumers.
+ * Representation of a course returned to API consumers. List endpoints may trim it to the requested fields.
  */
+@JsonFilter(FieldSelection.FILTER_ID)
 @Getter
 @Setter
 @SuperBuilder
@@ -40,4 +43,5 @@ public class CourseResponse {
     private Month activeEndMonth;
     private List<Long> lecturerIds;
     private Double averageRating;
+    private long subscriberCount;
 }
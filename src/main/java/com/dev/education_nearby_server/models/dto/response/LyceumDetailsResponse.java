@@ -0,0 +1,26 @@
+package com.dev.education_nearby_server.models.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Everything a lyceum page renders, returned in one response instead of five separate calls.
+ * {@code reviews} holds only the most recent reviews.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LyceumDetailsResponse {
+    private LyceumResponse lyceum;
+    private List<LyceumImageResponse> images;
+    private List<CourseResponse> courses;
+    private List<UserResponse> lecturers;
+    private List<ReviewResponse> reviews;
+}
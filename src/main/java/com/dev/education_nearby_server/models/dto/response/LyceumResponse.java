@@ -1,6 +1,8 @@
 package com.dev.education_nearby_server.models.dto.response;
 
 import com.dev.education_nearby_server.enums.VerificationStatus;
+import com.dev.education_nearby_server.utils.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -8,8 +10,9 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 /**
- * Lyceum representation returned to clients.
+ * Lyceum representation returned to clients. List endpoints may trim it to the requested fields.
  */
+@JsonFilter(FieldSelection.FILTER_ID)
 @Getter
 @Setter
 @Builder
@@ -38,4 +41,5 @@ public class LyceumResponse {
     private LyceumImageResponse mainImage;
     private VerificationStatus verificationStatus;
     private Double averageRating;
+    private long subscriberCount;
 }
@@ -0,0 +1,34 @@
+package com.dev.education_nearby_server.models.dto.response;
+
+import com.dev.education_nearby_server.enums.ScheduleRecurrence;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * A lecturer booked into two courses at overlapping times; times describe the slot of {@code courseId}.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleConflictResponse {
+    private Long lecturerId;
+    private Long courseId;
+    private String courseName;
+    private Long conflictingCourseId;
+    private String conflictingCourseName;
+    private ScheduleRecurrence recurrence;
+    private DayOfWeek dayOfWeek;
+    private Integer dayOfMonth;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private LocalTime conflictingStartTime;
+    private LocalTime conflictingEndTime;
+}
@@ -0,0 +1,22 @@
+package com.dev.education_nearby_server.models.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Result of checking every lecturer timetable for overlapping course slots.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleValidationReportResponse {
+    private int lecturersScanned;
+    private List<ScheduleConflictResponse> conflicts;
+}
@@ -27,6 +27,8 @@ public class SubscriberExportJobResponse {
     private SubscriberExportStatus status;
     private String fileName;
     private String errorMessage;
+    private long rowsTotal;
+    private long rowsWritten;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime completedAt;
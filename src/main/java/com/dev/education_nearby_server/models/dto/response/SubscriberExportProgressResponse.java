@@ -0,0 +1,21 @@
+package com.dev.education_nearby_server.models.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Progress of a running subscriber export, pushed on its event stream.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubscriberExportProgressResponse {
+    private Long id;
+    private long rowsWritten;
+    private long rowsTotal;
+}
@@ -0,0 +1,23 @@
+package com.dev.education_nearby_server.models.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * One page of subscribers in id order; pass {@code nextCursor} as {@code after} to fetch the next page.
+ * {@code nextCursor} is null on the last page.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubscriberPageResponse {
+    private List<SubscriberResponse> items;
+    private Long nextCursor;
+}
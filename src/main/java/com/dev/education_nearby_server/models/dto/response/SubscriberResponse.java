@@ -0,0 +1,23 @@
+package com.dev.education_nearby_server.models.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Slim subscriber row used by the subscriber listings; no collections or ratings are resolved.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubscriberResponse {
+    private Long id;
+    private String firstname;
+    private String lastname;
+    private String username;
+    private String email;
+}
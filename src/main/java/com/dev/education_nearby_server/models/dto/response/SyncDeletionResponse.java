@@ -0,0 +1,24 @@
+package com.dev.education_nearby_server.models.dto.response;
+
+import com.dev.education_nearby_server.enums.SyncEntityType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A catalog row deleted since the client's last sync.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncDeletionResponse {
+    private SyncEntityType type;
+    private Long id;
+    private LocalDateTime deletedAt;
+}
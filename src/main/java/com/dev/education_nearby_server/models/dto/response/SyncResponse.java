@@ -0,0 +1,31 @@
+package com.dev.education_nearby_server.models.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Catalog rows created, updated or deleted since the token the client sent. Pass {@code nextToken}
+ * as {@code since} on the next call; while {@code hasMore} is true the next call returns more rows straight away.
+ * When {@code resyncRequired} is set the token was older than the deletion history, so the client drops its
+ * local copy and rebuilds it from this response and the ones that follow.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponse {
+    private List<LyceumResponse> lyceums;
+    private List<CourseResponse> courses;
+    private List<LyceumImageResponse> lyceumImages;
+    private List<CourseImageResponse> courseImages;
+    private List<SyncDeletionResponse> deleted;
+    private String nextToken;
+    private boolean hasMore;
+    private boolean resyncRequired;
+}
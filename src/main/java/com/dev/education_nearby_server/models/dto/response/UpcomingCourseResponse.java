@@ -0,0 +1,29 @@
+package com.dev.education_nearby_server.models.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A class starting soon at a lyceum within the requested radius.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpcomingCourseResponse {
+    private Long courseId;
+    private String courseName;
+    private Long lyceumId;
+    private String lyceumName;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private double distanceKm;
+}
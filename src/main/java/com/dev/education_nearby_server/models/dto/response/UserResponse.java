@@ -1,5 +1,6 @@
 package com.dev.education_nearby_server.models.dto.response;
 
+import com.dev.education_nearby_server.enums.NotificationFrequency;
 import com.dev.education_nearby_server.enums.Role;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -31,4 +32,5 @@ public class UserResponse {
     private List<Long> lecturedLyceumIds;
     private boolean enabled;
     private Double averageRating;
+    private NotificationFrequency notificationFrequency;
 }
@@ -11,9 +11,11 @@ import jakarta.persistence.MappedSuperclass;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.CurrentTimestamp;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.time.LocalDateTime;
 
 /**
  * Common image metadata fields persisted for course and lyceum images.
@@ -45,4 +47,11 @@ public abstract class ImageMetadata implements Serializable {
     private Integer height;
     private String mimeType;
     private Integer orderIndex = 0;
+
+    /**
+     * Set from the database clock on every insert and update of this row; the delta sync feed pages on it.
+     */
+    @CurrentTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
 }
@@ -20,9 +20,12 @@ import jakarta.persistence.Transient;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CurrentTimestamp;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -89,6 +92,27 @@ public class Lyceum implements Serializable {
     @Column(name = "share_count", nullable = false)
     private long shareCount;
 
+    /**
+     * Maintained by the subscription statements and the reconciliation job only, never by entity saves.
+     */
+    @ColumnDefault("0")
+    @Column(name = "subscriber_count", nullable = false, insertable = false, updatable = false)
+    private long subscriberCount;
+
+    /**
+     * Bumped by every statement that changes the subscriber set; keys reusable subscriber exports.
+     */
+    @ColumnDefault("0")
+    @Column(name = "subscription_version", nullable = false, insertable = false, updatable = false)
+    private long subscriptionVersion;
+
+    /**
+     * Set from the database clock on every insert and update of this row; the delta sync feed pages on it.
+     */
+    @CurrentTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
     @OneToMany(mappedBy = "administratedLyceum")
     private List<User> administrators = new ArrayList<>();
 
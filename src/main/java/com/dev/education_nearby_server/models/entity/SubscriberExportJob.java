@@ -3,6 +3,7 @@ package com.dev.education_nearby_server.models.entity;
 import com.dev.education_nearby_server.enums.SubscriberExportFormat;
 import com.dev.education_nearby_server.enums.SubscriberExportScope;
 import com.dev.education_nearby_server.enums.SubscriberExportStatus;
+import com.dev.education_nearby_server.utils.TokenDigests;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -13,6 +14,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -77,6 +79,26 @@ public class SubscriberExportJob {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
+    @Column(name = "rows_total", nullable = false)
+    private long rowsTotal;
+
+    @Column(name = "rows_written", nullable = false)
+    private long rowsWritten;
+
+    /**
+     * SHA-256 over the target's subscription versions when the job was requested; the file is reusable
+     * while it matches. For a lyceum-wide course export it covers every course of the lyceum.
+     */
+    @Column(name = "subscription_fingerprint", length = TokenDigests.LENGTH, columnDefinition = "BINARY(32)")
+    private byte[] subscriptionFingerprint;
+
+    /**
+     * Guards status changes, so a cancellation and the worker finishing the export cannot both win.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     void prePersist() {
         LocalDateTime now = LocalDateTime.now();
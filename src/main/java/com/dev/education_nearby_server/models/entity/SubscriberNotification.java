@@ -0,0 +1,73 @@
+package com.dev.education_nearby_server.models.entity;
+
+import com.dev.education_nearby_server.enums.SubscriberNotificationStatus;
+import com.dev.education_nearby_server.enums.SubscriberNotificationType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change notification for one subscriber. The unique key makes fan-out idempotent:
+ * the same change is recorded at most once per user even when the user follows both
+ * the course and its lyceum, or when the fan-out is re-run.
+ */
+@Entity
+@Table(
+        name = "subscriber_notifications",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uq_subscriber_notifications_dedup",
+                columnNames = {"user_id", "course_id", "type", "dedup_key"}),
+        indexes = @Index(name = "idx_subscriber_notifications_status_user", columnList = "status, user_id")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SubscriberNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(nullable = false)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 32)
+    private SubscriberNotificationType type;
+
+    @Column(name = "dedup_key", nullable = false, length = 64)
+    private String dedupKey;
+
+    @Column(name = "summary", nullable = false, length = 512)
+    private String summary;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private SubscriberNotificationStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,59 @@
+package com.dev.education_nearby_server.models.entity;
+
+import com.dev.education_nearby_server.enums.SyncEntityType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CurrentTimestamp;
+import org.hibernate.generator.EventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records that a synced catalog row was deleted, so that sync clients can drop their local copy.
+ */
+@Entity
+@Table(name = "sync_tombstones")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(nullable = false)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private SyncEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    /**
+     * Set from the database clock on insert, the same clock that stamps the rows of the synced tables.
+     */
+    @CurrentTimestamp(event = EventType.INSERT)
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    public static SyncTombstone of(SyncEntityType entityType, Long entityId) {
+        return SyncTombstone.builder()
+                .entityType(entityType)
+                .entityId(entityId)
+                .build();
+    }
+}
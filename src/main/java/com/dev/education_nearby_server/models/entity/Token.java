@@ -1,6 +1,7 @@
 package com.dev.education_nearby_server.models.entity;
 
 import com.dev.education_nearby_server.enums.TokenType;
+import com.dev.education_nearby_server.utils.TokenDigests;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
@@ -12,7 +13,9 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -25,6 +28,7 @@ import java.io.Serializable;
 
 /**
  * Persisted JWT or verification token used for auth sessions and lyceum verification.
+ * Only the keyed digest of the token is stored; the raw value lives in memory for the issuing request.
  */
 @Data
 @Builder
@@ -40,9 +44,13 @@ public class Token implements Serializable {
     @Column(nullable = false)
     private Long id;
 
-    @Column(unique = true)
+    @Transient
     public String tokenValue;
 
+    @Column(name = "token_hash", nullable = false, unique = true, length = TokenDigests.LENGTH,
+            columnDefinition = "BINARY(32)")
+    private byte[] tokenHash;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "token_type", nullable = false)
     public TokenType tokenType = TokenType.BEARER;
@@ -61,4 +69,19 @@ public class Token implements Serializable {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "lyceum_id")
     private Lyceum lyceum;
+
+    /**
+     * Sets the raw value and refreshes the stored digest so lookups stay consistent.
+     */
+    public void setTokenValue(String tokenValue) {
+        this.tokenValue = tokenValue;
+        this.tokenHash = tokenValue == null ? null : TokenDigests.hmac(tokenValue);
+    }
+
+    @PrePersist
+    void hashTokenValue() {
+        if (tokenValue != null) {
+            tokenHash = TokenDigests.hmac(tokenValue);
+        }
+    }
 }
@@ -1,7 +1,9 @@
 package com.dev.education_nearby_server.models.entity;
 
 import com.dev.education_nearby_server.enums.AuthProvider;
+import com.dev.education_nearby_server.enums.NotificationFrequency;
 import com.dev.education_nearby_server.enums.Role;
+import com.dev.education_nearby_server.utils.TokenDigests;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
@@ -20,6 +22,7 @@ import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -111,7 +114,8 @@ public class User implements UserDetails, Serializable {
     @JoinTable(
             name = "user_course_subscriptions",
             joinColumns = @JoinColumn(name = "user_id"),
-            inverseJoinColumns = @JoinColumn(name = "course_id")
+            inverseJoinColumns = @JoinColumn(name = "course_id"),
+            uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "course_id"})
     )
     private List<Course> subscribedCourses = new ArrayList<>();
 
@@ -119,7 +123,8 @@ public class User implements UserDetails, Serializable {
     @JoinTable(
             name = "user_lyceum_subscriptions",
             joinColumns = @JoinColumn(name = "user_id"),
-            inverseJoinColumns = @JoinColumn(name = "lyceum_id")
+            inverseJoinColumns = @JoinColumn(name = "lyceum_id"),
+            uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "lyceum_id"})
     )
     private List<Lyceum> subscribedLyceums = new ArrayList<>();
 
@@ -143,6 +148,17 @@ public class User implements UserDetails, Serializable {
 
     private boolean enabled;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "notification_frequency", nullable = false, length = 16)
+    @Default
+    private NotificationFrequency notificationFrequency = NotificationFrequency.IMMEDIATE;
+
+    /**
+     * SHA-256 digest of the secret embedded in the user's calendar feed URL; null until one is issued.
+     */
+    @Column(name = "calendar_token_hash", length = TokenDigests.LENGTH, columnDefinition = "BINARY(32)")
+    private byte[] calendarTokenHash;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
@@ -1,8 +1,12 @@
 package com.dev.education_nearby_server.repositories;
 
 import com.dev.education_nearby_server.models.entity.CourseImage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,4 +15,29 @@ public interface CourseImageRepository extends JpaRepository<CourseImage, Long>
     Optional<CourseImage> findByS3Key(String s3Key);
 
     List<CourseImage> findAllByCourseIdOrderByOrderIndexAscIdAsc(Long courseId);
+
+    /**
+     * Latest course image change; null when there are no course images.
+     */
+    @Query("SELECT MAX(x.updatedAt) FROM CourseImage x")
+    LocalDateTime findLastUpdatedAt();
+
+    /**
+     * Course images changed after the {@code (since, afterId)} position and no later than {@code until},
+     * in {@code (updatedAt, id)} order. Walks the {@code (updated_at, id)} index.
+     */
+    @Query("""
+            SELECT x
+            FROM CourseImage x
+            WHERE x.updatedAt >= :since
+              AND (x.updatedAt > :since OR x.id > :afterId)
+              AND x.updatedAt <= :until
+            ORDER BY x.updatedAt, x.id
+            """)
+    List<CourseImage> findChangedSince(
+            @Param("since") LocalDateTime since,
+            @Param("afterId") long afterId,
+            @Param("until") LocalDateTime until,
+            Pageable pageable
+    );
 }
@@ -13,7 +13,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.DayOfWeek;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +34,10 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     @Query("UPDATE Course c SET c.seenInResultsCount = c.seenInResultsCount + 1 WHERE c.id IN :courseIds")
     void incrementSeenInResultsCount(@Param("courseIds") List<Long> courseIds);
 
+    @Modifying
+    @Query("UPDATE Course c SET c.seenInResultsCount = c.seenInResultsCount + :times WHERE c.id IN :courseIds")
+    void incrementSeenInResultsCountBy(@Param("courseIds") List<Long> courseIds, @Param("times") long times);
+
     @Modifying
     @Query("UPDATE Course c SET c.visitCount = c.visitCount + 1 WHERE c.id = :courseId")
     void incrementVisitCount(@Param("courseId") Long courseId);
@@ -40,6 +46,14 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     @Query("UPDATE Course c SET c.shareCount = c.shareCount + 1 WHERE c.id = :courseId")
     void incrementShareCount(@Param("courseId") Long courseId);
 
+    /**
+     * Stamps the course with the database clock so the delta sync feed picks up changes that only
+     * touched its collection tables.
+     */
+    @Modifying
+    @Query(value = "UPDATE courses SET updated_at = CURRENT_TIMESTAMP(6) WHERE id = :courseId", nativeQuery = true)
+    void touchUpdatedAt(@Param("courseId") Long courseId);
+
     @Query(value = """
             SELECT COUNT(*)
             FROM user_course_subscriptions
@@ -47,6 +61,80 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
             """, nativeQuery = true)
     long countSubscriptionsByCourseId(@Param("courseId") Long courseId);
 
+    /**
+     * Locks the course row for the rest of the transaction, so concurrent subscription changes
+     * update its counter one at a time. Empty when the course does not exist.
+     */
+    @Query(value = "SELECT id FROM courses WHERE id = :courseId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockForSubscriptionChange(@Param("courseId") Long courseId);
+
+    /**
+     * Locks the course row like {@link #lockForSubscriptionChange} and returns its subscription version.
+     * Empty when the course does not exist.
+     */
+    @Query(value = "SELECT subscription_version FROM courses WHERE id = :courseId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockSubscriptionVersion(@Param("courseId") Long courseId);
+
+    /**
+     * Subscribes without loading either side's collection; returns 0 when the row already exists.
+     * Callers hold the course row lock from {@link #lockForSubscriptionChange}, so the existence check
+     * cannot race another insert, and foreign key violations still fail the statement.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_course_subscriptions (user_id, course_id)
+            SELECT :userId, :courseId
+            FROM DUAL
+            WHERE NOT EXISTS (
+                SELECT 1 FROM user_course_subscriptions s WHERE s.user_id = :userId AND s.course_id = :courseId
+            )
+            """, nativeQuery = true)
+    int insertSubscription(@Param("userId") Long userId, @Param("courseId") Long courseId);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_course_subscriptions WHERE user_id = :userId AND course_id = :courseId",
+            nativeQuery = true)
+    int deleteSubscription(@Param("userId") Long userId, @Param("courseId") Long courseId);
+
+    @Modifying
+    @Query(value = """
+            UPDATE courses
+            SET subscriber_count = GREATEST(subscriber_count + :delta, 0),
+                subscription_version = subscription_version + 1
+            WHERE id = :courseId
+            """, nativeQuery = true)
+    void adjustSubscriberCount(@Param("courseId") Long courseId, @Param("delta") long delta);
+
+    /**
+     * Takes a deleted user's subscriptions out of the counters; call before the join rows are removed.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE courses
+            SET subscriber_count = GREATEST(subscriber_count - 1, 0),
+                subscription_version = subscription_version + 1
+            WHERE id IN (SELECT s.course_id FROM user_course_subscriptions s WHERE s.user_id = :userId)
+            """, nativeQuery = true)
+    int decrementSubscriberCountsOfUser(@Param("userId") Long userId);
+
+    /**
+     * Rewrites counters that drifted from the join table for courses with ids in {@code (fromId, toId]}.
+     *
+     * @return number of corrected rows
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE courses
+            SET subscriber_count = (SELECT COUNT(*) FROM user_course_subscriptions s WHERE s.course_id = courses.id),
+                subscription_version = subscription_version + 1
+            WHERE id > :fromId AND id <= :toId
+              AND subscriber_count <> (SELECT COUNT(*) FROM user_course_subscriptions s WHERE s.course_id = courses.id)
+            """, nativeQuery = true)
+    int reconcileSubscriberCounts(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Query("SELECT COALESCE(MAX(x.id), 0) FROM Course x")
+    long findMaxId();
+
     @Query(value = """
             SELECT DISTINCT c
             FROM Course c
@@ -563,4 +651,221 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
             @Param("applyActivePeriodFilter") boolean applyActivePeriodFilter,
             Pageable pageable
     );
+
+    @Query("SELECT c.id AS id, c.scheduleVersion AS scheduleVersion FROM Course c WHERE c.id IN :ids")
+    List<ScheduleVersion> findScheduleVersionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT lecturer.id FROM Course c JOIN c.lecturers lecturer")
+    List<Long> findAllLecturerIds();
+
+    @Query("""
+            SELECT c.id AS id, l.id AS lyceumId, l.name AS lyceumName, l.latitude AS latitude, l.longitude AS longitude
+            FROM Course c
+            JOIN c.lyceum l
+            WHERE l.latitude IS NOT NULL AND l.longitude IS NOT NULL
+            ORDER BY c.id
+            """)
+    List<CourseLocation> findLocatedCourses();
+
+    /**
+     * Loads courses with both schedule collections in one round trip, for expanding occurrences.
+     */
+    @Query("""
+            SELECT DISTINCT c
+            FROM Course c
+            LEFT JOIN FETCH c.schedule.slots
+            LEFT JOIN FETCH c.schedule.specialCases
+            WHERE c.id IN :ids
+            """)
+    List<Course> findWithScheduleByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Loads the courses of a lyceum with their images and age groups in one round trip.
+     * Schedules and lecturer ids are read by separate queries to keep the join narrow.
+     */
+    @Query("""
+            SELECT DISTINCT c
+            FROM Course c
+            JOIN FETCH c.lyceum l
+            LEFT JOIN FETCH c.images
+            LEFT JOIN FETCH c.ageGroupList
+            WHERE l.id = :lyceumId
+            ORDER BY c.id
+            """)
+    List<Course> findWithImagesByLyceumId(@Param("lyceumId") Long lyceumId);
+
+    /**
+     * Lecturer ids of every course of a lyceum, as (course, lecturer) pairs.
+     */
+    @Query("""
+            SELECT c.id AS courseId, lecturer.id AS lecturerId
+            FROM Course c
+            JOIN c.lecturers lecturer
+            WHERE c.lyceum.id = :lyceumId
+            ORDER BY c.id, lecturer.id
+            """)
+    List<CourseLecturer> findLecturerIdsByLyceumId(@Param("lyceumId") Long lyceumId);
+
+    /**
+     * Lists each course of a lyceum with its subscriber set version and size, in id order.
+     */
+    @Query("""
+            SELECT c.id AS id, c.subscriptionVersion AS subscriptionVersion, c.subscriberCount AS subscriberCount
+            FROM Course c
+            WHERE c.lyceum.id = :lyceumId
+            ORDER BY c.id
+            """)
+    List<CourseSubscriptions> findSubscriptionsByLyceumId(@Param("lyceumId") Long lyceumId);
+
+    /**
+     * Like {@link #findSubscriptionsByLyceumId}, but locks every listed course row like
+     * {@link #lockForSubscriptionChange} until commit. Rows are locked in id order.
+     */
+    @Query(value = """
+            SELECT id AS id, subscription_version AS subscriptionVersion, subscriber_count AS subscriberCount
+            FROM courses
+            WHERE lyceum_id = :lyceumId
+            ORDER BY id
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<CourseSubscriptions> lockSubscriptionsByLyceumId(@Param("lyceumId") Long lyceumId);
+
+    /**
+     * Lists what a calendar feed renders from each subscribed course, without loading schedules.
+     */
+    @Query("""
+            SELECT c.id AS id, c.name AS name, c.address AS address, c.scheduleVersion AS scheduleVersion
+            FROM Course c
+            JOIN c.subscribers subscriber
+            WHERE subscriber.id = :userId
+            ORDER BY c.id
+            """)
+    List<CalendarEntry> findCalendarEntriesBySubscriberId(@Param("userId") Long userId);
+
+    /**
+     * Latest course change; null when there are no courses.
+     */
+    @Query("SELECT MAX(x.updatedAt) FROM Course x")
+    LocalDateTime findLastUpdatedAt();
+
+    /**
+     * Courses changed after the {@code (since, afterId)} position and no later than {@code until},
+     * in {@code (updatedAt, id)} order. Walks the {@code (updated_at, id)} index.
+     */
+    @Query("""
+            SELECT x
+            FROM Course x
+            LEFT JOIN FETCH x.lyceum
+            WHERE x.updatedAt >= :since
+              AND (x.updatedAt > :since OR x.id > :afterId)
+              AND x.updatedAt <= :until
+            ORDER BY x.updatedAt, x.id
+            """)
+    List<Course> findChangedSince(
+            @Param("since") LocalDateTime since,
+            @Param("afterId") long afterId,
+            @Param("until") LocalDateTime until,
+            Pageable pageable
+    );
+
+    /**
+     * Loads courses with their images and age groups in one round trip.
+     */
+    @Query("""
+            SELECT DISTINCT c
+            FROM Course c
+            LEFT JOIN FETCH c.images
+            LEFT JOIN FETCH c.ageGroupList
+            WHERE c.id IN :ids
+            """)
+    List<Course> findWithImagesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lecturer ids of the given courses, as (course, lecturer) pairs.
+     */
+    @Query("""
+            SELECT c.id AS courseId, lecturer.id AS lecturerId
+            FROM Course c
+            JOIN c.lecturers lecturer
+            WHERE c.id IN :ids
+            ORDER BY c.id, lecturer.id
+            """)
+    List<CourseLecturer> findLecturerIdsByCourseIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Number of courses of each of the given lyceums; lyceums without courses are absent.
+     */
+    @Query("""
+            SELECT c.lyceum.id AS lyceumId, COUNT(c) AS coursesCount
+            FROM Course c
+            WHERE c.lyceum.id IN :lyceumIds
+            GROUP BY c.lyceum.id
+            """)
+    List<LyceumCourseCount> countByLyceumIdIn(@Param("lyceumIds") Collection<Long> lyceumIds);
+
+    /**
+     * Cheap lookup of the version that keys cached schedule expansions.
+     */
+    interface ScheduleVersion {
+        Long getId();
+
+        long getScheduleVersion();
+    }
+
+    /**
+     * Fields of a subscribed course that determine its calendar feed entries.
+     */
+    interface CalendarEntry {
+        Long getId();
+
+        String getName();
+
+        String getAddress();
+
+        long getScheduleVersion();
+    }
+
+    /**
+     * Subscriber set version and size of a course.
+     */
+    interface CourseSubscriptions {
+        Long getId();
+
+        long getSubscriptionVersion();
+
+        long getSubscriberCount();
+    }
+
+    /**
+     * A lecturer assigned to a course.
+     */
+    interface CourseLecturer {
+        Long getCourseId();
+
+        Long getLecturerId();
+    }
+
+    /**
+     * Number of courses of one lyceum.
+     */
+    interface LyceumCourseCount {
+        Long getLyceumId();
+
+        long getCoursesCount();
+    }
+
+    /**
+     * Course placed at the coordinates of its lyceum.
+     */
+    interface CourseLocation {
+        Long getId();
+
+        Long getLyceumId();
+
+        String getLyceumName();
+
+        Double getLatitude();
+
+        Double getLongitude();
+    }
 }
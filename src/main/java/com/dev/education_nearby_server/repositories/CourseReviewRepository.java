@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,4 +29,39 @@ public interface CourseReviewRepository extends JpaRepository<CourseReview, Cour
               AND r.deletedAt IS NULL
             """)
     Double findAverageRatingByCourseId(@Param("courseId") Long courseId);
+
+    /**
+     * Average ratings of every reviewed course of a lyceum, keyed by course id.
+     */
+    @Query("""
+            SELECT cr.course.id AS id, AVG(r.rating) AS averageRating
+            FROM CourseReview cr
+            JOIN cr.review r
+            WHERE cr.course.lyceum.id = :lyceumId
+              AND r.deletedAt IS NULL
+            GROUP BY cr.course.id
+            """)
+    List<AverageRating> findAverageRatingsByLyceumId(@Param("lyceumId") Long lyceumId);
+
+    /**
+     * Average ratings of the given courses that have reviews, keyed by course id.
+     */
+    @Query("""
+            SELECT cr.course.id AS id, AVG(r.rating) AS averageRating
+            FROM CourseReview cr
+            JOIN cr.review r
+            WHERE cr.course.id IN :courseIds
+              AND r.deletedAt IS NULL
+            GROUP BY cr.course.id
+            """)
+    List<AverageRating> findAverageRatingsByCourseIdIn(@Param("courseIds") Collection<Long> courseIds);
+
+    /**
+     * Average rating of one course.
+     */
+    interface AverageRating {
+        Long getId();
+
+        Double getAverageRating();
+    }
 }
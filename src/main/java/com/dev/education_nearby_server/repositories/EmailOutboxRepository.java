@@ -0,0 +1,65 @@
+package com.dev.education_nearby_server.repositories;
+
+import com.dev.education_nearby_server.enums.EmailOutboxStatus;
+import com.dev.education_nearby_server.models.entity.EmailOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    /**
+     * Ids of messages ready for delivery: pending and due, or stuck in SENDING after their lease ran out.
+     */
+    @Query(value = """
+            SELECT id
+            FROM email_outbox
+            WHERE (status = 'PENDING' AND next_attempt_at <= :now)
+               OR (status = 'SENDING' AND locked_until < :now)
+            ORDER BY next_attempt_at, id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findDueIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Atomically leases one due message to the caller; returns 0 when another worker got it first.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE EmailOutboxMessage m
+            SET m.status = :sending, m.lockedUntil = :lockedUntil
+            WHERE m.id = :id
+              AND ((m.status = :pending AND m.nextAttemptAt <= :now)
+                OR (m.status = :sending AND m.lockedUntil < :now))
+            """)
+    int claim(@Param("id") Long id,
+              @Param("now") LocalDateTime now,
+              @Param("lockedUntil") LocalDateTime lockedUntil,
+              @Param("pending") EmailOutboxStatus pending,
+              @Param("sending") EmailOutboxStatus sending);
+
+    long countByStatus(EmailOutboxStatus status);
+
+    /**
+     * Selects one batch of sent or dead-lettered messages last touched before the cutoff.
+     */
+    @Query(value = """
+            SELECT id
+            FROM email_outbox
+            WHERE status IN ('SENT', 'DEAD')
+              AND updated_at < :cutoff
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findPurgeableIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutboxMessage m WHERE m.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+}
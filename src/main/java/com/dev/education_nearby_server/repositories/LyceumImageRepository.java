@@ -1,8 +1,12 @@
 package com.dev.education_nearby_server.repositories;
 
 import com.dev.education_nearby_server.models.entity.LyceumImage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,4 +15,29 @@ public interface LyceumImageRepository extends JpaRepository<LyceumImage, Long>
     Optional<LyceumImage> findByS3Key(String s3Key);
 
     List<LyceumImage> findAllByLyceumIdOrderByOrderIndexAscIdAsc(Long lyceumId);
+
+    /**
+     * Latest lyceum image change; null when there are no lyceum images.
+     */
+    @Query("SELECT MAX(x.updatedAt) FROM LyceumImage x")
+    LocalDateTime findLastUpdatedAt();
+
+    /**
+     * Lyceum images changed after the {@code (since, afterId)} position and no later than {@code until},
+     * in {@code (updatedAt, id)} order. Walks the {@code (updated_at, id)} index.
+     */
+    @Query("""
+            SELECT x
+            FROM LyceumImage x
+            WHERE x.updatedAt >= :since
+              AND (x.updatedAt > :since OR x.id > :afterId)
+              AND x.updatedAt <= :until
+            ORDER BY x.updatedAt, x.id
+            """)
+    List<LyceumImage> findChangedSince(
+            @Param("since") LocalDateTime since,
+            @Param("afterId") long afterId,
+            @Param("until") LocalDateTime until,
+            Pageable pageable
+    );
 }
@@ -10,6 +10,8 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,10 +22,17 @@ public interface LyceumRepository extends JpaRepository<Lyceum, Long> {
     @EntityGraph(attributePaths = "lecturers")
     Optional<Lyceum> findWithLecturersById(Long id);
 
+    @EntityGraph(attributePaths = "images")
+    Optional<Lyceum> findWithImagesById(Long id);
+
     @Modifying
     @Query("UPDATE Lyceum l SET l.seenInResultsCount = l.seenInResultsCount + 1 WHERE l.id IN :lyceumIds")
     void incrementSeenInResultsCount(@Param("lyceumIds") List<Long> lyceumIds);
 
+    @Modifying
+    @Query("UPDATE Lyceum l SET l.seenInResultsCount = l.seenInResultsCount + :times WHERE l.id IN :lyceumIds")
+    void incrementSeenInResultsCountBy(@Param("lyceumIds") List<Long> lyceumIds, @Param("times") long times);
+
     @Modifying
     @Query("UPDATE Lyceum l SET l.visitCount = l.visitCount + 1 WHERE l.id = :lyceumId")
     void incrementVisitCount(@Param("lyceumId") Long lyceumId);
@@ -39,6 +48,83 @@ public interface LyceumRepository extends JpaRepository<Lyceum, Long> {
             """, nativeQuery = true)
     long countSubscriptionsByLyceumId(@Param("lyceumId") Long lyceumId);
 
+    /**
+     * Locks the lyceum row for the rest of the transaction, so concurrent subscription changes
+     * update its counter one at a time. Empty when the lyceum does not exist.
+     */
+    @Query(value = "SELECT id FROM lyceums WHERE id = :lyceumId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockForSubscriptionChange(@Param("lyceumId") Long lyceumId);
+
+    /**
+     * Locks the lyceum row like {@link #lockForSubscriptionChange} and returns its subscription version.
+     * Empty when the lyceum does not exist.
+     */
+    @Query(value = "SELECT subscription_version FROM lyceums WHERE id = :lyceumId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockSubscriptionVersion(@Param("lyceumId") Long lyceumId);
+
+    /**
+     * Subscribes without loading either side's collection; returns 0 when the row already exists.
+     * Callers hold the lyceum row lock from {@link #lockForSubscriptionChange}, so the existence check
+     * cannot race another insert, and foreign key violations still fail the statement.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_lyceum_subscriptions (user_id, lyceum_id)
+            SELECT :userId, :lyceumId
+            FROM DUAL
+            WHERE NOT EXISTS (
+                SELECT 1 FROM user_lyceum_subscriptions s WHERE s.user_id = :userId AND s.lyceum_id = :lyceumId
+            )
+            """, nativeQuery = true)
+    int insertSubscription(@Param("userId") Long userId, @Param("lyceumId") Long lyceumId);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_lyceum_subscriptions WHERE user_id = :userId AND lyceum_id = :lyceumId",
+            nativeQuery = true)
+    int deleteSubscription(@Param("userId") Long userId, @Param("lyceumId") Long lyceumId);
+
+    @Modifying
+    @Query(value = """
+            UPDATE lyceums
+            SET subscriber_count = GREATEST(subscriber_count + :delta, 0),
+                subscription_version = subscription_version + 1
+            WHERE id = :lyceumId
+            """, nativeQuery = true)
+    void adjustSubscriberCount(@Param("lyceumId") Long lyceumId, @Param("delta") long delta);
+
+    /**
+     * Takes a deleted user's subscriptions out of the counters; call before the join rows are removed.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE lyceums
+            SET subscriber_count = GREATEST(subscriber_count - 1, 0),
+                subscription_version = subscription_version + 1
+            WHERE id IN (SELECT s.lyceum_id FROM user_lyceum_subscriptions s WHERE s.user_id = :userId)
+            """, nativeQuery = true)
+    int decrementSubscriberCountsOfUser(@Param("userId") Long userId);
+
+    /**
+     * Rewrites counters that drifted from the join table for lyceums with ids in {@code (fromId, toId]}.
+     *
+     * @return number of corrected rows
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE lyceums
+            SET subscriber_count = (SELECT COUNT(*) FROM user_lyceum_subscriptions s WHERE s.lyceum_id = lyceums.id),
+                subscription_version = subscription_version + 1
+            WHERE id > :fromId AND id <= :toId
+              AND subscriber_count <> (SELECT COUNT(*) FROM user_lyceum_subscriptions s WHERE s.lyceum_id = lyceums.id)
+            """, nativeQuery = true)
+    int reconcileSubscriberCounts(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Query("SELECT COALESCE(MAX(x.id), 0) FROM Lyceum x")
+    long findMaxId();
+
+    /**
+     * Verified lyceums matching the filters, nearest first when coordinates are given.
+     */
     @Query(value = """
             SELECT *
             FROM lyceums l
@@ -70,4 +156,61 @@ public interface LyceumRepository extends JpaRepository<Lyceum, Long> {
             @Param("status") String status,
             Pageable pageable
     );
+
+    /**
+     * Verified lyceums matching the filters, most subscribed first. The order is exactly that of
+     * idx_lyceums_status_subscriber_count read backwards, so a page is read in index order
+     * instead of sorting every match.
+     */
+    @Query(value = """
+            SELECT *
+            FROM lyceums l
+            WHERE l.verification_status = :status
+              AND (:town IS NULL OR LOWER(l.town) = LOWER(:town))
+              AND (:latitude IS NULL OR :longitude IS NULL OR (l.latitude IS NOT NULL AND l.longitude IS NOT NULL))
+            ORDER BY l.subscriber_count DESC, l.id DESC
+            """,
+            countQuery = """
+            SELECT COUNT(*)
+            FROM lyceums l
+            WHERE l.verification_status = :status
+              AND (:town IS NULL OR LOWER(l.town) = LOWER(:town))
+              AND (:latitude IS NULL OR :longitude IS NULL OR (l.latitude IS NOT NULL AND l.longitude IS NOT NULL))
+            """,
+            nativeQuery = true)
+    Page<Lyceum> filterPopularLyceums(
+            @Param("town") String town,
+            @Param("latitude") Double latitude,
+            @Param("longitude") Double longitude,
+            @Param("status") String status,
+            Pageable pageable
+    );
+
+    /**
+     * Latest lyceum change; null when there are no lyceums.
+     */
+    @Query("SELECT MAX(x.updatedAt) FROM Lyceum x")
+    LocalDateTime findLastUpdatedAt();
+
+    /**
+     * Lyceums changed after the {@code (since, afterId)} position and no later than {@code until},
+     * in {@code (updatedAt, id)} order. Walks the {@code (updated_at, id)} index.
+     */
+    @Query("""
+            SELECT x
+            FROM Lyceum x
+            WHERE x.updatedAt >= :since
+              AND (x.updatedAt > :since OR x.id > :afterId)
+              AND x.updatedAt <= :until
+            ORDER BY x.updatedAt, x.id
+            """)
+    List<Lyceum> findChangedSince(
+            @Param("since") LocalDateTime since,
+            @Param("afterId") long afterId,
+            @Param("until") LocalDateTime until,
+            Pageable pageable
+    );
+
+    @EntityGraph(attributePaths = "images")
+    List<Lyceum> findWithImagesByIdIn(Collection<Long> ids);
 }
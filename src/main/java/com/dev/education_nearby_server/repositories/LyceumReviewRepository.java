@@ -2,11 +2,13 @@ package com.dev.education_nearby_server.repositories;
 
 import com.dev.education_nearby_server.models.entity.LyceumReview;
 import com.dev.education_nearby_server.models.entity.LyceumReviewId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +17,19 @@ public interface LyceumReviewRepository extends JpaRepository<LyceumReview, Lyce
     @EntityGraph(attributePaths = {"review", "review.user"})
     List<LyceumReview> findAllByLyceum_IdAndReview_DeletedAtIsNull(Long lyceumId);
 
+    /**
+     * Newest visible reviews of a lyceum, as many as the page size allows.
+     */
+    @Query("""
+            SELECT lr
+            FROM LyceumReview lr
+            JOIN FETCH lr.review r
+            WHERE lr.lyceum.id = :lyceumId
+              AND r.deletedAt IS NULL
+            ORDER BY r.createdAt DESC, r.id DESC
+            """)
+    List<LyceumReview> findRecentByLyceumId(@Param("lyceumId") Long lyceumId, Pageable pageable);
+
     @EntityGraph(attributePaths = {"review", "review.user"})
     Optional<LyceumReview> findByLyceum_IdAndReviewer_IdAndReview_DeletedAtIsNull(Long lyceumId, Long reviewerId);
 
@@ -28,4 +43,26 @@ public interface LyceumReviewRepository extends JpaRepository<LyceumReview, Lyce
               AND r.deletedAt IS NULL
             """)
     Double findAverageRatingByLyceumId(@Param("lyceumId") Long lyceumId);
+
+    /**
+     * Average ratings of the given lyceums that have reviews, keyed by lyceum id.
+     */
+    @Query("""
+            SELECT lr.lyceum.id AS id, AVG(r.rating) AS averageRating
+            FROM LyceumReview lr
+            JOIN lr.review r
+            WHERE lr.lyceum.id IN :lyceumIds
+              AND r.deletedAt IS NULL
+            GROUP BY lr.lyceum.id
+            """)
+    List<AverageRating> findAverageRatingsByLyceumIdIn(@Param("lyceumIds") Collection<Long> lyceumIds);
+
+    /**
+     * Average rating of one lyceum.
+     */
+    interface AverageRating {
+        Long getId();
+
+        Double getAverageRating();
+    }
 }
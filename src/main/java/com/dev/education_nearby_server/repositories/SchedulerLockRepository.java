@@ -0,0 +1,32 @@
+package com.dev.education_nearby_server.repositories;
+
+import com.dev.education_nearby_server.models.entity.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE SchedulerLock l
+            SET l.lockedUntil = :lockedUntil, l.lockedAt = :now, l.lockedBy = :lockedBy
+            WHERE l.name = :name AND l.lockedUntil <= :now
+            """)
+    int tryLock(@Param("name") String name,
+                @Param("lockedUntil") LocalDateTime lockedUntil,
+                @Param("now") LocalDateTime now,
+                @Param("lockedBy") String lockedBy);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :now WHERE l.name = :name AND l.lockedBy = :lockedBy")
+    int unlock(@Param("name") String name,
+               @Param("now") LocalDateTime now,
+               @Param("lockedBy") String lockedBy);
+}
@@ -1,12 +1,69 @@
 package com.dev.education_nearby_server.repositories;
 
+import com.dev.education_nearby_server.enums.SubscriberExportFormat;
 import com.dev.education_nearby_server.enums.SubscriberExportScope;
+import com.dev.education_nearby_server.enums.SubscriberExportStatus;
 import com.dev.education_nearby_server.models.entity.SubscriberExportJob;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 
 public interface SubscriberExportJobRepository extends JpaRepository<SubscriberExportJob, Long> {
     Optional<SubscriberExportJob> findByIdAndScopeAndTargetId(Long id, SubscriberExportScope scope, Long targetId);
-}
 
+    Optional<SubscriberExportJob> findByIdAndScopeInAndTargetId(
+            Long id,
+            Collection<SubscriberExportScope> scopes,
+            Long targetId
+    );
+
+    Optional<SubscriberExportJob> findFirstByScopeAndTargetIdAndFormatAndStatusInOrderByIdDesc(
+            SubscriberExportScope scope,
+            Long targetId,
+            SubscriberExportFormat format,
+            Collection<SubscriberExportStatus> statuses
+    );
+
+    /**
+     * Records export progress while the job is still running. Leaves the version alone, so the
+     * worker's copy of the job stays current.
+     *
+     * @return 0 once the job is no longer in progress, e.g. after it was cancelled
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE SubscriberExportJob j SET j.rowsWritten = :rowsWritten, j.updatedAt = :updatedAt
+            WHERE j.id = :id AND j.status = com.dev.education_nearby_server.enums.SubscriberExportStatus.IN_PROGRESS
+            """)
+    int updateRowsWrittenIfInProgress(
+            @Param("id") Long id,
+            @Param("rowsWritten") long rowsWritten,
+            @Param("updatedAt") LocalDateTime updatedAt
+    );
+
+    /**
+     * Cancels the job while it is still pending or running, whatever version the caller read. The
+     * worker's progress saves bump the version, so a versioned save would lose to them even though
+     * the job is still running. The version is bumped here too, so a worker holding an older copy
+     * fails its next save instead of overwriting the cancellation.
+     *
+     * @return 0 once the job is no longer pending or running
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE SubscriberExportJob j
+            SET j.status = com.dev.education_nearby_server.enums.SubscriberExportStatus.CANCELLED,
+                j.completedAt = :now, j.updatedAt = :now, j.version = j.version + 1
+            WHERE j.id = :id
+              AND j.status IN (com.dev.education_nearby_server.enums.SubscriberExportStatus.PENDING,
+                               com.dev.education_nearby_server.enums.SubscriberExportStatus.IN_PROGRESS)
+            """)
+    int cancelIfActive(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,74 @@
+package com.dev.education_nearby_server.repositories;
+
+import com.dev.education_nearby_server.enums.SubscriberNotificationStatus;
+import com.dev.education_nearby_server.models.entity.SubscriberNotification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface SubscriberNotificationRepository extends JpaRepository<SubscriberNotification, Long> {
+
+    /**
+     * Records a notification unless the same change was already recorded for the user.
+     *
+     * @return 1 when a row was inserted, 0 when it was a duplicate
+     */
+    @Modifying
+    @Query(value = """
+            INSERT IGNORE INTO subscriber_notifications
+                (user_id, course_id, type, dedup_key, summary, status, created_at)
+            VALUES (:userId, :courseId, :type, :dedupKey, :summary, :status, :createdAt)
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId,
+                       @Param("courseId") Long courseId,
+                       @Param("type") String type,
+                       @Param("dedupKey") String dedupKey,
+                       @Param("summary") String summary,
+                       @Param("status") String status,
+                       @Param("createdAt") LocalDateTime createdAt);
+
+    @Query(value = """
+            SELECT DISTINCT n.user_id
+            FROM subscriber_notifications n
+            WHERE n.status = :status AND n.user_id > :afterUserId
+            ORDER BY n.user_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findUserIdsWithStatusAfter(@Param("status") String status,
+                                          @Param("afterUserId") Long afterUserId,
+                                          @Param("limit") int limit);
+
+    List<SubscriberNotification> findByUserIdInAndStatusOrderByUserIdAscIdAsc(
+            Collection<Long> userIds, SubscriberNotificationStatus status);
+
+    /**
+     * Ids of delivered notifications created before the cutoff. Pending digest entries are kept.
+     */
+    @Query(value = """
+            SELECT id
+            FROM subscriber_notifications
+            WHERE status IN ('QUEUED', 'DIGESTED')
+              AND created_at < :cutoff
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findPurgeableIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM SubscriberNotification n WHERE n.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("""
+            UPDATE SubscriberNotification n
+            SET n.status = :status, n.sentAt = :sentAt
+            WHERE n.id IN :ids
+            """)
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("status") SubscriberNotificationStatus status,
+                     @Param("sentAt") LocalDateTime sentAt);
+}
@@ -0,0 +1,60 @@
+package com.dev.education_nearby_server.repositories;
+
+import com.dev.education_nearby_server.models.entity.SyncTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    @Query("SELECT COALESCE(MAX(t.id), 0) FROM SyncTombstone t")
+    long findMaxId();
+
+    /**
+     * Current time on the database clock, which stamps {@code updated_at} and {@code deleted_at},
+     * so that sync watermarks never depend on the clock of the node serving the request.
+     */
+    @Query(value = "SELECT LOCALTIMESTAMP(6)", nativeQuery = true)
+    LocalDateTime findDatabaseTime();
+
+    /**
+     * Deletions recorded after the {@code (since, afterId)} position and no later than {@code until},
+     * in {@code (deletedAt, id)} order. Walks the {@code (deleted_at, id)} index.
+     */
+    @Query("""
+            SELECT t
+            FROM SyncTombstone t
+            WHERE t.deletedAt >= :since
+              AND (t.deletedAt > :since OR t.id > :afterId)
+              AND t.deletedAt <= :until
+            ORDER BY t.deletedAt, t.id
+            """)
+    List<SyncTombstone> findRecordedSince(
+            @Param("since") LocalDateTime since,
+            @Param("afterId") long afterId,
+            @Param("until") LocalDateTime until,
+            Pageable pageable
+    );
+
+    /**
+     * Tombstones recorded before the cutoff, oldest first. Walks the {@code (deleted_at, id)} index.
+     */
+    @Query(value = """
+            SELECT id
+            FROM sync_tombstones
+            WHERE deleted_at < :cutoff
+            ORDER BY deleted_at, id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findPurgeableIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM SyncTombstone t WHERE t.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+}
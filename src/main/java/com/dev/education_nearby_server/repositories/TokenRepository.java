@@ -1,10 +1,14 @@
 package com.dev.education_nearby_server.repositories;
 
 import com.dev.education_nearby_server.models.entity.Token;
+import com.dev.education_nearby_server.utils.TokenDigests;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,8 +21,38 @@ public interface TokenRepository extends JpaRepository<Token, Long> {
       """)
     List<Token> findAllValidTokenByUser(Long id);
 
-    @Query("select t from Token t where t.tokenValue = :token")
-    Optional<Token> findByToken(@Param("token") String token);
+    @Query("select t from Token t where t.tokenHash = :tokenHash")
+    Optional<Token> findByTokenHash(@Param("tokenHash") byte[] tokenHash);
+
+    /**
+     * Looks up a raw token through its fixed-width digest index.
+     */
+    default Optional<Token> findByToken(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        return findByTokenHash(TokenDigests.hmac(token));
+    }
+
+    /**
+     * Selects one batch of tokens that can be deleted: expired or revoked rows older than the grace cutoff,
+     * and bearer rows old enough that the JWT itself can no longer be valid.
+     */
+    @Query(value = """
+            SELECT id
+            FROM tokens
+            WHERE (created_at < :graceCutoff AND (expired = true OR revoked = true))
+               OR (token_type = 'BEARER' AND created_at < :bearerCutoff)
+            ORDER BY id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findPurgeableTokenIds(@Param("graceCutoff") LocalDateTime graceCutoff,
+                                     @Param("bearerCutoff") LocalDateTime bearerCutoff,
+                                     @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM Token t WHERE t.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 
     void deleteAllByLyceum_Id(Long lyceumId);
 
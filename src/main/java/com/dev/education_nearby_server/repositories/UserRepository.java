@@ -1,9 +1,15 @@
 package com.dev.education_nearby_server.repositories;
 
 import com.dev.education_nearby_server.enums.AuthProvider;
+import com.dev.education_nearby_server.enums.NotificationFrequency;
+import com.dev.education_nearby_server.enums.Role;
 import com.dev.education_nearby_server.models.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +21,169 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findAllByAdministratedLyceum_Id(Long lyceumId);
     List<User> findDistinctBySubscribedCourses_IdOrderByIdAsc(Long courseId);
     List<User> findDistinctBySubscribedLyceums_IdOrderByIdAsc(Long lyceumId);
+
+    /**
+     * Next page of distinct user ids following a course directly or through its lyceum, in id order.
+     * Each branch reads at most {@code limit} ids past the cursor from its (target id, user id) index
+     * before the union, so a page costs the same at any cursor position.
+     */
+    @Query(value = """
+            SELECT s.user_id
+            FROM (
+                (SELECT cs.user_id
+                 FROM user_course_subscriptions cs
+                 WHERE cs.course_id = :courseId AND cs.user_id > :afterUserId
+                 ORDER BY cs.user_id
+                 LIMIT :limit)
+                UNION
+                (SELECT ls.user_id
+                 FROM user_lyceum_subscriptions ls
+                 WHERE ls.lyceum_id = :lyceumId AND ls.user_id > :afterUserId
+                 ORDER BY ls.user_id
+                 LIMIT :limit)
+            ) s
+            ORDER BY s.user_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findCourseSubscriberIdsAfter(@Param("courseId") Long courseId,
+                                            @Param("lyceumId") Long lyceumId,
+                                            @Param("afterUserId") Long afterUserId,
+                                            @Param("limit") int limit);
+
+    @Query("""
+            SELECT u.id AS id, u.email AS email, u.notificationFrequency AS notificationFrequency
+            FROM User u
+            WHERE u.id IN :ids AND u.enabled = true
+            """)
+    List<NotificationRecipient> findNotificationRecipients(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Subscribers of a course with ids above the cursor, in id order, selecting only the listed columns.
+     */
+    @Query("""
+            SELECT u.id AS id, u.firstname AS firstname, u.lastname AS lastname,
+                   u.username AS username, u.email AS email
+            FROM User u
+            JOIN u.subscribedCourses c
+            WHERE c.id = :courseId AND u.id > :afterUserId
+            ORDER BY u.id
+            """)
+    List<SubscriberSummary> findCourseSubscribersAfter(@Param("courseId") Long courseId,
+                                                       @Param("afterUserId") long afterUserId,
+                                                       Pageable pageable);
+
+    /**
+     * Subscribers of a lyceum with ids above the cursor, in id order, selecting only the listed columns.
+     */
+    @Query("""
+            SELECT u.id AS id, u.firstname AS firstname, u.lastname AS lastname,
+                   u.username AS username, u.email AS email
+            FROM User u
+            JOIN u.subscribedLyceums l
+            WHERE l.id = :lyceumId AND u.id > :afterUserId
+            ORDER BY u.id
+            """)
+    List<SubscriberSummary> findLyceumSubscribersAfter(@Param("lyceumId") Long lyceumId,
+                                                       @Param("afterUserId") long afterUserId,
+                                                       Pageable pageable);
+
+    /**
+     * Subscribers of a course with ids above the cursor, in id order, with the columns an export writes.
+     */
+    @Query("""
+            SELECT u.id AS id, u.firstname AS firstname, u.lastname AS lastname,
+                   u.username AS username, u.email AS email, u.role AS role, u.enabled AS enabled
+            FROM User u
+            JOIN u.subscribedCourses c
+            WHERE c.id = :courseId AND u.id > :afterUserId
+            ORDER BY u.id
+            """)
+    List<SubscriberExportRow> findCourseSubscriberExportRowsAfter(@Param("courseId") Long courseId,
+                                                                  @Param("afterUserId") long afterUserId,
+                                                                  Pageable pageable);
+
+    @Query("SELECT u.calendarTokenHash FROM User u WHERE u.id = :userId AND u.enabled = true")
+    Optional<byte[]> findCalendarTokenHash(@Param("userId") Long userId);
+
+    /**
+     * Lecturers of a lyceum together with the to-one associations that would otherwise load per user.
+     */
+    @Query("""
+            SELECT u
+            FROM User u
+            JOIN u.lecturedLyceums lyceum
+            LEFT JOIN FETCH u.administratedLyceum
+            LEFT JOIN FETCH u.profileImage
+            WHERE lyceum.id = :lyceumId
+            ORDER BY u.id
+            """)
+    List<User> findLecturersByLyceumId(@Param("lyceumId") Long lyceumId);
+
+    /**
+     * Courses lectured by each of the given users, as (user, course) id pairs.
+     */
+    @Query("""
+            SELECT u.id AS userId, c.id AS targetId
+            FROM User u
+            JOIN u.coursesLectured c
+            WHERE u.id IN :userIds
+            ORDER BY u.id, c.id
+            """)
+    List<LecturedTarget> findLecturedCourseIds(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Lyceums lectured at by each of the given users, as (user, lyceum) id pairs.
+     */
+    @Query("""
+            SELECT u.id AS userId, l.id AS targetId
+            FROM User u
+            JOIN u.lecturedLyceums l
+            WHERE u.id IN :userIds
+            ORDER BY u.id, l.id
+            """)
+    List<LecturedTarget> findLecturedLyceumIds(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Minimal view of a user needed to deliver a notification.
+     */
+    interface NotificationRecipient {
+        Long getId();
+
+        String getEmail();
+
+        NotificationFrequency getNotificationFrequency();
+    }
+
+    /**
+     * Columns shown in subscriber listings.
+     */
+    interface SubscriberSummary {
+        Long getId();
+
+        String getFirstname();
+
+        String getLastname();
+
+        String getUsername();
+
+        String getEmail();
+    }
+
+    /**
+     * Columns written to a subscriber export.
+     */
+    interface SubscriberExportRow extends SubscriberSummary {
+        Role getRole();
+
+        boolean isEnabled();
+    }
+
+    /**
+     * A course or lyceum a user lectures at.
+     */
+    interface LecturedTarget {
+        Long getUserId();
+
+        Long getTargetId();
+    }
 }
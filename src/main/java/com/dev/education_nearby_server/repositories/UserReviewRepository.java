@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,4 +29,26 @@ public interface UserReviewRepository extends JpaRepository<UserReview, UserRevi
               AND r.deletedAt IS NULL
             """)
     Double findAverageRatingByReviewedUserId(@Param("reviewedUserId") Long reviewedUserId);
+
+    /**
+     * Average ratings of the given users, keyed by user id; users without reviews are absent.
+     */
+    @Query("""
+            SELECT ur.reviewedUser.id AS id, AVG(r.rating) AS averageRating
+            FROM UserReview ur
+            JOIN ur.review r
+            WHERE ur.reviewedUser.id IN :reviewedUserIds
+              AND r.deletedAt IS NULL
+            GROUP BY ur.reviewedUser.id
+            """)
+    List<AverageRating> findAverageRatingsByReviewedUserIds(@Param("reviewedUserIds") Collection<Long> reviewedUserIds);
+
+    /**
+     * Average rating of one reviewed user.
+     */
+    interface AverageRating {
+        Long getId();
+
+        Double getAverageRating();
+    }
 }
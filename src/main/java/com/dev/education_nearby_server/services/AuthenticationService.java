@@ -1,5 +1,6 @@
 package com.dev.education_nearby_server.services;
 
+import com.dev.education_nearby_server.config.AuthenticatedUserCache;
 import com.dev.education_nearby_server.config.JwtService;
 import com.dev.education_nearby_server.config.PasswordResetProperties;
 import com.dev.education_nearby_server.enums.AuthProvider;
@@ -64,6 +65,7 @@ public class AuthenticationService {
     private final LyceumService lyceumService;
     private final EmailService emailService;
     private final PasswordResetProperties passwordResetProperties;
+    private final AuthenticatedUserCache authenticatedUserCache;
     private final SecureRandom secureRandom = new SecureRandom();
 
     /**
@@ -126,7 +128,8 @@ public class AuthenticationService {
     }
 
     /**
-     * Issues a fresh access/refresh token pair for the provided user and revokes previous access tokens.
+     * Issues a fresh access/refresh token pair for the provided user, revokes previous access tokens,
+     * and drops any cached principal so the next request sees the current account state.
      *
      * @param user authenticated user
      * @return token pair for API usage
@@ -136,6 +139,8 @@ public class AuthenticationService {
         String refreshToken = jwtService.generateRefreshToken(user);
         revokeActiveBearerTokens(user);
         saveUserToken(user, jwtToken);
+        // A fresh login must never be served a stale principal left behind by a previous account state
+        authenticatedUserCache.evict(user.getEmail(), user.getUsername());
         return AuthenticationResponse.builder()
                 .accessToken(jwtToken)
                 .refreshToken(refreshToken)
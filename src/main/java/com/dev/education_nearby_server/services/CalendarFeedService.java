@@ -0,0 +1,371 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.CalendarFeedProperties;
+import com.dev.education_nearby_server.exceptions.common.NoSuchElementException;
+import com.dev.education_nearby_server.models.entity.Course;
+import com.dev.education_nearby_server.models.entity.CourseSchedule;
+import com.dev.education_nearby_server.models.entity.CourseScheduleSlot;
+import com.dev.education_nearby_server.models.entity.CourseScheduleSpecialCase;
+import com.dev.education_nearby_server.repositories.CourseRepository;
+import com.dev.education_nearby_server.repositories.UserRepository;
+import com.dev.education_nearby_server.utils.TokenDigests;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+
+/**
+ * Renders the iCalendar feed of the courses a user is subscribed to.
+ * Each schedule slot becomes recurring VEVENTs (one per class in the slot) with cancellations as
+ * EXDATEs, so calendar apps expand the sessions themselves and the feed stays small.
+ * The ETag is derived from the subscribed courses and their schedule versions, so conditional polls
+ * are answered without loading schedules; rendered bytes are cached per user under that ETag.
+ */
+@Service
+public class CalendarFeedService {
+
+    private static final String CRLF = "\r\n";
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final String UID_DOMAIN = "@education-nearby";
+    private static final String[] BY_DAY = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+    private static final DateTimeFormatter LOCAL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final CalendarFeedProperties properties;
+    private final ZoneId zone;
+    private final Cache<Long, RenderedFeed> cache;
+
+    public CalendarFeedService(
+            UserRepository userRepository,
+            CourseRepository courseRepository,
+            CalendarFeedProperties properties
+    ) {
+        this.userRepository = userRepository;
+        this.courseRepository = courseRepository;
+        this.properties = properties;
+        this.zone = ZoneId.of(properties.getTimeZone());
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getCacheMaxBytes())
+                .weigher((Long userId, RenderedFeed feed) -> feed.content().length)
+                .expireAfterAccess(properties.getCacheExpireAfterAccess())
+                .build();
+    }
+
+    /**
+     * Identifies the current state of a user's feed after checking the feed token.
+     * Events start from the current month, so the ETag also changes once a month.
+     *
+     * @throws NoSuchElementException when the user has no feed or the token does not match
+     */
+    @Transactional(readOnly = true)
+    public CalendarFeed openFeed(Long userId, String token) {
+        byte[] expected = userId == null ? null : userRepository.findCalendarTokenHash(userId).orElse(null);
+        if (expected == null || !StringUtils.hasText(token)
+                || !MessageDigest.isEqual(expected, TokenDigests.sha256(token))) {
+            throw new NoSuchElementException("Calendar feed not found.");
+        }
+        YearMonth anchorMonth = YearMonth.now(zone);
+        List<CourseRepository.CalendarEntry> entries = courseRepository.findCalendarEntriesBySubscriberId(userId);
+        List<Long> courseIds = entries.stream().map(CourseRepository.CalendarEntry::getId).toList();
+        return new CalendarFeed(userId, etagOf(userId, anchorMonth, entries), anchorMonth, courseIds);
+    }
+
+    /**
+     * Returns the feed body, serving cached bytes when they match the feed's ETag. Otherwise the
+     * schedules are loaded here, inside the request's transaction, and rendered while streaming.
+     */
+    @Transactional(readOnly = true)
+    public StreamingResponseBody openBody(CalendarFeed feed) {
+        RenderedFeed cached = cache.getIfPresent(feed.userId());
+        if (cached != null && cached.etag().equals(feed.etag())) {
+            return output -> output.write(cached.content());
+        }
+        List<Course> courses = feed.courseIds().isEmpty()
+                ? List.of()
+                : courseRepository.findWithScheduleByIdIn(feed.courseIds()).stream()
+                .sorted(Comparator.comparing(Course::getId))
+                .toList();
+        return output -> {
+            CapturingOutputStream capture = new CapturingOutputStream(output, properties.getMaxCachedFeedBytes());
+            Writer writer = new BufferedWriter(new OutputStreamWriter(capture, StandardCharsets.UTF_8));
+            render(writer, courses, feed.anchorMonth().atDay(1));
+            writer.flush();
+            byte[] content = capture.captured();
+            if (content != null) {
+                cache.put(feed.userId(), new RenderedFeed(feed.etag(), content));
+            }
+        };
+    }
+
+    /**
+     * Drops the cached feed of a user, e.g. after a subscription change or token rotation.
+     */
+    public void evict(Long userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+
+    void render(Writer writer, List<Course> courses, LocalDate anchor) throws IOException {
+        String stamp = UTC_DATE_TIME.format(Instant.now());
+        line(writer, "BEGIN:VCALENDAR");
+        line(writer, "VERSION:2.0");
+        line(writer, "PRODID:-//Education Nearby//Course Calendar//BG");
+        line(writer, "CALSCALE:GREGORIAN");
+        line(writer, "METHOD:PUBLISH");
+        line(writer, "X-WR-CALNAME:" + escape(properties.getCalendarName()));
+        line(writer, "X-WR-TIMEZONE:" + zone.getId());
+        for (Course course : courses) {
+            writeCourse(writer, course, anchor, stamp);
+        }
+        line(writer, "END:VCALENDAR");
+    }
+
+    private void writeCourse(Writer writer, Course course, LocalDate anchor, String stamp) throws IOException {
+        CourseSchedule schedule = course.getSchedule();
+        if (schedule == null || schedule.getSlots() == null) {
+            return;
+        }
+        Set<LocalDate> cancelled = cancelledDatesFrom(schedule, anchor);
+        String byMonth = byMonth(course.getActiveStartMonth(), course.getActiveEndMonth());
+        List<CourseScheduleSlot> slots = schedule.getSlots();
+        for (int slotIndex = 0; slotIndex < slots.size(); slotIndex++) {
+            CourseScheduleSlot slot = slots.get(slotIndex);
+            String rule = recurrenceRule(slot, byMonth);
+            if (rule == null) {
+                continue;
+            }
+            List<ScheduleExpander.Occurrence> firstDay = firstDayOf(slot, course, anchor);
+            for (int classIndex = 0; classIndex < firstDay.size(); classIndex++) {
+                ScheduleExpander.Occurrence session = firstDay.get(classIndex);
+                line(writer, "BEGIN:VEVENT");
+                line(writer, "UID:course-" + course.getId() + "-slot-" + slotIndex + "-class-" + classIndex + UID_DOMAIN);
+                line(writer, "DTSTAMP:" + stamp);
+                line(writer, "DTSTART;TZID=" + zone.getId() + ":" + local(session.date(), session.startTime()));
+                if (session.endTime() != null) {
+                    line(writer, "DTEND;TZID=" + zone.getId() + ":" + local(session.date(), session.endTime()));
+                }
+                line(writer, "RRULE:" + rule);
+                if (!cancelled.isEmpty()) {
+                    StringJoiner exdates = new StringJoiner(",", "EXDATE;TZID=" + zone.getId() + ":", "");
+                    cancelled.forEach(date -> exdates.add(local(date, session.startTime())));
+                    line(writer, exdates.toString());
+                }
+                line(writer, "SUMMARY:" + escape(course.getName()));
+                if (StringUtils.hasText(course.getAddress())) {
+                    line(writer, "LOCATION:" + escape(course.getAddress()));
+                }
+                line(writer, "END:VEVENT");
+            }
+        }
+    }
+
+    /**
+     * Classes of the slot on its first active date on or after the anchor; this becomes DTSTART.
+     */
+    private static List<ScheduleExpander.Occurrence> firstDayOf(CourseScheduleSlot slot, Course course, LocalDate anchor) {
+        CourseSchedule single = new CourseSchedule();
+        single.getSlots().add(slot);
+        List<ScheduleExpander.Occurrence> year = ScheduleExpander.expand(
+                single, course.getActiveStartMonth(), course.getActiveEndMonth(), anchor, anchor.plusYears(1));
+        if (year.isEmpty()) {
+            return List.of();
+        }
+        LocalDate first = year.get(0).date();
+        return year.stream().filter(occurrence -> occurrence.date().equals(first)).toList();
+    }
+
+    private static String recurrenceRule(CourseScheduleSlot slot, String byMonth) {
+        if (slot == null || slot.getRecurrence() == null || slot.getStartTime() == null) {
+            return null;
+        }
+        String rule = switch (slot.getRecurrence()) {
+            case WEEKLY -> slot.getDayOfWeek() == null
+                    ? null
+                    : "FREQ=WEEKLY;BYDAY=" + BY_DAY[slot.getDayOfWeek().getValue() - 1];
+            case MONTHLY -> slot.getDayOfMonth() == null || slot.getDayOfMonth() < 1 || slot.getDayOfMonth() > 31
+                    ? null
+                    : "FREQ=MONTHLY;BYMONTHDAY=" + slot.getDayOfMonth();
+            case ONE_TIME -> null;
+        };
+        return rule == null || byMonth == null ? rule : rule + ";BYMONTH=" + byMonth;
+    }
+
+    /**
+     * Lists the active months, wrapping over the new year; null when the course runs all year.
+     */
+    private static String byMonth(Month start, Month end) {
+        if (start == null || end == null) {
+            return null;
+        }
+        StringJoiner months = new StringJoiner(",");
+        Month month = start;
+        int count = 0;
+        while (true) {
+            months.add(Integer.toString(month.getValue()));
+            count++;
+            if (month == end) {
+                break;
+            }
+            month = month.plus(1);
+        }
+        return count == 12 ? null : months.toString();
+    }
+
+    private static Set<LocalDate> cancelledDatesFrom(CourseSchedule schedule, LocalDate anchor) {
+        Set<LocalDate> cancelled = new TreeSet<>();
+        if (schedule.getSpecialCases() == null) {
+            return cancelled;
+        }
+        for (CourseScheduleSpecialCase specialCase : schedule.getSpecialCases()) {
+            if (specialCase != null && specialCase.isCancelled() && specialCase.getDate() != null
+                    && !specialCase.getDate().isBefore(anchor)) {
+                cancelled.add(specialCase.getDate());
+            }
+        }
+        return cancelled;
+    }
+
+    private static String etagOf(Long userId, YearMonth anchorMonth, List<CourseRepository.CalendarEntry> entries) {
+        StringBuilder fingerprint = new StringBuilder().append(userId).append('|').append(anchorMonth);
+        for (CourseRepository.CalendarEntry entry : entries) {
+            fingerprint.append('|').append(entry.getId())
+                    .append(':').append(entry.getScheduleVersion())
+                    .append(':').append(entry.getName())
+                    .append(':').append(entry.getAddress());
+        }
+        byte[] digest = TokenDigests.sha256(fingerprint.toString());
+        return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+    }
+
+    private static String local(LocalDate date, LocalTime time) {
+        return LocalDateTime.of(date, time).format(LOCAL_DATE_TIME);
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int index = 0; index < value.length(); index++) {
+            char current = value.charAt(index);
+            switch (current) {
+                case '\\' -> escaped.append("\\\\");
+                case ';' -> escaped.append("\\;");
+                case ',' -> escaped.append("\\,");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> { }
+                default -> escaped.append(current);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Writes a content line folded at 75 octets as RFC 5545 requires, never splitting a UTF-8 sequence.
+     */
+    private static void line(Writer writer, String content) throws IOException {
+        int octets = 0;
+        int index = 0;
+        while (index < content.length()) {
+            int codePoint = content.codePointAt(index);
+            int charCount = Character.charCount(codePoint);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + size > MAX_LINE_OCTETS) {
+                writer.write(CRLF);
+                writer.write(' ');
+                octets = 1;
+            }
+            writer.write(content, index, charCount);
+            octets += size;
+            index += charCount;
+        }
+        writer.write(CRLF);
+    }
+
+    /**
+     * Current state of a user's feed: its ETag plus what is needed to render it.
+     */
+    public record CalendarFeed(Long userId, String etag, YearMonth anchorMonth, List<Long> courseIds) {
+    }
+
+    private record RenderedFeed(String etag, byte[] content) {
+    }
+
+    /**
+     * Passes bytes through to the response while keeping a copy for the cache, up to a limit.
+     */
+    private static final class CapturingOutputStream extends OutputStream {
+
+        private final OutputStream target;
+        private final int limit;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        private CapturingOutputStream(OutputStream target, int limit) {
+            this.target = target;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int value) throws IOException {
+            target.write(value);
+            if (copy != null) {
+                copy.write(value);
+                dropCopyOverLimit();
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            target.write(bytes, offset, length);
+            if (copy != null) {
+                copy.write(bytes, offset, length);
+                dropCopyOverLimit();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            target.flush();
+        }
+
+        byte[] captured() {
+            return copy == null ? null : copy.toByteArray();
+        }
+
+        private void dropCopyOverLimit() {
+            if (copy.size() > limit) {
+                copy = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.CatalogSnapshotProperties;
+import com.dev.education_nearby_server.enums.CatalogSnapshotType;
+import com.dev.education_nearby_server.exceptions.common.InternalServerErrorException;
+import com.dev.education_nearby_server.models.dto.response.CourseResponse;
+import com.dev.education_nearby_server.models.dto.response.LyceumResponse;
+import com.dev.education_nearby_server.repositories.CourseImageRepository;
+import com.dev.education_nearby_server.repositories.CourseRepository;
+import com.dev.education_nearby_server.repositories.LyceumImageRepository;
+import com.dev.education_nearby_server.repositories.LyceumRepository;
+import com.dev.education_nearby_server.repositories.SyncTombstoneRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Publishes the anonymous catalog views as files: the verified lyceums and all courses are
+ * serialised once, gzip-compressed once, and every request afterwards is a file send with a
+ * strong ETag. Each node keeps its own files and rebuilds them in the background once the catalog
+ * has changed and then stayed quiet for a while, so a burst of edits costs one rebuild.
+ * Changes are detected from the newest {@code updated_at} of the synced tables and the newest
+ * deletion tombstone, which are single index lookups.
+ */
+@Slf4j
+@Service
+public class CatalogSnapshotService {
+
+    private static final String JSON_SUFFIX = ".json";
+    private static final String GZIP_SUFFIX = ".json.gz";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int VERSION_BYTES = 16;
+
+    private final LyceumService lyceumService;
+    private final CourseService courseService;
+    private final LyceumRepository lyceumRepository;
+    private final CourseRepository courseRepository;
+    private final LyceumImageRepository lyceumImageRepository;
+    private final CourseImageRepository courseImageRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final StatisticsService statisticsService;
+    private final ObjectMapper objectMapper;
+    private final CatalogSnapshotProperties properties;
+    private final Clock clock;
+    private final Map<CatalogSnapshotType, AtomicLong> downloads = new EnumMap<>(CatalogSnapshotType.class);
+    private volatile Published published;
+    private ChangeMarker lastSeenMarker;
+    private Instant lastChangeSeenAt;
+    private Instant firstChangeSeenAt;
+
+    @Autowired
+    public CatalogSnapshotService(
+            LyceumService lyceumService,
+            CourseService courseService,
+            LyceumRepository lyceumRepository,
+            CourseRepository courseRepository,
+            LyceumImageRepository lyceumImageRepository,
+            CourseImageRepository courseImageRepository,
+            SyncTombstoneRepository syncTombstoneRepository,
+            StatisticsService statisticsService,
+            ObjectMapper objectMapper,
+            CatalogSnapshotProperties properties
+    ) {
+        this(lyceumService, courseService, lyceumRepository, courseRepository, lyceumImageRepository,
+                courseImageRepository, syncTombstoneRepository, statisticsService, objectMapper, properties,
+                Clock.systemUTC());
+    }
+
+    CatalogSnapshotService(
+            LyceumService lyceumService,
+            CourseService courseService,
+            LyceumRepository lyceumRepository,
+            CourseRepository courseRepository,
+            LyceumImageRepository lyceumImageRepository,
+            CourseImageRepository courseImageRepository,
+            SyncTombstoneRepository syncTombstoneRepository,
+            StatisticsService statisticsService,
+            ObjectMapper objectMapper,
+            CatalogSnapshotProperties properties,
+            Clock clock
+    ) {
+        this.lyceumService = lyceumService;
+        this.courseService = courseService;
+        this.lyceumRepository = lyceumRepository;
+        this.courseRepository = courseRepository;
+        this.lyceumImageRepository = lyceumImageRepository;
+        this.courseImageRepository = courseImageRepository;
+        this.syncTombstoneRepository = syncTombstoneRepository;
+        this.statisticsService = statisticsService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.clock = clock;
+        for (CatalogSnapshotType type : CatalogSnapshotType.values()) {
+            downloads.put(type, new AtomicLong());
+        }
+    }
+
+    /**
+     * Returns the current snapshot of the given view, building it on the first call.
+     */
+    public Snapshot getSnapshot(CatalogSnapshotType type) {
+        Published current = published;
+        if (current == null) {
+            current = initialSnapshots();
+        }
+        return current.snapshots().get(type);
+    }
+
+    /**
+     * Counts a full download of the view; the rows are recorded as seen in results in bulk later.
+     */
+    public void recordDownload(CatalogSnapshotType type) {
+        downloads.get(type).incrementAndGet();
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.catalog.snapshot.poll-interval:10s}",
+            fixedDelayString = "${app.catalog.snapshot.poll-interval:10s}"
+    )
+    public void scheduledRefresh() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            flushDownloads();
+            refreshIfDue();
+        } catch (RuntimeException ex) {
+            // The previous snapshot keeps being served; the next poll tries again.
+            log.warn("Catalog snapshot refresh failed", ex);
+        }
+    }
+
+    /**
+     * Rebuilds the snapshots when the catalog changed and has been quiet for the quiet period,
+     * when a change has waited longer than the maximum delay, or when the snapshots are too old.
+     *
+     * @return true when the snapshots were rebuilt
+     */
+    synchronized boolean refreshIfDue() {
+        ChangeMarker marker = readMarker();
+        Instant now = clock.instant();
+        Published current = published;
+        if (current == null) {
+            rebuild(marker);
+            return true;
+        }
+        boolean expired = !now.isBefore(current.builtAt().plus(properties.getMaxAge()));
+        if (marker.equals(current.marker())) {
+            firstChangeSeenAt = null;
+            if (expired) {
+                rebuild(marker);
+            }
+            return expired;
+        }
+        if (!marker.equals(lastSeenMarker)) {
+            lastSeenMarker = marker;
+            lastChangeSeenAt = now;
+            if (firstChangeSeenAt == null) {
+                firstChangeSeenAt = now;
+            }
+        }
+        boolean quiet = !now.isBefore(lastChangeSeenAt.plus(properties.getQuietPeriod()));
+        boolean overdue = !now.isBefore(firstChangeSeenAt.plus(properties.getMaxDelay()));
+        if (quiet || overdue || expired) {
+            rebuild(marker);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records the downloads tallied since the last flush against the rows of the current snapshots.
+     */
+    void flushDownloads() {
+        Published current = published;
+        if (current == null) {
+            return;
+        }
+        long lyceumDownloads = downloads.get(CatalogSnapshotType.LYCEUMS).getAndSet(0);
+        if (lyceumDownloads > 0) {
+            statisticsService.recordLyceumsSeenInResults(
+                    current.snapshots().get(CatalogSnapshotType.LYCEUMS).ids(), lyceumDownloads);
+        }
+        long courseDownloads = downloads.get(CatalogSnapshotType.COURSES).getAndSet(0);
+        if (courseDownloads > 0) {
+            statisticsService.recordCoursesSeenInResults(
+                    current.snapshots().get(CatalogSnapshotType.COURSES).ids(), courseDownloads);
+        }
+    }
+
+    private synchronized Published initialSnapshots() {
+        return published != null ? published : rebuild(readMarker());
+    }
+
+    /**
+     * Read before the catalog is loaded, so a change committed during a rebuild leaves the
+     * published marker behind and triggers another rebuild.
+     */
+    private ChangeMarker readMarker() {
+        return new ChangeMarker(
+                lyceumRepository.findLastUpdatedAt(),
+                courseRepository.findLastUpdatedAt(),
+                lyceumImageRepository.findLastUpdatedAt(),
+                courseImageRepository.findLastUpdatedAt(),
+                syncTombstoneRepository.findMaxId());
+    }
+
+    private Published rebuild(ChangeMarker marker) {
+        long started = System.nanoTime();
+        Published previous = published;
+        Path directory = Path.of(properties.getDirectory());
+        Map<CatalogSnapshotType, Snapshot> snapshots = new EnumMap<>(CatalogSnapshotType.class);
+        try {
+            Files.createDirectories(directory);
+            List<LyceumResponse> lyceums = lyceumService.getVerifiedLyceumsForSnapshot();
+            snapshots.put(CatalogSnapshotType.LYCEUMS, write(directory, CatalogSnapshotType.LYCEUMS, lyceums,
+                    lyceums.stream().map(LyceumResponse::getId).toList(), previous));
+            List<CourseResponse> courses = courseService.getAllCoursesForSnapshot();
+            snapshots.put(CatalogSnapshotType.COURSES, write(directory, CatalogSnapshotType.COURSES, courses,
+                    courses.stream().map(CourseResponse::getId).toList(), previous));
+        } catch (IOException ex) {
+            log.error("Could not write catalog snapshot to {}", directory, ex);
+            throw new InternalServerErrorException("Catalog snapshot is not available.");
+        }
+        Published built = new Published(snapshots, marker, clock.instant());
+        published = built;
+        firstChangeSeenAt = null;
+        deleteStaleFiles(directory, built, previous);
+        log.info("Rebuilt catalog snapshots. lyceums={} lyceumsGzipBytes={} courses={} coursesGzipBytes={} tookMs={}",
+                snapshots.get(CatalogSnapshotType.LYCEUMS).ids().size(),
+                snapshots.get(CatalogSnapshotType.LYCEUMS).gzip().length(),
+                snapshots.get(CatalogSnapshotType.COURSES).ids().size(),
+                snapshots.get(CatalogSnapshotType.COURSES).gzip().length(),
+                (System.nanoTime() - started) / 1_000_000);
+        return built;
+    }
+
+    /**
+     * Writes the body as JSON while hashing it; the hash names the files and is the ETag, so an
+     * unchanged catalog keeps its ETag across rebuilds and is not compressed again.
+     */
+    private Snapshot write(Path directory, CatalogSnapshotType type, Object body, List<Long> ids,
+                           Published previous) throws IOException {
+        String prefix = type.name().toLowerCase(Locale.ROOT);
+        Path jsonTemp = Files.createTempFile(directory, prefix, TEMP_SUFFIX);
+        Path gzipTemp = null;
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream out = new DigestOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(jsonTemp), BUFFER_SIZE), digest)) {
+                objectMapper.writeValue(out, body);
+            }
+            String version = HexFormat.of().formatHex(digest.digest(), 0, VERSION_BYTES);
+            Snapshot unchanged = previous == null ? null : previous.snapshots().get(type);
+            if (unchanged != null && unchanged.version().equals(version) && Files.exists(unchanged.gzip().path())) {
+                return new Snapshot(type, version, unchanged.json(), unchanged.gzip(), ids);
+            }
+
+            gzipTemp = Files.createTempFile(directory, prefix, TEMP_SUFFIX);
+            try (InputStream in = Files.newInputStream(jsonTemp);
+                 OutputStream out = gzip(Files.newOutputStream(gzipTemp))) {
+                in.transferTo(out);
+            }
+            Path json = directory.resolve(prefix + "-" + version + JSON_SUFFIX);
+            Path gzip = directory.resolve(prefix + "-" + version + GZIP_SUFFIX);
+            Files.move(gzipTemp, gzip, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(jsonTemp, json, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return new Snapshot(type, version,
+                    new SnapshotFile(json, Files.size(json), "\"" + version + "\""),
+                    new SnapshotFile(gzip, Files.size(gzip), "\"" + version + "-gzip\""),
+                    ids);
+        } finally {
+            Files.deleteIfExists(jsonTemp);
+            if (gzipTemp != null) {
+                Files.deleteIfExists(gzipTemp);
+            }
+        }
+    }
+
+    /**
+     * Keeps the current and the previous files, which responses started before the swap may
+     * still be reading, and removes other snapshot files, including leftovers of earlier runs.
+     */
+    private void deleteStaleFiles(Path directory, Published current, Published previous) {
+        Set<Path> keep = new HashSet<>();
+        for (Published snapshots : new Published[]{current, previous}) {
+            if (snapshots == null) {
+                continue;
+            }
+            snapshots.snapshots().values().forEach(snapshot -> {
+                keep.add(snapshot.json().path());
+                keep.add(snapshot.gzip().path());
+            });
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(CatalogSnapshotService::isSnapshotFile).filter(file -> !keep.contains(file)).forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException ex) {
+                    log.warn("Could not delete stale catalog snapshot file {}", file, ex);
+                }
+            });
+        } catch (IOException ex) {
+            log.warn("Could not list catalog snapshot directory {}", directory, ex);
+        }
+    }
+
+    private static boolean isSnapshotFile(Path file) {
+        String name = file.getFileName().toString();
+        for (CatalogSnapshotType type : CatalogSnapshotType.values()) {
+            if (name.startsWith(type.name().toLowerCase(Locale.ROOT))
+                    && (name.endsWith(JSON_SUFFIX) || name.endsWith(GZIP_SUFFIX) || name.endsWith(TEMP_SUFFIX))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static OutputStream gzip(OutputStream out) throws IOException {
+        return new GZIPOutputStream(out, BUFFER_SIZE) {
+            {
+                // Compressed once per rebuild and sent many times, so the slowest level pays off.
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        };
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * A published view: its plain and gzip files plus the ids of its rows, used to record downloads.
+     */
+    public record Snapshot(CatalogSnapshotType type, String version, SnapshotFile json, SnapshotFile gzip,
+                           List<Long> ids) {
+    }
+
+    /**
+     * @param etag strong ETag of this exact representation
+     */
+    public record SnapshotFile(Path path, long length, String etag) {
+    }
+
+    private record Published(Map<CatalogSnapshotType, Snapshot> snapshots, ChangeMarker marker, Instant builtAt) {
+    }
+
+    private record ChangeMarker(LocalDateTime lyceumsUpdatedAt, LocalDateTime coursesUpdatedAt,
+                                LocalDateTime lyceumImagesUpdatedAt, LocalDateTime courseImagesUpdatedAt,
+                                long lastDeletionId) {
+    }
+}
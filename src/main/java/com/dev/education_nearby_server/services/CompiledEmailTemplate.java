@@ -0,0 +1,122 @@
+package com.dev.education_nearby_server.services;
+
+import jakarta.mail.internet.MimeUtility;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Email template split once into literal segments and {@code {field}} placeholders.
+ * The subject header is MIME-encoded and the HTML literals are escaped at compile time,
+ * so rendering a message only appends the recipient-specific field values.
+ */
+final class CompiledEmailTemplate {
+
+    private final String encodedSubject;
+    private final String[] textLiterals;
+    private final String[] htmlLiterals;
+    private final String[] fieldNames;
+    private final int estimatedTextLength;
+    private final int estimatedHtmlLength;
+    private final UnaryOperator<String> htmlFormatter;
+
+    private CompiledEmailTemplate(String encodedSubject,
+                                  String[] textLiterals,
+                                  String[] htmlLiterals,
+                                  String[] fieldNames,
+                                  UnaryOperator<String> htmlFormatter) {
+        this.encodedSubject = encodedSubject;
+        this.textLiterals = textLiterals;
+        this.htmlLiterals = htmlLiterals;
+        this.fieldNames = fieldNames;
+        this.htmlFormatter = htmlFormatter;
+        this.estimatedTextLength = totalLength(textLiterals) + fieldNames.length * 32;
+        this.estimatedHtmlLength = totalLength(htmlLiterals) + fieldNames.length * 48;
+    }
+
+    /**
+     * Compiles a plain-text template into its text and HTML forms.
+     *
+     * @param subject message subject
+     * @param textTemplate plain-text body with {@code {field}} placeholders
+     * @param htmlPrefix markup emitted before the formatted body
+     * @param htmlSuffix markup emitted after the formatted body
+     * @param htmlFormatter turns plain text into HTML body markup (escaping, links, line breaks)
+     */
+    static CompiledEmailTemplate compile(String subject,
+                                         String textTemplate,
+                                         String htmlPrefix,
+                                         String htmlSuffix,
+                                         UnaryOperator<String> htmlFormatter) {
+        List<String> literals = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = textTemplate.indexOf('{', position);
+            if (open < 0) {
+                break;
+            }
+            int close = textTemplate.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unterminated placeholder in email template.");
+            }
+            literals.add(textTemplate.substring(position, open));
+            fields.add(textTemplate.substring(open + 1, close));
+            position = close + 1;
+        }
+        literals.add(textTemplate.substring(position));
+
+        String[] textLiterals = literals.toArray(String[]::new);
+        String[] htmlLiterals = new String[textLiterals.length];
+        for (int i = 0; i < textLiterals.length; i++) {
+            htmlLiterals[i] = htmlFormatter.apply(textLiterals[i]);
+        }
+        htmlLiterals[0] = htmlPrefix + htmlLiterals[0];
+        htmlLiterals[htmlLiterals.length - 1] = htmlLiterals[htmlLiterals.length - 1] + htmlSuffix;
+        return new CompiledEmailTemplate(
+                encodeSubject(subject), textLiterals, htmlLiterals, fields.toArray(String[]::new), htmlFormatter);
+    }
+
+    /**
+     * Subject already encoded as an RFC 2047 header value.
+     */
+    String encodedSubject() {
+        return encodedSubject;
+    }
+
+    String renderText(Map<String, String> fields) {
+        StringBuilder builder = new StringBuilder(estimatedTextLength);
+        for (int i = 0; i < fieldNames.length; i++) {
+            builder.append(textLiterals[i]).append(fields.get(fieldNames[i]));
+        }
+        return builder.append(textLiterals[fieldNames.length]).toString();
+    }
+
+    String renderHtml(Map<String, String> fields) {
+        StringBuilder builder = new StringBuilder(estimatedHtmlLength);
+        for (int i = 0; i < fieldNames.length; i++) {
+            builder.append(htmlLiterals[i]).append(htmlFormatter.apply(String.valueOf(fields.get(fieldNames[i]))));
+        }
+        return builder.append(htmlLiterals[fieldNames.length]).toString();
+    }
+
+    private static String encodeSubject(String subject) {
+        try {
+            return MimeUtility.fold(9, MimeUtility.encodeText(subject, StandardCharsets.UTF_8.name(), null));
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException("UTF-8 is not supported.", e);
+        }
+    }
+
+    private static int totalLength(String[] values) {
+        int length = 0;
+        for (String value : values) {
+            length += value.length();
+        }
+        return length;
+    }
+}
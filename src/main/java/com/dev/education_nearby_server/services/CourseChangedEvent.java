@@ -0,0 +1,21 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.enums.SubscriberNotificationType;
+
+/**
+ * Published by {@link CourseService} when a change subscribers should hear about is committed.
+ *
+ * @param courseId changed course
+ * @param lyceumId lyceum of the course, whose subscribers are notified too; may be null
+ * @param type kind of change
+ * @param dedupKey identifies the change so each user is notified about it only once
+ * @param summary human-readable description used in emails and digests
+ */
+public record CourseChangedEvent(
+        Long courseId,
+        Long lyceumId,
+        SubscriberNotificationType type,
+        String dedupKey,
+        String summary
+) {
+}
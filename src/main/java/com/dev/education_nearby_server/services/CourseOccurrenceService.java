@@ -0,0 +1,181 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.ScheduleOccurrenceProperties;
+import com.dev.education_nearby_server.exceptions.common.BadRequestException;
+import com.dev.education_nearby_server.exceptions.common.NoSuchElementException;
+import com.dev.education_nearby_server.models.dto.response.CourseOccurrenceResponse;
+import com.dev.education_nearby_server.models.entity.Course;
+import com.dev.education_nearby_server.repositories.CourseRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serves concrete class occurrences of courses for a date range.
+ * Expansions are cached per course, schedule version and calendar month, so a schedule edit
+ * (which bumps the version) is picked up on every node without explicit invalidation, and
+ * repeated or overlapping range requests only pay for a version lookup.
+ */
+@Service
+public class CourseOccurrenceService {
+
+    private static final Comparator<CourseOccurrenceResponse> CHRONOLOGICAL = Comparator
+            .comparing(CourseOccurrenceResponse::getDate)
+            .thenComparing(CourseOccurrenceResponse::getStartTime)
+            .thenComparing(CourseOccurrenceResponse::getCourseId);
+
+    private final CourseRepository courseRepository;
+    private final ScheduleOccurrenceProperties properties;
+    private final Cache<MonthKey, List<ScheduleExpander.Occurrence>> cache;
+
+    public CourseOccurrenceService(CourseRepository courseRepository, ScheduleOccurrenceProperties properties) {
+        this.courseRepository = courseRepository;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getCacheMaxOccurrences())
+                .weigher((MonthKey key, List<ScheduleExpander.Occurrence> value) -> Math.max(1, value.size()))
+                .expireAfterAccess(properties.getCacheExpireAfterAccess())
+                .build();
+    }
+
+    /**
+     * Lists the occurrences of one course between {@code from} and {@code to}, both inclusive.
+     *
+     * @throws NoSuchElementException when the course does not exist
+     */
+    @Transactional(readOnly = true)
+    public List<CourseOccurrenceResponse> getOccurrences(Long courseId, LocalDate from, LocalDate to) {
+        if (courseId == null) {
+            throw new BadRequestException("Course id must be provided.");
+        }
+        validateRange(from, to);
+        Map<Long, Long> versions = loadVersions(List.of(courseId));
+        if (versions.isEmpty()) {
+            throw new NoSuchElementException("Course with id " + courseId + " not found.");
+        }
+        return expand(versions, from, to);
+    }
+
+    /**
+     * Lists the occurrences of several courses merged in chronological order; unknown ids are ignored.
+     */
+    @Transactional(readOnly = true)
+    public List<CourseOccurrenceResponse> getOccurrences(Collection<Long> courseIds, LocalDate from, LocalDate to) {
+        if (courseIds == null || courseIds.isEmpty()) {
+            throw new BadRequestException("At least one course id must be provided.");
+        }
+        Set<Long> distinctIds = new LinkedHashSet<>(courseIds);
+        distinctIds.remove(null);
+        if (distinctIds.size() > properties.getMaxCourses()) {
+            throw new BadRequestException("At most " + properties.getMaxCourses() + " courses can be requested at once.");
+        }
+        validateRange(from, to);
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+        return expand(loadVersions(distinctIds), from, to);
+    }
+
+    private List<CourseOccurrenceResponse> expand(Map<Long, Long> versions, LocalDate from, LocalDate to) {
+        List<YearMonth> months = monthsBetween(from, to);
+        Map<MonthKey, List<ScheduleExpander.Occurrence>> resolved = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        versions.forEach((courseId, version) -> {
+            for (YearMonth month : months) {
+                MonthKey key = new MonthKey(courseId, version, month);
+                List<ScheduleExpander.Occurrence> cached = cache.getIfPresent(key);
+                if (cached == null) {
+                    missing.add(courseId);
+                } else {
+                    resolved.put(key, cached);
+                }
+            }
+        });
+
+        Map<Long, Long> effectiveVersions = new HashMap<>(versions);
+        if (!missing.isEmpty()) {
+            for (Course course : courseRepository.findWithScheduleByIdIn(missing)) {
+                // The loaded row may be newer than the version read above; key by what was actually expanded.
+                effectiveVersions.put(course.getId(), course.getScheduleVersion());
+                for (YearMonth month : months) {
+                    MonthKey key = new MonthKey(course.getId(), course.getScheduleVersion(), month);
+                    List<ScheduleExpander.Occurrence> occurrences = List.copyOf(ScheduleExpander.expand(
+                            course.getSchedule(),
+                            course.getActiveStartMonth(),
+                            course.getActiveEndMonth(),
+                            month.atDay(1),
+                            month.atEndOfMonth()));
+                    cache.put(key, occurrences);
+                    resolved.put(key, occurrences);
+                }
+            }
+        }
+
+        List<CourseOccurrenceResponse> result = new ArrayList<>();
+        effectiveVersions.forEach((courseId, version) -> {
+            for (YearMonth month : months) {
+                List<ScheduleExpander.Occurrence> occurrences = resolved.get(new MonthKey(courseId, version, month));
+                if (occurrences == null) {
+                    continue;
+                }
+                for (ScheduleExpander.Occurrence occurrence : occurrences) {
+                    if (!occurrence.date().isBefore(from) && !occurrence.date().isAfter(to)) {
+                        result.add(CourseOccurrenceResponse.builder()
+                                .courseId(courseId)
+                                .date(occurrence.date())
+                                .startTime(occurrence.startTime())
+                                .endTime(occurrence.endTime())
+                                .build());
+                    }
+                }
+            }
+        });
+        result.sort(CHRONOLOGICAL);
+        return result;
+    }
+
+    private Map<Long, Long> loadVersions(Collection<Long> courseIds) {
+        Map<Long, Long> versions = new HashMap<>();
+        for (CourseRepository.ScheduleVersion version : courseRepository.findScheduleVersionsByIdIn(courseIds)) {
+            versions.put(version.getId(), version.getScheduleVersion());
+        }
+        return versions;
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new BadRequestException("Both from and to dates must be provided.");
+        }
+        if (to.isBefore(from)) {
+            throw new BadRequestException("The to date must not be before the from date.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= properties.getMaxRangeDays()) {
+            throw new BadRequestException("The date range must not exceed " + properties.getMaxRangeDays() + " days.");
+        }
+    }
+
+    private static List<YearMonth> monthsBetween(LocalDate from, LocalDate to) {
+        List<YearMonth> months = new ArrayList<>();
+        YearMonth last = YearMonth.from(to);
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(last); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+
+    private record MonthKey(Long courseId, long version, YearMonth month) {
+    }
+}
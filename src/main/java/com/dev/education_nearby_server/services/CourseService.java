@@ -1,11 +1,14 @@
 package com.dev.education_nearby_server.services;
 
+import com.dev.education_nearby_server.config.AuthenticatedUser;
 import com.dev.education_nearby_server.config.S3Properties;
 import com.dev.education_nearby_server.enums.AgeGroup;
 import com.dev.education_nearby_server.enums.CourseExecutionType;
 import com.dev.education_nearby_server.enums.CourseType;
 import com.dev.education_nearby_server.enums.ImageRole;
 import com.dev.education_nearby_server.enums.Role;
+import com.dev.education_nearby_server.enums.SubscriberNotificationType;
+import com.dev.education_nearby_server.enums.SyncEntityType;
 import com.dev.education_nearby_server.exceptions.common.AccessDeniedException;
 import com.dev.education_nearby_server.exceptions.common.BadRequestException;
 import com.dev.education_nearby_server.exceptions.common.ConflictException;
@@ -20,22 +23,26 @@ import com.dev.education_nearby_server.models.dto.response.CourseFilterResponse;
 import com.dev.education_nearby_server.models.dto.response.CourseImageResponse;
 import com.dev.education_nearby_server.models.dto.response.CourseResponse;
 import com.dev.education_nearby_server.models.dto.response.StatisticsResponse;
-import com.dev.education_nearby_server.models.dto.response.UserResponse;
+import com.dev.education_nearby_server.models.dto.response.SubscriberPageResponse;
 import com.dev.education_nearby_server.models.entity.Course;
 import com.dev.education_nearby_server.models.entity.CourseImage;
 import com.dev.education_nearby_server.models.entity.CourseSchedule;
 import com.dev.education_nearby_server.models.entity.CourseScheduleSlot;
+import com.dev.education_nearby_server.models.entity.CourseScheduleSpecialCase;
 import com.dev.education_nearby_server.models.entity.Lyceum;
+import com.dev.education_nearby_server.models.entity.SyncTombstone;
 import com.dev.education_nearby_server.models.entity.User;
 import com.dev.education_nearby_server.repositories.CourseImageRepository;
 import com.dev.education_nearby_server.repositories.CourseReviewRepository;
 import com.dev.education_nearby_server.repositories.CourseRepository;
 import com.dev.education_nearby_server.repositories.LyceumRepository;
-import com.dev.education_nearby_server.repositories.UserReviewRepository;
+import com.dev.education_nearby_server.repositories.SyncTombstoneRepository;
 import com.dev.education_nearby_server.repositories.UserRepository;
+import com.dev.education_nearby_server.utils.FieldSelection;
 import com.dev.education_nearby_server.utils.S3ImageLocationResolver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -48,6 +55,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.Month;
 import java.util.ArrayList;
@@ -58,6 +66,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Coordinates course lifecycle operations, including filtering, CRUD, lecturer management,
@@ -73,22 +82,41 @@ public class CourseService {
     private final CourseReviewRepository courseReviewRepository;
     private final LyceumRepository lyceumRepository;
     private final UserRepository userRepository;
-    private final UserReviewRepository userReviewRepository;
     private final S3Properties s3Properties;
     private final StatisticsService statisticsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CalendarFeedService calendarFeedService;
+    private final ScheduleConflictService scheduleConflictService;
+    private final SyncTombstoneRepository syncTombstoneRepository;
     private static final String NOT_FOUND = " not found.";
-    private static final Set<String> ALLOWED_SORT_FIELDS = Set.of("id", "name", "price", "type");
+    private static final Set<String> ALLOWED_SORT_FIELDS = Set.of("id", "name", "price", "type", "subscriberCount");
+    private static final int MAX_NOTIFICATION_NAME_LENGTH = 120;
 
     /**
      * Returns all courses without applying filters.
      *
+     * @param fields response fields to populate; unrequested ones are not looked up
      * @return list of all courses
      */
     @Transactional(readOnly = true)
-    public List<CourseResponse> getAllCourses() {
+    public List<CourseResponse> getAllCourses(FieldSelection fields) {
         List<Course> courses = courseRepository.findAll();
         statisticsService.recordCoursesSeenInResults(extractCourseIds(courses));
         return courses
+                .stream()
+                .map(course -> mapToResponse(course, fields))
+                .toList();
+    }
+
+    /**
+     * Maps every course with all fields for the catalog snapshot. The courses are not recorded
+     * as seen here; snapshot downloads are counted when they are served.
+     *
+     * @return list of all courses
+     */
+    @Transactional(readOnly = true)
+    public List<CourseResponse> getAllCoursesForSnapshot() {
+        return courseRepository.findAll()
                 .stream()
                 .map(this::mapToResponse)
                 .toList();
@@ -140,10 +168,17 @@ public class CourseService {
      * @param page zero-based page index
      * @param size page size
      * @param sort sorting configuration
+     * @param fields response fields to populate; unrequested ones are not looked up
      * @return courses that satisfy the provided filters
      */
     @Transactional(readOnly = true)
-    public Page<CourseFilterResponse> filterCourses(CourseFilterRequest filterRequest, Integer page, Integer size, Sort sort) {
+    public Page<CourseFilterResponse> filterCourses(
+            CourseFilterRequest filterRequest,
+            Integer page,
+            Integer size,
+            Sort sort,
+            FieldSelection fields
+    ) {
         CourseFilterRequest filters = filterRequest != null ? filterRequest : new CourseFilterRequest();
         validatePageRequest(page, size);
 
@@ -197,7 +232,7 @@ public class CourseService {
                 pageable
         );
         statisticsService.recordCoursesSeenInResults(extractCourseIds(courses.getContent()));
-        return courses.map(this::mapToFilterResponse);
+        return courses.map(course -> mapToFilterResponse(course, fields));
     }
 
     /**
@@ -228,7 +263,7 @@ public class CourseService {
                 .seenInResults(course.getSeenInResultsCount())
                 .visits(course.getVisitCount())
                 .shares(course.getShareCount())
-                .subscriptions(courseRepository.countSubscriptionsByCourseId(course.getId()))
+                .subscriptions(course.getSubscriberCount())
                 .build();
     }
 
@@ -256,24 +291,24 @@ public class CourseService {
     }
 
     /**
-     * Lists users subscribed to a course after validating access permissions.
+     * Lists one page of users subscribed to a course after validating access permissions.
      *
      * @param courseId course identifier
-     * @return subscribers associated with the course
+     * @param after id of the last subscriber on the previous page, or null for the first page
+     * @param size maximum number of subscribers to return
+     * @return subscribers with ids above {@code after}, in id order
      */
     @Transactional(readOnly = true)
-    public List<UserResponse> getCourseSubscribers(Long courseId) {
-        Course course = requireCourse(courseId, true);
+    public SubscriberPageResponse getCourseSubscribers(Long courseId, Long after, Integer size) {
+        Pageable pageable = SubscriberPages.request(after, size);
+        Course course = requireCourse(courseId, false);
         User currentUser = getManagedCurrentUser();
         ensureUserCanModifyCourse(currentUser, course);
 
-        List<User> subscribers = course.getSubscribers();
-        if (subscribers == null || subscribers.isEmpty()) {
-            return List.of();
-        }
-        return subscribers.stream()
-                .map(this::mapToUserResponse)
-                .toList();
+        return SubscriberPages.toPage(
+                userRepository.findCourseSubscribersAfter(course.getId(), SubscriberPages.cursor(after), pageable),
+                size
+        );
     }
 
     /**
@@ -347,6 +382,7 @@ public class CourseService {
 
         course.getImages().removeIf(existing -> existing.getId() != null && existing.getId().equals(imageId));
         courseImageRepository.delete(image);
+        syncTombstoneRepository.save(SyncTombstone.of(SyncEntityType.COURSE_IMAGE, imageId));
         log.info("Deleted course image. courseId={} imageId={}", courseId, imageId);
     }
 
@@ -360,8 +396,15 @@ public class CourseService {
         Course course = requireCourse(courseId, true);
         ensureUserCanModifyCourse(course);
 
+        List<Long> lecturerIds = lecturerIdsOf(course);
+        List<SyncTombstone> tombstones = new ArrayList<>();
+        tombstones.add(SyncTombstone.of(SyncEntityType.COURSE, courseId));
+        course.getImages().forEach(image ->
+                tombstones.add(SyncTombstone.of(SyncEntityType.COURSE_IMAGE, image.getId())));
         // Remove only the course entity itself; lyceums and lecturers stay untouched.
         courseRepository.delete(course);
+        syncTombstoneRepository.saveAll(tombstones);
+        scheduleConflictService.courseDeleted(courseId, lecturerIds);
         log.info("Deleted courseId={}", courseId);
     }
 
@@ -409,8 +452,10 @@ public class CourseService {
 
         List<User> lecturers = resolveLecturers(request.getLecturerIds(), currentUser, lyceum);
         course.setLecturers(lecturers);
+        scheduleConflictService.ensureNoConflicts(course, lecturerIdsOf(course));
 
         Course saved = courseRepository.save(course);
+        scheduleConflictService.courseChanged(saved, List.of());
         log.info("Created courseId={} lyceumId={}", saved.getId(), lyceum != null ? lyceum.getId() : null);
         return mapToResponse(saved);
     }
@@ -427,12 +472,35 @@ public class CourseService {
         User currentUser = getManagedCurrentUser();
         ensureUserCanModifyCourse(currentUser, course);
         log.info("Updating courseId={}", courseId);
+        ScheduleSnapshot scheduleBefore = ScheduleSnapshot.of(course.getSchedule());
+        Month activeStartBefore = course.getActiveStartMonth();
+        Month activeEndBefore = course.getActiveEndMonth();
+        List<Long> lecturerIdsBefore = lecturerIdsOf(course);
 
         updateCourseFields(course, validatedRequest);
         updateCourseLyceum(course, currentUser, validatedRequest);
         applyLecturerUpdates(course, currentUser, validatedRequest);
 
+        ScheduleSnapshot scheduleAfter = ScheduleSnapshot.of(course.getSchedule());
+        boolean scheduleChanged = !scheduleBefore.equals(scheduleAfter)
+                || activeStartBefore != course.getActiveStartMonth()
+                || activeEndBefore != course.getActiveEndMonth();
+        if (scheduleChanged) {
+            course.setScheduleVersion(course.getScheduleVersion() + 1);
+        }
+        // An unchanged schedule can only clash with the timetables of newly assigned lecturers.
+        List<Long> lecturerIdsToCheck = lecturerIdsOf(course);
+        if (!scheduleChanged) {
+            lecturerIdsToCheck = lecturerIdsToCheck.stream()
+                    .filter(lecturerId -> !lecturerIdsBefore.contains(lecturerId))
+                    .toList();
+        }
+        scheduleConflictService.ensureNoConflicts(course, lecturerIdsToCheck);
         Course saved = courseRepository.save(course);
+        // Age group and lecturer changes only touch collection tables, which do not mark the row dirty.
+        courseRepository.touchUpdatedAt(saved.getId());
+        scheduleConflictService.courseChanged(saved, lecturerIdsBefore);
+        publishScheduleChanges(saved, scheduleBefore, scheduleAfter);
         log.info("Updated courseId={}", saved.getId());
         return mapToResponse(saved);
     }
@@ -461,78 +529,62 @@ public class CourseService {
         boolean alreadyLecturer = course.getLecturers().stream()
                 .anyMatch(existing -> existing.getId() != null && existing.getId().equals(lecturer.getId()));
         if (!alreadyLecturer) {
+            scheduleConflictService.ensureNoConflicts(course, List.of(lecturer.getId()));
             course.getLecturers().add(lecturer);
+            courseRepository.touchUpdatedAt(course.getId());
             log.info("Added lecturerId={} to courseId={}", userId, courseId);
         } else {
             log.debug("Lecturer already assigned to courseId={} lecturerId={}", courseId, userId);
         }
 
-        courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        if (!alreadyLecturer) {
+            scheduleConflictService.courseChanged(saved, List.of());
+        }
     }
 
     /**
-     * Subscribes the authenticated user to a course.
+     * Subscribes the authenticated user to a course. Repeating the call is a no-op.
      *
      * @param courseId course identifier
      */
     @Transactional
     public void subscribeToCourse(Long courseId) {
-        Course course = requireCourse(courseId, false);
-        User currentUser = getManagedCurrentUser();
-
-        if (currentUser.getSubscribedCourses() == null) {
-            currentUser.setSubscribedCourses(new ArrayList<>());
+        Long userId = requireSubscriptionTarget(courseId);
+        if (courseRepository.insertSubscription(userId, courseId) > 0) {
+            courseRepository.adjustSubscriberCount(courseId, 1);
         }
-        boolean alreadySubscribed = currentUser.getSubscribedCourses().stream()
-                .anyMatch(existing -> existing.getId() != null && existing.getId().equals(course.getId()));
-        if (alreadySubscribed) {
-            throw new ConflictException("You are already subscribed to this course.");
-        }
-
-        currentUser.getSubscribedCourses().add(course);
-        if (course.getSubscribers() != null) {
-            boolean userAlreadyMapped = course.getSubscribers().stream()
-                    .anyMatch(existing -> existing.getId() != null && existing.getId().equals(currentUser.getId()));
-            if (!userAlreadyMapped) {
-                course.getSubscribers().add(currentUser);
-            }
-        }
-
-        userRepository.save(currentUser);
+        calendarFeedService.evict(userId);
     }
 
     /**
-     * Unsubscribes the authenticated user from a course.
+     * Unsubscribes the authenticated user from a course. Unsubscribing twice is a no-op.
      *
      * @param courseId course identifier
      */
     @Transactional
     public void unsubscribeFromCourse(Long courseId) {
-        if (courseId == null) {
-            throw new BadRequestException("Course id must be provided.");
-        }
-        Course course = requireCourse(courseId, false);
-        User currentUser = getManagedCurrentUser();
-
-        List<Course> subscribedCourses = currentUser.getSubscribedCourses();
-        if (subscribedCourses == null || subscribedCourses.isEmpty()) {
-            throw new BadRequestException("You are not subscribed to this course.");
+        Long userId = requireSubscriptionTarget(courseId);
+        if (courseRepository.deleteSubscription(userId, courseId) > 0) {
+            courseRepository.adjustSubscriberCount(courseId, -1);
         }
+        calendarFeedService.evict(userId);
+    }
 
-        boolean removed = subscribedCourses.removeIf(
-                existing -> existing.getId() != null && existing.getId().equals(course.getId())
-        );
-        if (!removed) {
-            throw new BadRequestException("You are not subscribed to this course.");
+    /**
+     * Resolves the caller and locks the course row without loading either subscription collection,
+     * so the cost does not grow with the number of subscriptions and the counter stays exact.
+     */
+    private Long requireSubscriptionTarget(Long courseId) {
+        if (courseId == null) {
+            throw new BadRequestException("Course id must be provided.");
         }
-
-        if (course.getSubscribers() != null) {
-            course.getSubscribers().removeIf(
-                    existing -> existing.getId() != null && existing.getId().equals(currentUser.getId())
-            );
+        AuthenticatedUser currentUser = getCurrentUser()
+                .orElseThrow(() -> new UnauthorizedException("You must be authenticated to perform this action."));
+        if (courseRepository.lockForSubscriptionChange(courseId).isEmpty()) {
+            throw new NoSuchElementException("Course with id " + courseId + NOT_FOUND);
         }
-
-        userRepository.save(currentUser);
+        return currentUser.getId();
     }
 
     private CourseUpdateRequest requireValidCourseUpdateRequest(CourseUpdateRequest request) {
@@ -856,6 +908,16 @@ public class CourseService {
                 .toList();
     }
 
+    private List<Long> lecturerIdsOf(Course course) {
+        if (course.getLecturers() == null || course.getLecturers().isEmpty()) {
+            return List.of();
+        }
+        return course.getLecturers().stream()
+                .map(User::getId)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     private void validatePriceRange(Float minPrice, Float maxPrice) {
         if (minPrice != null && minPrice < 0) {
             throw new BadRequestException("Minimum price must be zero or positive.");
@@ -946,25 +1008,21 @@ public class CourseService {
     }
 
     private User getManagedCurrentUser() {
-        User currentUser = getCurrentUser()
+        AuthenticatedUser currentUser = getCurrentUser()
                 .orElseThrow(() -> new UnauthorizedException("You must be authenticated to perform this action."));
         return userRepository.findById(currentUser.getId())
                 .orElseThrow(() -> new UnauthorizedException("User" + NOT_FOUND));
     }
 
-    private Optional<User> getCurrentUser() {
+    private Optional<AuthenticatedUser> getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
             return Optional.empty();
         }
-        Object principal = auth.getPrincipal();
-        if (principal instanceof User user) {
-            return Optional.of(user);
-        }
-        return Optional.empty();
+        return AuthenticatedUser.fromPrincipal(auth.getPrincipal());
     }
 
-    private CourseImageResponse mapToResponse(CourseImage image) {
+    CourseImageResponse mapToResponse(CourseImage image) {
         return CourseImageResponse.builder()
                 .id(image.getId())
                 .courseId(image.getCourse() != null ? image.getCourse().getId() : null)
@@ -980,29 +1038,60 @@ public class CourseService {
     }
 
     private CourseResponse mapToResponse(Course course) {
+        return mapToResponse(course, FieldSelection.all());
+    }
+
+    private CourseResponse mapToResponse(Course course, FieldSelection fields) {
+        CourseResponse response = new CourseResponse();
+        populateCourseResponse(course, response, fields);
+        return response;
+    }
+
+    /**
+     * Maps a course whose lecturer ids and rating were already loaded in bulk by the caller,
+     * so its lecturer collection is never touched.
+     */
+    CourseResponse mapToResponse(Course course, List<Long> lecturerIds, Double averageRating) {
         CourseResponse response = new CourseResponse();
-        populateCourseResponse(course, response);
+        populateCourseResponse(course, response, FieldSelection.all(), lecturerIds, averageRating);
         return response;
     }
 
-    private CourseFilterResponse mapToFilterResponse(Course course) {
+    private CourseFilterResponse mapToFilterResponse(Course course, FieldSelection fields) {
         CourseFilterResponse response = new CourseFilterResponse();
-        populateCourseResponse(course, response);
+        populateCourseResponse(course, response, fields);
         Lyceum lyceum = course.getLyceum();
         response.setLyceumTown(lyceum != null ? lyceum.getTown() : null);
         response.setLyceumAddress(lyceum != null ? lyceum.getAddress() : null);
         return response;
     }
 
-    private void populateCourseResponse(Course course, CourseResponse response) {
+    /**
+     * Fills the requested fields; the lazy collections, the main image and the rating query
+     * are only touched when their field is requested.
+     */
+    private void populateCourseResponse(Course course, CourseResponse response, FieldSelection fields) {
+        List<Long> lecturerIds = !fields.includes("lecturerIds") || course.getLecturers() == null ? List.of() :
+                course.getLecturers().stream()
+                        .map(User::getId)
+                        .filter(Objects::nonNull)
+                        .toList();
+        Double averageRating = fields.includes("averageRating")
+                ? courseReviewRepository.findAverageRatingByCourseId(course.getId())
+                : null;
+        populateCourseResponse(course, response, fields, lecturerIds, averageRating);
+    }
+
+    private void populateCourseResponse(Course course, CourseResponse response, FieldSelection fields,
+                                        List<Long> lecturerIds, Double averageRating) {
         response.setId(course.getId());
         response.setName(course.getName());
         response.setDescription(course.getDescription());
         response.setType(course.getType());
         response.setExecutionType(course.getExecutionType());
-        response.setAgeGroupList(course.getAgeGroupList());
-        response.setSchedule(course.getSchedule());
-        response.setMainImage(resolveMainImage(course));
+        response.setAgeGroupList(fields.includes("ageGroupList") ? course.getAgeGroupList() : null);
+        response.setSchedule(fields.includes("schedule") ? course.getSchedule() : null);
+        response.setMainImage(fields.includes("mainImage") ? resolveMainImage(course) : null);
         response.setAddress(course.getAddress());
         response.setPrice(course.getPrice());
         response.setFacebookLink(course.getFacebookLink());
@@ -1011,12 +1100,9 @@ public class CourseService {
         response.setAchievements(course.getAchievements());
         response.setActiveStartMonth(course.getActiveStartMonth());
         response.setActiveEndMonth(course.getActiveEndMonth());
-        response.setLecturerIds(course.getLecturers() == null ? List.of() :
-                course.getLecturers().stream()
-                        .map(User::getId)
-                        .filter(Objects::nonNull)
-                        .toList());
-        response.setAverageRating(courseReviewRepository.findAverageRatingByCourseId(course.getId()));
+        response.setLecturerIds(lecturerIds);
+        response.setAverageRating(averageRating);
+        response.setSubscriberCount(course.getSubscriberCount());
     }
 
     private CourseImageResponse resolveMainImage(Course course) {
@@ -1028,42 +1114,78 @@ public class CourseService {
                 .orElse(null);
     }
 
-    private UserResponse mapToUserResponse(User user) {
-        return UserResponse.builder()
-                .id(user.getId())
-                .firstname(user.getFirstname())
-                .lastname(user.getLastname())
-                .email(user.getEmail())
-                .username(user.getUsername())
-                .role(user.getRole())
-                .administratedLyceumId(user.getAdministratedLyceum() != null ? user.getAdministratedLyceum().getId() : null)
-                .lecturedCourseIds(extractLecturedCourseIds(user))
-                .lecturedLyceumIds(extractLecturedLyceumIds(user))
-                .enabled(user.isEnabled())
-                .averageRating(userReviewRepository.findAverageRatingByReviewedUserId(user.getId()))
-                .build();
+    private String trimToNull(String value) {
+        String trimmed = value == null ? null : value.trim();
+        return StringUtils.hasText(trimmed) ? trimmed : null;
     }
 
-    private List<Long> extractLecturedCourseIds(User user) {
-        if (user.getCoursesLectured() == null || user.getCoursesLectured().isEmpty()) {
-            return List.of();
-        }
-        return user.getCoursesLectured().stream()
-                .map(Course::getId)
-                .toList();
+    /**
+     * Publishes subscriber notifications for schedule edits; listeners only act after the update commits.
+     * A recurring-slot change is deduplicated per schedule version, so every saved edit is reported once,
+     * while each newly cancelled upcoming date is its own change.
+     */
+    private void publishScheduleChanges(Course course, ScheduleSnapshot before, ScheduleSnapshot after) {
+        Long lyceumId = course.getLyceum() != null ? course.getLyceum().getId() : null;
+        String courseName = abbreviate(course.getName());
+        LocalDate today = LocalDate.now();
+
+        if (!before.slots().equals(after.slots())) {
+            eventPublisher.publishEvent(new CourseChangedEvent(
+                    course.getId(),
+                    lyceumId,
+                    SubscriberNotificationType.SCHEDULE_CHANGED,
+                    "v" + course.getScheduleVersion(),
+                    "Курс '" + courseName + "': графикът е променен."
+            ));
+        }
+        after.cancelledDates().stream()
+                .filter(date -> !before.cancelledDates().contains(date))
+                .filter(date -> !date.isBefore(today))
+                .sorted()
+                .forEach(date -> eventPublisher.publishEvent(new CourseChangedEvent(
+                        course.getId(),
+                        lyceumId,
+                        SubscriberNotificationType.CLASS_CANCELLED,
+                        date.toString(),
+                        "Курс '" + courseName + "': занятието на " + date + " е отменено."
+                )));
     }
 
-    private List<Long> extractLecturedLyceumIds(User user) {
-        if (user.getLecturedLyceums() == null || user.getLecturedLyceums().isEmpty()) {
-            return List.of();
+    private String abbreviate(String value) {
+        if (value == null) {
+            return "";
         }
-        return user.getLecturedLyceums().stream()
-                .map(Lyceum::getId)
-                .toList();
+        return value.length() <= MAX_NOTIFICATION_NAME_LENGTH
+                ? value
+                : value.substring(0, MAX_NOTIFICATION_NAME_LENGTH) + "...";
     }
 
-    private String trimToNull(String value) {
-        String trimmed = value == null ? null : value.trim();
-        return StringUtils.hasText(trimmed) ? trimmed : null;
+    /**
+     * Detached copy of the parts of a schedule that affect concrete occurrences, taken before the entity is mutated.
+     */
+    private record ScheduleSnapshot(List<String> slots, Set<LocalDate> cancelledDates) {
+
+        static ScheduleSnapshot of(CourseSchedule schedule) {
+            if (schedule == null) {
+                return new ScheduleSnapshot(List.of(), Set.of());
+            }
+            List<String> slots = schedule.getSlots() == null
+                    ? List.of()
+                    : schedule.getSlots().stream().map(ScheduleSnapshot::signature).toList();
+            Set<LocalDate> cancelled = schedule.getSpecialCases() == null
+                    ? Set.of()
+                    : schedule.getSpecialCases().stream()
+                    .filter(CourseScheduleSpecialCase::isCancelled)
+                    .map(CourseScheduleSpecialCase::getDate)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            return new ScheduleSnapshot(slots, cancelled);
+        }
+
+        private static String signature(CourseScheduleSlot slot) {
+            return slot.getRecurrence() + "|" + slot.getDayOfWeek() + "|" + slot.getDayOfMonth()
+                    + "|" + slot.getStartTime() + "|" + slot.getEndTime() + "|" + slot.getClassesCount()
+                    + "|" + slot.getSingleClassDurationMinutes() + "|" + slot.getGapBetweenClassesMinutes();
+        }
     }
 }
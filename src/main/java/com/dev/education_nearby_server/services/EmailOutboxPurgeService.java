@@ -0,0 +1,96 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.EmailOutboxProperties;
+import com.dev.education_nearby_server.repositories.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Periodically deletes sent and dead-lettered outbox rows once their retention has passed.
+ * Deletes run in short, separate transactions and only one node purges at a time.
+ */
+@Slf4j
+@Service
+public class EmailOutboxPurgeService {
+
+    static final String LOCK_NAME = "email-outbox-purge";
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final SchedulerLockService schedulerLockService;
+    private final EmailOutboxProperties properties;
+    private final TransactionTemplate batchTransaction;
+    private final Counter purgedCounter;
+
+    public EmailOutboxPurgeService(
+            EmailOutboxRepository emailOutboxRepository,
+            SchedulerLockService schedulerLockService,
+            EmailOutboxProperties properties,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.schedulerLockService = schedulerLockService;
+        this.properties = properties;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.purgedCounter = Counter.builder("email.outbox.purged")
+                .description("Outbox rows deleted by the scheduled purge")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.email.outbox.purge-cron:0 30 3 * * *}")
+    public void scheduledPurge() {
+        if (!properties.isPurgeEnabled()) {
+            return;
+        }
+        purgeFinishedMessages();
+    }
+
+    /**
+     * Deletes finished messages older than the retention in batches while holding the cluster-wide lock.
+     *
+     * @return number of deleted rows, or 0 when another node holds the lock
+     */
+    public int purgeFinishedMessages() {
+        if (!schedulerLockService.tryAcquire(LOCK_NAME, properties.getPurgeLockDuration())) {
+            log.debug("Email outbox purge skipped; lock held by another node");
+            return 0;
+        }
+        int purged = 0;
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+            for (int batch = 0; batch < properties.getPurgeMaxBatchesPerRun(); batch++) {
+                int deleted = deleteBatch(cutoff);
+                purged += deleted;
+                if (deleted < properties.getPurgeBatchSize()) {
+                    break;
+                }
+            }
+        } finally {
+            purgedCounter.increment(purged);
+            schedulerLockService.release(LOCK_NAME);
+            log.info("Email outbox purge removed {} rows", purged);
+        }
+        return purged;
+    }
+
+    private int deleteBatch(LocalDateTime cutoff) {
+        Integer deleted = batchTransaction.execute(status -> {
+            List<Long> ids = emailOutboxRepository.findPurgeableIds(cutoff, properties.getPurgeBatchSize());
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            return emailOutboxRepository.deleteAllByIdIn(ids);
+        });
+        return deleted == null ? 0 : deleted;
+    }
+}
@@ -0,0 +1,106 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.enums.EmailOutboxStatus;
+import com.dev.education_nearby_server.enums.EmailTemplate;
+import com.dev.education_nearby_server.models.entity.EmailOutboxMessage;
+import com.dev.education_nearby_server.repositories.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes outbound emails to the outbox table as part of the caller's transaction.
+ * Delivery happens later in {@link EmailOutboxWorker}, once the transaction has committed.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Queues a templated email for asynchronous delivery.
+     *
+     * @param template email kind used to render the message
+     * @param recipient recipient email address
+     * @param fields recipient-specific template fields
+     * @return persisted outbox row
+     */
+    @Transactional
+    public EmailOutboxMessage enqueue(EmailTemplate template, String recipient, Map<String, String> fields) {
+        return enqueue(template, recipient, fields, null);
+    }
+
+    /**
+     * Queues a templated email whose content stops being useful at {@code expiresAt}, such as a
+     * verification code. Retries are scheduled before that time and the message is dropped once it passes.
+     *
+     * @param template email kind used to render the message
+     * @param recipient recipient email address
+     * @param fields recipient-specific template fields
+     * @param expiresAt time after which the message must not be delivered; {@code null} for no limit
+     * @return persisted outbox row
+     */
+    @Transactional
+    public EmailOutboxMessage enqueue(
+            EmailTemplate template,
+            String recipient,
+            Map<String, String> fields,
+            LocalDateTime expiresAt
+    ) {
+        EmailOutboxMessage message = EmailOutboxMessage.builder()
+                .template(template)
+                .recipient(recipient)
+                .payload(new LinkedHashMap<>(fields))
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                .expiresAt(expiresAt)
+                .build();
+        EmailOutboxMessage saved = emailOutboxRepository.save(message);
+        eventPublisher.publishEvent(new EmailEnqueuedEvent(saved.getId()));
+        return saved;
+    }
+
+    /**
+     * Queues the same templated email for many recipients with a single wake-up for the workers.
+     *
+     * @param template email kind used to render the messages
+     * @param recipients recipient email addresses
+     * @param fields template fields shared by all recipients
+     * @return number of queued messages
+     */
+    @Transactional
+    public int enqueueAll(EmailTemplate template, Collection<String> recipients, Map<String, String> fields) {
+        if (recipients.isEmpty()) {
+            return 0;
+        }
+        List<EmailOutboxMessage> messages = new ArrayList<>(recipients.size());
+        for (String recipient : recipients) {
+            messages.add(EmailOutboxMessage.builder()
+                    .template(template)
+                    .recipient(recipient)
+                    .payload(new LinkedHashMap<>(fields))
+                    .status(EmailOutboxStatus.PENDING)
+                    .attempts(0)
+                    .build());
+        }
+        List<EmailOutboxMessage> saved = emailOutboxRepository.saveAll(messages);
+        eventPublisher.publishEvent(new EmailEnqueuedEvent(saved.get(saved.size() - 1).getId()));
+        return saved.size();
+    }
+
+    /**
+     * Published after a message is queued; workers react once the surrounding transaction commits.
+     */
+    public record EmailEnqueuedEvent(Long messageId) {
+    }
+}
@@ -0,0 +1,247 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.EmailOutboxProperties;
+import com.dev.education_nearby_server.enums.EmailOutboxStatus;
+import com.dev.education_nearby_server.models.entity.EmailOutboxMessage;
+import com.dev.education_nearby_server.repositories.EmailOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the email outbox on a small pool of background loops.
+ * Each message is leased with a conditional update so several nodes can drain the same table;
+ * failures are retried with exponential backoff and dead-lettered after the configured attempts.
+ * Secrets in the payload are removed as soon as a message is sent or given up on.
+ */
+@Slf4j
+@Component
+public class EmailOutboxWorker {
+
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final EmailOutboxProperties properties;
+    private final Executor executor;
+    private final AtomicInteger activeLoops = new AtomicInteger();
+
+    public EmailOutboxWorker(
+            EmailOutboxRepository emailOutboxRepository,
+            EmailService emailService,
+            EmailOutboxProperties properties,
+            @Qualifier("emailTaskExecutor") Executor executor
+    ) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailService = emailService;
+        this.properties = properties;
+        this.executor = executor;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEnqueued(EmailOutboxService.EmailEnqueuedEvent event) {
+        requestDrain();
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-interval:5s}")
+    public void poll() {
+        requestDrain();
+    }
+
+    /**
+     * Starts delivery loops up to the configured worker count; returns immediately.
+     */
+    public void requestDrain() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        while (true) {
+            int active = activeLoops.get();
+            if (active >= properties.getWorkers()) {
+                return;
+            }
+            if (activeLoops.compareAndSet(active, active + 1)) {
+                break;
+            }
+        }
+        try {
+            executor.execute(this::drainLoop);
+        } catch (RejectedExecutionException e) {
+            activeLoops.decrementAndGet();
+            log.warn("Email outbox drain rejected by executor; the next poll will retry");
+        }
+    }
+
+    /**
+     * Claims and delivers due messages until none are left.
+     *
+     * @return number of messages this call attempted to deliver
+     */
+    int drainDue() {
+        int processed = 0;
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> dueIds = emailOutboxRepository.findDueIds(now, properties.getBatchSize());
+            if (dueIds.isEmpty()) {
+                return processed;
+            }
+            List<Long> claimedIds = new ArrayList<>(dueIds.size());
+            for (Long id : dueIds) {
+                LocalDateTime claimTime = LocalDateTime.now();
+                int updated = emailOutboxRepository.claim(
+                        id,
+                        claimTime,
+                        claimTime.plus(properties.getLease()),
+                        EmailOutboxStatus.PENDING,
+                        EmailOutboxStatus.SENDING);
+                if (updated == 1) {
+                    claimedIds.add(id);
+                }
+            }
+            if (claimedIds.isEmpty()) {
+                return processed;
+            }
+            List<EmailOutboxMessage> claimed = emailOutboxRepository.findAllById(claimedIds);
+            deliver(claimed);
+            processed += claimed.size();
+        }
+    }
+
+    /**
+     * Sends the claimed messages as one batch and records the outcome of each.
+     * Messages whose code has already expired are dead-lettered without being sent.
+     */
+    void deliver(List<EmailOutboxMessage> messages) {
+        LocalDateTime claimedAt = LocalDateTime.now();
+        List<EmailOutboxMessage> deliverable = new ArrayList<>(messages.size());
+        for (EmailOutboxMessage message : messages) {
+            if (message.getExpiresAt() != null && !claimedAt.isBefore(message.getExpiresAt())) {
+                markExpired(message);
+            } else {
+                deliverable.add(message);
+            }
+        }
+        Map<Long, Exception> failures = deliverable.isEmpty() ? Map.of() : send(deliverable);
+        LocalDateTime now = LocalDateTime.now();
+        for (EmailOutboxMessage message : deliverable) {
+            Exception failure = failures.get(message.getId());
+            if (failure == null) {
+                message.setStatus(EmailOutboxStatus.SENT);
+                message.setSentAt(now);
+                message.setLockedUntil(null);
+                message.setLastError(null);
+                message.setAttempts(message.getAttempts() + 1);
+                redact(message);
+            } else {
+                recordFailure(message, failure);
+            }
+        }
+        emailOutboxRepository.saveAll(messages);
+    }
+
+    /**
+     * Delay before the next attempt after the given number of failed attempts.
+     */
+    Duration backoffFor(int failedAttempts) {
+        Duration initial = properties.getInitialBackoff();
+        Duration max = properties.getMaxBackoff();
+        int shift = Math.min(Math.max(failedAttempts - 1, 0), 30);
+        Duration delay = initial.multipliedBy(1L << shift);
+        return delay.compareTo(max) > 0 ? max : delay;
+    }
+
+    /**
+     * Delay before the next attempt, shortened for messages that expire so the retry still
+     * happens while the code inside can be used.
+     */
+    Duration retryDelay(EmailOutboxMessage message, int failedAttempts, LocalDateTime now) {
+        Duration delay = backoffFor(failedAttempts);
+        if (message.getExpiresAt() == null) {
+            return delay;
+        }
+        Duration halfRemaining = Duration.between(now, message.getExpiresAt()).dividedBy(2);
+        if (halfRemaining.isNegative()) {
+            return Duration.ZERO;
+        }
+        return delay.compareTo(halfRemaining) > 0 ? halfRemaining : delay;
+    }
+
+    private Map<Long, Exception> send(List<EmailOutboxMessage> messages) {
+        try {
+            return emailService.deliverAll(messages);
+        } catch (RuntimeException e) {
+            Map<Long, Exception> failures = new HashMap<>();
+            for (EmailOutboxMessage message : messages) {
+                failures.put(message.getId(), e);
+            }
+            return failures;
+        }
+    }
+
+    private void recordFailure(EmailOutboxMessage message, Exception e) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLockedUntil(null);
+        message.setLastError(truncate(e.getClass().getSimpleName() + ": " + e.getMessage()));
+        if (attempts >= properties.getMaxAttempts()) {
+            message.setStatus(EmailOutboxStatus.DEAD);
+            redact(message);
+            log.error("Email {} to {} dead-lettered after {} attempts", message.getId(), message.getRecipient(), attempts, e);
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Duration delay = retryDelay(message, attempts, now);
+        message.setStatus(EmailOutboxStatus.PENDING);
+        message.setNextAttemptAt(now.plus(delay));
+        log.warn("Email {} delivery attempt {} failed; retrying in {} s", message.getId(), attempts, delay.toSeconds());
+    }
+
+    private void markExpired(EmailOutboxMessage message) {
+        message.setStatus(EmailOutboxStatus.DEAD);
+        message.setLockedUntil(null);
+        message.setLastError("Expired before delivery");
+        redact(message);
+        log.warn("Email {} to {} expired before it could be delivered", message.getId(), message.getRecipient());
+    }
+
+    /**
+     * Replaces the payload with a copy that has no secrets, so the row can be kept for auditing.
+     */
+    private static void redact(EmailOutboxMessage message) {
+        Map<String, String> payload = new LinkedHashMap<>(message.getPayload());
+        if (payload.keySet().removeAll(EmailService.SENSITIVE_FIELDS)) {
+            message.setPayload(payload);
+        }
+    }
+
+    private void drainLoop() {
+        try {
+            drainDue();
+        } catch (RuntimeException e) {
+            log.error("Email outbox drain failed", e);
+        } finally {
+            activeLoops.decrementAndGet();
+        }
+    }
+
+    private static String truncate(String value) {
+        if (value == null || value.length() <= MAX_ERROR_LENGTH) {
+            return value;
+        }
+        return value.substring(0, MAX_ERROR_LENGTH);
+    }
+}
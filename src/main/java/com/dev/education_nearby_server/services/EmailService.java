@@ -1,31 +1,54 @@
 package com.dev.education_nearby_server.services;
 
+import com.dev.education_nearby_server.enums.EmailTemplate;
+import com.dev.education_nearby_server.models.entity.EmailOutboxMessage;
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
+import jakarta.mail.Part;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.InternetHeaders;
+import jakarta.mail.internet.MimeBodyPart;
 import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
 import lombok.RequiredArgsConstructor;
 import org.apache.batik.transcoder.TranscoderInput;
 import org.apache.batik.transcoder.TranscoderOutput;
 import org.apache.batik.transcoder.image.PNGTranscoder;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.lang.NonNull;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.HtmlUtils;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Helper service for sending outbound emails related to platform workflows.
+ * Public send methods only queue the email in the caller's transaction; rendering and SMTP delivery
+ * happen in {@link #deliverAll(List)} on the outbox workers.
  */
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
     private final JavaMailSender mailSender;
+    private final EmailOutboxService emailOutboxService;
     private static final String LOGO_CONTENT_ID = "educationNearbyLogo";
     private static final String LOGO_RESOURCE = "static/logo.svg";
     private static final String REGISTER_URL = "https://shkoli.bg/auth/register";
@@ -33,10 +56,34 @@ public class EmailService {
     private static final String REGISTER_LABEL = "Регистрация";
     private static final String LOGIN_LABEL = "Вход";
     private static final float LOGO_WIDTH_PX = 120f;
+    private static final String FIELD_LYCEUM_NAME = "lyceumName";
+    private static final String FIELD_TOWN = "town";
+    private static final String FIELD_TOKEN = "token";
+    private static final String FIELD_EXPIRATION_MINUTES = "expirationMinutes";
+    private static final String FIELD_SUMMARY = "summary";
+    /**
+     * Payload fields holding secrets; the outbox removes them once a message is sent or given up on.
+     */
+    static final Set<String> SENSITIVE_FIELDS = Set.of(FIELD_TOKEN);
+    private static final String CHARSET = StandardCharsets.UTF_8.name();
+    private static final String HTML_PREFIX = """
+            <html>
+              <body style="font-family: Arial, sans-serif; color: #1f2937;">
+                <div>
+                  <img src="cid:%s" alt="Shkoli" style="width: 120px; height: auto; margin-bottom: 16px;">
+                </div>
+                <div>""".formatted(LOGO_CONTENT_ID);
+    private static final String HTML_SUFFIX = """
+            </div>
+              </body>
+            </html>
+            """;
+    private final Map<EmailTemplate, CompiledEmailTemplate> templates = compileTemplates();
     private volatile byte[] cachedLogoPng;
+    private volatile InlineLogo inlineLogo;
 
     /**
-     * Sends a verification email containing a token for lyceum administration claims.
+     * Queues a verification email containing a token for lyceum administration claims.
      *
      * @param to recipient email address
      * @param lyceumName target lyceum name
@@ -47,19 +94,14 @@ public class EmailService {
                                             @NonNull String lyceumName,
                                             @NonNull String town,
                                             @NonNull String tokenValue) {
-        String subject = "Школи: Потвърди права за администратор";
-        String text = "Здравейте,\n\n" +
-                "Вие заявихте администраторски права за читалище '" + lyceumName + "' в '" + town + "'.\n" +
-                "Ползвайте кода за потвърждение долу за да потвърдите читалището:\n\n" +
-                "Код за потвърждение: " + tokenValue + "\n\n" +
-                "Ако не сте заявявали права, моля обърнете се към нашия екип.\n\n" +
-                "Поздрави,\nекипът на Школи";
-
-        sendEmailWithLogo(to, subject, text);
+        emailOutboxService.enqueue(EmailTemplate.LYCEUM_VERIFICATION, to, Map.of(
+                FIELD_LYCEUM_NAME, lyceumName,
+                FIELD_TOWN, town,
+                FIELD_TOKEN, tokenValue));
     }
 
     /**
-     * Sends an invitation email to join a lyceum as a lecturer.
+     * Queues an invitation email to join a lyceum as a lecturer.
      *
      * @param to recipient email address
      * @param lyceumName target lyceum name
@@ -68,20 +110,13 @@ public class EmailService {
     public void sendLyceumLecturerInvitationEmail(@NonNull String to,
                                                   @NonNull String lyceumName,
                                                   @NonNull String town) {
-        String subject = "Школи: покана за преподавател";
-        String text = "Здравейте,\n\n" +
-                "Вие сте поканени да се присъедините към Школи като преподавател към читалище '" + lyceumName +
-                "' в " + town + ".\n\n" +
-                "Ако все още нямате акаунт, Ви молим да се регистрирате с тази е-поща: " + REGISTER_URL + ". " +
-                "След като се регистрирате, Вие автоматично ще бъдете добавен като преподавател към читалището.\n\n" +
-                "Ако вече имате акаунт, може да влезете и да започнете да обучавате: " + LOGIN_URL + ".\n\n" +
-                "Поздрави,\nекипът на Школи";
-
-        sendEmailWithLogo(to, subject, text);
+        emailOutboxService.enqueue(EmailTemplate.LYCEUM_LECTURER_INVITATION, to, Map.of(
+                FIELD_LYCEUM_NAME, lyceumName,
+                FIELD_TOWN, town));
     }
 
     /**
-     * Sends a forgot-password verification email with a short-lived reset code.
+     * Queues a forgot-password verification email with a short-lived reset code.
      *
      * @param to recipient email address
      * @param tokenValue password reset verification code
@@ -90,60 +125,194 @@ public class EmailService {
     public void sendPasswordResetEmail(@NonNull String to,
                                        @NonNull String tokenValue,
                                        long expirationMinutes) {
-        String subject = "Shkoli: Password reset verification code";
-        String text = "Hello,\n\n" +
-                "We received a request to reset the password for your account.\n" +
-                "Use the verification code below to continue:\n\n" +
-                "Verification code: " + tokenValue + "\n\n" +
-                "The code expires in " + expirationMinutes + " minutes.\n" +
-                "If you did not request a password reset, you can ignore this email.\n\n" +
-                "Regards,\n" +
-                "Shkoli";
+        emailOutboxService.enqueue(EmailTemplate.PASSWORD_RESET, to, Map.of(
+                        FIELD_TOKEN, tokenValue,
+                        FIELD_EXPIRATION_MINUTES, String.valueOf(expirationMinutes)),
+                LocalDateTime.now().plusMinutes(expirationMinutes));
+    }
+
+    /**
+     * Queues one course change notification per recipient.
+     *
+     * @param recipients recipient email addresses
+     * @param summary description of the change
+     */
+    public void sendCourseChangedEmails(@NonNull Collection<String> recipients, @NonNull String summary) {
+        emailOutboxService.enqueueAll(EmailTemplate.COURSE_CHANGED, recipients, Map.of(FIELD_SUMMARY, summary));
+    }
+
+    /**
+     * Queues a digest listing the course changes a subscriber collected since the previous digest.
+     *
+     * @param to recipient email address
+     * @param summaries change descriptions, one per line
+     */
+    public void sendCourseChangesDigestEmail(@NonNull String to, @NonNull List<String> summaries) {
+        emailOutboxService.enqueue(EmailTemplate.COURSE_CHANGES_DIGEST, to,
+                Map.of(FIELD_SUMMARY, "- " + String.join("\n- ", summaries)));
+    }
+
+    /**
+     * Renders a queued outbox message and hands it to the SMTP transport.
+     * Called by the outbox workers; any exception marks the attempt as failed.
+     *
+     * @param message claimed outbox row
+     */
+    public void deliver(@NonNull EmailOutboxMessage message) {
+        mailSender.send(render(message));
+    }
+
+    /**
+     * Renders several queued messages and sends them in one batch so the pooled SMTP
+     * transport can reuse its connections across the whole batch.
+     *
+     * @param messages claimed outbox rows
+     * @return failures keyed by outbox id; messages not present were accepted by the relay
+     */
+    public Map<Long, Exception> deliverAll(@NonNull List<EmailOutboxMessage> messages) {
+        Map<Long, Exception> failures = new HashMap<>();
+        Map<MimeMessage, Long> idsByMessage = new IdentityHashMap<>();
+        List<MimeMessage> rendered = new ArrayList<>(messages.size());
+        for (EmailOutboxMessage message : messages) {
+            try {
+                MimeMessage mimeMessage = render(message);
+                rendered.add(mimeMessage);
+                idsByMessage.put(mimeMessage, message.getId());
+            } catch (RuntimeException e) {
+                failures.put(message.getId(), e);
+            }
+        }
+        if (rendered.isEmpty()) {
+            return failures;
+        }
+        try {
+            mailSender.send(rendered.toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                idsByMessage.values().forEach(id -> failures.put(id, e));
+            } else {
+                failedMessages.forEach((failed, cause) -> failures.put(idsByMessage.get(failed), cause));
+            }
+        } catch (MailException e) {
+            idsByMessage.values().forEach(id -> failures.put(id, e));
+        }
+        return failures;
+    }
 
-        sendEmailWithLogo(to, subject, text);
+    /**
+     * Compiles every email template and encodes the inline logo so the first delivery does not pay for it.
+     */
+    @PostConstruct
+    void precompileTemplates() {
+        inlineLogo();
     }
 
-    private void sendEmailWithLogo(String to, String subject, String text) {
-        MimeMessage message = mailSender.createMimeMessage();
+    MimeMessage render(EmailOutboxMessage message) {
+        CompiledEmailTemplate template = templates.get(message.getTemplate());
+        Map<String, String> fields = message.getPayload();
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
         try {
-            MimeMessageHelper helper = new MimeMessageHelper(
-                    message,
-                    MimeMessageHelper.MULTIPART_MODE_RELATED,
-                    StandardCharsets.UTF_8.name());
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(text, buildHtmlBody(text));
-            addInlineLogo(helper);
+            mimeMessage.setRecipient(Message.RecipientType.TO, new InternetAddress(message.getRecipient()));
+            mimeMessage.setHeader("Subject", template.encodedSubject());
+
+            MimeBodyPart plainPart = new MimeBodyPart();
+            plainPart.setText(template.renderText(fields), CHARSET);
+            MimeBodyPart htmlPart = new MimeBodyPart();
+            htmlPart.setText(template.renderHtml(fields), CHARSET, "html");
+            MimeMultipart alternative = new MimeMultipart("alternative");
+            alternative.addBodyPart(plainPart);
+            alternative.addBodyPart(htmlPart);
+            MimeBodyPart bodyPart = new MimeBodyPart();
+            bodyPart.setContent(alternative);
+
+            MimeMultipart related = new MimeMultipart("related");
+            related.addBodyPart(bodyPart);
+            related.addBodyPart(inlineLogo().newPart());
+            mimeMessage.setContent(related);
         } catch (MessagingException e) {
             throw new IllegalStateException("Failed to build email message.", e);
         }
-        mailSender.send(message);
+        return mimeMessage;
+    }
+
+    private static Map<EmailTemplate, CompiledEmailTemplate> compileTemplates() {
+        Map<EmailTemplate, CompiledEmailTemplate> compiled = new EnumMap<>(EmailTemplate.class);
+        compiled.put(EmailTemplate.LYCEUM_VERIFICATION, compile(
+                "Школи: Потвърди права за администратор",
+                "Здравейте,\n\n" +
+                        "Вие заявихте администраторски права за читалище '{" + FIELD_LYCEUM_NAME + "}' в '{" + FIELD_TOWN + "}'.\n" +
+                        "Ползвайте кода за потвърждение долу за да потвърдите читалището:\n\n" +
+                        "Код за потвърждение: {" + FIELD_TOKEN + "}\n\n" +
+                        "Ако не сте заявявали права, моля обърнете се към нашия екип.\n\n" +
+                        "Поздрави,\nекипът на Школи"));
+        compiled.put(EmailTemplate.LYCEUM_LECTURER_INVITATION, compile(
+                "Школи: покана за преподавател",
+                "Здравейте,\n\n" +
+                        "Вие сте поканени да се присъедините към Школи като преподавател към читалище '{" + FIELD_LYCEUM_NAME +
+                        "}' в {" + FIELD_TOWN + "}.\n\n" +
+                        "Ако все още нямате акаунт, Ви молим да се регистрирате с тази е-поща: " + REGISTER_URL + ". " +
+                        "След като се регистрирате, Вие автоматично ще бъдете добавен като преподавател към читалището.\n\n" +
+                        "Ако вече имате акаунт, може да влезете и да започнете да обучавате: " + LOGIN_URL + ".\n\n" +
+                        "Поздрави,\nекипът на Школи"));
+        compiled.put(EmailTemplate.PASSWORD_RESET, compile(
+                "Shkoli: Password reset verification code",
+                "Hello,\n\n" +
+                        "We received a request to reset the password for your account.\n" +
+                        "Use the verification code below to continue:\n\n" +
+                        "Verification code: {" + FIELD_TOKEN + "}\n\n" +
+                        "The code expires in {" + FIELD_EXPIRATION_MINUTES + "} minutes.\n" +
+                        "If you did not request a password reset, you can ignore this email.\n\n" +
+                        "Regards,\n" +
+                        "Shkoli"));
+        compiled.put(EmailTemplate.COURSE_CHANGED, compile(
+                "Школи: промяна в курс, който следите",
+                "Здравейте,\n\n" +
+                        "Има промяна в курс, който следите:\n\n" +
+                        "{" + FIELD_SUMMARY + "}\n\n" +
+                        "Поздрави,\nекипът на Школи"));
+        compiled.put(EmailTemplate.COURSE_CHANGES_DIGEST, compile(
+                "Школи: дневен обзор на промените",
+                "Здравейте,\n\n" +
+                        "Ето промените в курсовете, които следите:\n\n" +
+                        "{" + FIELD_SUMMARY + "}\n\n" +
+                        "Поздрави,\nекипът на Школи"));
+        return compiled;
     }
 
-    private String buildHtmlBody(String text) {
-        String escapedText = HtmlUtils.htmlEscape(text)
+    private static CompiledEmailTemplate compile(String subject, String textTemplate) {
+        return CompiledEmailTemplate.compile(subject, textTemplate, HTML_PREFIX, HTML_SUFFIX, EmailService::toHtml);
+    }
+
+    private static String toHtml(String text) {
+        return HtmlUtils.htmlEscape(text)
                 .replace(REGISTER_URL, "<a href=\"" + REGISTER_URL + "\">" + REGISTER_LABEL + "</a>")
                 .replace(LOGIN_URL, "<a href=\"" + LOGIN_URL + "\">" + LOGIN_LABEL + "</a>")
                 .replace("\n", "<br>");
-        return """
-                <html>
-                  <body style="font-family: Arial, sans-serif; color: #1f2937;">
-                    <div>
-                      <img src="cid:%s" alt="Shkoli" style="width: 120px; height: auto; margin-bottom: 16px;">
-                    </div>
-                    <div>%s</div>
-                  </body>
-                </html>
-                """.formatted(LOGO_CONTENT_ID, escapedText);
-    }
-
-    private void addInlineLogo(MimeMessageHelper helper) throws MessagingException {
-        byte[] logoPng = loadLogoPng();
-        if (logoPng != null && logoPng.length > 0) {
-            helper.addInline(LOGO_CONTENT_ID, new ByteArrayResource(logoPng), "image/png");
-            return;
+    }
+
+    private InlineLogo inlineLogo() {
+        InlineLogo logo = inlineLogo;
+        if (logo != null) {
+            return logo;
+        }
+        synchronized (this) {
+            if (inlineLogo == null) {
+                byte[] logoPng = loadLogoPng();
+                inlineLogo = logoPng != null && logoPng.length > 0
+                        ? InlineLogo.encode(logoPng, "image/png")
+                        : InlineLogo.encode(readSvgLogo(), "image/svg+xml");
+            }
+            return inlineLogo;
+        }
+    }
+
+    private byte[] readSvgLogo() {
+        try (InputStream inputStream = new ClassPathResource(LOGO_RESOURCE).getInputStream()) {
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read email logo.", e);
         }
-        helper.addInline(LOGO_CONTENT_ID, new ClassPathResource(LOGO_RESOURCE), "image/svg+xml");
     }
 
     private byte[] loadLogoPng() {
@@ -172,4 +341,25 @@ public class EmailService {
             return null;
         }
     }
+
+    /**
+     * Logo bytes base64-encoded once. Each message gets its own lightweight body part over the
+     * same encoded bytes, which Jakarta Mail writes out as-is without re-encoding. Headers are
+     * built per part, because a body part keeps and later updates the headers it is given.
+     */
+    private record InlineLogo(String contentType, byte[] encodedContent) {
+
+        static InlineLogo encode(byte[] content, String contentType) {
+            return new InlineLogo(contentType, Base64.getMimeEncoder().encode(content));
+        }
+
+        MimeBodyPart newPart() throws MessagingException {
+            InternetHeaders headers = new InternetHeaders();
+            headers.setHeader("Content-Type", contentType);
+            headers.setHeader("Content-Transfer-Encoding", "base64");
+            headers.setHeader("Content-Disposition", Part.INLINE);
+            headers.setHeader("Content-ID", "<" + LOGO_CONTENT_ID + ">");
+            return new MimeBodyPart(headers, encodedContent);
+        }
+    }
 }
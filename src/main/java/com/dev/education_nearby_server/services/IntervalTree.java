@@ -0,0 +1,192 @@
+package com.dev.education_nearby_server.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Balanced (AVL) interval tree over half-open integer ranges {@code [low, high)}.
+ * Every node carries the largest {@code high} of its subtree, so an overlap query skips whole
+ * subtrees that end before the range and runs in O(log n + k) for k matches.
+ * Insertions return a handle that identifies the entry for removal, as several entries may
+ * share the same range. Not thread-safe.
+ */
+final class IntervalTree<T> {
+
+    private Node<T> root;
+    private long nextSequence;
+    private int size;
+
+    /**
+     * Identifies a stored entry; pass it back to {@link #remove(Handle)}.
+     */
+    record Handle(int low, long sequence) {
+    }
+
+    private static final class Node<T> {
+        private final int low;
+        private final int high;
+        private final long sequence;
+        private final T value;
+        private int maxHigh;
+        private int height = 1;
+        private Node<T> left;
+        private Node<T> right;
+
+        private Node(int low, int high, long sequence, T value) {
+            this.low = low;
+            this.high = high;
+            this.sequence = sequence;
+            this.value = value;
+            this.maxHigh = high;
+        }
+    }
+
+    Handle insert(int low, int high, T value) {
+        if (high <= low) {
+            throw new IllegalArgumentException("Interval must not be empty: [" + low + ", " + high + ")");
+        }
+        Node<T> node = new Node<>(low, high, nextSequence++, value);
+        root = insert(root, node);
+        size++;
+        return new Handle(low, node.sequence);
+    }
+
+    boolean remove(Handle handle) {
+        int before = size;
+        root = remove(root, handle.low(), handle.sequence());
+        return size < before;
+    }
+
+    /**
+     * Returns the values of all entries overlapping {@code [low, high)} in ascending order of {@code low}.
+     */
+    List<T> overlapping(int low, int high) {
+        List<T> matches = new ArrayList<>();
+        collect(root, low, high, matches);
+        return matches;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private Node<T> insert(Node<T> node, Node<T> inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (compare(inserted.low, inserted.sequence, node) < 0) {
+            node.left = insert(node.left, inserted);
+        } else {
+            node.right = insert(node.right, inserted);
+        }
+        return rebalance(node);
+    }
+
+    private Node<T> remove(Node<T> node, int low, long sequence) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(low, sequence, node);
+        if (comparison < 0) {
+            node.left = remove(node.left, low, sequence);
+        } else if (comparison > 0) {
+            node.right = remove(node.right, low, sequence);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node<T> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeMin(node.right);
+            successor.left = node.left;
+            return rebalance(successor);
+        }
+        return rebalance(node);
+    }
+
+    private Node<T> removeMin(Node<T> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    private void collect(Node<T> node, int low, int high, List<T> matches) {
+        if (node == null || node.maxHigh <= low) {
+            return;
+        }
+        collect(node.left, low, high, matches);
+        if (node.low >= high) {
+            // This node and its whole right subtree start at or after the end of the range.
+            return;
+        }
+        if (node.high > low) {
+            matches.add(node.value);
+        }
+        collect(node.right, low, high, matches);
+    }
+
+    private static int compare(int low, long sequence, Node<?> node) {
+        int byLow = Integer.compare(low, node.low);
+        return byLow != 0 ? byLow : Long.compare(sequence, node.sequence);
+    }
+
+    private Node<T> rebalance(Node<T> node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(Node<T> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        int maxHigh = node.high;
+        if (node.left != null) {
+            maxHigh = Math.max(maxHigh, node.left.maxHigh);
+        }
+        if (node.right != null) {
+            maxHigh = Math.max(maxHigh, node.right.maxHigh);
+        }
+        node.maxHigh = maxHigh;
+    }
+
+    private int height(Node<T> node) {
+        return node == null ? 0 : node.height;
+    }
+}
@@ -0,0 +1,186 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.enums.ScheduleRecurrence;
+import com.dev.education_nearby_server.models.entity.Course;
+import com.dev.education_nearby_server.models.entity.CourseScheduleSlot;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Recurring teaching blocks of one lecturer, indexed by an {@link IntervalTree}.
+ * Weekly slots are placed on a minutes-of-week axis and monthly slots on a separate minutes-of-month
+ * axis after it, so only weekly-vs-weekly and same-day monthly-vs-monthly slots can collide.
+ * Overlapping blocks only conflict when the active periods of their courses share a month.
+ * Courses are replaced and removed as a whole, which keeps the index incremental.
+ */
+final class LecturerTimetable {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int MONTHLY_AXIS_OFFSET = 7 * MINUTES_PER_DAY;
+    private static final int ALL_MONTHS = (1 << 12) - 1;
+
+    private final IntervalTree<Block> tree = new IntervalTree<>();
+    private final Map<Long, List<Entry>> byCourse = new HashMap<>();
+
+    /**
+     * One slot of a course projected onto the timeline; {@code activeMonths} is a bit per month.
+     */
+    record Block(int low, int high, Long courseId, String courseName, ScheduleRecurrence recurrence,
+                 DayOfWeek dayOfWeek, Integer dayOfMonth, LocalTime startTime, LocalTime endTime,
+                 int activeMonths) {
+    }
+
+    /**
+     * Two blocks of different courses that overlap in time and share an active month.
+     */
+    record Conflict(Block block, Block other) {
+    }
+
+    private record Entry(Block block, IntervalTree.Handle handle) {
+    }
+
+    /**
+     * Projects the recurring slots of a course; slots without a day, a start or a derivable end are skipped.
+     */
+    static List<Block> blocksOf(Course course) {
+        if (course.getSchedule() == null || course.getSchedule().getSlots() == null) {
+            return List.of();
+        }
+        int activeMonths = activeMonths(course.getActiveStartMonth(), course.getActiveEndMonth());
+        List<Block> blocks = new ArrayList<>();
+        for (CourseScheduleSlot slot : course.getSchedule().getSlots()) {
+            if (slot == null || slot.getRecurrence() == null || slot.getStartTime() == null) {
+                continue;
+            }
+            int startMinute = slot.getStartTime().toSecondOfDay() / 60;
+            int endMinute = endMinute(slot, startMinute);
+            if (endMinute <= startMinute) {
+                continue;
+            }
+            int dayOffset;
+            if (slot.getRecurrence() == ScheduleRecurrence.WEEKLY && slot.getDayOfWeek() != null) {
+                dayOffset = (slot.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY;
+            } else if (slot.getRecurrence() == ScheduleRecurrence.MONTHLY
+                    && slot.getDayOfMonth() != null && slot.getDayOfMonth() >= 1 && slot.getDayOfMonth() <= 31) {
+                dayOffset = MONTHLY_AXIS_OFFSET + (slot.getDayOfMonth() - 1) * MINUTES_PER_DAY;
+            } else {
+                continue;
+            }
+            blocks.add(new Block(
+                    dayOffset + startMinute,
+                    dayOffset + endMinute,
+                    course.getId(),
+                    course.getName(),
+                    slot.getRecurrence(),
+                    slot.getRecurrence() == ScheduleRecurrence.WEEKLY ? slot.getDayOfWeek() : null,
+                    slot.getRecurrence() == ScheduleRecurrence.MONTHLY ? slot.getDayOfMonth() : null,
+                    slot.getStartTime(),
+                    endMinute == MINUTES_PER_DAY ? LocalTime.MAX : LocalTime.ofSecondOfDay(endMinute * 60L),
+                    activeMonths
+            ));
+        }
+        return blocks;
+    }
+
+    synchronized void replaceCourse(Long courseId, List<Block> blocks) {
+        removeCourse(courseId);
+        if (blocks.isEmpty()) {
+            return;
+        }
+        List<Entry> entries = new ArrayList<>(blocks.size());
+        for (Block block : blocks) {
+            entries.add(new Entry(block, tree.insert(block.low(), block.high(), block)));
+        }
+        byCourse.put(courseId, entries);
+    }
+
+    synchronized void removeCourse(Long courseId) {
+        List<Entry> entries = byCourse.remove(courseId);
+        if (entries != null) {
+            entries.forEach(entry -> tree.remove(entry.handle()));
+        }
+    }
+
+    /**
+     * Blocks already in the timetable that collide with the given blocks of {@code courseId},
+     * ignoring the course itself.
+     */
+    synchronized List<Conflict> conflictsWith(Long courseId, List<Block> blocks) {
+        List<Conflict> conflicts = new ArrayList<>();
+        for (Block block : blocks) {
+            for (Block other : tree.overlapping(block.low(), block.high())) {
+                if (!Objects.equals(other.courseId(), courseId) && (block.activeMonths() & other.activeMonths()) != 0) {
+                    conflicts.add(new Conflict(block, other));
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Every colliding pair inside the timetable, each reported once with the lower course id first.
+     */
+    synchronized List<Conflict> conflicts() {
+        List<Conflict> conflicts = new ArrayList<>();
+        for (List<Entry> entries : byCourse.values()) {
+            for (Entry entry : entries) {
+                Block block = entry.block();
+                for (Block other : tree.overlapping(block.low(), block.high())) {
+                    if (block.courseId() != null && other.courseId() != null
+                            && block.courseId() < other.courseId()
+                            && (block.activeMonths() & other.activeMonths()) != 0) {
+                        conflicts.add(new Conflict(block, other));
+                    }
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    synchronized int size() {
+        return tree.size();
+    }
+
+    /**
+     * Slot end is its explicit end time or, failing that, the end of its last class.
+     */
+    private static int endMinute(CourseScheduleSlot slot, int startMinute) {
+        if (slot.getEndTime() != null) {
+            return slot.getEndTime().equals(LocalTime.MAX) ? MINUTES_PER_DAY : slot.getEndTime().toSecondOfDay() / 60;
+        }
+        Integer duration = slot.getSingleClassDurationMinutes();
+        if (duration == null || duration <= 0) {
+            return startMinute;
+        }
+        int count = slot.getClassesCount() != null && slot.getClassesCount() > 0 ? slot.getClassesCount() : 1;
+        int gap = slot.getGapBetweenClassesMinutes() != null && slot.getGapBetweenClassesMinutes() > 0
+                ? slot.getGapBetweenClassesMinutes()
+                : 0;
+        return Math.min(MINUTES_PER_DAY, startMinute + count * duration + (count - 1) * gap);
+    }
+
+    /**
+     * Same wrap-around semantics as the course filter; no period means every month.
+     */
+    private static int activeMonths(Month activeStart, Month activeEnd) {
+        if (activeStart == null || activeEnd == null) {
+            return ALL_MONTHS;
+        }
+        int mask = 0;
+        int month = activeStart.getValue();
+        while (true) {
+            mask |= 1 << (month - 1);
+            if (month == activeEnd.getValue()) {
+                return mask;
+            }
+            month = month % 12 + 1;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.exceptions.common.BadRequestException;
+import com.dev.education_nearby_server.exceptions.common.NoSuchElementException;
+import com.dev.education_nearby_server.models.dto.response.CourseResponse;
+import com.dev.education_nearby_server.models.dto.response.LyceumDetailsResponse;
+import com.dev.education_nearby_server.models.dto.response.LyceumImageResponse;
+import com.dev.education_nearby_server.models.dto.response.ReviewResponse;
+import com.dev.education_nearby_server.models.dto.response.UserResponse;
+import com.dev.education_nearby_server.models.entity.Course;
+import com.dev.education_nearby_server.models.entity.Lyceum;
+import com.dev.education_nearby_server.models.entity.LyceumImage;
+import com.dev.education_nearby_server.models.entity.User;
+import com.dev.education_nearby_server.repositories.CourseRepository;
+import com.dev.education_nearby_server.repositories.CourseReviewRepository;
+import com.dev.education_nearby_server.repositories.LyceumRepository;
+import com.dev.education_nearby_server.repositories.LyceumReviewRepository;
+import com.dev.education_nearby_server.repositories.UserRepository;
+import com.dev.education_nearby_server.repositories.UserReviewRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Assembles everything a lyceum page shows in a single call. The lyceum is loaded and its visibility
+ * checked first, so missing or hidden lyceums cost one query. Its courses, lecturers and recent reviews
+ * do not depend on each other, so each is then loaded on its own virtual thread in its own read-only
+ * transaction, with a fixed number of batched queries however many rows it maps.
+ */
+@Service
+public class LyceumDetailsService {
+
+    static final int RECENT_REVIEWS = 10;
+
+    private static final String LYCEUM_NOT_FOUND_MESSAGE = "Lyceum with id %d not found.";
+
+    private static final Comparator<LyceumImage> IMAGE_ORDER = Comparator
+            .comparing(LyceumImage::getOrderIndex, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(LyceumImage::getId);
+
+    private final LyceumRepository lyceumRepository;
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+    private final LyceumReviewRepository lyceumReviewRepository;
+    private final CourseReviewRepository courseReviewRepository;
+    private final UserReviewRepository userReviewRepository;
+    private final LyceumService lyceumService;
+    private final CourseService courseService;
+    private final ReviewService reviewService;
+    private final StatisticsService statisticsService;
+    private final TransactionTemplate readTransaction;
+
+    public LyceumDetailsService(
+            LyceumRepository lyceumRepository,
+            CourseRepository courseRepository,
+            UserRepository userRepository,
+            LyceumReviewRepository lyceumReviewRepository,
+            CourseReviewRepository courseReviewRepository,
+            UserReviewRepository userReviewRepository,
+            LyceumService lyceumService,
+            CourseService courseService,
+            ReviewService reviewService,
+            StatisticsService statisticsService,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.lyceumRepository = lyceumRepository;
+        this.courseRepository = courseRepository;
+        this.userRepository = userRepository;
+        this.lyceumReviewRepository = lyceumReviewRepository;
+        this.courseReviewRepository = courseReviewRepository;
+        this.userReviewRepository = userReviewRepository;
+        this.lyceumService = lyceumService;
+        this.courseService = courseService;
+        this.reviewService = reviewService;
+        this.statisticsService = statisticsService;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Loads a lyceum with its images, courses, lecturers and most recent reviews.
+     * Non-verified lyceums are only returned to global admins, as with the single-lyceum lookup.
+     *
+     * @param lyceumId lyceum identifier
+     * @return the lyceum page aggregate
+     */
+    public LyceumDetailsResponse getLyceumDetails(Long lyceumId) {
+        if (lyceumId == null) {
+            throw new BadRequestException("Lyceum id must be provided.");
+        }
+        LoadedLyceum loaded = readTransaction.execute(status -> loadLyceum(lyceumId));
+        lyceumService.ensureLyceumVisible(loaded.lyceum());
+
+        List<CourseResponse> courses;
+        List<UserResponse> lecturers;
+        List<ReviewResponse> reviews;
+        try (ExecutorService parts = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<List<CourseResponse>> coursesPart = submit(parts, () -> loadCourses(lyceumId));
+            Future<List<UserResponse>> lecturersPart = submit(parts, () -> loadLecturers(lyceumId));
+            Future<List<ReviewResponse>> reviewsPart = submit(parts, () -> loadRecentReviews(lyceumId));
+            courses = await(coursesPart);
+            lecturers = await(lecturersPart);
+            reviews = await(reviewsPart);
+        }
+
+        statisticsService.recordLyceumVisit(lyceumId);
+        statisticsService.recordCoursesSeenInResults(courses.stream().map(CourseResponse::getId).toList());
+        return LyceumDetailsResponse.builder()
+                .lyceum(lyceumService.mapToResponse(loaded.lyceum(), loaded.averageRating(), courses.size()))
+                .images(loaded.images())
+                .courses(courses)
+                .lecturers(lecturers)
+                .reviews(reviews)
+                .build();
+    }
+
+    private LoadedLyceum loadLyceum(Long lyceumId) {
+        Lyceum lyceum = lyceumRepository.findWithImagesById(lyceumId)
+                .orElseThrow(() -> new NoSuchElementException(LYCEUM_NOT_FOUND_MESSAGE.formatted(lyceumId)));
+        List<LyceumImageResponse> images = lyceum.getImages().stream()
+                .sorted(IMAGE_ORDER)
+                .map(lyceumService::mapToResponse)
+                .toList();
+        return new LoadedLyceum(lyceum, images, lyceumReviewRepository.findAverageRatingByLyceumId(lyceumId));
+    }
+
+    /**
+     * Four queries: courses with images and age groups, their schedules, their lecturer ids and their ratings.
+     */
+    private List<CourseResponse> loadCourses(Long lyceumId) {
+        List<Course> courses = courseRepository.findWithImagesByLyceumId(lyceumId);
+        if (courses.isEmpty()) {
+            return List.of();
+        }
+        // Initialises the schedule collections of the courses already in this persistence context.
+        courseRepository.findWithScheduleByIdIn(courses.stream().map(Course::getId).toList());
+        Map<Long, List<Long>> lecturerIds = courseRepository.findLecturerIdsByLyceumId(lyceumId).stream()
+                .collect(Collectors.groupingBy(CourseRepository.CourseLecturer::getCourseId,
+                        Collectors.mapping(CourseRepository.CourseLecturer::getLecturerId, Collectors.toList())));
+        Map<Long, Double> ratings = courseReviewRepository.findAverageRatingsByLyceumId(lyceumId).stream()
+                .collect(Collectors.toMap(CourseReviewRepository.AverageRating::getId,
+                        CourseReviewRepository.AverageRating::getAverageRating));
+        return courses.stream()
+                .map(course -> courseService.mapToResponse(
+                        course,
+                        lecturerIds.getOrDefault(course.getId(), List.of()),
+                        ratings.get(course.getId())))
+                .toList();
+    }
+
+    /**
+     * Four queries: the lecturers, the courses and lyceums each one lectures at, and their ratings.
+     */
+    private List<UserResponse> loadLecturers(Long lyceumId) {
+        List<User> lecturers = userRepository.findLecturersByLyceumId(lyceumId);
+        if (lecturers.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = lecturers.stream().map(User::getId).toList();
+        Map<Long, List<Long>> courseIds = groupByUser(userRepository.findLecturedCourseIds(ids));
+        Map<Long, List<Long>> lyceumIds = groupByUser(userRepository.findLecturedLyceumIds(ids));
+        Map<Long, Double> ratings = userReviewRepository.findAverageRatingsByReviewedUserIds(ids).stream()
+                .collect(Collectors.toMap(UserReviewRepository.AverageRating::getId,
+                        UserReviewRepository.AverageRating::getAverageRating));
+        return lecturers.stream()
+                .map(user -> lyceumService.mapToUserResponse(
+                        user,
+                        courseIds.getOrDefault(user.getId(), List.of()),
+                        lyceumIds.getOrDefault(user.getId(), List.of()),
+                        ratings.get(user.getId())))
+                .toList();
+    }
+
+    private List<ReviewResponse> loadRecentReviews(Long lyceumId) {
+        return lyceumReviewRepository.findRecentByLyceumId(lyceumId, PageRequest.of(0, RECENT_REVIEWS)).stream()
+                .map(link -> reviewService.mapToResponse(link.getReview()))
+                .toList();
+    }
+
+    private Map<Long, List<Long>> groupByUser(List<UserRepository.LecturedTarget> targets) {
+        return targets.stream()
+                .collect(Collectors.groupingBy(UserRepository.LecturedTarget::getUserId,
+                        Collectors.mapping(UserRepository.LecturedTarget::getTargetId, Collectors.toList())));
+    }
+
+    private <T> Future<T> submit(ExecutorService parts, Supplier<T> part) {
+        return parts.submit(() -> readTransaction.execute(status -> part.get()));
+    }
+
+    /**
+     * Rethrows the part's own failure rather than wrapping it.
+     */
+    private static <T> T await(Future<T> part) {
+        try {
+            return part.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Loading lyceum details was interrupted.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Loading lyceum details failed.", e.getCause());
+        }
+    }
+
+    private record LoadedLyceum(Lyceum lyceum, List<LyceumImageResponse> images, Double averageRating) {
+    }
+}
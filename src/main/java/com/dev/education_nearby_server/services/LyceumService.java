@@ -1,8 +1,11 @@
 package com.dev.education_nearby_server.services;
 
+import com.dev.education_nearby_server.config.AuthenticatedUser;
+import com.dev.education_nearby_server.config.AuthenticatedUserCache;
 import com.dev.education_nearby_server.config.S3Properties;
 import com.dev.education_nearby_server.enums.ImageRole;
 import com.dev.education_nearby_server.enums.Role;
+import com.dev.education_nearby_server.enums.SyncEntityType;
 import com.dev.education_nearby_server.enums.TokenType;
 import com.dev.education_nearby_server.enums.VerificationStatus;
 import com.dev.education_nearby_server.exceptions.common.AccessDeniedException;
@@ -21,20 +24,24 @@ import com.dev.education_nearby_server.models.dto.response.CourseResponse;
 import com.dev.education_nearby_server.models.dto.response.LyceumImageResponse;
 import com.dev.education_nearby_server.models.dto.response.LyceumResponse;
 import com.dev.education_nearby_server.models.dto.response.StatisticsResponse;
+import com.dev.education_nearby_server.models.dto.response.SubscriberPageResponse;
 import com.dev.education_nearby_server.models.dto.response.UserResponse;
 import com.dev.education_nearby_server.models.entity.Course;
 import com.dev.education_nearby_server.models.entity.Lyceum;
 import com.dev.education_nearby_server.models.entity.LyceumImage;
 import com.dev.education_nearby_server.models.entity.LyceumLecturerInvitation;
+import com.dev.education_nearby_server.models.entity.SyncTombstone;
 import com.dev.education_nearby_server.models.entity.Token;
 import com.dev.education_nearby_server.models.entity.User;
 import com.dev.education_nearby_server.repositories.LyceumImageRepository;
 import com.dev.education_nearby_server.repositories.LyceumRepository;
 import com.dev.education_nearby_server.repositories.LyceumLecturerInvitationRepository;
 import com.dev.education_nearby_server.repositories.LyceumReviewRepository;
+import com.dev.education_nearby_server.repositories.SyncTombstoneRepository;
 import com.dev.education_nearby_server.repositories.TokenRepository;
 import com.dev.education_nearby_server.repositories.UserReviewRepository;
 import com.dev.education_nearby_server.repositories.UserRepository;
+import com.dev.education_nearby_server.utils.FieldSelection;
 import com.dev.education_nearby_server.utils.S3ImageLocationResolver;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -72,6 +79,8 @@ public class LyceumService {
     private final CourseService courseService;
     private final S3Properties s3Properties;
     private final StatisticsService statisticsService;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final AuthenticatedUserCache authenticatedUserCache;
     private static final String LYCEUM_ID_MESSAGE = "Lyceum with id ";
     private static final String NOT_FOUND_MESSAGE = " not found.";
     private static final String USER_WITH_ID = "User with id ";
@@ -131,13 +140,28 @@ public class LyceumService {
     /**
      * Lists only lyceums that passed administrator verification.
      *
+     * @param fields response fields to populate; unrequested ones are not looked up
      * @return verified lyceums
      */
     @Transactional(readOnly = true)
-    public List<LyceumResponse> getVerifiedLyceums() {
+    public List<LyceumResponse> getVerifiedLyceums(FieldSelection fields) {
         List<Lyceum> lyceums = lyceumRepository.findAllByVerificationStatus(VerificationStatus.VERIFIED);
         statisticsService.recordLyceumsSeenInResults(extractLyceumIds(lyceums));
         return lyceums
+                .stream()
+                .map(lyceum -> mapToResponse(lyceum, fields))
+                .toList();
+    }
+
+    /**
+     * Maps every verified lyceum with all fields for the catalog snapshot. The lyceums are not
+     * recorded as seen here; snapshot downloads are counted when they are served.
+     *
+     * @return verified lyceums
+     */
+    @Transactional(readOnly = true)
+    public List<LyceumResponse> getVerifiedLyceumsForSnapshot() {
+        return lyceumRepository.findAllByVerificationStatus(VerificationStatus.VERIFIED)
                 .stream()
                 .map(this::mapToResponse)
                 .toList();
@@ -146,15 +170,16 @@ public class LyceumService {
     /**
      * Lists all lyceums regardless of verification status.
      *
+     * @param fields response fields to populate; unrequested ones are not looked up
      * @return every lyceum
      */
     @Transactional(readOnly = true)
-    public List<LyceumResponse> getAllLyceums() {
+    public List<LyceumResponse> getAllLyceums(FieldSelection fields) {
         List<Lyceum> lyceums = lyceumRepository.findAll();
         statisticsService.recordLyceumsSeenInResults(extractLyceumIds(lyceums));
         return lyceums
                 .stream()
-                .map(this::mapToResponse)
+                .map(lyceum -> mapToResponse(lyceum, fields))
                 .toList();
     }
 
@@ -191,8 +216,10 @@ public class LyceumService {
      * @param town optional town filter (case-insensitive)
      * @param latitude optional latitude used with longitude
      * @param longitude optional longitude used with latitude
+     * @param popular whether to rank lyceums with more subscribers first instead of by distance
      * @param page zero-based page index
      * @param size page size
+     * @param fields response fields to populate; unrequested ones are not looked up
      * @return lyceums that match the provided filters
      */
     @Transactional(readOnly = true)
@@ -200,8 +227,10 @@ public class LyceumService {
             String town,
             Double latitude,
             Double longitude,
+            boolean popular,
             Integer page,
-            Integer size
+            Integer size,
+            FieldSelection fields
     ) {
         String normalizedTown = normalize(town);
         if (normalizedTown != null && normalizedTown.isBlank()) {
@@ -213,15 +242,12 @@ public class LyceumService {
         validatePageRequest(page, size);
 
         Pageable pageable = PageRequest.of(page, size);
-        Page<Lyceum> lyceums = lyceumRepository.filterLyceums(
-                normalizedTown,
-                latitude,
-                longitude,
-                VerificationStatus.VERIFIED.name(),
-                pageable
-        );
+        String status = VerificationStatus.VERIFIED.name();
+        Page<Lyceum> lyceums = popular
+                ? lyceumRepository.filterPopularLyceums(normalizedTown, latitude, longitude, status, pageable)
+                : lyceumRepository.filterLyceums(normalizedTown, latitude, longitude, status, pageable);
         statisticsService.recordLyceumsSeenInResults(extractLyceumIds(lyceums.getContent()));
-        return lyceums.map(this::mapToResponse);
+        return lyceums.map(lyceum -> mapToResponse(lyceum, fields));
     }
 
     /**
@@ -360,6 +386,7 @@ public class LyceumService {
 
         userRepository.save(user);
         lyceumRepository.save(lyceum);
+        evictCachedPrincipal(user);
     }
 
     /**
@@ -395,6 +422,7 @@ public class LyceumService {
 
         userRepository.save(administrator);
         lyceumRepository.save(lyceum);
+        evictCachedPrincipal(administrator);
     }
 
     /**
@@ -566,6 +594,7 @@ public class LyceumService {
 
     /**
      * Deletes a lyceum and clears administrator relationships and tokens.
+     * Its courses are kept without a lyceum; the lyceum and its images leave sync tombstones.
      *
      * @param id lyceum identifier
      */
@@ -578,10 +607,19 @@ public class LyceumService {
         if (!administrators.isEmpty()) {
             administrators.forEach(user -> user.setAdministratedLyceum(null));
             userRepository.saveAll(administrators);
+            administrators.forEach(this::evictCachedPrincipal);
         }
 
+        List<SyncTombstone> tombstones = new ArrayList<>();
+        tombstones.add(SyncTombstone.of(SyncEntityType.LYCEUM, id));
+        lyceum.getImages().forEach(image ->
+                tombstones.add(SyncTombstone.of(SyncEntityType.LYCEUM_IMAGE, image.getId())));
+        // Detaching through the entities, rather than the foreign key, bumps the courses' updated_at.
+        lyceum.getCourses().forEach(course -> course.setLyceum(null));
+
         tokenRepository.deleteAllByLyceum_Id(id);
         lyceumRepository.delete(lyceum);
+        syncTombstoneRepository.saveAll(tombstones);
     }
 
     /**
@@ -593,15 +631,22 @@ public class LyceumService {
     @Transactional(readOnly = true)
     public LyceumResponse getLyceumById(Long id) {
         Lyceum lyceum = requireLyceum(id);
+        ensureLyceumVisible(lyceum);
+        statisticsService.recordLyceumVisit(lyceum.getId());
+        return mapToResponse(lyceum);
+    }
+
+    /**
+     * Only verified lyceums are public; anything else is visible to global admins alone.
+     */
+    void ensureLyceumVisible(Lyceum lyceum) {
         if (lyceum.getVerificationStatus() != VerificationStatus.VERIFIED) {
-            User currentUser = getCurrentUser()
+            AuthenticatedUser currentUser = getCurrentUser()
                     .orElseThrow(() -> new UnauthorizedException("You must be authenticated to access this lyceum."));
             if (currentUser.getRole() != Role.ADMIN) {
                 throw new AccessDeniedException("You do not have permission to access this lyceum.");
             }
         }
-        statisticsService.recordLyceumVisit(lyceum.getId());
-        return mapToResponse(lyceum);
     }
 
     /**
@@ -619,7 +664,7 @@ public class LyceumService {
                 .seenInResults(lyceum.getSeenInResultsCount())
                 .visits(lyceum.getVisitCount())
                 .shares(lyceum.getShareCount())
-                .subscriptions(lyceumRepository.countSubscriptionsByLyceumId(lyceum.getId()))
+                .subscriptions(lyceum.getSubscriberCount())
                 .build();
     }
 
@@ -646,65 +691,45 @@ public class LyceumService {
     }
 
     /**
-     * Subscribes the authenticated user to a lyceum.
+     * Subscribes the authenticated user to a lyceum. Repeating the call is a no-op.
      *
      * @param lyceumId lyceum identifier
      */
     @Transactional
     public void subscribeToLyceum(Long lyceumId) {
-        Lyceum lyceum = requireLyceum(lyceumId);
-        User currentUser = getManagedCurrentUser();
-
-        if (currentUser.getSubscribedLyceums() == null) {
-            currentUser.setSubscribedLyceums(new ArrayList<>());
-        }
-        boolean alreadySubscribed = currentUser.getSubscribedLyceums().stream()
-                .anyMatch(existing -> existing.getId() != null && existing.getId().equals(lyceum.getId()));
-        if (alreadySubscribed) {
-            throw new ConflictException("You are already subscribed to this lyceum.");
-        }
-
-        currentUser.getSubscribedLyceums().add(lyceum);
-        if (lyceum.getSubscribers() != null) {
-            boolean userAlreadyMapped = lyceum.getSubscribers().stream()
-                    .anyMatch(existing -> existing.getId() != null && existing.getId().equals(currentUser.getId()));
-            if (!userAlreadyMapped) {
-                lyceum.getSubscribers().add(currentUser);
-            }
+        Long userId = requireSubscriptionTarget(lyceumId);
+        if (lyceumRepository.insertSubscription(userId, lyceumId) > 0) {
+            lyceumRepository.adjustSubscriberCount(lyceumId, 1);
         }
-
-        userRepository.save(currentUser);
     }
 
     /**
-     * Unsubscribes the authenticated user from a lyceum.
+     * Unsubscribes the authenticated user from a lyceum. Unsubscribing twice is a no-op.
      *
      * @param lyceumId lyceum identifier
      */
     @Transactional
     public void unsubscribeFromLyceum(Long lyceumId) {
-        Lyceum lyceum = requireLyceum(lyceumId);
-        User currentUser = getManagedCurrentUser();
-
-        List<Lyceum> subscribedLyceums = currentUser.getSubscribedLyceums();
-        if (subscribedLyceums == null || subscribedLyceums.isEmpty()) {
-            throw new BadRequestException("You are not subscribed to this lyceum.");
+        Long userId = requireSubscriptionTarget(lyceumId);
+        if (lyceumRepository.deleteSubscription(userId, lyceumId) > 0) {
+            lyceumRepository.adjustSubscriberCount(lyceumId, -1);
         }
+    }
 
-        boolean removed = subscribedLyceums.removeIf(
-                existing -> existing.getId() != null && existing.getId().equals(lyceum.getId())
-        );
-        if (!removed) {
-            throw new BadRequestException("You are not subscribed to this lyceum.");
+    /**
+     * Resolves the caller and locks the lyceum row without loading either subscription collection,
+     * so the cost does not grow with the number of subscriptions and the counter stays exact.
+     */
+    private Long requireSubscriptionTarget(Long lyceumId) {
+        if (lyceumId == null) {
+            throw new BadRequestException("Lyceum id must be provided.");
         }
-
-        if (lyceum.getSubscribers() != null) {
-            lyceum.getSubscribers().removeIf(
-                    existing -> existing.getId() != null && existing.getId().equals(currentUser.getId())
-            );
+        AuthenticatedUser currentUser = getCurrentUser()
+                .orElseThrow(() -> new UnauthorizedException("You must be authenticated to perform this action."));
+        if (lyceumRepository.lockForSubscriptionChange(lyceumId).isEmpty()) {
+            throw new NoSuchElementException(LYCEUM_ID_MESSAGE + lyceumId + NOT_FOUND_MESSAGE);
         }
-
-        userRepository.save(currentUser);
+        return currentUser.getId();
     }
 
     /**
@@ -781,6 +806,7 @@ public class LyceumService {
 
         lyceum.getImages().removeIf(existing -> existing.getId() != null && existing.getId().equals(imageId));
         lyceumImageRepository.delete(image);
+        syncTombstoneRepository.save(SyncTombstone.of(SyncEntityType.LYCEUM_IMAGE, imageId));
     }
 
     /**
@@ -806,24 +832,24 @@ public class LyceumService {
     }
 
     /**
-     * Lists users subscribed to a lyceum after validating access permissions.
+     * Lists one page of users subscribed to a lyceum after validating access permissions.
      *
      * @param lyceumId lyceum identifier
-     * @return subscribers associated with the lyceum
+     * @param after id of the last subscriber on the previous page, or null for the first page
+     * @param size maximum number of subscribers to return
+     * @return subscribers with ids above {@code after}, in id order
      */
     @Transactional(readOnly = true)
-    public List<UserResponse> getLyceumSubscribers(Long lyceumId) {
+    public SubscriberPageResponse getLyceumSubscribers(Long lyceumId, Long after, Integer size) {
+        Pageable pageable = SubscriberPages.request(after, size);
         Lyceum lyceum = requireLyceum(lyceumId);
         User currentUser = getManagedCurrentUser();
         ensureUserCanModifyLyceum(currentUser, lyceum);
 
-        List<User> subscribers = lyceum.getSubscribers();
-        if (subscribers == null || subscribers.isEmpty()) {
-            return List.of();
-        }
-        return subscribers.stream()
-                .map(this::mapToUserResponse)
-                .toList();
+        return SubscriberPages.toPage(
+                userRepository.findLyceumSubscribersAfter(lyceum.getId(), SubscriberPages.cursor(after), pageable),
+                size
+        );
     }
 
     /**
@@ -1058,6 +1084,12 @@ public class LyceumService {
         syncAdministratorsCollection(lyceum, user);
         lyceumRepository.save(lyceum);
         userRepository.save(user);
+        evictCachedPrincipal(user);
+    }
+
+    private void evictCachedPrincipal(User user) {
+        // The cached principal carries the administrated lyceum id used by access checks
+        authenticatedUserCache.evict(user.getEmail(), user.getUsername());
     }
 
     private void expireToken(Token token) {
@@ -1067,22 +1099,18 @@ public class LyceumService {
     }
 
     private User getManagedCurrentUser() {
-        User currentUser = getCurrentUser()
+        AuthenticatedUser currentUser = getCurrentUser()
                 .orElseThrow(() -> new UnauthorizedException("You must be authenticated to perform this action."));
         return userRepository.findById(currentUser.getId())
                 .orElseThrow(() -> new UnauthorizedException("User not found."));
     }
 
-    private Optional<User> getCurrentUser() {
+    private Optional<AuthenticatedUser> getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
             return Optional.empty();
         }
-        Object principal = auth.getPrincipal();
-        if (principal instanceof User user) {
-            return Optional.of(user);
-        }
-        return Optional.empty();
+        return AuthenticatedUser.fromPrincipal(auth.getPrincipal());
     }
 
     private void invalidateExistingVerificationTokens(User user) {
@@ -1139,16 +1167,36 @@ public class LyceumService {
     }
 
     private LyceumResponse mapToResponse(Lyceum lyceum) {
+        return mapToResponse(lyceum, FieldSelection.all());
+    }
+
+    /**
+     * Maps the requested fields; the rating query, the course collection and the images
+     * are only touched when their field is requested.
+     */
+    private LyceumResponse mapToResponse(Lyceum lyceum, FieldSelection fields) {
         if (lyceum == null) {
             return null;
         }
-        LyceumImageResponse mainImage = null;
-        if (lyceum.getImages() != null) {
-            mainImage = lyceum.getMainImage()
-                    .map(this::mapToResponse)
-                    .orElse(null);
-        }
-        int coursesCount = lyceum.getCourses() == null ? 0 : lyceum.getCourses().size();
+        Double averageRating = fields.includes("averageRating")
+                ? lyceumReviewRepository.findAverageRatingByLyceumId(lyceum.getId())
+                : null;
+        int coursesCount = !fields.includes("coursesCount") || lyceum.getCourses() == null
+                ? 0
+                : lyceum.getCourses().size();
+        LyceumImageResponse mainImage = fields.includes("mainImage") ? resolveMainImage(lyceum) : null;
+        return mapToResponse(lyceum, averageRating, coursesCount, mainImage);
+    }
+
+    /**
+     * Maps a lyceum whose rating and course count were already loaded in bulk by the caller.
+     */
+    LyceumResponse mapToResponse(Lyceum lyceum, Double averageRating, int coursesCount) {
+        return mapToResponse(lyceum, averageRating, coursesCount, resolveMainImage(lyceum));
+    }
+
+    private LyceumResponse mapToResponse(Lyceum lyceum, Double averageRating, int coursesCount,
+                                         LyceumImageResponse mainImage) {
         return LyceumResponse.builder()
                 .id(lyceum.getId())
                 .name(lyceum.getName())
@@ -1170,11 +1218,21 @@ public class LyceumService {
                 .latitude(lyceum.getLatitude())
                 .mainImage(mainImage)
                 .verificationStatus(lyceum.getVerificationStatus())
-                .averageRating(lyceumReviewRepository.findAverageRatingByLyceumId(lyceum.getId()))
+                .averageRating(averageRating)
+                .subscriberCount(lyceum.getSubscriberCount())
                 .build();
     }
 
-    private LyceumImageResponse mapToResponse(LyceumImage image) {
+    private LyceumImageResponse resolveMainImage(Lyceum lyceum) {
+        if (lyceum.getImages() == null) {
+            return null;
+        }
+        return lyceum.getMainImage()
+                .map(this::mapToResponse)
+                .orElse(null);
+    }
+
+    LyceumImageResponse mapToResponse(LyceumImage image) {
         return LyceumImageResponse.builder()
                 .id(image.getId())
                 .lyceumId(image.getLyceum() != null ? image.getLyceum().getId() : null)
@@ -1190,6 +1248,19 @@ public class LyceumService {
     }
 
     private UserResponse mapToUserResponse(User user) {
+        return mapToUserResponse(
+                user,
+                extractLecturedCourseIds(user),
+                extractLecturedLyceumIds(user),
+                userReviewRepository.findAverageRatingByReviewedUserId(user.getId())
+        );
+    }
+
+    /**
+     * Maps a user whose lectured ids and rating were already loaded in bulk by the caller.
+     */
+    UserResponse mapToUserResponse(User user, List<Long> lecturedCourseIds, List<Long> lecturedLyceumIds,
+                                   Double averageRating) {
         return UserResponse.builder()
                 .id(user.getId())
                 .firstname(user.getFirstname())
@@ -1198,10 +1269,10 @@ public class LyceumService {
                 .username(user.getUsername())
                 .role(user.getRole())
                 .administratedLyceumId(user.getAdministratedLyceum() != null ? user.getAdministratedLyceum().getId() : null)
-                .lecturedCourseIds(extractLecturedCourseIds(user))
-                .lecturedLyceumIds(extractLecturedLyceumIds(user))
+                .lecturedCourseIds(lecturedCourseIds)
+                .lecturedLyceumIds(lecturedLyceumIds)
                 .enabled(user.isEnabled())
-                .averageRating(userReviewRepository.findAverageRatingByReviewedUserId(user.getId()))
+                .averageRating(averageRating)
                 .build();
     }
 
@@ -1,5 +1,6 @@
 package com.dev.education_nearby_server.services;
 
+import com.dev.education_nearby_server.config.AuthenticatedUser;
 import com.dev.education_nearby_server.enums.Role;
 import com.dev.education_nearby_server.exceptions.common.AccessDeniedException;
 import com.dev.education_nearby_server.exceptions.common.BadRequestException;
@@ -359,25 +360,21 @@ public class ReviewService {
     }
 
     private User getManagedCurrentUser() {
-        User currentUser = getCurrentUser()
+        AuthenticatedUser currentUser = getCurrentUser()
                 .orElseThrow(() -> new UnauthorizedException("You must be authenticated to perform this action."));
         return userRepository.findById(currentUser.getId())
                 .orElseThrow(() -> new UnauthorizedException("User" + NOT_FOUND));
     }
 
-    private Optional<User> getCurrentUser() {
+    private Optional<AuthenticatedUser> getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
             return Optional.empty();
         }
-        Object principal = auth.getPrincipal();
-        if (principal instanceof User user) {
-            return Optional.of(user);
-        }
-        return Optional.empty();
+        return AuthenticatedUser.fromPrincipal(auth.getPrincipal());
     }
 
-    private ReviewResponse mapToResponse(Review review) {
+    ReviewResponse mapToResponse(Review review) {
         return ReviewResponse.builder()
                 .id(review.getId())
                 .rating(review.getRating())
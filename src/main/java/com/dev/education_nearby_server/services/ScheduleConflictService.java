@@ -0,0 +1,249 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.ScheduleConflictProperties;
+import com.dev.education_nearby_server.enums.ScheduleRecurrence;
+import com.dev.education_nearby_server.exceptions.common.ConflictException;
+import com.dev.education_nearby_server.models.dto.response.ScheduleConflictResponse;
+import com.dev.education_nearby_server.models.dto.response.ScheduleValidationReportResponse;
+import com.dev.education_nearby_server.models.entity.Course;
+import com.dev.education_nearby_server.models.entity.User;
+import com.dev.education_nearby_server.repositories.CourseRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Detects lecturers booked into overlapping course slots.
+ * Each lecturer's timetable is built once from their courses and kept in an interval index, so a
+ * course write only queries the slots it touches instead of comparing every pair. Committed writes
+ * update cached timetables in place and rolled back writes drop them; writes made on other nodes
+ * are picked up when the cached timetable expires.
+ */
+@Service
+@Slf4j
+public class ScheduleConflictService {
+
+    private static final Comparator<ScheduleConflictResponse> REPORT_ORDER = Comparator
+            .comparing(ScheduleConflictResponse::getLecturerId)
+            .thenComparing(ScheduleConflictResponse::getCourseId)
+            .thenComparing(ScheduleConflictResponse::getConflictingCourseId);
+
+    private final CourseRepository courseRepository;
+    private final ScheduleConflictProperties properties;
+    private final Cache<Long, LecturerTimetable> timetables;
+
+    public ScheduleConflictService(CourseRepository courseRepository, ScheduleConflictProperties properties) {
+        this.courseRepository = courseRepository;
+        this.properties = properties;
+        this.timetables = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaxLecturers())
+                .expireAfterWrite(properties.getCacheExpireAfterWrite())
+                .build();
+    }
+
+    /**
+     * Rejects the course when its slots overlap another course of one of the given lecturers.
+     * When enforcement is disabled the conflicts are only logged.
+     *
+     * @param course course with its pending schedule and active period
+     * @param lecturerIds lecturers to check the course against
+     * @throws ConflictException when a lecturer would be double-booked
+     */
+    public void ensureNoConflicts(Course course, Collection<Long> lecturerIds) {
+        List<ScheduleConflictResponse> conflicts = findConflicts(course, lecturerIds);
+        if (conflicts.isEmpty()) {
+            return;
+        }
+        ScheduleConflictResponse first = conflicts.get(0);
+        String message = "Lecturer with id " + first.getLecturerId() + " is already teaching \""
+                + first.getConflictingCourseName() + "\" " + describe(first) + ".";
+        if (properties.isEnforce()) {
+            throw new ConflictException(message);
+        }
+        log.warn("Schedule conflict not enforced. courseId={} conflicts={} first={}",
+                course.getId(), conflicts.size(), message);
+    }
+
+    /**
+     * Lists overlaps between the course and the other courses of the given lecturers.
+     */
+    public List<ScheduleConflictResponse> findConflicts(Course course, Collection<Long> lecturerIds) {
+        Set<Long> distinctIds = distinct(lecturerIds);
+        List<LecturerTimetable.Block> blocks = LecturerTimetable.blocksOf(course);
+        if (distinctIds.isEmpty() || blocks.isEmpty()) {
+            return List.of();
+        }
+        // Loading inside the caller's transaction may see its uncommitted changes; drop them if it rolls back.
+        afterCompletion(() -> { }, () -> timetables.invalidateAll(distinctIds));
+        List<ScheduleConflictResponse> conflicts = new ArrayList<>();
+        for (Long lecturerId : distinctIds) {
+            for (LecturerTimetable.Conflict conflict : timetable(lecturerId).conflictsWith(course.getId(), blocks)) {
+                conflicts.add(toResponse(lecturerId, conflict));
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Moves the course to its current lecturers' timetables once the surrounding transaction commits.
+     *
+     * @param course saved course with its current schedule and lecturers
+     * @param previousLecturerIds lecturers the course had before the change
+     */
+    public void courseChanged(Course course, Collection<Long> previousLecturerIds) {
+        Long courseId = course.getId();
+        List<LecturerTimetable.Block> blocks = LecturerTimetable.blocksOf(course);
+        Set<Long> currentIds = distinct(course.getLecturers() == null ? List.of() : course.getLecturers().stream()
+                .map(User::getId)
+                .toList());
+        Set<Long> affectedIds = new LinkedHashSet<>(currentIds);
+        affectedIds.addAll(distinct(previousLecturerIds));
+        afterCompletion(() -> {
+            for (Long lecturerId : affectedIds) {
+                LecturerTimetable timetable = timetables.getIfPresent(lecturerId);
+                if (timetable == null) {
+                    continue;
+                }
+                if (currentIds.contains(lecturerId)) {
+                    timetable.replaceCourse(courseId, blocks);
+                } else {
+                    timetable.removeCourse(courseId);
+                }
+            }
+        }, () -> timetables.invalidateAll(affectedIds));
+    }
+
+    /**
+     * Removes a deleted course from its lecturers' timetables once the surrounding transaction commits.
+     */
+    public void courseDeleted(Long courseId, Collection<Long> lecturerIds) {
+        Set<Long> affectedIds = distinct(lecturerIds);
+        afterCompletion(() -> affectedIds.forEach(lecturerId -> {
+            LecturerTimetable timetable = timetables.getIfPresent(lecturerId);
+            if (timetable != null) {
+                timetable.removeCourse(courseId);
+            }
+        }), () -> timetables.invalidateAll(affectedIds));
+    }
+
+    /**
+     * Rebuilds every lecturer timetable from the database and reports all overlaps.
+     * Lecturers are scanned concurrently on a bounded pool, and the fresh timetables replace cached ones.
+     */
+    public ScheduleValidationReportResponse validateAllSchedules() {
+        List<Long> lecturerIds = courseRepository.findAllLecturerIds();
+        log.info("Validating schedules. lecturers={} parallelism={}", lecturerIds.size(), properties.getReportParallelism());
+        List<ScheduleConflictResponse> conflicts = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(properties.getReportParallelism())) {
+            List<Future<List<ScheduleConflictResponse>>> scans = new ArrayList<>(lecturerIds.size());
+            for (Long lecturerId : lecturerIds) {
+                scans.add(pool.submit(() -> scan(lecturerId)));
+            }
+            for (Future<List<ScheduleConflictResponse>> scan : scans) {
+                conflicts.addAll(scan.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Schedule validation was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Schedule validation failed.", e.getCause());
+        }
+        conflicts.sort(REPORT_ORDER);
+        log.info("Validated schedules. lecturers={} conflicts={}", lecturerIds.size(), conflicts.size());
+        return ScheduleValidationReportResponse.builder()
+                .lecturersScanned(lecturerIds.size())
+                .conflicts(conflicts)
+                .build();
+    }
+
+    private List<ScheduleConflictResponse> scan(Long lecturerId) {
+        LecturerTimetable timetable = load(lecturerId);
+        timetables.put(lecturerId, timetable);
+        return timetable.conflicts().stream()
+                .map(conflict -> toResponse(lecturerId, conflict))
+                .toList();
+    }
+
+    private LecturerTimetable timetable(Long lecturerId) {
+        return timetables.get(lecturerId, this::load);
+    }
+
+    private LecturerTimetable load(Long lecturerId) {
+        List<Long> courseIds = courseRepository.findDistinctByLecturers_Id(lecturerId).stream()
+                .map(Course::getId)
+                .toList();
+        LecturerTimetable timetable = new LecturerTimetable();
+        if (!courseIds.isEmpty()) {
+            for (Course course : courseRepository.findWithScheduleByIdIn(courseIds)) {
+                timetable.replaceCourse(course.getId(), LecturerTimetable.blocksOf(course));
+            }
+        }
+        return timetable;
+    }
+
+    private static void afterCompletion(Runnable onCommit, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    onCommit.run();
+                } else {
+                    onRollback.run();
+                }
+            }
+        });
+    }
+
+    private static Set<Long> distinct(Collection<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>();
+        if (ids != null) {
+            ids.stream().filter(Objects::nonNull).forEach(distinct::add);
+        }
+        return distinct;
+    }
+
+    private static ScheduleConflictResponse toResponse(Long lecturerId, LecturerTimetable.Conflict conflict) {
+        LecturerTimetable.Block block = conflict.block();
+        LecturerTimetable.Block other = conflict.other();
+        return ScheduleConflictResponse.builder()
+                .lecturerId(lecturerId)
+                .courseId(block.courseId())
+                .courseName(block.courseName())
+                .conflictingCourseId(other.courseId())
+                .conflictingCourseName(other.courseName())
+                .recurrence(block.recurrence())
+                .dayOfWeek(block.dayOfWeek())
+                .dayOfMonth(block.dayOfMonth())
+                .startTime(block.startTime())
+                .endTime(block.endTime())
+                .conflictingStartTime(other.startTime())
+                .conflictingEndTime(other.endTime())
+                .build();
+    }
+
+    private static String describe(ScheduleConflictResponse conflict) {
+        String day = conflict.getRecurrence() == ScheduleRecurrence.MONTHLY
+                ? "on day " + conflict.getDayOfMonth() + " of the month"
+                : "on " + conflict.getDayOfWeek();
+        return day + " from " + conflict.getConflictingStartTime() + " to " + conflict.getConflictingEndTime();
+    }
+}
@@ -0,0 +1,174 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.models.entity.CourseSchedule;
+import com.dev.education_nearby_server.models.entity.CourseScheduleSlot;
+import com.dev.education_nearby_server.models.entity.CourseScheduleSpecialCase;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Expands the recurring slots of a course schedule into concrete dated sessions.
+ * Weekly slots repeat on their day of week and monthly slots on their day of month, skipping months
+ * too short to contain it. One-time slots carry no date in the schedule model and are not expanded.
+ * Dates outside the active months and dates with a cancelled special case are dropped.
+ */
+final class ScheduleExpander {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final Comparator<Occurrence> CHRONOLOGICAL = Comparator
+            .comparing(Occurrence::date)
+            .thenComparing(Occurrence::startTime);
+
+    /**
+     * Single class on a concrete date; {@code endTime} is null when the slot has no end.
+     */
+    record Occurrence(LocalDate date, LocalTime startTime, LocalTime endTime) {
+    }
+
+    /**
+     * Single class of a slot on any of its dates; {@code endTime} is null when the slot has no end.
+     */
+    record Session(LocalTime startTime, LocalTime endTime) {
+    }
+
+    private ScheduleExpander() {
+    }
+
+    /**
+     * Returns the sessions between {@code from} and {@code to} (both inclusive) in chronological order.
+     */
+    static List<Occurrence> expand(CourseSchedule schedule, Month activeStart, Month activeEnd,
+                                   LocalDate from, LocalDate to) {
+        if (schedule == null || schedule.getSlots() == null || schedule.getSlots().isEmpty() || to.isBefore(from)) {
+            return List.of();
+        }
+        Set<LocalDate> cancelled = cancelledDates(schedule);
+        List<Occurrence> occurrences = new ArrayList<>();
+        for (CourseScheduleSlot slot : schedule.getSlots()) {
+            if (slot == null || slot.getRecurrence() == null) {
+                continue;
+            }
+            List<Session> sessions = sessionsOf(slot);
+            if (sessions.isEmpty()) {
+                continue;
+            }
+            for (LocalDate date : datesOf(slot, from, to)) {
+                if (!isActive(date.getMonth(), activeStart, activeEnd) || cancelled.contains(date)) {
+                    continue;
+                }
+                for (Session session : sessions) {
+                    occurrences.add(new Occurrence(date, session.startTime(), session.endTime()));
+                }
+            }
+        }
+        occurrences.sort(CHRONOLOGICAL);
+        return occurrences;
+    }
+
+    private static List<LocalDate> datesOf(CourseScheduleSlot slot, LocalDate from, LocalDate to) {
+        return switch (slot.getRecurrence()) {
+            case WEEKLY -> weeklyDates(slot, from, to);
+            case MONTHLY -> monthlyDates(slot, from, to);
+            case ONE_TIME -> List.of();
+        };
+    }
+
+    private static List<LocalDate> weeklyDates(CourseScheduleSlot slot, LocalDate from, LocalDate to) {
+        if (slot.getDayOfWeek() == null) {
+            return List.of();
+        }
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date = from.with(TemporalAdjusters.nextOrSame(slot.getDayOfWeek()));
+             !date.isAfter(to);
+             date = date.plusWeeks(1)) {
+            dates.add(date);
+        }
+        return dates;
+    }
+
+    private static List<LocalDate> monthlyDates(CourseScheduleSlot slot, LocalDate from, LocalDate to) {
+        Integer dayOfMonth = slot.getDayOfMonth();
+        if (dayOfMonth == null || dayOfMonth < 1 || dayOfMonth > 31) {
+            return List.of();
+        }
+        List<LocalDate> dates = new ArrayList<>();
+        YearMonth last = YearMonth.from(to);
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(last); month = month.plusMonths(1)) {
+            if (dayOfMonth > month.lengthOfMonth()) {
+                continue;
+            }
+            LocalDate date = month.atDay(dayOfMonth);
+            if (!date.isBefore(from) && !date.isAfter(to)) {
+                dates.add(date);
+            }
+        }
+        return dates;
+    }
+
+    /**
+     * Splits a slot into its consecutive classes; classes that would run past midnight are dropped.
+     */
+    static List<Session> sessionsOf(CourseScheduleSlot slot) {
+        LocalTime start = slot.getStartTime();
+        if (start == null) {
+            return List.of();
+        }
+        Integer duration = slot.getSingleClassDurationMinutes();
+        if (duration == null || duration <= 0) {
+            return List.of(new Session(start, slot.getEndTime()));
+        }
+        int count = slot.getClassesCount() != null && slot.getClassesCount() > 0 ? slot.getClassesCount() : 1;
+        int gap = slot.getGapBetweenClassesMinutes() != null && slot.getGapBetweenClassesMinutes() > 0
+                ? slot.getGapBetweenClassesMinutes()
+                : 0;
+        List<Session> sessions = new ArrayList<>(count);
+        int startMinute = start.toSecondOfDay() / 60;
+        for (int index = 0; index < count; index++) {
+            int endMinute = startMinute + duration;
+            if (endMinute > MINUTES_PER_DAY) {
+                break;
+            }
+            sessions.add(new Session(
+                    LocalTime.ofSecondOfDay(startMinute * 60L),
+                    endMinute == MINUTES_PER_DAY ? LocalTime.MAX : LocalTime.ofSecondOfDay(endMinute * 60L)
+            ));
+            startMinute = endMinute + gap;
+        }
+        return sessions;
+    }
+
+    static Set<LocalDate> cancelledDates(CourseSchedule schedule) {
+        if (schedule.getSpecialCases() == null || schedule.getSpecialCases().isEmpty()) {
+            return Set.of();
+        }
+        Set<LocalDate> cancelled = new HashSet<>();
+        for (CourseScheduleSpecialCase specialCase : schedule.getSpecialCases()) {
+            if (specialCase != null && specialCase.isCancelled() && specialCase.getDate() != null) {
+                cancelled.add(specialCase.getDate());
+            }
+        }
+        return cancelled;
+    }
+
+    /**
+     * Mirrors the course filter: an active period may wrap the new year, and no period means always active.
+     */
+    static boolean isActive(Month month, Month activeStart, Month activeEnd) {
+        if (activeStart == null || activeEnd == null) {
+            return true;
+        }
+        int value = month.getValue();
+        int start = activeStart.getValue();
+        int end = activeEnd.getValue();
+        return start <= end ? value >= start && value <= end : value >= start || value <= end;
+    }
+}
@@ -0,0 +1,66 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.models.entity.SchedulerLock;
+import com.dev.education_nearby_server.repositories.SchedulerLockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Database-backed leases for scheduled jobs that must not run concurrently on several nodes.
+ * A lease expires on its own, so a node that dies mid-run cannot block the job forever.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SchedulerLockService {
+
+    private static final String NODE_ID = ManagementFactory.getRuntimeMXBean().getName()
+            + "/" + UUID.randomUUID();
+
+    private final SchedulerLockRepository schedulerLockRepository;
+
+    /**
+     * Attempts to take the named lease for the given duration.
+     *
+     * @param name job lock name
+     * @param lockFor upper bound on how long the job may hold the lease
+     * @return true when this node now holds the lease
+     */
+    public boolean tryAcquire(String name, Duration lockFor) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lockedUntil = now.plus(lockFor);
+        if (schedulerLockRepository.tryLock(name, lockedUntil, now, NODE_ID) > 0) {
+            return true;
+        }
+        if (schedulerLockRepository.existsById(name)) {
+            return false;
+        }
+        try {
+            schedulerLockRepository.saveAndFlush(SchedulerLock.builder()
+                    .name(name)
+                    .lockedUntil(lockedUntil)
+                    .lockedAt(now)
+                    .lockedBy(NODE_ID)
+                    .build());
+            return true;
+        } catch (DataIntegrityViolationException ex) {
+            // Another node created the row first and therefore holds the lease
+            log.debug("Lost race creating scheduler lock {}", name);
+            return false;
+        }
+    }
+
+    /**
+     * Releases the named lease if this node still holds it.
+     */
+    public void release(String name) {
+        schedulerLockRepository.unlock(name, LocalDateTime.now(), NODE_ID);
+    }
+}
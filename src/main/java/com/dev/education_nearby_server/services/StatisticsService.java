@@ -39,6 +39,31 @@ public class StatisticsService {
         lyceumRepository.incrementSeenInResultsCount(ids);
     }
 
+    /**
+     * Counts the courses as seen in results {@code times} times in one statement, for views that
+     * were tallied in memory instead of being recorded one by one.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordCoursesSeenInResults(Collection<Long> courseIds, long times) {
+        List<Long> ids = sanitizeIds(courseIds);
+        if (ids.isEmpty() || times <= 0) {
+            return;
+        }
+        courseRepository.incrementSeenInResultsCountBy(ids, times);
+    }
+
+    /**
+     * Counts the lyceums as seen in results {@code times} times in one statement.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordLyceumsSeenInResults(Collection<Long> lyceumIds, long times) {
+        List<Long> ids = sanitizeIds(lyceumIds);
+        if (ids.isEmpty() || times <= 0) {
+            return;
+        }
+        lyceumRepository.incrementSeenInResultsCountBy(ids, times);
+    }
+
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void recordCourseVisit(Long courseId) {
         if (courseId == null) {
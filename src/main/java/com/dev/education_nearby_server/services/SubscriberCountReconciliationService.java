@@ -0,0 +1,110 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.SubscriberCountProperties;
+import com.dev.education_nearby_server.repositories.CourseRepository;
+import com.dev.education_nearby_server.repositories.LyceumRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Periodically rewrites subscriber counters that drifted from the subscription join tables,
+ * for example after manual data fixes or a failed statement. Ranges are checked in short,
+ * separate transactions and only one node reconciles at a time.
+ */
+@Slf4j
+@Service
+public class SubscriberCountReconciliationService {
+
+    static final String LOCK_NAME = "subscriber-count-reconcile";
+
+    private final CourseRepository courseRepository;
+    private final LyceumRepository lyceumRepository;
+    private final SchedulerLockService schedulerLockService;
+    private final SubscriberCountProperties properties;
+    private final TransactionTemplate batchTransaction;
+    private final Counter correctedCounter;
+
+    public SubscriberCountReconciliationService(
+            CourseRepository courseRepository,
+            LyceumRepository lyceumRepository,
+            SchedulerLockService schedulerLockService,
+            SubscriberCountProperties properties,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.courseRepository = courseRepository;
+        this.lyceumRepository = lyceumRepository;
+        this.schedulerLockService = schedulerLockService;
+        this.properties = properties;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.correctedCounter = Counter.builder("subscriptions.counts.corrected")
+                .description("Subscriber counters rewritten by the reconciliation job")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.subscriptions.count-reconcile.cron:0 45 3 * * *}")
+    public void scheduledReconcile() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        reconcile();
+    }
+
+    /**
+     * Reconciles course and lyceum counters while holding the cluster-wide lock.
+     *
+     * @return number of corrected counters, or 0 when another node holds the lock
+     */
+    public int reconcile() {
+        if (!schedulerLockService.tryAcquire(LOCK_NAME, properties.getLockDuration())) {
+            log.debug("Subscriber count reconciliation skipped; lock held by another node");
+            return 0;
+        }
+        int corrected = 0;
+        try {
+            corrected += reconcileRanges("course", courseRepository::findMaxId,
+                    courseRepository::reconcileSubscriberCounts);
+            corrected += reconcileRanges("lyceum", lyceumRepository::findMaxId,
+                    lyceumRepository::reconcileSubscriberCounts);
+        } finally {
+            correctedCounter.increment(corrected);
+            schedulerLockService.release(LOCK_NAME);
+        }
+        if (corrected > 0) {
+            log.warn("Subscriber count reconciliation corrected {} counters", corrected);
+        }
+        return corrected;
+    }
+
+    private int reconcileRanges(String target, LongSupplier maxId, RangeReconciler reconciler) {
+        long upperBound = maxId.getAsLong();
+        int corrected = 0;
+        for (long fromId = 0; fromId < upperBound; fromId += properties.getBatchSize()) {
+            long from = fromId;
+            long to = Math.min(fromId + properties.getBatchSize(), upperBound);
+            try {
+                Integer updated = batchTransaction.execute(status -> reconciler.reconcile(from, to));
+                corrected += updated == null ? 0 : updated;
+            } catch (DataAccessException ex) {
+                // A concurrent subscribe can win a lock race here; the next run picks the range up again.
+                log.warn("Subscriber count reconciliation failed for {} ids ({}, {}]", target, from, to, ex);
+            }
+        }
+        return corrected;
+    }
+
+    @FunctionalInterface
+    private interface RangeReconciler {
+        int reconcile(long fromId, long toId);
+    }
+}
@@ -0,0 +1,173 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.ExportProperties;
+import com.dev.education_nearby_server.enums.SubscriberExportStatus;
+import com.dev.education_nearby_server.models.dto.response.SubscriberExportProgressResponse;
+import com.dev.education_nearby_server.models.entity.SubscriberExportJob;
+import com.dev.education_nearby_server.repositories.SubscriberExportJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes subscriber export state to clients as server-sent events, so they do not poll the status
+ * endpoint. Streams are async servlet responses and hold no thread while open: events are written
+ * by the export worker that changed the job and heartbeats by the scheduler. Each heartbeat also
+ * re-reads the watched jobs in one query, which reports jobs processed on another node.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SubscriberExportEventService {
+
+    static final String STATUS_EVENT = "status";
+    static final String PROGRESS_EVENT = "progress";
+
+    private final SubscriberExportJobRepository exportJobRepository;
+    private final ExportProperties exportProperties;
+    private final Map<Long, Set<SseEmitter>> streams = new ConcurrentHashMap<>();
+    private final Map<Long, SubscriberExportStatus> reportedStatuses = new ConcurrentHashMap<>();
+    private final AtomicInteger openStreams = new AtomicInteger();
+
+    /**
+     * Opens an event stream for the job and sends its current state as the first event.
+     * A finished job gets that single event and the stream is closed.
+     *
+     * @param job export job the caller is allowed to see
+     * @return the stream to return from the controller
+     */
+    public SseEmitter open(SubscriberExportJob job) {
+        SseEmitter emitter = new SseEmitter(exportProperties.getEventStreamTimeout().toMillis());
+        if (isFinished(job.getStatus())) {
+            sendStatus(job, emitter);
+            emitter.complete();
+            return emitter;
+        }
+        if (openStreams.incrementAndGet() > exportProperties.getMaxEventStreams()) {
+            openStreams.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many open export event streams; poll the export status instead.");
+        }
+        Long jobId = job.getId();
+        emitter.onCompletion(() -> close(jobId, emitter));
+        emitter.onTimeout(() -> close(jobId, emitter));
+        emitter.onError(ex -> close(jobId, emitter));
+        streams.compute(jobId, (id, emitters) -> {
+            Set<SseEmitter> registered = emitters != null ? emitters : new CopyOnWriteArraySet<>();
+            registered.add(emitter);
+            return registered;
+        });
+        reportedStatuses.put(jobId, job.getStatus());
+        sendStatus(job, emitter);
+        return emitter;
+    }
+
+    /**
+     * Sends the job's state to its open streams, closing them once the job has finished.
+     */
+    public void publishStatus(SubscriberExportJob job) {
+        Set<SseEmitter> emitters = streams.get(job.getId());
+        if (emitters == null) {
+            return;
+        }
+        boolean finished = isFinished(job.getStatus());
+        reportedStatuses.put(job.getId(), job.getStatus());
+        for (SseEmitter emitter : emitters) {
+            if (sendStatus(job, emitter) && finished) {
+                close(job.getId(), emitter);
+                emitter.complete();
+            }
+        }
+    }
+
+    /**
+     * Sends a progress event to the job's open streams.
+     */
+    public void publishProgress(Long jobId, long rowsWritten, long rowsTotal) {
+        Set<SseEmitter> emitters = streams.get(jobId);
+        if (emitters == null) {
+            return;
+        }
+        SubscriberExportProgressResponse progress = SubscriberExportProgressResponse.builder()
+                .id(jobId)
+                .rowsWritten(rowsWritten)
+                .rowsTotal(rowsTotal)
+                .build();
+        for (SseEmitter emitter : emitters) {
+            send(jobId, emitter, SseEmitter.event().name(PROGRESS_EVENT).data(progress));
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.exports.event-heartbeat-interval:15s}",
+            fixedDelayString = "${app.exports.event-heartbeat-interval:15s}"
+    )
+    public void heartbeat() {
+        if (streams.isEmpty()) {
+            return;
+        }
+        for (SubscriberExportJob job : exportJobRepository.findAllById(streams.keySet())) {
+            if (job.getStatus() != reportedStatuses.get(job.getId())) {
+                publishStatus(job);
+            }
+        }
+        streams.forEach((jobId, emitters) -> emitters.forEach(emitter ->
+                send(jobId, emitter, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    int openStreamCount() {
+        return openStreams.get();
+    }
+
+    private boolean sendStatus(SubscriberExportJob job, SseEmitter emitter) {
+        return send(job.getId(), emitter, SseEmitter.event()
+                .name(STATUS_EVENT)
+                .data(SubscriberExportService.mapToResponse(job)));
+    }
+
+    private boolean send(Long jobId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException ex) {
+            // The client went away or the stream already ended.
+            log.debug("Dropping export event stream for job {}", jobId, ex);
+            close(jobId, emitter);
+            emitter.completeWithError(ex);
+            return false;
+        }
+    }
+
+    private void close(Long jobId, SseEmitter emitter) {
+        Set<SseEmitter> emitters = streams.get(jobId);
+        if (emitters == null || !emitters.remove(emitter)) {
+            return;
+        }
+        openStreams.decrementAndGet();
+        // Dropped under the map's lock, so a stream being opened for the same job is not orphaned.
+        streams.computeIfPresent(jobId, (id, registered) -> {
+            if (!registered.isEmpty()) {
+                return registered;
+            }
+            reportedStatuses.remove(id);
+            return null;
+        });
+    }
+
+    private static boolean isFinished(SubscriberExportStatus status) {
+        return status == SubscriberExportStatus.COMPLETED
+                || status == SubscriberExportStatus.FAILED
+                || status == SubscriberExportStatus.CANCELLED;
+    }
+}
@@ -2,6 +2,7 @@ package com.dev.education_nearby_server.services;
 
 import com.dev.education_nearby_server.config.S3Properties;
 import com.dev.education_nearby_server.config.ExportProperties;
+import com.dev.education_nearby_server.enums.Role;
 import com.dev.education_nearby_server.enums.SubscriberExportFormat;
 import com.dev.education_nearby_server.enums.SubscriberExportScope;
 import com.dev.education_nearby_server.enums.SubscriberExportStatus;
@@ -11,14 +12,20 @@ import com.dev.education_nearby_server.repositories.CourseRepository;
 import com.dev.education_nearby_server.repositories.LyceumRepository;
 import com.dev.education_nearby_server.repositories.SubscriberExportJobRepository;
 import com.dev.education_nearby_server.repositories.UserRepository;
+import com.dev.education_nearby_server.utils.S3MultipartUploadOutputStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.xssf.streaming.SXSSFSheet;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
 import java.io.BufferedWriter;
@@ -30,7 +37,17 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Background processor responsible for generating subscriber export files.
@@ -41,8 +58,11 @@ import java.util.List;
 public class SubscriberExportProcessor {
 
     private static final String CSV_CONTENT_TYPE = "text/csv";
+    private static final String ZIP_CONTENT_TYPE = "application/zip";
     private static final String XLSX_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
     private static final DateTimeFormatter FILE_TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final int PROGRESS_CHUNK_ROWS = 1000;
+    private static final int ARCHIVE_READ_PAGE_SIZE = 1000;
     private static final String[] HEADER = {"id", "firstname", "lastname", "email", "username", "role", "enabled"};
 
     private final SubscriberExportJobRepository exportJobRepository;
@@ -52,6 +72,7 @@ public class SubscriberExportProcessor {
     private final ExportProperties exportProperties;
     private final S3Properties s3Properties;
     private final S3Client s3Client;
+    private final SubscriberExportEventService exportEventService;
 
     @Async("exportTaskExecutor")
     public void processExportJob(Long exportJobId) {
@@ -60,27 +81,49 @@ public class SubscriberExportProcessor {
             log.warn("Export job {} disappeared before processing started.", exportJobId);
             return;
         }
+        if (job.getStatus() != SubscriberExportStatus.PENDING) {
+            // Cancelled while queued; give the executor slot straight back.
+            log.info("Skipping subscriber export job {} with status {}", exportJobId, job.getStatus());
+            return;
+        }
 
         Path localOutputPath = null;
+        String s3Key = null;
         try {
-            markInProgress(job);
+            job = markInProgress(job);
             ensureTargetStillExists(job);
 
-            List<User> subscribers = loadSubscribers(job.getScope(), job.getTargetId());
-            localOutputPath = createOutputPath(job);
-            Files.createDirectories(localOutputPath.getParent());
+            GeneratedFile generatedFile;
+            if (job.getScope() == SubscriberExportScope.LYCEUM_COURSES) {
+                List<CourseRepository.CourseSubscriptions> courses =
+                        courseRepository.findSubscriptionsByLyceumId(job.getTargetId());
+                job.setRowsTotal(courses.stream().mapToLong(CourseRepository.CourseSubscriptions::getSubscriberCount).sum());
+                job = exportJobRepository.save(job);
+                generatedFile = new GeneratedFile(outputFileName(job, "zip"), ZIP_CONTENT_TYPE);
+                s3Key = uploadCourseArchive(job, courses, generatedFile);
+            } else {
+                List<User> subscribers = loadSubscribers(job.getScope(), job.getTargetId());
+                job.setRowsTotal(subscribers.size());
+                job = exportJobRepository.save(job);
+                localOutputPath = createOutputPath(job);
+                Files.createDirectories(localOutputPath.getParent());
 
-            GeneratedFile generatedFile = generateFile(localOutputPath, job.getFormat(), subscribers);
-            String s3Key = uploadToS3(localOutputPath, generatedFile.fileName(), generatedFile.contentType());
+                generatedFile = generateFile(job, localOutputPath, subscribers);
+                s3Key = uploadToS3(localOutputPath, generatedFile.fileName(), generatedFile.contentType());
+            }
             job.setStatus(SubscriberExportStatus.COMPLETED);
             job.setFilePath(s3Key);
             job.setFileName(generatedFile.fileName());
             job.setContentType(generatedFile.contentType());
             job.setCompletedAt(LocalDateTime.now());
             job.setErrorMessage(null);
-            exportJobRepository.save(job);
+            job = exportJobRepository.save(job);
+            exportEventService.publishStatus(job);
             log.info("Completed subscriber export job {} scope={} targetId={} file={}",
                     job.getId(), job.getScope(), job.getTargetId(), generatedFile.fileName());
+        } catch (ExportCancelledException | OptimisticLockingFailureException exception) {
+            log.info("Subscriber export job {} was cancelled after {} rows", exportJobId, job.getRowsWritten());
+            deleteUploadedFile(s3Key);
         } catch (Exception exception) {
             log.error("Failed subscriber export job {} scope={} targetId={}",
                     job.getId(), job.getScope(), job.getTargetId(), exception);
@@ -90,23 +133,29 @@ public class SubscriberExportProcessor {
         }
     }
 
-    private void markInProgress(SubscriberExportJob job) {
+    private SubscriberExportJob markInProgress(SubscriberExportJob job) {
         job.setStatus(SubscriberExportStatus.IN_PROGRESS);
         job.setErrorMessage(null);
-        exportJobRepository.save(job);
+        SubscriberExportJob saved = exportJobRepository.save(job);
+        exportEventService.publishStatus(saved);
+        return saved;
     }
 
     private void markFailed(SubscriberExportJob job, String message) {
         job.setStatus(SubscriberExportStatus.FAILED);
         job.setErrorMessage(truncateError(message));
         job.setCompletedAt(LocalDateTime.now());
-        exportJobRepository.save(job);
+        try {
+            exportEventService.publishStatus(exportJobRepository.save(job));
+        } catch (OptimisticLockingFailureException exception) {
+            log.info("Subscriber export job {} was cancelled before its failure was recorded", job.getId());
+        }
     }
 
     private void ensureTargetStillExists(SubscriberExportJob job) {
         boolean exists = switch (job.getScope()) {
             case COURSE -> courseRepository.existsById(job.getTargetId());
-            case LYCEUM -> lyceumRepository.existsById(job.getTargetId());
+            case LYCEUM, LYCEUM_COURSES -> lyceumRepository.existsById(job.getTargetId());
         };
         if (!exists) {
             throw new IllegalStateException("Target resource no longer exists.");
@@ -117,21 +166,49 @@ public class SubscriberExportProcessor {
         return switch (scope) {
             case COURSE -> userRepository.findDistinctBySubscribedCourses_IdOrderByIdAsc(targetId);
             case LYCEUM -> userRepository.findDistinctBySubscribedLyceums_IdOrderByIdAsc(targetId);
+            case LYCEUM_COURSES -> throw new IllegalArgumentException("Lyceum course exports are read per course.");
         };
     }
 
+    /**
+     * Reads a course's subscribers in keyset pages of the export columns only.
+     */
+    private List<UserRepository.SubscriberExportRow> loadCourseExportRows(Long courseId) {
+        Pageable page = PageRequest.of(0, ARCHIVE_READ_PAGE_SIZE);
+        List<UserRepository.SubscriberExportRow> rows = new ArrayList<>();
+        long afterUserId = 0;
+        while (true) {
+            List<UserRepository.SubscriberExportRow> chunk =
+                    userRepository.findCourseSubscriberExportRowsAfter(courseId, afterUserId, page);
+            rows.addAll(chunk);
+            if (chunk.size() < ARCHIVE_READ_PAGE_SIZE) {
+                return rows;
+            }
+            afterUserId = chunk.getLast().getId();
+        }
+    }
+
     private Path createOutputPath(SubscriberExportJob job) {
         String extension = job.getFormat() == SubscriberExportFormat.CSV ? "csv" : "xlsx";
-        String prefix = job.getScope() == SubscriberExportScope.COURSE ? "course" : "lyceum";
-        String timestamp = LocalDateTime.now().format(FILE_TIMESTAMP_FORMAT);
-        String fileName = prefix + "-" + job.getTargetId() + "-subscribers-" + job.getId() + "-" + timestamp + "." + extension;
+        String fileName = outputFileName(job, extension);
         return Path.of(exportProperties.getDirectory()).toAbsolutePath().normalize().resolve(fileName);
     }
 
-    private GeneratedFile generateFile(Path outputPath, SubscriberExportFormat format, List<User> subscribers) throws IOException {
-        return switch (format) {
-            case CSV -> writeCsv(outputPath, subscribers);
-            case XLSX, EXCEL -> writeXlsx(outputPath, subscribers);
+    private String outputFileName(SubscriberExportJob job, String extension) {
+        String prefix = switch (job.getScope()) {
+            case COURSE -> "course-" + job.getTargetId() + "-subscribers";
+            case LYCEUM -> "lyceum-" + job.getTargetId() + "-subscribers";
+            case LYCEUM_COURSES -> "lyceum-" + job.getTargetId() + "-course-subscribers";
+        };
+        String timestamp = LocalDateTime.now().format(FILE_TIMESTAMP_FORMAT);
+        return prefix + "-" + job.getId() + "-" + timestamp + "." + extension;
+    }
+
+    private GeneratedFile generateFile(SubscriberExportJob job, Path outputPath, List<User> subscribers)
+            throws IOException {
+        return switch (job.getFormat()) {
+            case CSV -> writeCsv(job, outputPath, subscribers);
+            case XLSX, EXCEL -> writeXlsx(job, outputPath, subscribers);
         };
     }
 
@@ -150,20 +227,100 @@ public class SubscriberExportProcessor {
         return key;
     }
 
-    private GeneratedFile writeCsv(Path outputPath, List<User> subscribers) throws IOException {
+    /**
+     * Streams one CSV entry per course into a ZIP that goes straight into a multipart upload, so the
+     * archive is never held in memory or on disk. A failure or cancellation aborts the upload.
+     *
+     * @return object key of the uploaded archive
+     */
+    private String uploadCourseArchive(
+            SubscriberExportJob job,
+            List<CourseRepository.CourseSubscriptions> courses,
+            GeneratedFile file
+    ) throws IOException {
+        String key = buildObjectKey(file.fileName());
+        CreateMultipartUploadRequest request = CreateMultipartUploadRequest.builder()
+                .bucket(requiredBucketName())
+                .key(key)
+                .contentType(file.contentType())
+                .contentDisposition("attachment; filename=\"" + file.fileName() + "\"")
+                .build();
+        S3MultipartUploadOutputStream upload = new S3MultipartUploadOutputStream(
+                s3Client, request, exportProperties.getArchivePartSizeMb() * 1024L * 1024L);
+        ZipOutputStream zip = new ZipOutputStream(upload, StandardCharsets.UTF_8);
+        try (ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor()) {
+            writeCourseArchive(job, courses, zip, readers);
+            zip.close();
+        } catch (IOException | RuntimeException exception) {
+            upload.abort();
+            try {
+                zip.close();
+            } catch (IOException ignored) {
+                // Nothing reaches S3 after the abort; this only releases the deflater.
+            }
+            throw exception;
+        }
+        return key;
+    }
+
+    /**
+     * Reads course subscriber lists on virtual threads, at most {@code archiveConcurrency} courses
+     * ahead of the writer, and writes them in course order.
+     */
+    private void writeCourseArchive(
+            SubscriberExportJob job,
+            List<CourseRepository.CourseSubscriptions> courses,
+            ZipOutputStream zip,
+            ExecutorService readers
+    ) throws IOException {
+        int concurrency = Math.max(1, exportProperties.getArchiveConcurrency());
+        Iterator<CourseRepository.CourseSubscriptions> toRead = courses.iterator();
+        Deque<Future<List<UserRepository.SubscriberExportRow>>> reads = new ArrayDeque<>();
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+        long written = 0;
+        try {
+            for (CourseRepository.CourseSubscriptions course : courses) {
+                while (reads.size() < concurrency && toRead.hasNext()) {
+                    Long courseId = toRead.next().getId();
+                    reads.add(readers.submit(() -> loadCourseExportRows(courseId)));
+                }
+                List<UserRepository.SubscriberExportRow> subscribers = await(reads.remove());
+                zip.putNextEntry(new ZipEntry("course-" + course.getId() + "-subscribers.csv"));
+                writer.write(String.join(",", HEADER));
+                writer.newLine();
+                for (UserRepository.SubscriberExportRow subscriber : subscribers) {
+                    writer.write(csvRow(subscriber.getId(), subscriber.getFirstname(), subscriber.getLastname(),
+                            subscriber.getEmail(), subscriber.getUsername(), subscriber.getRole(), subscriber.isEnabled()));
+                    writer.newLine();
+                    reportProgress(job, ++written);
+                }
+                writer.flush();
+                zip.closeEntry();
+            }
+        } finally {
+            reads.forEach(read -> read.cancel(true));
+        }
+        // Subscriber counters may lag the join table; report what was actually written.
+        job.setRowsTotal(written);
+        job.setRowsWritten(written);
+    }
+
+    private GeneratedFile writeCsv(SubscriberExportJob job, Path outputPath, List<User> subscribers) throws IOException {
         try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
                 Files.newOutputStream(outputPath), StandardCharsets.UTF_8))) {
             writer.write(String.join(",", HEADER));
             writer.newLine();
+            long written = 0;
             for (User user : subscribers) {
                 writer.write(csvRow(user));
                 writer.newLine();
+                reportProgress(job, ++written);
             }
         }
         return new GeneratedFile(outputPath.getFileName().toString(), CSV_CONTENT_TYPE);
     }
 
-    private GeneratedFile writeXlsx(Path outputPath, List<User> subscribers) throws IOException {
+    private GeneratedFile writeXlsx(SubscriberExportJob job, Path outputPath, List<User> subscribers) throws IOException {
         try (SXSSFWorkbook workbook = new SXSSFWorkbook(100);
              OutputStream outputStream = Files.newOutputStream(outputPath)) {
             SXSSFSheet sheet = workbook.createSheet("Subscribers");
@@ -182,6 +339,7 @@ public class SubscriberExportProcessor {
                 row.createCell(4).setCellValue(safe(user.getUsername()));
                 row.createCell(5).setCellValue(user.getRole() != null ? user.getRole().name() : "");
                 row.createCell(6).setCellValue(user.isEnabled());
+                reportProgress(job, rowIndex - 1L);
             }
 
             workbook.write(outputStream);
@@ -190,15 +348,42 @@ public class SubscriberExportProcessor {
         return new GeneratedFile(outputPath.getFileName().toString(), XLSX_CONTENT_TYPE);
     }
 
+    /**
+     * Every chunk, stores the progress and checks for a cancellation in the same statement.
+     */
+    private void reportProgress(SubscriberExportJob job, long written) {
+        if (written % PROGRESS_CHUNK_ROWS != 0 && written != job.getRowsTotal()) {
+            return;
+        }
+        job.setRowsWritten(written);
+        if (exportJobRepository.updateRowsWrittenIfInProgress(job.getId(), written, LocalDateTime.now()) == 0) {
+            throw new ExportCancelledException();
+        }
+        exportEventService.publishProgress(job.getId(), written, job.getRowsTotal());
+    }
+
     private String csvRow(User user) {
+        return csvRow(user.getId(), user.getFirstname(), user.getLastname(), user.getEmail(),
+                user.getUsername(), user.getRole(), user.isEnabled());
+    }
+
+    private String csvRow(
+            Long id,
+            String firstname,
+            String lastname,
+            String email,
+            String username,
+            Role role,
+            boolean enabled
+    ) {
         return String.join(",",
-                toCsvValue(user.getId() != null ? user.getId().toString() : ""),
-                toCsvValue(user.getFirstname()),
-                toCsvValue(user.getLastname()),
-                toCsvValue(user.getEmail()),
-                toCsvValue(user.getUsername()),
-                toCsvValue(user.getRole() != null ? user.getRole().name() : ""),
-                toCsvValue(Boolean.toString(user.isEnabled()))
+                toCsvValue(id != null ? id.toString() : ""),
+                toCsvValue(firstname),
+                toCsvValue(lastname),
+                toCsvValue(email),
+                toCsvValue(username),
+                toCsvValue(role != null ? role.name() : ""),
+                toCsvValue(Boolean.toString(enabled))
         );
     }
 
@@ -246,6 +431,17 @@ public class SubscriberExportProcessor {
         return prefix;
     }
 
+    private void deleteUploadedFile(String key) {
+        if (key == null) {
+            return;
+        }
+        try {
+            s3Client.deleteObject(DeleteObjectRequest.builder().bucket(requiredBucketName()).key(key).build());
+        } catch (Exception exception) {
+            log.warn("Failed to delete cancelled export file {}", key, exception);
+        }
+    }
+
     private void deleteTemporaryFile(Path path) {
         if (path == null) {
             return;
@@ -257,6 +453,26 @@ public class SubscriberExportProcessor {
         }
     }
 
+    /**
+     * Rethrows the read's own failure, so it is reported as the export's error message.
+     */
+    private static <T> T await(Future<T> read) {
+        try {
+            return read.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reading course subscribers was interrupted.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Reading course subscribers failed.", e.getCause());
+        }
+    }
+
     private record GeneratedFile(String fileName, String contentType) {
     }
+
+    private static final class ExportCancelledException extends RuntimeException {
+    }
 }
@@ -1,5 +1,6 @@
 package com.dev.education_nearby_server.services;
 
+import com.dev.education_nearby_server.config.AuthenticatedUser;
 import com.dev.education_nearby_server.config.ExportProperties;
 import com.dev.education_nearby_server.config.S3Properties;
 import com.dev.education_nearby_server.enums.SubscriberExportFormat;
@@ -13,14 +14,20 @@ import com.dev.education_nearby_server.exceptions.common.UnauthorizedException;
 import com.dev.education_nearby_server.models.dto.response.SubscriberExportJobResponse;
 import com.dev.education_nearby_server.models.entity.SubscriberExportJob;
 import com.dev.education_nearby_server.models.entity.User;
+import com.dev.education_nearby_server.repositories.CourseRepository;
+import com.dev.education_nearby_server.repositories.LyceumRepository;
 import com.dev.education_nearby_server.repositories.SubscriberExportJobRepository;
 import com.dev.education_nearby_server.repositories.UserRepository;
+import com.dev.education_nearby_server.utils.TokenDigests;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
@@ -29,7 +36,11 @@ import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequ
 import java.net.URI;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Coordinates asynchronous subscriber export requests, status, and file access.
@@ -38,25 +49,51 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class SubscriberExportService {
 
+    private static final List<SubscriberExportScope> LYCEUM_SCOPES = List.of(
+            SubscriberExportScope.LYCEUM,
+            SubscriberExportScope.LYCEUM_COURSES
+    );
+    private static final List<SubscriberExportStatus> REUSABLE_STATUSES = List.of(
+            SubscriberExportStatus.PENDING,
+            SubscriberExportStatus.IN_PROGRESS,
+            SubscriberExportStatus.COMPLETED
+    );
+
     private final SubscriberExportJobRepository exportJobRepository;
     private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final LyceumRepository lyceumRepository;
     private final CourseService courseService;
     private final LyceumService lyceumService;
     private final SubscriberExportProcessor exportProcessor;
     private final S3Properties s3Properties;
     private final ExportProperties exportProperties;
     private final S3Presigner s3Presigner;
+    private final SubscriberExportEventService exportEventService;
 
+    @Transactional
     public SubscriberExportJobResponse createCourseSubscribersExport(Long courseId, SubscriberExportFormat format) {
         courseService.ensureCurrentUserCanAccessCourseSubscribers(courseId);
         return createExport(SubscriberExportScope.COURSE, courseId, format);
     }
 
+    @Transactional
     public SubscriberExportJobResponse createLyceumSubscribersExport(Long lyceumId, SubscriberExportFormat format) {
         lyceumService.ensureCurrentUserCanAccessLyceumSubscribers(lyceumId);
         return createExport(SubscriberExportScope.LYCEUM, lyceumId, format);
     }
 
+    /**
+     * Starts an export of the subscribers of every course of the lyceum, delivered as a ZIP archive
+     * with one CSV per course. Status, events, cancellation and download go through the lyceum export
+     * endpoints.
+     */
+    @Transactional
+    public SubscriberExportJobResponse createLyceumCourseSubscribersExport(Long lyceumId) {
+        lyceumService.ensureCurrentUserCanAccessLyceumSubscribers(lyceumId);
+        return createExport(SubscriberExportScope.LYCEUM_COURSES, lyceumId, SubscriberExportFormat.CSV);
+    }
+
     @Transactional(readOnly = true)
     public SubscriberExportJobResponse getCourseSubscribersExportStatus(Long courseId, Long exportId) {
         courseService.ensureCurrentUserCanAccessCourseSubscribers(courseId);
@@ -67,10 +104,44 @@ public class SubscriberExportService {
     @Transactional(readOnly = true)
     public SubscriberExportJobResponse getLyceumSubscribersExportStatus(Long lyceumId, Long exportId) {
         lyceumService.ensureCurrentUserCanAccessLyceumSubscribers(lyceumId);
-        SubscriberExportJob job = requireJob(exportId, SubscriberExportScope.LYCEUM, lyceumId);
+        SubscriberExportJob job = requireLyceumJob(exportId, lyceumId);
         return mapToResponse(job);
     }
 
+    @Transactional
+    public void cancelCourseSubscribersExport(Long courseId, Long exportId) {
+        courseService.ensureCurrentUserCanAccessCourseSubscribers(courseId);
+        cancel(requireJob(exportId, SubscriberExportScope.COURSE, courseId));
+    }
+
+    @Transactional
+    public void cancelLyceumSubscribersExport(Long lyceumId, Long exportId) {
+        lyceumService.ensureCurrentUserCanAccessLyceumSubscribers(lyceumId);
+        cancel(requireLyceumJob(exportId, lyceumId));
+    }
+
+    /**
+     * Opens a server-sent event stream for the export. Access is checked once here rather than on
+     * every status poll.
+     */
+    @Transactional(readOnly = true)
+    public SseEmitter streamCourseSubscribersExport(Long courseId, Long exportId) {
+        courseService.ensureCurrentUserCanAccessCourseSubscribers(courseId);
+        SubscriberExportJob job = requireJob(exportId, SubscriberExportScope.COURSE, courseId);
+        return exportEventService.open(job);
+    }
+
+    /**
+     * Opens a server-sent event stream for the export. Access is checked once here rather than on
+     * every status poll.
+     */
+    @Transactional(readOnly = true)
+    public SseEmitter streamLyceumSubscribersExport(Long lyceumId, Long exportId) {
+        lyceumService.ensureCurrentUserCanAccessLyceumSubscribers(lyceumId);
+        SubscriberExportJob job = requireLyceumJob(exportId, lyceumId);
+        return exportEventService.open(job);
+    }
+
     @Transactional(readOnly = true)
     public ExportDownload downloadCourseSubscribersExport(Long courseId, Long exportId) {
         courseService.ensureCurrentUserCanAccessCourseSubscribers(courseId);
@@ -81,7 +152,7 @@ public class SubscriberExportService {
     @Transactional(readOnly = true)
     public ExportDownload downloadLyceumSubscribersExport(Long lyceumId, Long exportId) {
         lyceumService.ensureCurrentUserCanAccessLyceumSubscribers(lyceumId);
-        SubscriberExportJob job = requireJob(exportId, SubscriberExportScope.LYCEUM, lyceumId);
+        SubscriberExportJob job = requireLyceumJob(exportId, lyceumId);
         return buildDownloadLink(job);
     }
 
@@ -94,28 +165,127 @@ public class SubscriberExportService {
             throw new BadRequestException("Export format must be provided.");
         }
         User requester = getManagedCurrentUser();
+        byte[] subscriptionFingerprint = lockSubscriptionFingerprint(scope, targetId);
+        Optional<SubscriberExportJob> reusable = exportJobRepository
+                .findFirstByScopeAndTargetIdAndFormatAndStatusInOrderByIdDesc(scope, targetId, format, REUSABLE_STATUSES)
+                .filter(job -> isReusable(job, subscriptionFingerprint));
+        if (reusable.isPresent()) {
+            return mapToResponse(reusable.get());
+        }
+
         SubscriberExportJob job = SubscriberExportJob.builder()
                 .scope(scope)
                 .targetId(targetId)
                 .format(format)
                 .status(SubscriberExportStatus.PENDING)
                 .requestedByUserId(requester.getId())
+                .subscriptionFingerprint(subscriptionFingerprint)
                 .build();
         SubscriberExportJob saved = exportJobRepository.save(job);
-        exportProcessor.processExportJob(saved.getId());
+        processAfterCommit(saved.getId());
         return mapToResponse(saved);
     }
 
+    /**
+     * Locks the target rows until commit, the same locks subscription changes take, so identical
+     * concurrent requests see each other's job and the versions cannot move underneath them.
+     *
+     * @return SHA-256 over the ordered {@code id:version} pairs of the locked rows
+     */
+    private byte[] lockSubscriptionFingerprint(SubscriberExportScope scope, Long targetId) {
+        Optional<String> versions = switch (scope) {
+            case COURSE -> courseRepository.lockSubscriptionVersion(targetId)
+                    .map(version -> targetId + ":" + version);
+            case LYCEUM -> lyceumRepository.lockSubscriptionVersion(targetId)
+                    .map(version -> targetId + ":" + version);
+            case LYCEUM_COURSES -> lyceumRepository.lockForSubscriptionChange(targetId)
+                    .map(this::lockCourseSubscriptionVersions);
+        };
+        return TokenDigests.sha256(versions.orElseThrow(
+                () -> new NoSuchElementException("Export target with id " + targetId + " not found.")));
+    }
+
+    /**
+     * Locks the lyceum's course rows in id order and lists them one {@code id:version} pair per line,
+     * so a course gaining or losing subscribers, or being added or removed, changes the result.
+     */
+    private String lockCourseSubscriptionVersions(Long lyceumId) {
+        return courseRepository.lockSubscriptionsByLyceumId(lyceumId).stream()
+                .map(course -> course.getId() + ":" + course.getSubscriptionVersion())
+                .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * A running job is joined while it still reports progress, and a completed one is handed out
+     * again while it is fresh. Either way the subscriber set must not have changed since the job
+     * was requested.
+     */
+    private boolean isReusable(SubscriberExportJob job, byte[] subscriptionFingerprint) {
+        Duration reuseWindow = exportProperties.getReuseWindow();
+        if (reuseWindow == null || !Arrays.equals(job.getSubscriptionFingerprint(), subscriptionFingerprint)) {
+            return false;
+        }
+        LocalDateTime lastActivity = job.getStatus() == SubscriberExportStatus.COMPLETED
+                ? job.getCompletedAt()
+                : job.getUpdatedAt();
+        return lastActivity != null && lastActivity.isAfter(LocalDateTime.now().minus(reuseWindow));
+    }
+
+    /**
+     * Starts the worker once the job row is visible to it.
+     */
+    private void processAfterCommit(Long jobId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            exportProcessor.processExportJob(jobId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                exportProcessor.processExportJob(jobId);
+            }
+        });
+    }
+
     private SubscriberExportJob requireJob(Long exportId, SubscriberExportScope scope, Long targetId) {
         return exportJobRepository.findByIdAndScopeAndTargetId(exportId, scope, targetId)
                 .orElseThrow(() -> new NoSuchElementException("Export job with id " + exportId + " not found."));
     }
 
+    private SubscriberExportJob requireLyceumJob(Long exportId, Long lyceumId) {
+        return exportJobRepository.findByIdAndScopeInAndTargetId(exportId, LYCEUM_SCOPES, lyceumId)
+                .orElseThrow(() -> new NoSuchElementException("Export job with id " + exportId + " not found."));
+    }
+
+    /**
+     * Marks the job cancelled. A queued job is skipped when the executor reaches it and a running
+     * one stops at its next progress chunk, before the file is uploaded.
+     */
+    private void cancel(SubscriberExportJob job) {
+        if (job.getStatus() != SubscriberExportStatus.PENDING
+                && job.getStatus() != SubscriberExportStatus.IN_PROGRESS) {
+            throw new ConflictException("Only pending or running exports can be cancelled.");
+        }
+        // Applied on the current status rather than the version read above, which the worker's progress saves move on.
+        int cancelled = exportJobRepository.cancelIfActive(job.getId(), LocalDateTime.now());
+        SubscriberExportJob current = exportJobRepository.findById(job.getId())
+                .orElseThrow(() -> new NoSuchElementException("Export job with id " + job.getId() + " not found."));
+        if (cancelled == 0) {
+            throw new ConflictException(current.getStatus() == SubscriberExportStatus.CANCELLED
+                    ? "Export was cancelled."
+                    : "Export finished before it could be cancelled.");
+        }
+        exportEventService.publishStatus(current);
+    }
+
     private ExportDownload buildDownloadLink(SubscriberExportJob job) {
         if (job.getStatus() == SubscriberExportStatus.FAILED) {
             String message = job.getErrorMessage() == null ? "Export generation failed." : job.getErrorMessage();
             throw new BadRequestException(message);
         }
+        if (job.getStatus() == SubscriberExportStatus.CANCELLED) {
+            throw new ConflictException("Export was cancelled.");
+        }
         if (job.getStatus() != SubscriberExportStatus.COMPLETED) {
             throw new ConflictException("Export file is not ready yet.");
         }
@@ -158,7 +328,7 @@ public class SubscriberExportService {
         }
     }
 
-    private SubscriberExportJobResponse mapToResponse(SubscriberExportJob job) {
+    static SubscriberExportJobResponse mapToResponse(SubscriberExportJob job) {
         return SubscriberExportJobResponse.builder()
                 .id(job.getId())
                 .scope(job.getScope())
@@ -167,6 +337,8 @@ public class SubscriberExportService {
                 .status(job.getStatus())
                 .fileName(job.getFileName())
                 .errorMessage(job.getErrorMessage())
+                .rowsTotal(job.getRowsTotal())
+                .rowsWritten(job.getRowsWritten())
                 .createdAt(job.getCreatedAt())
                 .updatedAt(job.getUpdatedAt())
                 .completedAt(job.getCompletedAt())
@@ -174,22 +346,18 @@ public class SubscriberExportService {
     }
 
     private User getManagedCurrentUser() {
-        User currentUser = getCurrentUser()
+        AuthenticatedUser currentUser = getCurrentUser()
                 .orElseThrow(() -> new UnauthorizedException("You must be authenticated to perform this action."));
         return userRepository.findById(currentUser.getId())
                 .orElseThrow(() -> new UnauthorizedException("User not found."));
     }
 
-    private Optional<User> getCurrentUser() {
+    private Optional<AuthenticatedUser> getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
             return Optional.empty();
         }
-        Object principal = auth.getPrincipal();
-        if (principal instanceof User user) {
-            return Optional.of(user);
-        }
-        return Optional.empty();
+        return AuthenticatedUser.fromPrincipal(auth.getPrincipal());
     }
 
     private String requiredBucketName() {
@@ -0,0 +1,96 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.SubscriberNotificationProperties;
+import com.dev.education_nearby_server.repositories.SubscriberNotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Periodically deletes queued and digested subscriber notifications once their retention has passed.
+ * Deletes run in short, separate transactions and only one node purges at a time.
+ */
+@Slf4j
+@Service
+public class SubscriberNotificationPurgeService {
+
+    static final String LOCK_NAME = "subscriber-notification-purge";
+
+    private final SubscriberNotificationRepository notificationRepository;
+    private final SchedulerLockService schedulerLockService;
+    private final SubscriberNotificationProperties properties;
+    private final TransactionTemplate batchTransaction;
+    private final Counter purgedCounter;
+
+    public SubscriberNotificationPurgeService(
+            SubscriberNotificationRepository notificationRepository,
+            SchedulerLockService schedulerLockService,
+            SubscriberNotificationProperties properties,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.notificationRepository = notificationRepository;
+        this.schedulerLockService = schedulerLockService;
+        this.properties = properties;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.purgedCounter = Counter.builder("subscriber.notifications.purged")
+                .description("Subscriber notifications deleted by the scheduled purge")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.notifications.purge-cron:0 15 4 * * *}")
+    public void scheduledPurge() {
+        if (!properties.isPurgeEnabled()) {
+            return;
+        }
+        purgeDeliveredNotifications();
+    }
+
+    /**
+     * Deletes delivered notifications older than the retention in batches while holding the cluster-wide lock.
+     *
+     * @return number of deleted rows, or 0 when another node holds the lock
+     */
+    public int purgeDeliveredNotifications() {
+        if (!schedulerLockService.tryAcquire(LOCK_NAME, properties.getPurgeLockDuration())) {
+            log.debug("Subscriber notification purge skipped; lock held by another node");
+            return 0;
+        }
+        int purged = 0;
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+            for (int batch = 0; batch < properties.getPurgeMaxBatchesPerRun(); batch++) {
+                int deleted = deleteBatch(cutoff);
+                purged += deleted;
+                if (deleted < properties.getPurgeBatchSize()) {
+                    break;
+                }
+            }
+        } finally {
+            purgedCounter.increment(purged);
+            schedulerLockService.release(LOCK_NAME);
+            log.info("Subscriber notification purge removed {} rows", purged);
+        }
+        return purged;
+    }
+
+    private int deleteBatch(LocalDateTime cutoff) {
+        Integer deleted = batchTransaction.execute(status -> {
+            List<Long> ids = notificationRepository.findPurgeableIds(cutoff, properties.getPurgeBatchSize());
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            return notificationRepository.deleteAllByIdIn(ids);
+        });
+        return deleted == null ? 0 : deleted;
+    }
+}
@@ -0,0 +1,214 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.SubscriberNotificationProperties;
+import com.dev.education_nearby_server.enums.NotificationFrequency;
+import com.dev.education_nearby_server.enums.SubscriberNotificationStatus;
+import com.dev.education_nearby_server.models.entity.SubscriberNotification;
+import com.dev.education_nearby_server.repositories.SubscriberNotificationRepository;
+import com.dev.education_nearby_server.repositories.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fans course changes out to subscribers of the course and of its lyceum.
+ * Subscriber ids are paged with a keyset query and each page is handled in its own short
+ * transaction, so memory use does not grow with the number of subscribers. Users on the
+ * daily digest collect their notifications until {@link #sendDailyDigests()} runs.
+ */
+@Slf4j
+@Service
+public class SubscriberNotificationService {
+
+    static final String DIGEST_LOCK_NAME = "subscriber-digest";
+    /**
+     * Keeps a digest well inside the outbox payload column.
+     */
+    private static final int MAX_DIGEST_CHARS = 3_000;
+
+    private final UserRepository userRepository;
+    private final SubscriberNotificationRepository notificationRepository;
+    private final EmailService emailService;
+    private final SchedulerLockService schedulerLockService;
+    private final SubscriberNotificationProperties properties;
+    private final TransactionTemplate chunkTransaction;
+
+    public SubscriberNotificationService(
+            UserRepository userRepository,
+            SubscriberNotificationRepository notificationRepository,
+            EmailService emailService,
+            SchedulerLockService schedulerLockService,
+            SubscriberNotificationProperties properties,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.userRepository = userRepository;
+        this.notificationRepository = notificationRepository;
+        this.emailService = emailService;
+        this.schedulerLockService = schedulerLockService;
+        this.properties = properties;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Async("notificationTaskExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            fanOut(event);
+        } catch (RuntimeException e) {
+            log.error("Notification fan-out failed for courseId={} type={}", event.courseId(), event.type(), e);
+        }
+    }
+
+    /**
+     * Records the change for every subscriber and queues emails for those not on the digest.
+     *
+     * @return number of subscribers newly notified (duplicates excluded)
+     */
+    public int fanOut(CourseChangedEvent event) {
+        long afterUserId = 0L;
+        int notified = 0;
+        while (true) {
+            List<Long> userIds = userRepository.findCourseSubscriberIdsAfter(
+                    event.courseId(), event.lyceumId(), afterUserId, properties.getChunkSize());
+            if (userIds.isEmpty()) {
+                break;
+            }
+            Integer chunkNotified = chunkTransaction.execute(status -> notifyChunk(event, userIds));
+            notified += chunkNotified == null ? 0 : chunkNotified;
+            afterUserId = userIds.get(userIds.size() - 1);
+            if (userIds.size() < properties.getChunkSize()) {
+                break;
+            }
+        }
+        log.info("Fanned out {} for courseId={} to {} subscribers", event.type(), event.courseId(), notified);
+        return notified;
+    }
+
+    @Scheduled(cron = "${app.notifications.digest-cron:0 0 7 * * *}")
+    public void scheduledDigest() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        sendDailyDigests();
+    }
+
+    /**
+     * Sends one digest email per user with pending digest notifications.
+     *
+     * @return number of digest emails queued, or 0 when another node holds the lock
+     */
+    public int sendDailyDigests() {
+        if (!schedulerLockService.tryAcquire(DIGEST_LOCK_NAME, properties.getDigestLockDuration())) {
+            log.debug("Subscriber digest skipped; lock held by another node");
+            return 0;
+        }
+        int sent = 0;
+        try {
+            long afterUserId = 0L;
+            while (true) {
+                List<Long> userIds = notificationRepository.findUserIdsWithStatusAfter(
+                        SubscriberNotificationStatus.PENDING_DIGEST.name(), afterUserId, properties.getChunkSize());
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                Integer chunkSent = chunkTransaction.execute(status -> digestChunk(userIds));
+                sent += chunkSent == null ? 0 : chunkSent;
+                afterUserId = userIds.get(userIds.size() - 1);
+                if (userIds.size() < properties.getChunkSize()) {
+                    break;
+                }
+            }
+        } finally {
+            schedulerLockService.release(DIGEST_LOCK_NAME);
+        }
+        log.info("Queued {} subscriber digest emails", sent);
+        return sent;
+    }
+
+    private int notifyChunk(CourseChangedEvent event, List<Long> userIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> immediateRecipients = new ArrayList<>();
+        int notified = 0;
+        for (UserRepository.NotificationRecipient recipient : userRepository.findNotificationRecipients(userIds)) {
+            boolean digest = recipient.getNotificationFrequency() == NotificationFrequency.DAILY_DIGEST;
+            SubscriberNotificationStatus status = digest
+                    ? SubscriberNotificationStatus.PENDING_DIGEST
+                    : SubscriberNotificationStatus.QUEUED;
+            int inserted = notificationRepository.insertIfAbsent(
+                    recipient.getId(),
+                    event.courseId(),
+                    event.type().name(),
+                    event.dedupKey(),
+                    event.summary(),
+                    status.name(),
+                    now);
+            if (inserted == 0) {
+                continue;
+            }
+            notified++;
+            if (!digest && recipient.getEmail() != null) {
+                immediateRecipients.add(recipient.getEmail());
+            }
+        }
+        if (!immediateRecipients.isEmpty()) {
+            emailService.sendCourseChangedEmails(immediateRecipients, event.summary());
+        }
+        return notified;
+    }
+
+    private int digestChunk(List<Long> userIds) {
+        Map<Long, List<SubscriberNotification>> byUser = new LinkedHashMap<>();
+        for (SubscriberNotification notification : notificationRepository.findByUserIdInAndStatusOrderByUserIdAscIdAsc(
+                userIds, SubscriberNotificationStatus.PENDING_DIGEST)) {
+            byUser.computeIfAbsent(notification.getUserId(), id -> new ArrayList<>()).add(notification);
+        }
+        int sent = 0;
+        for (UserRepository.NotificationRecipient recipient : userRepository.findNotificationRecipients(byUser.keySet())) {
+            if (recipient.getEmail() != null) {
+                emailService.sendCourseChangesDigestEmail(recipient.getEmail(), digestLines(byUser.get(recipient.getId())));
+                sent++;
+            }
+        }
+        // Notifications of users who were disabled meanwhile are closed as well so they do not pile up.
+        List<Long> handledIds = new ArrayList<>();
+        byUser.values().forEach(notifications -> notifications.forEach(n -> handledIds.add(n.getId())));
+        if (!handledIds.isEmpty()) {
+            notificationRepository.updateStatus(handledIds, SubscriberNotificationStatus.DIGESTED, LocalDateTime.now());
+        }
+        return sent;
+    }
+
+    private List<String> digestLines(List<SubscriberNotification> notifications) {
+        int limit = properties.getMaxDigestItems();
+        List<String> lines = new ArrayList<>(Math.min(notifications.size(), limit) + 1);
+        int length = 0;
+        for (SubscriberNotification notification : notifications) {
+            String summary = notification.getSummary();
+            if (lines.size() >= limit || length + summary.length() > MAX_DIGEST_CHARS) {
+                break;
+            }
+            lines.add(summary);
+            length += summary.length();
+        }
+        if (notifications.size() > lines.size()) {
+            lines.add("...и още " + (notifications.size() - lines.size()) + " промени.");
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,63 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.exceptions.common.BadRequestException;
+import com.dev.education_nearby_server.models.dto.response.SubscriberPageResponse;
+import com.dev.education_nearby_server.models.dto.response.SubscriberResponse;
+import com.dev.education_nearby_server.repositories.UserRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Keyset paging shared by the course and lyceum subscriber listings. Pages are keyed on the
+ * subscriber id, so each page walks the join table index from the cursor instead of an offset.
+ */
+final class SubscriberPages {
+
+    static final int MAX_PAGE_SIZE = 200;
+
+    private SubscriberPages() {
+    }
+
+    /**
+     * Validates the cursor and size and returns a request for one row more than the page,
+     * which tells whether another page follows.
+     */
+    static Pageable request(Long after, Integer size) {
+        if (after != null && after < 0) {
+            throw new BadRequestException("Cursor must be zero or positive.");
+        }
+        if (size == null || size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        return PageRequest.of(0, size + 1);
+    }
+
+    static long cursor(Long after) {
+        return after == null ? 0L : after;
+    }
+
+    static SubscriberPageResponse toPage(List<UserRepository.SubscriberSummary> rows, int size) {
+        boolean hasMore = rows.size() > size;
+        List<SubscriberResponse> items = rows.stream()
+                .limit(size)
+                .map(SubscriberPages::toResponse)
+                .toList();
+        Long nextCursor = hasMore ? items.getLast().getId() : null;
+        return SubscriberPageResponse.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static SubscriberResponse toResponse(UserRepository.SubscriberSummary row) {
+        return SubscriberResponse.builder()
+                .id(row.getId())
+                .firstname(row.getFirstname())
+                .lastname(row.getLastname())
+                .username(row.getUsername())
+                .email(row.getEmail())
+                .build();
+    }
+}
@@ -0,0 +1,185 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.SyncProperties;
+import com.dev.education_nearby_server.models.dto.response.CourseResponse;
+import com.dev.education_nearby_server.models.dto.response.LyceumResponse;
+import com.dev.education_nearby_server.models.dto.response.SyncDeletionResponse;
+import com.dev.education_nearby_server.models.dto.response.SyncResponse;
+import com.dev.education_nearby_server.models.entity.Course;
+import com.dev.education_nearby_server.models.entity.CourseImage;
+import com.dev.education_nearby_server.models.entity.Lyceum;
+import com.dev.education_nearby_server.models.entity.LyceumImage;
+import com.dev.education_nearby_server.models.entity.SyncTombstone;
+import com.dev.education_nearby_server.repositories.CourseImageRepository;
+import com.dev.education_nearby_server.repositories.CourseRepository;
+import com.dev.education_nearby_server.repositories.CourseReviewRepository;
+import com.dev.education_nearby_server.repositories.LyceumImageRepository;
+import com.dev.education_nearby_server.repositories.LyceumRepository;
+import com.dev.education_nearby_server.repositories.LyceumReviewRepository;
+import com.dev.education_nearby_server.repositories.SyncTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Delta sync feed for offline-capable clients. Each synced table is paged on its own
+ * {@code (updated_at, id)} index from the position recorded in the client's token, so a client
+ * that is a day behind reads only the rows changed or deleted during that day.
+ */
+@Service
+@RequiredArgsConstructor
+public class SyncService {
+
+    private final LyceumRepository lyceumRepository;
+    private final CourseRepository courseRepository;
+    private final LyceumImageRepository lyceumImageRepository;
+    private final CourseImageRepository courseImageRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final LyceumReviewRepository lyceumReviewRepository;
+    private final CourseReviewRepository courseReviewRepository;
+    private final LyceumService lyceumService;
+    private final CourseService courseService;
+    private final SyncProperties syncProperties;
+
+    /**
+     * Returns catalog rows changed or deleted after the given token. Without a token the whole
+     * catalog is returned, one page per call. A token older than the tombstone retention may have
+     * missed deletions that are already purged, so it restarts the full sync and flags the response.
+     *
+     * @param since token returned by the previous call, or null for a full sync
+     * @return changed rows, deletions and the token for the next call
+     */
+    @Transactional(readOnly = true)
+    public SyncResponse getChanges(String since) {
+        SyncToken from = SyncToken.parse(since);
+        // Rows are stamped by the database clock, so the watermark is taken from it as well.
+        LocalDateTime now = syncTombstoneRepository.findDatabaseTime();
+        LocalDateTime until = now.minus(syncProperties.getCommitLag());
+        boolean resyncRequired = !SyncToken.START.equals(from)
+                && from.deletions().updatedAt().isBefore(now.minus(syncProperties.getTombstoneRetention()));
+        if (resyncRequired) {
+            from = SyncToken.START;
+        }
+        int size = syncProperties.getPageSize();
+        Pageable page = PageRequest.of(0, size + 1);
+
+        List<Lyceum> lyceums = lyceumRepository.findChangedSince(
+                from.lyceums().updatedAt(), from.lyceums().id(), until, page);
+        List<Course> courses = courseRepository.findChangedSince(
+                from.courses().updatedAt(), from.courses().id(), until, page);
+        List<LyceumImage> lyceumImages = lyceumImageRepository.findChangedSince(
+                from.lyceumImages().updatedAt(), from.lyceumImages().id(), until, page);
+        List<CourseImage> courseImages = courseImageRepository.findChangedSince(
+                from.courseImages().updatedAt(), from.courseImages().id(), until, page);
+        // A full sync starts without local rows, so there is nothing for tombstones to remove.
+        List<SyncTombstone> deletions = SyncToken.START.equals(from)
+                ? List.of()
+                : syncTombstoneRepository.findRecordedSince(
+                        from.deletions().updatedAt(), from.deletions().id(), until, page);
+        boolean deletionsTruncated = deletions.size() > size;
+        boolean hasMore = lyceums.size() > size || courses.size() > size || lyceumImages.size() > size
+                || courseImages.size() > size || deletionsTruncated;
+
+        lyceums = limit(lyceums, size);
+        courses = limit(courses, size);
+        lyceumImages = limit(lyceumImages, size);
+        courseImages = limit(courseImages, size);
+        deletions = limit(deletions, size);
+        SyncToken next = new SyncToken(
+                from.lyceums().after(lyceums, Lyceum::getUpdatedAt, Lyceum::getId),
+                from.courses().after(courses, Course::getUpdatedAt, Course::getId),
+                from.lyceumImages().after(lyceumImages, LyceumImage::getUpdatedAt, LyceumImage::getId),
+                from.courseImages().after(courseImages, CourseImage::getUpdatedAt, CourseImage::getId),
+                deletionsTruncated
+                        ? from.deletions().after(deletions, SyncTombstone::getDeletedAt, SyncTombstone::getId)
+                        : deletionsCaughtUp(from.deletions(), until));
+
+        return SyncResponse.builder()
+                .lyceums(mapLyceums(lyceums))
+                .courses(mapCourses(courses))
+                .lyceumImages(lyceumImages.stream().map(lyceumService::mapToResponse).toList())
+                .courseImages(courseImages.stream().map(courseService::mapToResponse).toList())
+                .deleted(deletions.stream().map(SyncService::mapToResponse).toList())
+                .nextToken(next.encode())
+                .hasMore(hasMore)
+                .resyncRequired(resyncRequired)
+                .build();
+    }
+
+    /**
+     * Every tombstone up to {@code until} has been delivered, so the deletions watermark moves to
+     * {@code until} even when there were none. This keeps the token of a client that syncs regularly
+     * inside the tombstone retention instead of sending it into a full resync.
+     */
+    private static SyncToken.Position deletionsCaughtUp(SyncToken.Position from, LocalDateTime until) {
+        return until.isAfter(from.updatedAt()) ? new SyncToken.Position(until, Long.MAX_VALUE) : from;
+    }
+
+    /**
+     * Three queries however many lyceums changed: their images, their ratings and their course counts.
+     */
+    private List<LyceumResponse> mapLyceums(List<Lyceum> lyceums) {
+        if (lyceums.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = lyceums.stream().map(Lyceum::getId).toList();
+        // Initialises the images of the lyceums already in this persistence context.
+        lyceumRepository.findWithImagesByIdIn(ids);
+        Map<Long, Double> ratings = lyceumReviewRepository.findAverageRatingsByLyceumIdIn(ids).stream()
+                .collect(Collectors.toMap(LyceumReviewRepository.AverageRating::getId,
+                        LyceumReviewRepository.AverageRating::getAverageRating));
+        Map<Long, Long> coursesCounts = courseRepository.countByLyceumIdIn(ids).stream()
+                .collect(Collectors.toMap(CourseRepository.LyceumCourseCount::getLyceumId,
+                        CourseRepository.LyceumCourseCount::getCoursesCount));
+        return lyceums.stream()
+                .map(lyceum -> lyceumService.mapToResponse(
+                        lyceum,
+                        ratings.get(lyceum.getId()),
+                        coursesCounts.getOrDefault(lyceum.getId(), 0L).intValue()))
+                .toList();
+    }
+
+    /**
+     * Four queries however many courses changed: images with age groups, schedules, lecturer ids and ratings.
+     */
+    private List<CourseResponse> mapCourses(List<Course> courses) {
+        if (courses.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = courses.stream().map(Course::getId).toList();
+        // Initialises the collections of the courses already in this persistence context.
+        courseRepository.findWithImagesByIdIn(ids);
+        courseRepository.findWithScheduleByIdIn(ids);
+        Map<Long, List<Long>> lecturerIds = courseRepository.findLecturerIdsByCourseIdIn(ids).stream()
+                .collect(Collectors.groupingBy(CourseRepository.CourseLecturer::getCourseId,
+                        Collectors.mapping(CourseRepository.CourseLecturer::getLecturerId, Collectors.toList())));
+        Map<Long, Double> ratings = courseReviewRepository.findAverageRatingsByCourseIdIn(ids).stream()
+                .collect(Collectors.toMap(CourseReviewRepository.AverageRating::getId,
+                        CourseReviewRepository.AverageRating::getAverageRating));
+        return courses.stream()
+                .map(course -> courseService.mapToResponse(
+                        course,
+                        lecturerIds.getOrDefault(course.getId(), List.of()),
+                        ratings.get(course.getId())))
+                .toList();
+    }
+
+    private static SyncDeletionResponse mapToResponse(SyncTombstone tombstone) {
+        return SyncDeletionResponse.builder()
+                .type(tombstone.getEntityType())
+                .id(tombstone.getEntityId())
+                .deletedAt(tombstone.getDeletedAt())
+                .build();
+    }
+
+    private static <T> List<T> limit(List<T> rows, int size) {
+        return rows.size() > size ? rows.subList(0, size) : rows;
+    }
+}
@@ -0,0 +1,93 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.exceptions.common.BadRequestException;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Sync watermark: the last delivered {@code (updatedAt, id)} position in each synced table.
+ * Clients receive it as URL-safe Base64 and send it back unchanged.
+ */
+record SyncToken(
+        Position lyceums,
+        Position courses,
+        Position lyceumImages,
+        Position courseImages,
+        Position deletions
+) {
+
+    static final SyncToken START = new SyncToken(
+            Position.START, Position.START, Position.START, Position.START, Position.START);
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = ";";
+    private static final String INVALID_MESSAGE = "Sync token is invalid; sync again without a token.";
+
+    /**
+     * Decodes a token sent by a client; a missing token starts from the beginning.
+     */
+    static SyncToken parse(String token) {
+        if (!StringUtils.hasText(token)) {
+            return START;
+        }
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(INVALID_MESSAGE);
+        }
+        if (parts.length != 6 || !VERSION.equals(parts[0])) {
+            throw new BadRequestException(INVALID_MESSAGE);
+        }
+        return new SyncToken(
+                Position.parse(parts[1]),
+                Position.parse(parts[2]),
+                Position.parse(parts[3]),
+                Position.parse(parts[4]),
+                Position.parse(parts[5]));
+    }
+
+    String encode() {
+        String raw = String.join(SEPARATOR, VERSION, lyceums.format(), courses.format(),
+                lyceumImages.format(), courseImages.format(), deletions.format());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    record Position(LocalDateTime updatedAt, long id) {
+
+        static final Position START = new Position(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+        /**
+         * Position of the last delivered row, or this position when nothing was delivered.
+         */
+        <T> Position after(List<T> delivered, Function<T, LocalDateTime> updatedAt, Function<T, Long> id) {
+            if (delivered.isEmpty()) {
+                return this;
+            }
+            T last = delivered.getLast();
+            return new Position(updatedAt.apply(last), id.apply(last));
+        }
+
+        private String format() {
+            return updatedAt + "," + id;
+        }
+
+        private static Position parse(String value) {
+            String[] parts = value.split(",");
+            if (parts.length != 2) {
+                throw new BadRequestException(INVALID_MESSAGE);
+            }
+            try {
+                return new Position(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new BadRequestException(INVALID_MESSAGE);
+            }
+        }
+    }
+}
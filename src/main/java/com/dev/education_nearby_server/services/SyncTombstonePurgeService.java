@@ -0,0 +1,98 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.SyncProperties;
+import com.dev.education_nearby_server.repositories.SyncTombstoneRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Periodically deletes sync tombstones once their retention has passed. Sync tokens older than the
+ * retention are answered with a full resync, so no client still depends on the deleted rows.
+ */
+@Slf4j
+@Service
+public class SyncTombstonePurgeService {
+
+    static final String LOCK_NAME = "sync-tombstone-purge";
+
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final SchedulerLockService schedulerLockService;
+    private final SyncProperties properties;
+    private final TransactionTemplate batchTransaction;
+    private final Counter purgedCounter;
+
+    public SyncTombstonePurgeService(
+            SyncTombstoneRepository syncTombstoneRepository,
+            SchedulerLockService schedulerLockService,
+            SyncProperties properties,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.syncTombstoneRepository = syncTombstoneRepository;
+        this.schedulerLockService = schedulerLockService;
+        this.properties = properties;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.purgedCounter = Counter.builder("sync.tombstones.purged")
+                .description("Sync tombstones deleted by the scheduled purge")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.sync.purge-cron:0 45 4 * * *}")
+    public void scheduledPurge() {
+        if (!properties.isPurgeEnabled()) {
+            return;
+        }
+        purgeExpiredTombstones();
+    }
+
+    /**
+     * Deletes tombstones older than the retention in batches while holding the cluster-wide lock.
+     * The cutoff is taken from the database clock, which also stamps the tombstones and decides
+     * which tokens need a full resync.
+     *
+     * @return number of deleted rows, or 0 when another node holds the lock
+     */
+    public int purgeExpiredTombstones() {
+        if (!schedulerLockService.tryAcquire(LOCK_NAME, properties.getPurgeLockDuration())) {
+            log.debug("Sync tombstone purge skipped; lock held by another node");
+            return 0;
+        }
+        int purged = 0;
+        try {
+            LocalDateTime cutoff = syncTombstoneRepository.findDatabaseTime().minus(properties.getTombstoneRetention());
+            for (int batch = 0; batch < properties.getPurgeMaxBatchesPerRun(); batch++) {
+                int deleted = deleteBatch(cutoff);
+                purged += deleted;
+                if (deleted < properties.getPurgeBatchSize()) {
+                    break;
+                }
+            }
+        } finally {
+            purgedCounter.increment(purged);
+            schedulerLockService.release(LOCK_NAME);
+            log.info("Sync tombstone purge removed {} rows", purged);
+        }
+        return purged;
+    }
+
+    private int deleteBatch(LocalDateTime cutoff) {
+        Integer deleted = batchTransaction.execute(status -> {
+            List<Long> ids = syncTombstoneRepository.findPurgeableIds(cutoff, properties.getPurgeBatchSize());
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            return syncTombstoneRepository.deleteAllByIdIn(ids);
+        });
+        return deleted == null ? 0 : deleted;
+    }
+}
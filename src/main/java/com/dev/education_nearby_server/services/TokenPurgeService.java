@@ -0,0 +1,110 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.TokenPurgeProperties;
+import com.dev.education_nearby_server.repositories.TokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Periodically deletes expired and revoked tokens so the tokens table and its indexes stay small.
+ * Deletes run in short, separate transactions and only one node purges at a time.
+ */
+@Slf4j
+@Service
+public class TokenPurgeService {
+
+    static final String LOCK_NAME = "token-purge";
+
+    private final TokenRepository tokenRepository;
+    private final SchedulerLockService schedulerLockService;
+    private final TokenPurgeProperties properties;
+    private final TransactionTemplate batchTransaction;
+    private final Counter purgedCounter;
+    private final Timer purgeTimer;
+    private final long jwtExpiration;
+
+    public TokenPurgeService(
+            TokenRepository tokenRepository,
+            SchedulerLockService schedulerLockService,
+            TokenPurgeProperties properties,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${jwt.expiration}") long jwtExpiration
+    ) {
+        this.tokenRepository = tokenRepository;
+        this.schedulerLockService = schedulerLockService;
+        this.properties = properties;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.purgedCounter = Counter.builder("auth.tokens.purged")
+                .description("Token rows deleted by the scheduled purge")
+                .register(meterRegistry);
+        this.purgeTimer = Timer.builder("auth.tokens.purge.duration")
+                .description("Wall-clock duration of a token purge run")
+                .register(meterRegistry);
+        this.jwtExpiration = jwtExpiration;
+    }
+
+    @Scheduled(cron = "${app.tokens.purge.cron:0 15 3 * * *}")
+    public void scheduledPurge() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        purgeExpiredTokens();
+    }
+
+    /**
+     * Deletes purgeable tokens in batches while holding the cluster-wide purge lock.
+     *
+     * @return number of deleted rows, or 0 when another node holds the lock
+     */
+    public int purgeExpiredTokens() {
+        if (!schedulerLockService.tryAcquire(LOCK_NAME, properties.getLockDuration())) {
+            log.debug("Token purge skipped; lock held by another node");
+            return 0;
+        }
+        long startedAt = System.nanoTime();
+        int purged = 0;
+        try {
+            LocalDateTime graceCutoff = LocalDateTime.now().minus(properties.getGracePeriod());
+            LocalDateTime bearerCutoff = graceCutoff.minus(Duration.ofMillis(jwtExpiration));
+            for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+                int deleted = deleteBatch(graceCutoff, bearerCutoff);
+                purged += deleted;
+                if (deleted < properties.getBatchSize()) {
+                    break;
+                }
+            }
+        } finally {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+            purgeTimer.record(elapsed);
+            purgedCounter.increment(purged);
+            schedulerLockService.release(LOCK_NAME);
+            log.info("Token purge removed {} rows in {} ms", purged, elapsed.toMillis());
+        }
+        return purged;
+    }
+
+    private int deleteBatch(LocalDateTime graceCutoff, LocalDateTime bearerCutoff) {
+        Integer deleted = batchTransaction.execute(status -> {
+            List<Long> ids = tokenRepository.findPurgeableTokenIds(graceCutoff, bearerCutoff, properties.getBatchSize());
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            return tokenRepository.deleteAllByIdIn(ids);
+        });
+        return deleted == null ? 0 : deleted;
+    }
+}
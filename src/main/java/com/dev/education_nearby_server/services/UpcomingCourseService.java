@@ -0,0 +1,345 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.UpcomingCourseProperties;
+import com.dev.education_nearby_server.exceptions.common.BadRequestException;
+import com.dev.education_nearby_server.models.dto.response.UpcomingCourseResponse;
+import com.dev.education_nearby_server.models.entity.Course;
+import com.dev.education_nearby_server.models.entity.CourseScheduleSlot;
+import com.dev.education_nearby_server.repositories.CourseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Answers "which courses near me start soon" from an in-memory index instead of the course filter query.
+ * Every recurring class is placed in a 15-minute bucket of the week (weekly slots) or of the month
+ * (monthly slots), and every course in a latitude/longitude grid cell of its lyceum. A query visits
+ * only the grid cells around the caller and the buckets inside the time window.
+ * The index is rebuilt in the background on every node, so schedule edits show up within the refresh interval.
+ */
+@Service
+@Slf4j
+public class UpcomingCourseService {
+
+    private static final int BUCKET_MINUTES = 15;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int BUCKETS_PER_DAY = MINUTES_PER_DAY / BUCKET_MINUTES;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private final CourseRepository courseRepository;
+    private final UpcomingCourseProperties properties;
+    private final ZoneId zone;
+    private final Clock clock;
+    private volatile Index index;
+
+    @Autowired
+    public UpcomingCourseService(CourseRepository courseRepository, UpcomingCourseProperties properties) {
+        this(courseRepository, properties, Clock.systemUTC());
+    }
+
+    UpcomingCourseService(CourseRepository courseRepository, UpcomingCourseProperties properties, Clock clock) {
+        this.courseRepository = courseRepository;
+        this.properties = properties;
+        this.zone = ZoneId.of(properties.getTimeZone());
+        this.clock = clock;
+    }
+
+    /**
+     * Lists classes starting within the next {@code withinMinutes} at lyceums inside the radius,
+     * soonest first and nearest first for equal start times.
+     */
+    public List<UpcomingCourseResponse> findUpcoming(Double latitude, Double longitude, Double radiusKm, Integer withinMinutes) {
+        if (latitude == null || longitude == null) {
+            throw new BadRequestException("Both latitude and longitude must be provided.");
+        }
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new BadRequestException("Latitude or longitude is out of range.");
+        }
+        if (radiusKm == null || radiusKm <= 0 || radiusKm > properties.getMaxRadiusKm()) {
+            throw new BadRequestException("Radius must be between 0 and " + properties.getMaxRadiusKm() + " km.");
+        }
+        if (withinMinutes == null || withinMinutes <= 0 || withinMinutes > properties.getMaxWithinMinutes()) {
+            throw new BadRequestException("Time window must be between 1 and " + properties.getMaxWithinMinutes() + " minutes.");
+        }
+        Index current = index;
+        if (current == null) {
+            current = initialIndex();
+        }
+        LocalDateTime now = LocalDateTime.now(clock.withZone(zone)).withSecond(0).withNano(0);
+        return current.query(latitude, longitude, radiusKm, now, now.plusMinutes(withinMinutes), properties.getMaxResults());
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.courses.upcoming.refresh-interval:5m}",
+            fixedDelayString = "${app.courses.upcoming.refresh-interval:5m}"
+    )
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    private synchronized Index initialIndex() {
+        return index != null ? index : refresh();
+    }
+
+    /**
+     * Rebuilds the index from the database and swaps it in atomically.
+     */
+    synchronized Index refresh() {
+        long started = System.nanoTime();
+        List<CourseRepository.CourseLocation> locations = courseRepository.findLocatedCourses();
+        Index.Builder builder = new Index.Builder(properties.getCellSizeDegrees());
+        int batchSize = properties.getLoadBatchSize();
+        for (int from = 0; from < locations.size(); from += batchSize) {
+            List<CourseRepository.CourseLocation> batch = locations.subList(from, Math.min(from + batchSize, locations.size()));
+            Map<Long, CourseRepository.CourseLocation> byId = new HashMap<>();
+            batch.forEach(location -> byId.put(location.getId(), location));
+            for (Course course : courseRepository.findWithScheduleByIdIn(byId.keySet())) {
+                builder.add(course, byId.get(course.getId()));
+            }
+        }
+        Index built = builder.build();
+        index = built;
+        log.info("Rebuilt upcoming course index. courses={} classes={} tookMs={}",
+                built.courses.size(), built.classCount, (System.nanoTime() - started) / 1_000_000);
+        return built;
+    }
+
+    /**
+     * Immutable snapshot; queries never lock and a rebuild simply replaces the reference.
+     */
+    static final class Index {
+
+        private static final Comparator<UpcomingCourseResponse> SOONEST_NEAREST = Comparator
+                .comparing(UpcomingCourseResponse::getDate)
+                .thenComparing(UpcomingCourseResponse::getStartTime)
+                .thenComparingDouble(UpcomingCourseResponse::getDistanceKm)
+                .thenComparing(UpcomingCourseResponse::getCourseId);
+
+        private final List<IndexedCourse> courses;
+        private final List<List<IndexedClass>> weeklyBuckets;
+        private final List<List<IndexedClass>> monthlyBuckets;
+        private final Map<Long, List<Integer>> cells;
+        private final double cellSizeDegrees;
+        private final int classCount;
+
+        private record IndexedCourse(Long id, String name, Long lyceumId, String lyceumName,
+                                     double latitude, double longitude, Month activeStart, Month activeEnd,
+                                     Set<LocalDate> cancelledDates) {
+        }
+
+        private record IndexedClass(int course, int startMinute, LocalTime startTime, LocalTime endTime) {
+        }
+
+        private Index(Builder builder) {
+            this.courses = builder.courses;
+            this.weeklyBuckets = builder.weeklyBuckets;
+            this.monthlyBuckets = builder.monthlyBuckets;
+            this.cells = builder.cells;
+            this.cellSizeDegrees = builder.cellSizeDegrees;
+            this.classCount = builder.classCount;
+        }
+
+        List<UpcomingCourseResponse> query(double latitude, double longitude, double radiusKm,
+                                           LocalDateTime from, LocalDateTime to, int limit) {
+            Map<Integer, Double> nearby = nearby(latitude, longitude, radiusKm);
+            if (nearby.isEmpty()) {
+                return List.of();
+            }
+            List<UpcomingCourseResponse> matches = new ArrayList<>();
+            for (LocalDate date = from.toLocalDate(); !date.isAfter(to.toLocalDate()); date = date.plusDays(1)) {
+                int fromMinute = date.equals(from.toLocalDate()) ? minuteOfDay(from.toLocalTime()) : 0;
+                int toMinute = date.equals(to.toLocalDate()) ? minuteOfDay(to.toLocalTime()) : MINUTES_PER_DAY - 1;
+                int weekDayOffset = (date.getDayOfWeek().getValue() - 1) * BUCKETS_PER_DAY;
+                int monthDayOffset = (date.getDayOfMonth() - 1) * BUCKETS_PER_DAY;
+                for (int bucket = fromMinute / BUCKET_MINUTES; bucket <= toMinute / BUCKET_MINUTES; bucket++) {
+                    collect(weeklyBuckets.get(weekDayOffset + bucket), date, fromMinute, toMinute, nearby, matches);
+                    collect(monthlyBuckets.get(monthDayOffset + bucket), date, fromMinute, toMinute, nearby, matches);
+                }
+            }
+            matches.sort(SOONEST_NEAREST);
+            return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+        }
+
+        private void collect(List<IndexedClass> bucket, LocalDate date, int fromMinute, int toMinute,
+                             Map<Integer, Double> nearby, List<UpcomingCourseResponse> matches) {
+            for (IndexedClass indexedClass : bucket) {
+                Double distance = nearby.get(indexedClass.course());
+                if (distance == null || indexedClass.startMinute() < fromMinute || indexedClass.startMinute() > toMinute) {
+                    continue;
+                }
+                IndexedCourse course = courses.get(indexedClass.course());
+                if (!ScheduleExpander.isActive(date.getMonth(), course.activeStart(), course.activeEnd())
+                        || course.cancelledDates().contains(date)) {
+                    continue;
+                }
+                matches.add(UpcomingCourseResponse.builder()
+                        .courseId(course.id())
+                        .courseName(course.name())
+                        .lyceumId(course.lyceumId())
+                        .lyceumName(course.lyceumName())
+                        .date(date)
+                        .startTime(indexedClass.startTime())
+                        .endTime(indexedClass.endTime())
+                        .distanceKm(Math.round(distance * 100.0) / 100.0)
+                        .build());
+            }
+        }
+
+        /**
+         * Courses within the radius keyed by index, with their distance; only grid cells overlapping
+         * the bounding box of the circle are visited.
+         */
+        private Map<Integer, Double> nearby(double latitude, double longitude, double radiusKm) {
+            double latitudeDelta = radiusKm / KM_PER_DEGREE;
+            double cosine = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+            double longitudeDelta = Math.min(180.0, radiusKm / (KM_PER_DEGREE * cosine));
+            int minLatitudeCell = cell(Math.max(-90.0, latitude - latitudeDelta));
+            int maxLatitudeCell = cell(Math.min(90.0, latitude + latitudeDelta));
+            int minLongitudeCell = cell(longitude - longitudeDelta);
+            int maxLongitudeCell = cell(longitude + longitudeDelta);
+            Map<Integer, Double> nearby = new HashMap<>();
+            for (int latitudeCell = minLatitudeCell; latitudeCell <= maxLatitudeCell; latitudeCell++) {
+                for (int longitudeCell = minLongitudeCell; longitudeCell <= maxLongitudeCell; longitudeCell++) {
+                    List<Integer> members = cells.get(cellKey(latitudeCell, wrapLongitudeCell(longitudeCell)));
+                    if (members == null) {
+                        continue;
+                    }
+                    for (int member : members) {
+                        IndexedCourse course = courses.get(member);
+                        double distance = distanceKm(latitude, longitude, course.latitude(), course.longitude());
+                        if (distance <= radiusKm) {
+                            nearby.put(member, distance);
+                        }
+                    }
+                }
+            }
+            return nearby;
+        }
+
+        private int cell(double degrees) {
+            return (int) Math.floor(degrees / cellSizeDegrees);
+        }
+
+        private int wrapLongitudeCell(int longitudeCell) {
+            int cellsAround = (int) Math.round(360.0 / cellSizeDegrees);
+            int offset = (int) Math.floor(-180.0 / cellSizeDegrees);
+            return Math.floorMod(longitudeCell - offset, cellsAround) + offset;
+        }
+
+        private static long cellKey(int latitudeCell, int longitudeCell) {
+            return ((long) latitudeCell << 32) | (longitudeCell & 0xffffffffL);
+        }
+
+        private static int minuteOfDay(LocalTime time) {
+            return time.getHour() * 60 + time.getMinute();
+        }
+
+        static double distanceKm(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+            double latitudeDelta = Math.toRadians(toLatitude - fromLatitude);
+            double longitudeDelta = Math.toRadians(toLongitude - fromLongitude);
+            double a = Math.sin(latitudeDelta / 2) * Math.sin(latitudeDelta / 2)
+                    + Math.cos(Math.toRadians(fromLatitude)) * Math.cos(Math.toRadians(toLatitude))
+                    * Math.sin(longitudeDelta / 2) * Math.sin(longitudeDelta / 2);
+            return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+        }
+
+        static final class Builder {
+            private final double cellSizeDegrees;
+            private final List<IndexedCourse> courses = new ArrayList<>();
+            private final List<List<IndexedClass>> weeklyBuckets = buckets(7);
+            private final List<List<IndexedClass>> monthlyBuckets = buckets(31);
+            private final Map<Long, List<Integer>> cells = new HashMap<>();
+            private int classCount;
+
+            Builder(double cellSizeDegrees) {
+                this.cellSizeDegrees = cellSizeDegrees;
+            }
+
+            void add(Course course, CourseRepository.CourseLocation location) {
+                if (location == null || course.getSchedule() == null || course.getSchedule().getSlots() == null) {
+                    return;
+                }
+                int courseIndex = courses.size();
+                boolean indexed = false;
+                for (CourseScheduleSlot slot : course.getSchedule().getSlots()) {
+                    List<List<IndexedClass>> target;
+                    int dayOffset;
+                    if (slot == null || slot.getRecurrence() == null) {
+                        continue;
+                    }
+                    switch (slot.getRecurrence()) {
+                        case WEEKLY -> {
+                            if (slot.getDayOfWeek() == null) {
+                                continue;
+                            }
+                            target = weeklyBuckets;
+                            dayOffset = (slot.getDayOfWeek().getValue() - 1) * BUCKETS_PER_DAY;
+                        }
+                        case MONTHLY -> {
+                            if (slot.getDayOfMonth() == null || slot.getDayOfMonth() < 1 || slot.getDayOfMonth() > 31) {
+                                continue;
+                            }
+                            target = monthlyBuckets;
+                            dayOffset = (slot.getDayOfMonth() - 1) * BUCKETS_PER_DAY;
+                        }
+                        default -> {
+                            continue;
+                        }
+                    }
+                    for (ScheduleExpander.Session session : ScheduleExpander.sessionsOf(slot)) {
+                        int startMinute = minuteOfDay(session.startTime());
+                        target.get(dayOffset + startMinute / BUCKET_MINUTES)
+                                .add(new IndexedClass(courseIndex, startMinute, session.startTime(), session.endTime()));
+                        classCount++;
+                        indexed = true;
+                    }
+                }
+                if (!indexed) {
+                    return;
+                }
+                courses.add(new IndexedCourse(
+                        course.getId(),
+                        course.getName(),
+                        location.getLyceumId(),
+                        location.getLyceumName(),
+                        location.getLatitude(),
+                        location.getLongitude(),
+                        course.getActiveStartMonth(),
+                        course.getActiveEndMonth(),
+                        ScheduleExpander.cancelledDates(course.getSchedule())
+                ));
+                long key = cellKey(
+                        (int) Math.floor(location.getLatitude() / cellSizeDegrees),
+                        (int) Math.floor(location.getLongitude() / cellSizeDegrees));
+                cells.computeIfAbsent(key, ignored -> new ArrayList<>()).add(courseIndex);
+            }
+
+            Index build() {
+                return new Index(this);
+            }
+
+            private static List<List<IndexedClass>> buckets(int days) {
+                List<List<IndexedClass>> buckets = new ArrayList<>(days * BUCKETS_PER_DAY);
+                for (int bucket = 0; bucket < days * BUCKETS_PER_DAY; bucket++) {
+                    buckets.add(new ArrayList<>());
+                }
+                return buckets;
+            }
+        }
+    }
+}
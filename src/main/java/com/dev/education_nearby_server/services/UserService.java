@@ -1,5 +1,7 @@
 package com.dev.education_nearby_server.services;
 
+import com.dev.education_nearby_server.config.AuthenticatedUser;
+import com.dev.education_nearby_server.config.AuthenticatedUserCache;
 import com.dev.education_nearby_server.config.S3Properties;
 import com.dev.education_nearby_server.enums.ImageRole;
 import com.dev.education_nearby_server.enums.Role;
@@ -13,16 +15,20 @@ import com.dev.education_nearby_server.models.dto.auth.ChangePasswordRequest;
 import com.dev.education_nearby_server.models.dto.request.UserImageRequest;
 import com.dev.education_nearby_server.models.dto.request.UserRoleUpdateRequest;
 import com.dev.education_nearby_server.models.dto.request.UserUpdateRequest;
+import com.dev.education_nearby_server.models.dto.response.CalendarTokenResponse;
 import com.dev.education_nearby_server.models.dto.response.UserImageResponse;
 import com.dev.education_nearby_server.models.dto.response.UserResponse;
 import com.dev.education_nearby_server.models.entity.UserImage;
 import com.dev.education_nearby_server.models.entity.User;
+import com.dev.education_nearby_server.repositories.CourseRepository;
+import com.dev.education_nearby_server.repositories.LyceumRepository;
 import com.dev.education_nearby_server.repositories.ReviewRepository;
 import com.dev.education_nearby_server.repositories.TokenRepository;
 import com.dev.education_nearby_server.repositories.UserImageRepository;
 import com.dev.education_nearby_server.repositories.UserReviewRepository;
 import com.dev.education_nearby_server.repositories.UserRepository;
 import com.dev.education_nearby_server.utils.S3ImageLocationResolver;
+import com.dev.education_nearby_server.utils.TokenDigests;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -34,6 +40,8 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.security.Principal;
+import java.security.SecureRandom;
+import java.util.Base64;
 import java.util.List;
 
 /**
@@ -45,14 +53,20 @@ public class UserService {
 
     private final PasswordEncoder passwordEncoder;
     private final UserRepository repository;
+    private final CourseRepository courseRepository;
+    private final LyceumRepository lyceumRepository;
     private final UserReviewRepository userReviewRepository;
     private final ReviewRepository reviewRepository;
     private final TokenRepository tokenRepository;
     private final UserImageRepository userImageRepository;
     private final S3Properties s3Properties;
+    private final AuthenticatedUserCache authenticatedUserCache;
+    private final CalendarFeedService calendarFeedService;
+    private final SecureRandom secureRandom = new SecureRandom();
     private static final String NOT_FOUND = " not found.";
     private static final String PROFILE_IMAGE_MESSAGE = "You can only manage your own profile image.";
     private static final String PROFILE_IMAGE_USER = "Profile image for user ";
+    private static final int CALENDAR_TOKEN_BYTES = 32;
 
     /**
      * Returns users in the system as a paginated result. Intended for administrative dashboards.
@@ -134,13 +148,20 @@ public class UserService {
         ensureEmailNotTaken(normalizedEmail, targetUser.getId());
         ensureUsernameNotTaken(normalizedUsername, targetUser.getId());
 
+        String previousEmail = targetUser.getEmail();
+        String previousUsername = targetUser.getUsername();
         targetUser.setFirstname(trimToNull(request.getFirstname()));
         targetUser.setLastname(trimToNull(request.getLastname()));
         targetUser.setEmail(normalizedEmail);
         targetUser.setUsername(normalizedUsername);
         targetUser.setDescription(trimToNull(request.getDescription()));
+        if (request.getNotificationFrequency() != null) {
+            targetUser.setNotificationFrequency(request.getNotificationFrequency());
+        }
 
         User saved = repository.save(targetUser);
+        authenticatedUserCache.evict(previousEmail, previousUsername);
+        evictCachedPrincipal(saved);
         return mapToResponse(saved);
     }
 
@@ -161,11 +182,38 @@ public class UserService {
         targetUser.setRole(request.getRole());
 
         User saved = repository.save(targetUser);
+        evictCachedPrincipal(saved);
         return mapToResponse(saved);
     }
 
     /**
-     * Deletes a user account and related auth/review records.
+     * Issues a new secret for the user's calendar feed URL, replacing any earlier one.
+     * Only a digest is stored, so the token can be shown once and never read back.
+     *
+     * @param userId target user identifier
+     * @param connectedUser authenticated principal performing the operation
+     * @return the raw token and the feed path it unlocks
+     */
+    @Transactional
+    public CalendarTokenResponse issueCalendarToken(Long userId, Principal connectedUser) {
+        User targetUser = requireUser(userId);
+        User actor = resolveUser(connectedUser);
+        ensureCanManageUser(targetUser.getId(), actor, "You can only manage your own calendar feed.");
+
+        byte[] secret = new byte[CALENDAR_TOKEN_BYTES];
+        secureRandom.nextBytes(secret);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+        targetUser.setCalendarTokenHash(TokenDigests.sha256(token));
+        repository.save(targetUser);
+        calendarFeedService.evict(targetUser.getId());
+        return CalendarTokenResponse.builder()
+                .token(token)
+                .feedPath("/api/v1/users/" + targetUser.getId() + "/calendar.ics?token=" + token)
+                .build();
+    }
+
+    /**
+     * Deletes a user account and related auth/review records, taking its subscriptions out of the counters.
      * Allowed for the user themself and global admins.
      *
      * @param userId target user identifier
@@ -179,7 +227,10 @@ public class UserService {
 
         tokenRepository.deleteAllByUser_Id(targetUser.getId());
         reviewRepository.deleteAllByUser_Id(targetUser.getId());
+        courseRepository.decrementSubscriberCountsOfUser(targetUser.getId());
+        lyceumRepository.decrementSubscriberCountsOfUser(targetUser.getId());
         repository.delete(targetUser);
+        evictCachedPrincipal(targetUser);
     }
 
     /**
@@ -208,6 +259,7 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
 
         repository.save(user);
+        evictCachedPrincipal(user);
     }
 
     /**
@@ -325,14 +377,17 @@ public class UserService {
         if (!(connectedUser instanceof UsernamePasswordAuthenticationToken authToken)) {
             throw new UnauthorizedException("You must be authenticated to perform this action.");
         }
-        Object principal = authToken.getPrincipal();
-        if (!(principal instanceof User user)) {
-            throw new UnauthorizedException("You must be authenticated to perform this action.");
-        }
-        return repository.findById(user.getId())
+        AuthenticatedUser principal = AuthenticatedUser.fromPrincipal(authToken.getPrincipal())
+                .orElseThrow(() -> new UnauthorizedException("You must be authenticated to perform this action."));
+        return repository.findById(principal.getId())
                 .orElseThrow(() -> new UnauthorizedException("User not found."));
     }
 
+    private void evictCachedPrincipal(User user) {
+        // The principal cache may be keyed by either identifier, since the token subject resolves both
+        authenticatedUserCache.evict(user.getEmail(), user.getUsername());
+    }
+
     private UserResponse mapToResponse(User user) {
         return UserResponse.builder()
                 .id(user.getId())
@@ -348,6 +403,7 @@ public class UserService {
                 .lecturedLyceumIds(extractLecturedLyceumIds(user))
                 .enabled(user.isEnabled())
                 .averageRating(userReviewRepository.findAverageRatingByReviewedUserId(user.getId()))
+                .notificationFrequency(user.getNotificationFrequency())
                 .build();
     }
 
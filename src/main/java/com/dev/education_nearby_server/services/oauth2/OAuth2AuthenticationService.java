@@ -227,16 +227,17 @@ public class OAuth2AuthenticationService {
         if (!StringUtils.hasText(token)) {
             throw new UnauthorizedException("Missing registration token.");
         }
-        Claims claims;
+        JwtService.ParsedToken parsedToken;
         try {
-            claims = jwtService.extractAllClaims(token);
+            parsedToken = jwtService.parseToken(token);
         } catch (Exception ex) {
             throw new UnauthorizedException("Invalid registration token.");
         }
+        Claims claims = parsedToken.claims();
         if (!REGISTRATION_TOKEN_TYPE.equals(claims.get("type", String.class))) {
             throw new UnauthorizedException("Invalid registration token.");
         }
-        if (jwtService.isTokenExpired(token)) {
+        if (parsedToken.isExpired()) {
             throw new UnauthorizedException("Registration token expired.");
         }
         String providerValue = claims.get("provider", String.class);
@@ -0,0 +1,110 @@
+package com.dev.education_nearby_server.utils;
+
+import com.dev.education_nearby_server.exceptions.common.BadRequestException;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Response properties requested through a {@code fields=} query parameter (sparse fieldsets).
+ * Mappers consult it to skip lookups for properties that are not requested, and {@link #wrap}
+ * limits the serialised JSON to the same properties. {@code id} is always included.
+ * Response classes opt in with {@code @JsonFilter(FieldSelection.FILTER_ID)}.
+ */
+public final class FieldSelection {
+
+    public static final String FILTER_ID = "fieldSelection";
+
+    private static final String ID = "id";
+    private static final FieldSelection ALL = new FieldSelection(null);
+    private static final Map<Class<?>, Set<String>> PROPERTIES = new ConcurrentHashMap<>();
+
+    private final Set<String> names;
+
+    private FieldSelection(Set<String> names) {
+        this.names = names;
+    }
+
+    /**
+     * Selection that keeps every property; used when no {@code fields} parameter is sent.
+     */
+    public static FieldSelection all() {
+        return ALL;
+    }
+
+    /**
+     * Parses a comma-separated list of property names of {@code responseType}.
+     *
+     * @param fields raw query parameter, may be null or blank
+     * @param responseType response class whose properties may be requested
+     * @return the selection, or {@link #all()} when nothing was requested
+     * @throws BadRequestException when a name is not a property of the response
+     */
+    public static FieldSelection parse(String fields, Class<?> responseType) {
+        if (!StringUtils.hasText(fields)) {
+            return ALL;
+        }
+        Set<String> known = PROPERTIES.computeIfAbsent(responseType, FieldSelection::propertiesOf);
+        Set<String> names = new LinkedHashSet<>();
+        names.add(ID);
+        for (String candidate : fields.split(",")) {
+            String name = candidate.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!known.contains(name)) {
+                throw new BadRequestException("Unknown field '" + name + "'. Supported fields: "
+                        + String.join(", ", new TreeSet<>(known)) + ".");
+            }
+            names.add(name);
+        }
+        return new FieldSelection(Set.copyOf(names));
+    }
+
+    public boolean includes(String name) {
+        return names == null || names.contains(name);
+    }
+
+    /**
+     * Wraps a response body so that only the selected properties of filtered classes are written.
+     */
+    public MappingJacksonValue wrap(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(new SimpleFilterProvider().addFilter(FILTER_ID, names == null
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(names)));
+        return value;
+    }
+
+    private static Set<String> propertiesOf(Class<?> type) {
+        Set<String> properties = new LinkedHashSet<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    properties.add(field.getName());
+                }
+            }
+        }
+        return Set.copyOf(properties);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof FieldSelection selection && Objects.equals(names, selection.names);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(names);
+    }
+}
@@ -0,0 +1,137 @@
+package com.dev.education_nearby_server.utils;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Uploads whatever is written to it as an S3 multipart upload, holding at most one part in memory.
+ * {@link #close()} completes the upload; after {@link #abort()} further writes are discarded and
+ * the parts already sent are deleted.
+ */
+public class S3MultipartUploadOutputStream extends OutputStream {
+
+    /**
+     * Smallest part S3 accepts, except for the last one.
+     */
+    public static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    /**
+     * Largest part buffered before it is sent; one part is held in memory per upload.
+     */
+    public static final int MAX_PART_SIZE = 256 * 1024 * 1024;
+
+    private final S3Client s3Client;
+    private final String bucket;
+    private final String key;
+    private final String uploadId;
+    private final byte[] part;
+    private final List<CompletedPart> completedParts = new ArrayList<>();
+    private int partLength;
+    private boolean closed;
+
+    /**
+     * Starts the multipart upload.
+     *
+     * @param partSize bytes per part; clamped to {@link #MIN_PART_SIZE} and {@link #MAX_PART_SIZE}
+     */
+    public S3MultipartUploadOutputStream(
+            S3Client s3Client,
+            CreateMultipartUploadRequest request,
+            long partSize
+    ) {
+        this.s3Client = s3Client;
+        this.bucket = request.bucket();
+        this.key = request.key();
+        this.uploadId = s3Client.createMultipartUpload(request).uploadId();
+        this.part = new byte[Math.clamp(partSize, MIN_PART_SIZE, MAX_PART_SIZE)];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (closed) {
+            return;
+        }
+        part[partLength++] = (byte) b;
+        if (partLength == part.length) {
+            uploadPart();
+        }
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (closed) {
+            return;
+        }
+        while (length > 0) {
+            int copied = Math.min(length, part.length - partLength);
+            System.arraycopy(bytes, offset, part, partLength, copied);
+            partLength += copied;
+            offset += copied;
+            length -= copied;
+            if (partLength == part.length) {
+                uploadPart();
+            }
+        }
+    }
+
+    /**
+     * Sends the buffered part, which becomes the last one, and completes the upload.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        if (partLength > 0 || completedParts.isEmpty()) {
+            uploadPart();
+        }
+        s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                .build());
+        closed = true;
+    }
+
+    /**
+     * Abandons the upload so S3 drops the parts already sent. Safe to call more than once.
+     */
+    public void abort() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .build());
+    }
+
+    private void uploadPart() {
+        int partNumber = completedParts.size() + 1;
+        String eTag = s3Client.uploadPart(UploadPartRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength((long) partLength)
+                        .build(),
+                RequestBody.fromInputStream(new ByteArrayInputStream(part, 0, partLength), partLength)).eTag();
+        completedParts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+        partLength = 0;
+    }
+}
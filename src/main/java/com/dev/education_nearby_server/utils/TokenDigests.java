@@ -0,0 +1,71 @@
+package com.dev.education_nearby_server.utils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes the fixed-width digests under which issued tokens and codes are stored and looked up.
+ * Tokens are keyed with a server-side secret so that short values such as six-digit reset codes
+ * cannot be recovered from a leaked column by hashing every candidate.
+ */
+public class TokenDigests {
+
+    /**
+     * Digest length in bytes, matching the {@code BINARY(32)} token_hash column.
+     */
+    public static final int LENGTH = 32;
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private static volatile SecretKeySpec secretKey;
+
+    private TokenDigests() {
+    }
+
+    /**
+     * Installs the secret that keys {@link #hmac(String)}. Called once at startup.
+     *
+     * @param secret server-side secret; must not be blank
+     */
+    public static void useSecret(String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalArgumentException("Token digest secret must not be blank");
+        }
+        secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    }
+
+    /**
+     * Returns the HMAC-SHA256 of the UTF-8 bytes of the raw token under the configured secret.
+     *
+     * @throws IllegalStateException when no secret has been installed
+     */
+    public static byte[] hmac(String rawToken) {
+        SecretKeySpec key = secretKey;
+        if (key == null) {
+            throw new IllegalStateException("Token digest secret is not configured");
+        }
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(rawToken.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", ex);
+        }
+    }
+
+    /**
+     * Returns the unkeyed SHA-256 digest of the UTF-8 bytes of the value.
+     * Only suitable for high-entropy values and content fingerprints.
+     */
+    public static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
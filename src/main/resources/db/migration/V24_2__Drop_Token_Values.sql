@@ -0,0 +1,7 @@
+ALTER TABLE tokens
+    MODIFY COLUMN token_hash BINARY(32) NOT NULL;
+
+CREATE UNIQUE INDEX uq_tokens_token_hash ON tokens (token_hash);
+
+ALTER TABLE tokens
+    DROP COLUMN token_value;
@@ -0,0 +1,2 @@
+ALTER TABLE tokens
+    ADD COLUMN token_hash BINARY(32) NULL;
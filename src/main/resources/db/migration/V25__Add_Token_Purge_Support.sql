@@ -0,0 +1,13 @@
+CREATE INDEX idx_tokens_user_active ON tokens (user_id, expired, revoked);
+CREATE INDEX idx_tokens_created_at ON tokens (created_at);
+
+CREATE TABLE scheduler_locks (
+    name VARCHAR(64) NOT NULL,
+    locked_until DATETIME NOT NULL,
+    locked_at DATETIME NOT NULL,
+    locked_by VARCHAR(255) NOT NULL,
+    PRIMARY KEY (name)
+);
+
+INSERT INTO scheduler_locks (name, locked_until, locked_at, locked_by)
+VALUES ('token-purge', '1970-01-01 00:00:00', '1970-01-01 00:00:00', 'init');
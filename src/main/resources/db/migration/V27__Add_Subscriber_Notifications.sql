@@ -0,0 +1,28 @@
+ALTER TABLE _users ADD COLUMN notification_frequency VARCHAR(16) NOT NULL DEFAULT 'IMMEDIATE';
+
+CREATE TABLE subscriber_notifications (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    course_id BIGINT NOT NULL,
+    type VARCHAR(32) NOT NULL,
+    dedup_key VARCHAR(64) NOT NULL,
+    summary VARCHAR(512) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    created_at DATETIME NOT NULL,
+    sent_at DATETIME,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_subscriber_notifications_user
+        FOREIGN KEY (user_id)
+        REFERENCES _users(id)
+        ON DELETE CASCADE,
+    CONSTRAINT fk_subscriber_notifications_course
+        FOREIGN KEY (course_id)
+        REFERENCES courses(id)
+        ON DELETE CASCADE
+);
+
+CREATE UNIQUE INDEX uq_subscriber_notifications_dedup ON subscriber_notifications (user_id, course_id, type, dedup_key);
+CREATE INDEX idx_subscriber_notifications_status_user ON subscriber_notifications (status, user_id);
+
+INSERT INTO scheduler_locks (name, locked_until, locked_at, locked_by)
+VALUES ('subscriber-digest', '1970-01-01 00:00:00', '1970-01-01 00:00:00', 'init');
@@ -0,0 +1,2 @@
+ALTER TABLE courses
+    ADD COLUMN schedule_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,2 @@
+ALTER TABLE _users
+    ADD COLUMN calendar_token_hash BINARY(32) NULL;
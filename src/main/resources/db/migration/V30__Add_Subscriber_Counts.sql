@@ -0,0 +1,25 @@
+ALTER TABLE courses
+    ADD COLUMN subscriber_count BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE lyceums
+    ADD COLUMN subscriber_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE courses c
+SET subscriber_count = (
+    SELECT COUNT(*)
+    FROM user_course_subscriptions s
+    WHERE s.course_id = c.id
+);
+
+UPDATE lyceums l
+SET subscriber_count = (
+    SELECT COUNT(*)
+    FROM user_lyceum_subscriptions s
+    WHERE s.lyceum_id = l.id
+);
+
+CREATE INDEX idx_courses_subscriber_count ON courses (subscriber_count);
+CREATE INDEX idx_lyceums_status_subscriber_count ON lyceums (verification_status, subscriber_count);
+
+INSERT INTO scheduler_locks (name, locked_until, locked_at, locked_by)
+VALUES ('subscriber-count-reconcile', '1970-01-01 00:00:00', '1970-01-01 00:00:00', 'init');
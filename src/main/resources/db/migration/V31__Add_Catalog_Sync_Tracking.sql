@@ -0,0 +1,26 @@
+ALTER TABLE lyceums
+    ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+ALTER TABLE courses
+    ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+ALTER TABLE lyceum_images
+    ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+ALTER TABLE course_images
+    ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+CREATE INDEX idx_lyceums_updated_at_id ON lyceums (updated_at, id);
+CREATE INDEX idx_courses_updated_at_id ON courses (updated_at, id);
+CREATE INDEX idx_lyceum_images_updated_at_id ON lyceum_images (updated_at, id);
+CREATE INDEX idx_course_images_updated_at_id ON course_images (updated_at, id);
+
+CREATE TABLE sync_tombstones (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    entity_type VARCHAR(16) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    deleted_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_sync_tombstones_deleted_at_id ON sync_tombstones (deleted_at, id);
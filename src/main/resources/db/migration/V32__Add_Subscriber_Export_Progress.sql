@@ -0,0 +1,8 @@
+ALTER TABLE subscriber_export_jobs
+    ADD COLUMN rows_total BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE subscriber_export_jobs
+    ADD COLUMN rows_written BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE subscriber_export_jobs
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
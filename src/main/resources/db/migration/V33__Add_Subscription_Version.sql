@@ -0,0 +1,11 @@
+ALTER TABLE courses
+    ADD COLUMN subscription_version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE lyceums
+    ADD COLUMN subscription_version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE subscriber_export_jobs
+    ADD COLUMN subscription_version BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_subscriber_export_jobs_reuse
+    ON subscriber_export_jobs (export_scope, target_id, export_format, export_status);
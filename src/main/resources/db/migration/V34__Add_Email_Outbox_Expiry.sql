@@ -0,0 +1,9 @@
+ALTER TABLE email_outbox
+    ADD COLUMN expires_at DATETIME NULL;
+
+CREATE INDEX idx_email_outbox_status_updated ON email_outbox (status, updated_at);
+
+UPDATE email_outbox
+SET payload = JSON_REMOVE(payload, '$.token')
+WHERE status IN ('SENT', 'DEAD')
+  AND JSON_CONTAINS_PATH(payload, 'one', '$.token');
@@ -0,0 +1,5 @@
+ALTER TABLE subscriber_export_jobs
+    ADD COLUMN subscription_fingerprint BINARY(32) NULL;
+
+ALTER TABLE subscriber_export_jobs
+    DROP COLUMN subscription_version;
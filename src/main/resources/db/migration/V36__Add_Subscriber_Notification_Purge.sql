@@ -0,0 +1,4 @@
+CREATE INDEX idx_subscriber_notifications_status_created ON subscriber_notifications (status, created_at);
+
+INSERT INTO scheduler_locks (name, locked_until, locked_at, locked_by)
+VALUES ('subscriber-notification-purge', '1970-01-01 00:00:00', '1970-01-01 00:00:00', 'init');
@@ -0,0 +1,2 @@
+INSERT INTO scheduler_locks (name, locked_until, locked_at, locked_by)
+VALUES ('sync-tombstone-purge', '1970-01-01 00:00:00', '1970-01-01 00:00:00', 'init');
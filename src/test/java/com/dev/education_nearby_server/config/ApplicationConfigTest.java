@@ -132,8 +132,9 @@ class ApplicationConfigTest {
                 .withProperty("spring.mail.properties.mail.smtp.starttls.enable", "true")
                 .withProperty("spring.mail.properties.mail.debug", "false");
 
-        JavaMailSenderImpl sender = (JavaMailSenderImpl) config.javaMailSender(env);
+        JavaMailSenderImpl sender = (JavaMailSenderImpl) config.javaMailSender(env, new SmtpPoolProperties());
 
+        assertThat(sender).isInstanceOf(PooledJavaMailSender.class);
         assertThat(sender.getHost()).isEqualTo("smtp.example.com");
         assertThat(sender.getPort()).isEqualTo(587);
         assertThat(sender.getUsername()).isEqualTo("mailer");
@@ -148,7 +149,7 @@ class ApplicationConfigTest {
                 .withProperty("spring.mail.username", " ")
                 .withProperty("spring.mail.password", " ");
 
-        JavaMailSenderImpl sender = (JavaMailSenderImpl) config.javaMailSender(env);
+        JavaMailSenderImpl sender = (JavaMailSenderImpl) config.javaMailSender(env, new SmtpPoolProperties());
 
         assertThat(sender.getHost()).isNull();
         assertThat(sender.getUsername()).isNull();
@@ -0,0 +1,108 @@
+package com.dev.education_nearby_server.config;
+
+import com.dev.education_nearby_server.enums.Role;
+import com.dev.education_nearby_server.models.entity.Lyceum;
+import com.dev.education_nearby_server.models.entity.User;
+import com.dev.education_nearby_server.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticatedUserCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private AuthenticatedUserCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AuthenticatedUserCache(userRepository, new PrincipalCacheProperties());
+    }
+
+    @Test
+    void getLoadsSnapshotOnceAndServesRepeatedLookupsFromCache() {
+        Lyceum lyceum = new Lyceum();
+        lyceum.setId(9L);
+        User user = User.builder()
+                .id(3L)
+                .username("johnny")
+                .email("john@example.com")
+                .password("secret")
+                .role(Role.ADMIN)
+                .administratedLyceum(lyceum)
+                .enabled(true)
+                .build();
+        when(userRepository.findByEmail("johnny")).thenReturn(Optional.empty());
+        when(userRepository.findByUsername("johnny")).thenReturn(Optional.of(user));
+
+        AuthenticatedUser first = cache.get("johnny");
+        AuthenticatedUser second = cache.get("johnny");
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getId()).isEqualTo(3L);
+        assertThat(first.getUsername()).isEqualTo("johnny");
+        assertThat(first.getRole()).isEqualTo(Role.ADMIN);
+        assertThat(first.getAdministratedLyceumId()).isEqualTo(9L);
+        assertThat(first.isEnabled()).isTrue();
+        assertThat(first.getPassword()).isNull();
+        assertThat(first.getAuthorities()).extracting("authority").contains("ROLE_ADMIN");
+        verify(userRepository, times(1)).findByUsername("johnny");
+    }
+
+    @Test
+    void evictForcesReload() {
+        User user = User.builder().id(4L).username("anna").role(Role.USER).enabled(true).build();
+        User promoted = User.builder().id(4L).username("anna").role(Role.ADMIN).enabled(true).build();
+        when(userRepository.findByEmail("anna")).thenReturn(Optional.empty());
+        when(userRepository.findByUsername("anna")).thenReturn(Optional.of(user), Optional.of(promoted));
+
+        assertThat(cache.get("anna").getRole()).isEqualTo(Role.USER);
+        cache.evict("anna", null);
+
+        assertThat(cache.get("anna").getRole()).isEqualTo(Role.ADMIN);
+    }
+
+    @Test
+    void evictInsideTransactionWaitsForCommit() {
+        User user = User.builder().id(5L).username("mila").role(Role.USER).enabled(true).build();
+        User disabled = User.builder().id(5L).username("mila").role(Role.USER).enabled(false).build();
+        when(userRepository.findByEmail("mila")).thenReturn(Optional.empty());
+        when(userRepository.findByUsername("mila")).thenReturn(Optional.of(user), Optional.of(disabled));
+        assertThat(cache.get("mila").isEnabled()).isTrue();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evict("mila");
+            assertThat(cache.get("mila").isEnabled()).isTrue();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(cache.get("mila").isEnabled()).isFalse();
+    }
+
+    @Test
+    void getThrowsWhenUserMissing() {
+        when(userRepository.findByEmail("ghost")).thenReturn(Optional.empty());
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> cache.get("ghost"));
+    }
+}
@@ -24,6 +24,7 @@ class JwtServiceTest {
         ReflectionTestUtils.setField(jwtService, "jwtExpiration", 60_000L);
         ReflectionTestUtils.setField(jwtService, "refreshExpiration", 120_000L);
         ReflectionTestUtils.setField(jwtService, "oauth2RegistrationExpiration", 180_000L);
+        jwtService.init();
     }
 
     @Test
@@ -93,4 +94,48 @@ class JwtServiceTest {
                 .authorities("ROLE_USER")
                 .build()));
     }
+
+    @Test
+    void parseTokenReturnsSubjectExpirationAndClaimsTogether() {
+        UserDetails user = User.withUsername("parsed@example.com")
+                .password("pass")
+                .authorities("ROLE_USER")
+                .build();
+
+        String token = jwtService.generateToken(Map.of("scope", "api"), user);
+        JwtService.ParsedToken parsed = jwtService.parseToken(token);
+
+        assertThat(parsed.subject()).isEqualTo("parsed@example.com");
+        assertThat(parsed.expiration()).isNotNull();
+        assertThat(parsed.claims().get("scope", String.class)).isEqualTo("api");
+        assertThat(parsed.isExpired()).isFalse();
+        assertThat(parsed.isValidFor(user)).isTrue();
+    }
+
+    @Test
+    void parsedTokenIsNotValidForDifferentUser() {
+        UserDetails owner = User.withUsername("owner@example.com")
+                .password("pass")
+                .authorities("ROLE_USER")
+                .build();
+        UserDetails other = User.withUsername("other@example.com")
+                .password("pass")
+                .authorities("ROLE_USER")
+                .build();
+
+        JwtService.ParsedToken parsed = jwtService.parseToken(jwtService.generateToken(owner));
+
+        assertThat(parsed.isValidFor(other)).isFalse();
+    }
+
+    @Test
+    void parseTokenRejectsTokenSignedWithAnotherKey() {
+        JwtService otherService = new JwtService();
+        ReflectionTestUtils.setField(otherService, "secretKey", "ZmVkY2JhOTg3NjU0MzIxMGZlZGNiYTk4NzY1NDMyMTA=");
+        ReflectionTestUtils.setField(otherService, "jwtExpiration", 60_000L);
+        otherService.init();
+        String foreignToken = otherService.generateTokenWithSubject(Map.of(), "subject", 60_000L);
+
+        assertThrows(io.jsonwebtoken.security.SignatureException.class, () -> jwtService.parseToken(foreignToken));
+    }
 }
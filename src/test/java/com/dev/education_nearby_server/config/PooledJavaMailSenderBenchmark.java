@@ -0,0 +1,110 @@
+package com.dev.education_nearby_server.config;
+
+import com.dev.education_nearby_server.integration.support.SlowSmtpServer;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures messages per second sent to a local SMTP stand-in whose greeting is delayed to stand
+ * in for the TLS and AUTH handshake, comparing a connection per send with the pooled transport.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.dev.education_nearby_server.config.PooledJavaMailSenderBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PooledJavaMailSenderBenchmark {
+
+    private static final int BATCH_SIZE = 20;
+    private static final Duration HANDSHAKE_DELAY = Duration.ofMillis(20);
+
+    private SlowSmtpServer smtpServer;
+    private JavaMailSenderImpl connectionPerSend;
+    private PooledJavaMailSender pooled;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        smtpServer = SlowSmtpServer.start(HANDSHAKE_DELAY, Duration.ZERO);
+        connectionPerSend = configure(new JavaMailSenderImpl());
+        pooled = configure(new PooledJavaMailSender(new SmtpPoolProperties()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pooled.destroy();
+        smtpServer.close();
+    }
+
+    /**
+     * Previous behaviour: every email is an individual send on a fresh connection.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void sendEachOnNewConnection() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            connectionPerSend.send(message(connectionPerSend, i));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void sendBatchOnPooledConnections() {
+        MimeMessage[] batch = new MimeMessage[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch[i] = message(pooled, i);
+        }
+        pooled.send(batch);
+    }
+
+    private <T extends JavaMailSenderImpl> T configure(T sender) {
+        sender.setHost("localhost");
+        sender.setPort(smtpServer.getPort());
+        sender.getJavaMailProperties().put("mail.smtp.auth", "false");
+        return sender;
+    }
+
+    private static MimeMessage message(JavaMailSenderImpl sender, int index) {
+        MimeMessage message = sender.createMimeMessage();
+        try {
+            message.setFrom(new InternetAddress("noreply@example.com"));
+            message.setRecipient(Message.RecipientType.TO, new InternetAddress("user" + index + "@example.com"));
+            message.setSubject("Benchmark");
+            message.setText("Hello");
+        } catch (MessagingException e) {
+            throw new IllegalStateException(e);
+        }
+        return message;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PooledJavaMailSenderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
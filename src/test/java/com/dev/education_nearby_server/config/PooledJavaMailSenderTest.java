@@ -0,0 +1,97 @@
+package com.dev.education_nearby_server.config;
+
+import com.dev.education_nearby_server.integration.support.SlowSmtpServer;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PooledJavaMailSenderTest {
+
+    private SlowSmtpServer smtpServer;
+    private PooledJavaMailSender sender;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        smtpServer = SlowSmtpServer.start(Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (sender != null) {
+            sender.destroy();
+        }
+        smtpServer.close();
+    }
+
+    @Test
+    void reusesOneConnectionAcrossSeparateSends() throws Exception {
+        sender = sender(1, 100);
+
+        sender.send(message("first@example.com"));
+        sender.send(message("second@example.com"));
+        sender.send(message("third@example.com"));
+
+        assertThat(smtpServer.awaitMessages(3, Duration.ofSeconds(5))).isTrue();
+        assertThat(smtpServer.getConnectionCount()).isEqualTo(1);
+        assertThat(sender.getIdleConnectionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void retiresConnectionAfterMessageCap() throws Exception {
+        sender = sender(1, 2);
+
+        sender.send(IntStream.range(0, 5)
+                .mapToObj(i -> message("user" + i + "@example.com"))
+                .toArray(MimeMessage[]::new));
+
+        assertThat(smtpServer.awaitMessages(5, Duration.ofSeconds(5))).isTrue();
+        assertThat(smtpServer.getConnectionCount()).isEqualTo(3);
+    }
+
+    @Test
+    void replacesConnectionDroppedByServer() throws Exception {
+        sender = sender(1, 100);
+        sender.send(message("before@example.com"));
+        assertThat(smtpServer.awaitMessages(1, Duration.ofSeconds(5))).isTrue();
+
+        smtpServer.dropConnections();
+        sender.send(message("after@example.com"));
+
+        assertThat(smtpServer.awaitMessages(2, Duration.ofSeconds(5))).isTrue();
+        assertThat(smtpServer.getMessages().get(1).recipients()).containsExactly("after@example.com");
+        assertThat(smtpServer.getConnectionCount()).isEqualTo(2);
+    }
+
+    private PooledJavaMailSender sender(int size, int maxMessagesPerConnection) {
+        SmtpPoolProperties properties = new SmtpPoolProperties();
+        properties.setSize(size);
+        properties.setMaxMessagesPerConnection(maxMessagesPerConnection);
+        PooledJavaMailSender pooledSender = new PooledJavaMailSender(properties);
+        pooledSender.setHost("localhost");
+        pooledSender.setPort(smtpServer.getPort());
+        pooledSender.getJavaMailProperties().put("mail.smtp.auth", "false");
+        return pooledSender;
+    }
+
+    private MimeMessage message(String to) {
+        MimeMessage message = new MimeMessage(sender.getSession());
+        try {
+            message.setFrom(new InternetAddress("noreply@example.com"));
+            message.setRecipient(Message.RecipientType.TO, new InternetAddress(to));
+            message.setSubject("Pool test");
+            message.setText("Hello");
+        } catch (MessagingException e) {
+            throw new IllegalStateException(e);
+        }
+        return message;
+    }
+}
@@ -0,0 +1,106 @@
+package com.dev.education_nearby_server.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class RateLimitFilterTest {
+
+    private RateLimitProperties properties;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        RateLimitProperties.RouteGroup share = new RateLimitProperties.RouteGroup();
+        share.setPaths(List.of("/api/v1/lyceums/*/share", "/api/v1/courses/*/share"));
+        share.setMethods(List.of("POST"));
+        share.setCapacity(1);
+        share.setWindow(Duration.ofMinutes(1));
+        properties.getGroups().put("share", share);
+        filter = new RateLimitFilter(new RateLimiter(properties), properties, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    void rejectsWithRetryAfterOnceBucketIsEmpty() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/v1/courses/5/share"), first, chain);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/v1/lyceums/7/share"), second, chain);
+
+        verify(chain, times(1)).doFilter(any(), any());
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(second.getHeader("Retry-After"))).isBetween(1L, 60L);
+        assertThat(second.getContentAsString()).contains("Too many requests");
+    }
+
+    @Test
+    void matchesPercentEncodedPathsAfterDecoding() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilter(request("POST", "/api/v1/courses/5/share"), new MockHttpServletResponse(), chain);
+        MockHttpServletResponse encoded = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/v1/%63ourses/5/sh%61re"), encoded, chain);
+
+        verify(chain, times(1)).doFilter(any(), any());
+        assertThat(encoded.getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void ignoresRequestsOutsideConfiguredGroups() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+
+        for (int i = 0; i < 5; i++) {
+            filter.doFilter(request("GET", "/api/v1/courses/5/share"), new MockHttpServletResponse(), chain);
+            filter.doFilter(request("POST", "/api/v1/courses"), new MockHttpServletResponse(), chain);
+        }
+
+        verify(chain, times(10)).doFilter(any(), any());
+    }
+
+    @Test
+    void limitsEachClientSeparately() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+        MockHttpServletRequest otherClient = request("POST", "/api/v1/courses/5/share");
+        otherClient.setRemoteAddr("10.0.0.2");
+
+        filter.doFilter(request("POST", "/api/v1/courses/5/share"), new MockHttpServletResponse(), chain);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(otherClient, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        verify(chain, times(2)).doFilter(any(), any());
+    }
+
+    @Test
+    void passesEverythingThroughWhenDisabled() throws Exception {
+        properties.setEnabled(false);
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilter(request("POST", "/api/v1/courses/5/share"), new MockHttpServletResponse(), chain);
+        filter.doFilter(request("POST", "/api/v1/courses/5/share"), new MockHttpServletResponse(), chain);
+
+        verify(chain, times(2)).doFilter(any(), any());
+    }
+
+    private MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+}
@@ -0,0 +1,63 @@
+package com.dev.education_nearby_server.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(0);
+
+    private RateLimiter limiter(long maxKeys) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxTrackedKeys(maxKeys);
+        return new RateLimiter(properties, clock::get);
+    }
+
+    @Test
+    void allowsBurstUpToCapacityThenReportsWait() {
+        RateLimiter limiter = limiter(100);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("auth|1.1.1.1", 3, Duration.ofSeconds(3))).isZero();
+        }
+        long wait = limiter.tryAcquire("auth|1.1.1.1", 3, Duration.ofSeconds(3));
+
+        assertThat(wait).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void refillsPermitsOverTime() {
+        RateLimiter limiter = limiter(100);
+        limiter.tryAcquire("k", 1, Duration.ofSeconds(10));
+        assertThat(limiter.tryAcquire("k", 1, Duration.ofSeconds(10))).isPositive();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        assertThat(limiter.tryAcquire("k", 1, Duration.ofSeconds(10))).isZero();
+    }
+
+    @Test
+    void keysAreIndependent() {
+        RateLimiter limiter = limiter(100);
+        limiter.tryAcquire("auth|1.1.1.1", 1, Duration.ofMinutes(1));
+
+        assertThat(limiter.tryAcquire("auth|2.2.2.2", 1, Duration.ofMinutes(1))).isZero();
+        assertThat(limiter.tryAcquire("share|1.1.1.1", 1, Duration.ofMinutes(1))).isZero();
+    }
+
+    @Test
+    void trackedKeysStayBounded() {
+        RateLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 1_000; i++) {
+            limiter.tryAcquire("auth|10.0.0." + i, 5, Duration.ofMinutes(1));
+        }
+
+        assertThat(limiter.trackedKeys()).isLessThanOrEqualTo(10);
+    }
+}
@@ -0,0 +1,192 @@
+package com.dev.education_nearby_server.config;
+
+import com.dev.education_nearby_server.enums.AgeGroup;
+import com.dev.education_nearby_server.enums.CourseExecutionType;
+import com.dev.education_nearby_server.enums.CourseType;
+import com.dev.education_nearby_server.enums.ImageRole;
+import com.dev.education_nearby_server.enums.ScheduleRecurrence;
+import com.dev.education_nearby_server.enums.VerificationStatus;
+import com.dev.education_nearby_server.models.dto.response.CourseFilterResponse;
+import com.dev.education_nearby_server.models.dto.response.CourseImageResponse;
+import com.dev.education_nearby_server.models.dto.response.LyceumImageResponse;
+import com.dev.education_nearby_server.models.dto.response.LyceumResponse;
+import com.dev.education_nearby_server.models.entity.CourseSchedule;
+import com.dev.education_nearby_server.models.entity.CourseScheduleSlot;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares serialisation time of the catalog responses as JSON, CBOR and Smile, using the
+ * application {@link ObjectMapper} and the binary mappers derived from it.
+ * {@code lyceums} mirrors {@code GET /api/v1/lyceums} and {@code courses} a page of
+ * {@code GET /api/v1/courses/filter}. Payload sizes are printed before the run.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.dev.education_nearby_server.config.ResponseEncodingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    private static final int LYCEUMS = 500;
+    private static final int COURSES_PAGE_SIZE = 50;
+    private static final String[] TOWNS = {"Sofia", "Plovdiv", "Varna", "Burgas", "Ruse", "Stara Zagora"};
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"lyceums", "courses"})
+    public String catalog;
+
+    private ObjectMapper mapper;
+    private Object body;
+
+    @Setup
+    public void setUp() {
+        mapper = mapper(format);
+        body = "lyceums".equals(catalog) ? lyceumCatalog() : courseCatalog();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(body);
+    }
+
+    private static ObjectMapper mapper(String format) {
+        ObjectMapper objectMapper = new ApplicationConfig(null).objectMapper();
+        return switch (format) {
+            case "cbor" -> HttpEncodingConfiguration.cborMapper(objectMapper);
+            case "smile" -> HttpEncodingConfiguration.smileMapper(objectMapper);
+            default -> objectMapper;
+        };
+    }
+
+    private static List<LyceumResponse> lyceumCatalog() {
+        List<LyceumResponse> lyceums = new ArrayList<>();
+        for (long id = 1; id <= LYCEUMS; id++) {
+            String town = TOWNS[(int) (id % TOWNS.length)];
+            lyceums.add(LyceumResponse.builder()
+                    .id(id)
+                    .name("Народно читалище „Просвета-" + id + "“")
+                    .chitalishtaUrl("https://chitalishta.com/index.php?act=community&do=detail&id=" + id)
+                    .status("Действащо")
+                    .bulstat(String.valueOf(100000000 + id))
+                    .chairman("Иван Петров")
+                    .secretary("Мария Иванова")
+                    .phone("+359 88 123 " + (1000 + id))
+                    .email("chitalishte" + id + "@example.com")
+                    .region(town)
+                    .municipality(town)
+                    .town(town)
+                    .address("ул. „Васил Левски“ " + id)
+                    .urlToLibrariesSite("https://libraries.example.com/" + id)
+                    .registrationNumber((int) (2000 + id))
+                    .coursesCount((int) (id % 12))
+                    .longitude(23.3 + id / 1000.0)
+                    .latitude(42.6 + id / 1000.0)
+                    .mainImage(LyceumImageResponse.builder()
+                            .id(id)
+                            .lyceumId(id)
+                            .role(ImageRole.MAIN)
+                            .s3Key("lyceums/" + id + "/main.jpg")
+                            .url("https://cdn.example.com/lyceums/" + id + "/main.jpg")
+                            .mimeType("image/jpeg")
+                            .width(1280)
+                            .height(720)
+                            .orderIndex(0)
+                            .build())
+                    .verificationStatus(VerificationStatus.VERIFIED)
+                    .averageRating(4.2)
+                    .subscriberCount(id * 3)
+                    .build());
+        }
+        return lyceums;
+    }
+
+    private static PageImpl<CourseFilterResponse> courseCatalog() {
+        List<CourseFilterResponse> courses = new ArrayList<>();
+        for (long id = 1; id <= COURSES_PAGE_SIZE; id++) {
+            String town = TOWNS[(int) (id % TOWNS.length)];
+            CourseScheduleSlot slot = new CourseScheduleSlot();
+            slot.setRecurrence(ScheduleRecurrence.WEEKLY);
+            slot.setDayOfWeek(DayOfWeek.of((int) (id % 7) + 1));
+            slot.setStartTime(LocalTime.of(17, 30));
+            slot.setEndTime(LocalTime.of(19, 0));
+            slot.setSingleClassDurationMinutes(45);
+            CourseSchedule schedule = new CourseSchedule();
+            schedule.setSlots(new ArrayList<>(List.of(slot)));
+            courses.add(CourseFilterResponse.builder()
+                    .id(id)
+                    .name("Народни танци " + id)
+                    .description("Занимания по народни танци за начинаещи и напреднали, "
+                            + "с участие в местни и национални фестивали.")
+                    .type(CourseType.DANCE)
+                    .executionType(CourseExecutionType.GROUP)
+                    .ageGroupList(List.of(AgeGroup.CHILD, AgeGroup.TEEN))
+                    .schedule(schedule)
+                    .mainImage(CourseImageResponse.builder()
+                            .id(id)
+                            .courseId(id)
+                            .role(ImageRole.MAIN)
+                            .s3Key("courses/" + id + "/main.jpg")
+                            .url("https://cdn.example.com/courses/" + id + "/main.jpg")
+                            .mimeType("image/jpeg")
+                            .build())
+                    .address("ул. „Христо Ботев“ " + id)
+                    .price(40f)
+                    .facebookLink("https://facebook.com/course" + id)
+                    .lyceumId(id % 20)
+                    .activeStartMonth(Month.SEPTEMBER)
+                    .activeEndMonth(Month.JUNE)
+                    .lecturerIds(List.of(id, id + 1))
+                    .averageRating(4.5)
+                    .subscriberCount(id)
+                    .lyceumTown(town)
+                    .lyceumAddress("пл. „Съединение“ 1")
+                    .build());
+        }
+        return new PageImpl<>(courses, PageRequest.of(0, COURSES_PAGE_SIZE), 1000);
+    }
+
+    public static void main(String[] args) throws RunnerException, JsonProcessingException {
+        for (String catalog : List.of("lyceums", "courses")) {
+            for (String format : List.of("json", "cbor", "smile")) {
+                ResponseEncodingBenchmark benchmark = new ResponseEncodingBenchmark();
+                benchmark.catalog = catalog;
+                benchmark.format = format;
+                benchmark.setUp();
+                System.out.printf("%-8s %-6s %,9d bytes%n", catalog, format, benchmark.serialize().length);
+            }
+        }
+        new Runner(new OptionsBuilder()
+                .include(ResponseEncodingBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
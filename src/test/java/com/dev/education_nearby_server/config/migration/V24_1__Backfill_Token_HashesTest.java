@@ -0,0 +1,93 @@
+package com.dev.education_nearby_server.config.migration;
+
+import com.dev.education_nearby_server.utils.TokenDigests;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class V24_1__Backfill_Token_HashesTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        TokenDigests.useSecret("test-token-digest-secret");
+        connection = DriverManager.getConnection("jdbc:h2:mem:token-backfill;MODE=MySQL", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE tokens (
+                        id BIGINT PRIMARY KEY,
+                        token_value VARCHAR(255) NOT NULL,
+                        token_hash BINARY(32) NULL
+                    )
+                    """);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void migrateStoresKeyedDigestForEveryRowAcrossBatches() throws Exception {
+        int rows = V24_1__Backfill_Token_Hashes.BATCH_SIZE + 3;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO tokens (id, token_value) VALUES (?, ?)")) {
+            for (long id = 1; id <= rows; id++) {
+                insert.setLong(1, id);
+                insert.setString(2, "token-" + id);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        new V24_1__Backfill_Token_Hashes().migrate(context());
+
+        int checked = 0;
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT token_value, token_hash FROM tokens")) {
+            while (result.next()) {
+                assertThat(result.getBytes("token_hash")).isEqualTo(TokenDigests.hmac(result.getString("token_value")));
+                checked++;
+            }
+        }
+        assertThat(checked).isEqualTo(rows);
+    }
+
+    @Test
+    void migrateLeavesRowsThatAlreadyHaveDigest() throws Exception {
+        byte[] existing = TokenDigests.sha256("already-hashed");
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO tokens (id, token_value, token_hash) VALUES (1, 'already-hashed', ?)")) {
+            insert.setBytes(1, existing);
+            insert.executeUpdate();
+        }
+
+        new V24_1__Backfill_Token_Hashes().migrate(context());
+
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT token_hash FROM tokens WHERE id = 1")) {
+            assertThat(result.next()).isTrue();
+            assertThat(result.getBytes("token_hash")).isEqualTo(existing);
+        }
+    }
+
+    private Context context() {
+        Context context = mock(Context.class);
+        when(context.getConnection()).thenReturn(connection);
+        return context;
+    }
+}
@@ -0,0 +1,107 @@
+package com.dev.education_nearby_server.controllers;
+
+import com.dev.education_nearby_server.enums.CatalogSnapshotType;
+import com.dev.education_nearby_server.services.CatalogSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CatalogSnapshotControllerIT {
+
+    private static final String JSON = "[{\"id\":1,\"name\":\"Prosveta\"}]";
+    private static final String JSON_ETAG = "\"abc123\"";
+    private static final String GZIP_ETAG = "\"abc123-gzip\"";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @TempDir
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path json = Files.writeString(directory.resolve("lyceums-abc123.json"), JSON);
+        Path gzip = Files.write(directory.resolve("lyceums-abc123.json.gz"), new byte[]{0x1f, (byte) 0x8b, 8, 0});
+        when(catalogSnapshotService.getSnapshot(CatalogSnapshotType.LYCEUMS)).thenReturn(
+                new CatalogSnapshotService.Snapshot(CatalogSnapshotType.LYCEUMS, "abc123",
+                        new CatalogSnapshotService.SnapshotFile(json, Files.size(json), JSON_ETAG),
+                        new CatalogSnapshotService.SnapshotFile(gzip, Files.size(gzip), GZIP_ETAG),
+                        List.of(1L)));
+    }
+
+    @Test
+    void getLyceumsServesPlainFileWithStrongEtag() throws Exception {
+        mockMvc.perform(get("/api/v1/catalog/lyceums"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, JSON_ETAG))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string(JSON));
+
+        verify(catalogSnapshotService).recordDownload(CatalogSnapshotType.LYCEUMS);
+    }
+
+    @Test
+    void getLyceumsServesGzipFileWhenAccepted() throws Exception {
+        mockMvc.perform(get("/api/v1/catalog/lyceums").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, GZIP_ETAG))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4));
+    }
+
+    @Test
+    void getLyceumsAnswersMatchingEtagWithNotModified() throws Exception {
+        mockMvc.perform(get("/api/v1/catalog/lyceums").header(HttpHeaders.IF_NONE_MATCH, JSON_ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(catalogSnapshotService, never()).recordDownload(CatalogSnapshotType.LYCEUMS);
+    }
+
+    @Test
+    void getLyceumsServesRequestedRange() throws Exception {
+        mockMvc.perform(get("/api/v1/catalog/lyceums")
+                        .header(HttpHeaders.RANGE, "bytes=1-7")
+                        .header(HttpHeaders.IF_RANGE, JSON_ETAG))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 1-7/" + JSON.length()))
+                .andExpect(content().string(JSON.substring(1, 8)));
+
+        verify(catalogSnapshotService, never()).recordDownload(CatalogSnapshotType.LYCEUMS);
+    }
+
+    @Test
+    void getLyceumsIgnoresRangeForStaleIfRange() throws Exception {
+        mockMvc.perform(get("/api/v1/catalog/lyceums")
+                        .header(HttpHeaders.RANGE, "bytes=1-7")
+                        .header(HttpHeaders.IF_RANGE, "\"older\""))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, JSON.length()))
+                .andExpect(content().string(JSON));
+    }
+}
@@ -10,9 +10,17 @@ import com.dev.education_nearby_server.models.dto.request.CourseRequest;
 import com.dev.education_nearby_server.models.dto.request.CourseUpdateRequest;
 import com.dev.education_nearby_server.models.dto.response.CourseFilterResponse;
 import com.dev.education_nearby_server.models.dto.response.CourseImageResponse;
+import com.dev.education_nearby_server.models.dto.response.CourseOccurrenceResponse;
 import com.dev.education_nearby_server.models.dto.response.CourseResponse;
+import com.dev.education_nearby_server.models.dto.response.ScheduleConflictResponse;
+import com.dev.education_nearby_server.models.dto.response.ScheduleValidationReportResponse;
 import com.dev.education_nearby_server.models.dto.response.StatisticsResponse;
+import com.dev.education_nearby_server.models.dto.response.UpcomingCourseResponse;
+import com.dev.education_nearby_server.services.CourseOccurrenceService;
 import com.dev.education_nearby_server.services.CourseService;
+import com.dev.education_nearby_server.services.ScheduleConflictService;
+import com.dev.education_nearby_server.services.UpcomingCourseService;
+import com.dev.education_nearby_server.utils.FieldSelection;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -24,7 +32,10 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -36,6 +47,12 @@ class CourseControllerTest {
 
     @Mock
     private CourseService courseService;
+    @Mock
+    private CourseOccurrenceService courseOccurrenceService;
+    @Mock
+    private ScheduleConflictService scheduleConflictService;
+    @Mock
+    private UpcomingCourseService upcomingCourseService;
 
     @InjectMocks
     private CourseController courseController;
@@ -56,6 +73,63 @@ class CourseControllerTest {
         verify(courseService).getCourseById(courseId);
     }
 
+    @Test
+    void getCourseOccurrencesDelegatesRangeToService() {
+        LocalDate from = LocalDate.of(2026, 9, 1);
+        LocalDate to = LocalDate.of(2026, 9, 30);
+        List<CourseOccurrenceResponse> occurrences = List.of(CourseOccurrenceResponse.builder()
+                .courseId(4L)
+                .date(LocalDate.of(2026, 9, 7))
+                .startTime(LocalTime.of(17, 0))
+                .endTime(LocalTime.of(18, 0))
+                .build());
+        when(courseOccurrenceService.getOccurrences(4L, from, to)).thenReturn(occurrences);
+
+        ResponseEntity<List<CourseOccurrenceResponse>> result = courseController.getCourseOccurrences(4L, from, to);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody()).isEqualTo(occurrences);
+    }
+
+    @Test
+    void getOccurrencesForCoursesDelegatesIdsToService() {
+        LocalDate from = LocalDate.of(2026, 9, 1);
+        LocalDate to = LocalDate.of(2026, 9, 30);
+        when(courseOccurrenceService.getOccurrences(List.of(4L, 5L), from, to)).thenReturn(List.of());
+
+        ResponseEntity<List<CourseOccurrenceResponse>> result =
+                courseController.getOccurrencesForCourses(List.of(4L, 5L), from, to);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody()).isEmpty();
+        verify(courseOccurrenceService).getOccurrences(List.of(4L, 5L), from, to);
+    }
+
+    @Test
+    void getUpcomingCoursesDelegatesLocationAndWindowToService() {
+        List<UpcomingCourseResponse> upcoming = List.of(UpcomingCourseResponse.builder().courseId(3L).build());
+        when(upcomingCourseService.findUpcoming(42.7, 23.3, 5.0, 120)).thenReturn(upcoming);
+
+        ResponseEntity<List<UpcomingCourseResponse>> result = courseController.getUpcomingCourses(42.7, 23.3, 5.0, 120);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody()).isEqualTo(upcoming);
+    }
+
+    @Test
+    void validateAllSchedulesReturnsReportFromService() {
+        ScheduleValidationReportResponse report = ScheduleValidationReportResponse.builder()
+                .lecturersScanned(3)
+                .conflicts(List.of(ScheduleConflictResponse.builder().lecturerId(5L).courseId(1L).conflictingCourseId(2L).build()))
+                .build();
+        when(scheduleConflictService.validateAllSchedules()).thenReturn(report);
+
+        ResponseEntity<ScheduleValidationReportResponse> result = courseController.validateAllSchedules();
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody()).isSameAs(report);
+    }
+
     @Test
     void getCourseStatisticsReturnsResponseFromService() {
         Long courseId = 4L;
@@ -91,13 +165,13 @@ class CourseControllerTest {
                 CourseResponse.builder().id(1L).name("Course 1").build(),
                 CourseResponse.builder().id(2L).name("Course 2").build()
         );
-        when(courseService.getAllCourses()).thenReturn(responses);
+        when(courseService.getAllCourses(FieldSelection.all())).thenReturn(responses);
 
-        ResponseEntity<List<CourseResponse>> result = courseController.getAllCourses();
+        ResponseEntity<MappingJacksonValue> result = courseController.getAllCourses(null);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(result.getBody()).isEqualTo(responses);
-        verify(courseService).getAllCourses();
+        assertThat(result.getBody().getValue()).isEqualTo(responses);
+        verify(courseService).getAllCourses(FieldSelection.all());
     }
 
     @Test
@@ -116,13 +190,13 @@ class CourseControllerTest {
                 PageRequest.of(0, 9),
                 2
         );
-        when(courseService.filterCourses(request, 0, 9, Sort.unsorted())).thenReturn(responses);
+        when(courseService.filterCourses(request, 0, 9, Sort.unsorted(), FieldSelection.all())).thenReturn(responses);
 
-        ResponseEntity<Page<CourseFilterResponse>> result = courseController.filterCourses(request, 0, 9, Sort.unsorted());
+        ResponseEntity<MappingJacksonValue> result = courseController.filterCourses(request, 0, 9, Sort.unsorted(), null);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(result.getBody()).isEqualTo(responses);
-        verify(courseService).filterCourses(request, 0, 9, Sort.unsorted());
+        assertThat(result.getBody().getValue()).isEqualTo(responses);
+        verify(courseService).filterCourses(request, 0, 9, Sort.unsorted(), FieldSelection.all());
     }
 
     @Test
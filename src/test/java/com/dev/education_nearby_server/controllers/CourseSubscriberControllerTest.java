@@ -2,7 +2,8 @@ package com.dev.education_nearby_server.controllers;
 
 import com.dev.education_nearby_server.enums.SubscriberExportFormat;
 import com.dev.education_nearby_server.models.dto.response.SubscriberExportJobResponse;
-import com.dev.education_nearby_server.models.dto.response.UserResponse;
+import com.dev.education_nearby_server.models.dto.response.SubscriberPageResponse;
+import com.dev.education_nearby_server.models.dto.response.SubscriberResponse;
 import com.dev.education_nearby_server.services.CourseService;
 import com.dev.education_nearby_server.services.SubscriberExportService;
 import org.junit.jupiter.api.Test;
@@ -12,6 +13,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.net.URI;
 import java.time.Instant;
@@ -57,17 +59,20 @@ class CourseSubscriberControllerTest {
     @Test
     void getCourseSubscribersReturnsResponseFromService() {
         Long courseId = 8L;
-        List<UserResponse> responses = List.of(
-                UserResponse.builder().id(1L).firstname("Ivan").lastname("Ivanov").build(),
-                UserResponse.builder().id(2L).firstname("Maria").lastname("Petrova").build()
-        );
-        when(courseService.getCourseSubscribers(courseId)).thenReturn(responses);
+        SubscriberPageResponse page = SubscriberPageResponse.builder()
+                .items(List.of(
+                        SubscriberResponse.builder().id(1L).firstname("Ivan").lastname("Ivanov").build(),
+                        SubscriberResponse.builder().id(2L).firstname("Maria").lastname("Petrova").build()
+                ))
+                .nextCursor(2L)
+                .build();
+        when(courseService.getCourseSubscribers(courseId, null, 2)).thenReturn(page);
 
-        ResponseEntity<List<UserResponse>> result = courseSubscriberController.getCourseSubscribers(courseId);
+        ResponseEntity<SubscriberPageResponse> result = courseSubscriberController.getCourseSubscribers(courseId, null, 2);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(result.getBody()).isEqualTo(responses);
-        verify(courseService).getCourseSubscribers(courseId);
+        assertThat(result.getBody()).isEqualTo(page);
+        verify(courseService).getCourseSubscribers(courseId, null, 2);
     }
 
     @Test
@@ -107,6 +112,25 @@ class CourseSubscriberControllerTest {
         verify(subscriberExportService).getCourseSubscribersExportStatus(courseId, exportId);
     }
 
+    @Test
+    void cancelCourseSubscribersExportReturnsNoContent() {
+        ResponseEntity<Void> result = courseSubscriberController.cancelCourseSubscribersExport(10L, 105L);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        verify(subscriberExportService).cancelCourseSubscribersExport(10L, 105L);
+    }
+
+    @Test
+    void streamCourseSubscribersExportReturnsEmitterFromService() {
+        SseEmitter emitter = new SseEmitter();
+        when(subscriberExportService.streamCourseSubscribersExport(10L, 104L)).thenReturn(emitter);
+
+        ResponseEntity<SseEmitter> result = courseSubscriberController.streamCourseSubscribersExport(10L, 104L);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody()).isSameAs(emitter);
+    }
+
     @Test
     void downloadCourseSubscribersExportReturnsResponseFromService() {
         Long courseId = 11L;
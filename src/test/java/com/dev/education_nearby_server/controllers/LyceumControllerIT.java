@@ -1,5 +1,6 @@
 package com.dev.education_nearby_server.controllers;
 
+import com.dev.education_nearby_server.config.HttpEncodingConfiguration;
 import com.dev.education_nearby_server.enums.Role;
 import com.dev.education_nearby_server.enums.ImageRole;
 import com.dev.education_nearby_server.enums.SubscriberExportFormat;
@@ -15,16 +16,21 @@ import com.dev.education_nearby_server.models.dto.request.LyceumRightsRequest;
 import com.dev.education_nearby_server.models.dto.request.LyceumRightsVerificationRequest;
 import com.dev.education_nearby_server.models.dto.request.LyceumRequest;
 import com.dev.education_nearby_server.models.dto.response.CourseResponse;
+import com.dev.education_nearby_server.models.dto.response.LyceumDetailsResponse;
 import com.dev.education_nearby_server.models.dto.response.LyceumImageResponse;
 import com.dev.education_nearby_server.models.dto.response.LyceumResponse;
 import com.dev.education_nearby_server.models.dto.response.SubscriberExportJobResponse;
+import com.dev.education_nearby_server.models.dto.response.SubscriberPageResponse;
+import com.dev.education_nearby_server.models.dto.response.SubscriberResponse;
 import com.dev.education_nearby_server.models.dto.response.UserResponse;
 import com.dev.education_nearby_server.models.entity.Lyceum;
 import com.dev.education_nearby_server.models.entity.User;
 import com.dev.education_nearby_server.repositories.LyceumRepository;
 import com.dev.education_nearby_server.repositories.UserRepository;
+import com.dev.education_nearby_server.services.LyceumDetailsService;
 import com.dev.education_nearby_server.services.LyceumService;
 import com.dev.education_nearby_server.services.SubscriberExportService;
+import com.dev.education_nearby_server.utils.FieldSelection;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -62,6 +68,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureMockMvc
 class LyceumControllerIT {
 
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -72,6 +81,8 @@ class LyceumControllerIT {
     private LyceumService lyceumService;
     @MockitoBean
     private SubscriberExportService subscriberExportService;
+    @MockitoBean
+    private LyceumDetailsService lyceumDetailsService;
 
     @Autowired
     private UserRepository userRepository;
@@ -92,14 +103,14 @@ class LyceumControllerIT {
                 .name("Lyceum")
                 .town("Varna")
                 .build();
-        when(lyceumService.getVerifiedLyceums()).thenReturn(List.of(response));
+        when(lyceumService.getVerifiedLyceums(FieldSelection.all())).thenReturn(List.of(response));
 
         mockMvc.perform(get("/api/v1/lyceums/verified"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1L))
                 .andExpect(jsonPath("$[0].name").value("Lyceum"));
 
-        verify(lyceumService).getVerifiedLyceums();
+        verify(lyceumService).getVerifiedLyceums(FieldSelection.all());
     }
 
     @Test
@@ -109,14 +120,65 @@ class LyceumControllerIT {
                 .name("Test")
                 .town("Varna")
                 .build();
-        when(lyceumService.getAllLyceums()).thenReturn(List.of(response));
+        when(lyceumService.getAllLyceums(FieldSelection.all())).thenReturn(List.of(response));
 
         mockMvc.perform(get("/api/v1/lyceums"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(5L))
                 .andExpect(jsonPath("$[0].name").value("Test"));
 
-        verify(lyceumService).getAllLyceums();
+        verify(lyceumService).getAllLyceums(FieldSelection.all());
+    }
+
+    @Test
+    void getAllLyceumsWritesOnlyRequestedFields() throws Exception {
+        LyceumResponse response = LyceumResponse.builder()
+                .id(5L)
+                .name("Test")
+                .town("Varna")
+                .build();
+        FieldSelection selection = FieldSelection.parse("name", LyceumResponse.class);
+        when(lyceumService.getAllLyceums(selection)).thenReturn(List.of(response));
+
+        mockMvc.perform(get("/api/v1/lyceums").param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(5L))
+                .andExpect(jsonPath("$[0].name").value("Test"))
+                .andExpect(jsonPath("$[0].town").doesNotExist());
+    }
+
+    @Test
+    void getAllLyceumsNegotiatesBinaryEncodings() throws Exception {
+        LyceumResponse response = LyceumResponse.builder()
+                .id(5L)
+                .name("Test")
+                .town("Varna")
+                .build();
+        when(lyceumService.getAllLyceums(FieldSelection.all())).thenReturn(List.of(response));
+
+        byte[] cbor = mockMvc.perform(get("/api/v1/lyceums").accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] smile = mockMvc.perform(get("/api/v1/lyceums").accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(HttpEncodingConfiguration.cborMapper(objectMapper).readTree(cbor).get(0).get("name").asText())
+                .isEqualTo("Test");
+        assertThat(HttpEncodingConfiguration.smileMapper(objectMapper).readTree(smile).get(0).get("town").asText())
+                .isEqualTo("Varna");
+        mockMvc.perform(get("/api/v1/lyceums"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void getAllLyceumsRejectsUnknownField() throws Exception {
+        mockMvc.perform(get("/api/v1/lyceums").param("fields", "name,password"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(lyceumService);
     }
 
     @Test
@@ -136,6 +198,35 @@ class LyceumControllerIT {
         verify(lyceumService).getLyceumById(2L);
     }
 
+    @Test
+    void getLyceumDetailsReturnsAggregateForAnonymous() throws Exception {
+        LyceumDetailsResponse response = LyceumDetailsResponse.builder()
+                .lyceum(LyceumResponse.builder().id(2L).name("Lyceum").build())
+                .images(List.of())
+                .courses(List.of(CourseResponse.builder().id(3L).name("Course").lyceumId(2L).build()))
+                .lecturers(List.of())
+                .reviews(List.of())
+                .build();
+        when(lyceumDetailsService.getLyceumDetails(2L)).thenReturn(response);
+
+        mockMvc.perform(get("/api/v1/lyceums/2/full"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lyceum.id").value(2L))
+                .andExpect(jsonPath("$.courses[0].id").value(3L))
+                .andExpect(jsonPath("$.reviews").isEmpty());
+
+        verify(lyceumDetailsService).getLyceumDetails(2L);
+    }
+
+    @Test
+    void getLyceumDetailsMapsMissingLyceumToNotFound() throws Exception {
+        when(lyceumDetailsService.getLyceumDetails(99L))
+                .thenThrow(new NoSuchElementException("Lyceum with id 99 not found."));
+
+        mockMvc.perform(get("/api/v1/lyceums/99/full"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void getLyceumCoursesReturnsServicePayload() throws Exception {
         CourseResponse response = CourseResponse.builder()
@@ -233,27 +324,33 @@ class LyceumControllerIT {
     @Test
     void getLyceumSubscribersReturnsPayloadForAuthorizedUser() throws Exception {
         Long lyceumId = 6L;
-        UserResponse subscriber = UserResponse.builder()
+        SubscriberResponse subscriber = SubscriberResponse.builder()
                 .id(21L)
                 .firstname("Elena")
                 .lastname("Georgieva")
                 .build();
-        when(lyceumService.getLyceumSubscribers(lyceumId)).thenReturn(List.of(subscriber));
+        when(lyceumService.getLyceumSubscribers(lyceumId, 20L, 1)).thenReturn(SubscriberPageResponse.builder()
+                .items(List.of(subscriber))
+                .nextCursor(21L)
+                .build());
 
         mockMvc.perform(get("/api/v1/lyceums/{lyceumId}/subscribers", lyceumId)
+                        .param("after", "20")
+                        .param("size", "1")
                         .with(user("lyceum-admin").roles("USER")))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(21L))
-                .andExpect(jsonPath("$[0].firstname").value("Elena"));
+                .andExpect(jsonPath("$.items[0].id").value(21L))
+                .andExpect(jsonPath("$.items[0].firstname").value("Elena"))
+                .andExpect(jsonPath("$.nextCursor").value(21L));
 
-        verify(lyceumService).getLyceumSubscribers(lyceumId);
+        verify(lyceumService).getLyceumSubscribers(lyceumId, 20L, 1);
     }
 
     @Test
     void getLyceumSubscribersMapsAccessDenied() throws Exception {
         Long lyceumId = 7L;
         doThrow(new AccessDeniedException("You do not have permission to modify this lyceum."))
-                .when(lyceumService).getLyceumSubscribers(lyceumId);
+                .when(lyceumService).getLyceumSubscribers(lyceumId, null, 50);
 
         mockMvc.perform(get("/api/v1/lyceums/{lyceumId}/subscribers", lyceumId)
                         .with(user("member").roles("USER")))
@@ -261,7 +358,7 @@ class LyceumControllerIT {
                 .andExpect(jsonPath("$.message").value("You do not have permission to modify this lyceum."))
                 .andExpect(jsonPath("$.status").value("FORBIDDEN"));
 
-        verify(lyceumService).getLyceumSubscribers(lyceumId);
+        verify(lyceumService).getLyceumSubscribers(lyceumId, null, 50);
     }
 
     @Test
@@ -423,7 +520,7 @@ class LyceumControllerIT {
                 .name("Nearby Lyceum")
                 .town("Varna")
                 .build();
-        when(lyceumService.filterLyceums("Varna", 42.5, 23.3, 0, 9))
+        when(lyceumService.filterLyceums("Varna", 42.5, 23.3, false, 0, 9, FieldSelection.all()))
                 .thenReturn(new PageImpl<>(List.of(response), PageRequest.of(0, 9), 1));
 
         mockMvc.perform(get("/api/v1/lyceums/filter")
@@ -436,18 +533,31 @@ class LyceumControllerIT {
                 .andExpect(jsonPath("$.size").value(9))
                 .andExpect(jsonPath("$.number").value(0));
 
-        verify(lyceumService).filterLyceums("Varna", 42.5, 23.3, 0, 9);
+        verify(lyceumService).filterLyceums("Varna", 42.5, 23.3, false, 0, 9, FieldSelection.all());
+    }
+
+    @Test
+    void filterLyceumsPassesPopularityOrdering() throws Exception {
+        when(lyceumService.filterLyceums("Varna", null, null, true, 0, 9, FieldSelection.all()))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 9), 0));
+
+        mockMvc.perform(get("/api/v1/lyceums/filter")
+                        .param("town", "Varna")
+                        .param("popular", "true"))
+                .andExpect(status().isOk());
+
+        verify(lyceumService).filterLyceums("Varna", null, null, true, 0, 9, FieldSelection.all());
     }
 
     @Test
     void filterLyceumsWorksWithoutParams() throws Exception {
-        when(lyceumService.filterLyceums(null, null, null, 0, 9))
+        when(lyceumService.filterLyceums(null, null, null, false, 0, 9, FieldSelection.all()))
                 .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 9), 0));
 
         mockMvc.perform(get("/api/v1/lyceums/filter"))
                 .andExpect(status().isOk());
 
-        verify(lyceumService).filterLyceums(null, null, null, 0, 9);
+        verify(lyceumService).filterLyceums(null, null, null, false, 0, 9, FieldSelection.all());
     }
 
     @Test
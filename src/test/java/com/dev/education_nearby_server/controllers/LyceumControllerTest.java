@@ -7,12 +7,15 @@ import com.dev.education_nearby_server.models.dto.request.LyceumRightsVerificati
 import com.dev.education_nearby_server.models.dto.request.LyceumImageRequest;
 import com.dev.education_nearby_server.models.dto.request.LyceumRequest;
 import com.dev.education_nearby_server.models.dto.response.CourseResponse;
+import com.dev.education_nearby_server.models.dto.response.LyceumDetailsResponse;
 import com.dev.education_nearby_server.models.dto.response.LyceumImageResponse;
 import com.dev.education_nearby_server.models.dto.response.LyceumResponse;
 import com.dev.education_nearby_server.models.dto.response.StatisticsResponse;
 import com.dev.education_nearby_server.models.dto.response.UserResponse;
+import com.dev.education_nearby_server.services.LyceumDetailsService;
 import com.dev.education_nearby_server.services.LyceumService;
 import com.dev.education_nearby_server.enums.ImageRole;
+import com.dev.education_nearby_server.utils.FieldSelection;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,6 +27,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 
 import java.util.List;
 
@@ -36,6 +40,8 @@ class LyceumControllerTest {
 
     @Mock
     private LyceumService lyceumService;
+    @Mock
+    private LyceumDetailsService lyceumDetailsService;
 
     @InjectMocks
     private LyceumController lyceumController;
@@ -63,25 +69,25 @@ class LyceumControllerTest {
     @Test
     void getAllLyceumsReturnsServiceResponse() {
         List<LyceumResponse> lyceums = List.of(lyceumResponse);
-        when(lyceumService.getAllLyceums()).thenReturn(lyceums);
+        when(lyceumService.getAllLyceums(FieldSelection.all())).thenReturn(lyceums);
 
-        ResponseEntity<List<LyceumResponse>> response = lyceumController.getAllLyceums();
+        ResponseEntity<MappingJacksonValue> response = lyceumController.getAllLyceums(null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(response.getBody()).isEqualTo(lyceums);
-        verify(lyceumService).getAllLyceums();
+        assertThat(response.getBody().getValue()).isEqualTo(lyceums);
+        verify(lyceumService).getAllLyceums(FieldSelection.all());
     }
 
     @Test
     void getVerifiedLyceumsReturnsServiceResponse() {
         List<LyceumResponse> lyceums = List.of(lyceumResponse);
-        when(lyceumService.getVerifiedLyceums()).thenReturn(lyceums);
+        when(lyceumService.getVerifiedLyceums(FieldSelection.all())).thenReturn(lyceums);
 
-        ResponseEntity<List<LyceumResponse>> response = lyceumController.getVerifiedLyceums();
+        ResponseEntity<MappingJacksonValue> response = lyceumController.getVerifiedLyceums(null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(response.getBody()).isEqualTo(lyceums);
-        verify(lyceumService).getVerifiedLyceums();
+        assertThat(response.getBody().getValue()).isEqualTo(lyceums);
+        verify(lyceumService).getVerifiedLyceums(FieldSelection.all());
     }
 
     @Test
@@ -95,6 +101,21 @@ class LyceumControllerTest {
         verify(lyceumService).getLyceumById(1L);
     }
 
+    @Test
+    void getLyceumDetailsReturnsServiceResponse() {
+        LyceumDetailsResponse details = LyceumDetailsResponse.builder()
+                .lyceum(lyceumResponse)
+                .courses(List.of())
+                .build();
+        when(lyceumDetailsService.getLyceumDetails(1L)).thenReturn(details);
+
+        ResponseEntity<LyceumDetailsResponse> response = lyceumController.getLyceumDetails(1L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(details);
+        verify(lyceumDetailsService).getLyceumDetails(1L);
+    }
+
     @Test
     void getLyceumStatisticsReturnsServiceResponse() {
         StatisticsResponse statistics = StatisticsResponse.builder()
@@ -184,14 +205,14 @@ class LyceumControllerTest {
                 PageRequest.of(0, 9),
                 1
         );
-        when(lyceumService.filterLyceums("Varna", 42.5, 23.3, 0, 9)).thenReturn(lyceums);
+        when(lyceumService.filterLyceums("Varna", 42.5, 23.3, false, 0, 9, FieldSelection.all())).thenReturn(lyceums);
 
-        ResponseEntity<Page<LyceumResponse>> response =
-                lyceumController.filterLyceums("Varna", 42.5, 23.3, 0, 9);
+        ResponseEntity<MappingJacksonValue> response =
+                lyceumController.filterLyceums("Varna", 42.5, 23.3, false, 0, 9, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(response.getBody()).isEqualTo(lyceums);
-        verify(lyceumService).filterLyceums("Varna", 42.5, 23.3, 0, 9);
+        assertThat(response.getBody().getValue()).isEqualTo(lyceums);
+        verify(lyceumService).filterLyceums("Varna", 42.5, 23.3, false, 0, 9, FieldSelection.all());
     }
 
     @Test
@@ -1,8 +1,10 @@
 package com.dev.education_nearby_server.controllers;
 
 import com.dev.education_nearby_server.enums.SubscriberExportFormat;
+import com.dev.education_nearby_server.enums.SubscriberExportScope;
 import com.dev.education_nearby_server.models.dto.response.SubscriberExportJobResponse;
-import com.dev.education_nearby_server.models.dto.response.UserResponse;
+import com.dev.education_nearby_server.models.dto.response.SubscriberPageResponse;
+import com.dev.education_nearby_server.models.dto.response.SubscriberResponse;
 import com.dev.education_nearby_server.services.LyceumService;
 import com.dev.education_nearby_server.services.SubscriberExportService;
 import org.junit.jupiter.api.Test;
@@ -52,19 +54,21 @@ class LyceumSubscriberControllerTest {
 
     @Test
     void getLyceumSubscribersReturnsServiceResponse() {
-        UserResponse subscriber = UserResponse.builder()
+        SubscriberResponse subscriber = SubscriberResponse.builder()
                 .id(14L)
                 .firstname("Petya")
                 .lastname("Dimitrova")
                 .build();
-        List<UserResponse> subscribers = List.of(subscriber);
-        when(lyceumService.getLyceumSubscribers(1L)).thenReturn(subscribers);
+        SubscriberPageResponse page = SubscriberPageResponse.builder()
+                .items(List.of(subscriber))
+                .build();
+        when(lyceumService.getLyceumSubscribers(1L, 10L, 50)).thenReturn(page);
 
-        ResponseEntity<List<UserResponse>> response = lyceumSubscriberController.getLyceumSubscribers(1L);
+        ResponseEntity<SubscriberPageResponse> response = lyceumSubscriberController.getLyceumSubscribers(1L, 10L, 50);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(response.getBody()).isEqualTo(subscribers);
-        verify(lyceumService).getLyceumSubscribers(1L);
+        assertThat(response.getBody()).isEqualTo(page);
+        verify(lyceumService).getLyceumSubscribers(1L, 10L, 50);
     }
 
     @Test
@@ -84,6 +88,23 @@ class LyceumSubscriberControllerTest {
         verify(subscriberExportService).createLyceumSubscribersExport(1L, SubscriberExportFormat.CSV);
     }
 
+    @Test
+    void exportLyceumCourseSubscribersReturnsAcceptedResponse() {
+        SubscriberExportJobResponse exportResponse = SubscriberExportJobResponse.builder()
+                .id(205L)
+                .scope(SubscriberExportScope.LYCEUM_COURSES)
+                .format(SubscriberExportFormat.CSV)
+                .build();
+        when(subscriberExportService.createLyceumCourseSubscribersExport(1L)).thenReturn(exportResponse);
+
+        ResponseEntity<SubscriberExportJobResponse> response =
+                lyceumSubscriberController.exportLyceumCourseSubscribers(1L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody()).isEqualTo(exportResponse);
+        verify(subscriberExportService).createLyceumCourseSubscribersExport(1L);
+    }
+
     @Test
     void getLyceumSubscribersExportStatusReturnsServiceResponse() {
         SubscriberExportJobResponse exportResponse = SubscriberExportJobResponse.builder()
@@ -0,0 +1,47 @@
+package com.dev.education_nearby_server.controllers;
+
+import com.dev.education_nearby_server.models.dto.response.SyncResponse;
+import com.dev.education_nearby_server.services.SyncService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SyncControllerTest {
+
+    @Mock
+    private SyncService syncService;
+
+    @InjectMocks
+    private SyncController syncController;
+
+    @Test
+    void syncReturnsServicePayload() {
+        SyncResponse payload = SyncResponse.builder()
+                .lyceums(List.of())
+                .courses(List.of())
+                .lyceumImages(List.of())
+                .courseImages(List.of())
+                .deleted(List.of())
+                .nextToken("next")
+                .hasMore(false)
+                .build();
+        when(syncService.getChanges("previous")).thenReturn(payload);
+
+        ResponseEntity<SyncResponse> response = syncController.sync("previous");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(payload);
+        verify(syncService).getChanges("previous");
+    }
+}
@@ -5,8 +5,10 @@ import com.dev.education_nearby_server.models.dto.auth.ChangePasswordRequest;
 import com.dev.education_nearby_server.models.dto.request.UserImageRequest;
 import com.dev.education_nearby_server.models.dto.request.UserRoleUpdateRequest;
 import com.dev.education_nearby_server.models.dto.request.UserUpdateRequest;
+import com.dev.education_nearby_server.models.dto.response.CalendarTokenResponse;
 import com.dev.education_nearby_server.models.dto.response.UserImageResponse;
 import com.dev.education_nearby_server.models.dto.response.UserResponse;
+import com.dev.education_nearby_server.services.CalendarFeedService;
 import com.dev.education_nearby_server.services.UserService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,13 +19,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.security.Principal;
+import java.time.YearMonth;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +37,8 @@ class UserControllerTest {
 
     @Mock
     private UserService userService;
+    @Mock
+    private CalendarFeedService calendarFeedService;
 
     @InjectMocks
     private UserController userController;
@@ -226,4 +234,48 @@ class UserControllerTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
         verify(userService).deleteUserProfileImage(10L, principal);
     }
+
+    @Test
+    void issueCalendarTokenReturnsTokenFromService() {
+        Principal principal = mock(Principal.class);
+        CalendarTokenResponse response = CalendarTokenResponse.builder().token("secret").build();
+        when(userService.issueCalendarToken(3L, principal)).thenReturn(response);
+
+        ResponseEntity<CalendarTokenResponse> result = userController.issueCalendarToken(3L, principal);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody()).isEqualTo(response);
+    }
+
+    @Test
+    void getCalendarFeedStreamsBodyWithEtag() {
+        CalendarFeedService.CalendarFeed feed =
+                new CalendarFeedService.CalendarFeed(3L, "\"abc\"", YearMonth.of(2026, 10), List.of(7L));
+        StreamingResponseBody body = output -> output.write(1);
+        WebRequest webRequest = mock(WebRequest.class);
+        when(calendarFeedService.openFeed(3L, "secret")).thenReturn(feed);
+        when(webRequest.checkNotModified("\"abc\"")).thenReturn(false);
+        when(calendarFeedService.openBody(feed)).thenReturn(body);
+
+        ResponseEntity<StreamingResponseBody> result = userController.getCalendarFeed(3L, "secret", webRequest);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getHeaders().getETag()).isEqualTo("\"abc\"");
+        assertThat(result.getHeaders().getContentType()).hasToString("text/calendar;charset=UTF-8");
+        assertThat(result.getBody()).isSameAs(body);
+    }
+
+    @Test
+    void getCalendarFeedReturnsNotModifiedWithoutRendering() {
+        CalendarFeedService.CalendarFeed feed =
+                new CalendarFeedService.CalendarFeed(3L, "\"abc\"", YearMonth.of(2026, 10), List.of());
+        WebRequest webRequest = mock(WebRequest.class);
+        when(calendarFeedService.openFeed(3L, "secret")).thenReturn(feed);
+        when(webRequest.checkNotModified("\"abc\"")).thenReturn(true);
+
+        ResponseEntity<StreamingResponseBody> result = userController.getCalendarFeed(3L, "secret", webRequest);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        verify(calendarFeedService, never()).openBody(feed);
+    }
 }
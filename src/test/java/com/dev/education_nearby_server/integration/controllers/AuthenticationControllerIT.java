@@ -6,12 +6,14 @@ import com.dev.education_nearby_server.models.dto.auth.AuthenticationResponse;
 import com.dev.education_nearby_server.models.dto.auth.ForgotPasswordRequest;
 import com.dev.education_nearby_server.models.dto.auth.RegisterRequest;
 import com.dev.education_nearby_server.models.dto.auth.ResetForgottenPasswordRequest;
+import com.dev.education_nearby_server.models.entity.Token;
 import com.dev.education_nearby_server.repositories.TokenRepository;
 import com.dev.education_nearby_server.repositories.UserRepository;
 import com.dev.education_nearby_server.services.EmailService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -24,6 +26,7 @@ import org.springframework.test.web.servlet.MvcResult;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -169,11 +172,13 @@ class AuthenticationControllerIT {
                                 .build())))
                 .andExpect(status().isOk());
 
-        String resetCode = tokenRepository.findAll().stream()
-                .filter(token -> token.getTokenType() == TokenType.PASSWORD_RESET)
-                .map(token -> token.getTokenValue())
-                .findFirst()
-                .orElseThrow();
+        ArgumentCaptor<String> codeCaptor = ArgumentCaptor.forClass(String.class);
+        verify(emailService).sendPasswordResetEmail(eq("eve@example.com"), codeCaptor.capture(), anyLong());
+        String resetCode = codeCaptor.getValue();
+        assertThat(tokenRepository.findByToken(resetCode))
+                .get()
+                .extracting(Token::getTokenType)
+                .isEqualTo(TokenType.PASSWORD_RESET);
 
         MvcResult result = mockMvc.perform(post("/api/v1/auth/forgot-password/reset")
                         .contentType(MediaType.APPLICATION_JSON)
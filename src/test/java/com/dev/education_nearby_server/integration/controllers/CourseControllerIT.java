@@ -16,9 +16,11 @@ import com.dev.education_nearby_server.models.dto.response.CourseFilterResponse;
 import com.dev.education_nearby_server.models.dto.response.CourseImageResponse;
 import com.dev.education_nearby_server.models.dto.response.CourseResponse;
 import com.dev.education_nearby_server.models.dto.response.SubscriberExportJobResponse;
-import com.dev.education_nearby_server.models.dto.response.UserResponse;
+import com.dev.education_nearby_server.models.dto.response.SubscriberPageResponse;
+import com.dev.education_nearby_server.models.dto.response.SubscriberResponse;
 import com.dev.education_nearby_server.services.CourseService;
 import com.dev.education_nearby_server.services.SubscriberExportService;
+import com.dev.education_nearby_server.utils.FieldSelection;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -74,14 +76,14 @@ class CourseControllerIT {
                 CourseResponse.builder().id(1L).name("Course 1").build(),
                 CourseResponse.builder().id(2L).name("Course 2").build()
         );
-        when(courseService.getAllCourses()).thenReturn(responses);
+        when(courseService.getAllCourses(FieldSelection.all())).thenReturn(responses);
 
         mockMvc.perform(get("/api/v1/courses"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1L))
                 .andExpect(jsonPath("$[1].name").value("Course 2"));
 
-        verify(courseService).getAllCourses();
+        verify(courseService).getAllCourses(FieldSelection.all());
     }
 
     @Test
@@ -90,7 +92,7 @@ class CourseControllerIT {
                 CourseFilterResponse.builder().id(101L).name("Morning music").type(CourseType.MUSIC).build(),
                 CourseFilterResponse.builder().id(102L).name("Evening sport").type(CourseType.SPORT).build()
         );
-        when(courseService.filterCourses(any(), anyInt(), anyInt(), any()))
+        when(courseService.filterCourses(any(), anyInt(), anyInt(), any(), eq(FieldSelection.all())))
                 .thenReturn(new PageImpl<>(responses, PageRequest.of(0, 9), responses.size()));
 
         mockMvc.perform(get("/api/v1/courses/filter")
@@ -114,7 +116,7 @@ class CourseControllerIT {
                 .andExpect(jsonPath("$.number").value(0));
 
         ArgumentCaptor<CourseFilterRequest> captor = ArgumentCaptor.forClass(CourseFilterRequest.class);
-        verify(courseService).filterCourses(captor.capture(), eq(0), eq(9), any());
+        verify(courseService).filterCourses(captor.capture(), eq(0), eq(9), any(), eq(FieldSelection.all()));
         CourseFilterRequest captured = captor.getValue();
         assertThat(captured.getCourseTypes()).containsExactly(CourseType.MUSIC, CourseType.SPORT);
         assertThat(captured.getAgeGroups()).containsExactly(AgeGroup.TEEN);
@@ -282,28 +284,29 @@ class CourseControllerIT {
     @Test
     void getCourseSubscribersReturnsPayloadForAuthenticatedUser() throws Exception {
         Long courseId = 13L;
-        when(courseService.getCourseSubscribers(courseId)).thenReturn(List.of(
-                UserResponse.builder()
+        when(courseService.getCourseSubscribers(courseId, null, 50)).thenReturn(SubscriberPageResponse.builder()
+                .items(List.of(SubscriberResponse.builder()
                         .id(5L)
                         .firstname("Ivan")
                         .lastname("Petrov")
-                        .build()
-        ));
+                        .build()))
+                .build());
 
         mockMvc.perform(get("/api/v1/courses/{courseId}/subscribers", courseId)
                         .with(user("lecturer").roles("USER")))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(5L))
-                .andExpect(jsonPath("$[0].firstname").value("Ivan"));
+                .andExpect(jsonPath("$.items[0].id").value(5L))
+                .andExpect(jsonPath("$.items[0].firstname").value("Ivan"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
 
-        verify(courseService).getCourseSubscribers(courseId);
+        verify(courseService).getCourseSubscribers(courseId, null, 50);
     }
 
     @Test
     void getCourseSubscribersMapsAccessDenied() throws Exception {
         Long courseId = 14L;
         doThrow(new AccessDeniedException("You do not have permission to modify this course."))
-                .when(courseService).getCourseSubscribers(courseId);
+                .when(courseService).getCourseSubscribers(courseId, null, 50);
 
         mockMvc.perform(get("/api/v1/courses/{courseId}/subscribers", courseId)
                         .with(user("member").roles("USER")))
@@ -311,7 +314,7 @@ class CourseControllerIT {
                 .andExpect(jsonPath("$.message").value("You do not have permission to modify this course."))
                 .andExpect(jsonPath("$.status").value("FORBIDDEN"));
 
-        verify(courseService).getCourseSubscribers(courseId);
+        verify(courseService).getCourseSubscribers(courseId, null, 50);
     }
 
     @Test
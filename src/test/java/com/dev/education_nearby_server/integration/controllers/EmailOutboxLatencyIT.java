@@ -0,0 +1,131 @@
+package com.dev.education_nearby_server.integration.controllers;
+
+import com.dev.education_nearby_server.enums.EmailOutboxStatus;
+import com.dev.education_nearby_server.integration.support.SlowSmtpServer;
+import com.dev.education_nearby_server.models.dto.auth.ForgotPasswordRequest;
+import com.dev.education_nearby_server.models.dto.auth.RegisterRequest;
+import com.dev.education_nearby_server.repositories.EmailOutboxRepository;
+import com.dev.education_nearby_server.repositories.TokenRepository;
+import com.dev.education_nearby_server.repositories.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that email-sending endpoints return once the outbox row commits,
+ * independently of how slow the SMTP relay is.
+ */
+@SpringBootTest(properties = {
+        "app.email.outbox.enabled=true",
+        "app.email.outbox.poll-interval=1s"
+})
+@AutoConfigureMockMvc
+@DirtiesContext
+class EmailOutboxLatencyIT {
+
+    private static final Duration SMTP_DATA_DELAY = Duration.ofSeconds(3);
+    private static final SlowSmtpServer SMTP_SERVER = startSmtpServer();
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TokenRepository tokenRepository;
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("spring.mail.port", SMTP_SERVER::getPort);
+        registry.add("spring.mail.properties.mail.smtp.auth", () -> "false");
+        registry.add("spring.mail.properties.mail.smtp.starttls.enable", () -> "false");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        emailOutboxRepository.deleteAll();
+        tokenRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @AfterAll
+    static void stopSmtpServer() throws IOException {
+        SMTP_SERVER.close();
+    }
+
+    @Test
+    void forgotPasswordReturnsBeforeSlowSmtpDeliveryCompletes() throws Exception {
+        register("latency@example.com");
+        int messagesBefore = SMTP_SERVER.getMessages().size();
+
+        long startedAt = System.nanoTime();
+        mockMvc.perform(post("/api/v1/auth/forgot-password")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ForgotPasswordRequest.builder()
+                                .email("latency@example.com")
+                                .build())))
+                .andExpect(status().isOk());
+        Duration requestLatency = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        assertThat(requestLatency).isLessThan(SMTP_DATA_DELAY.dividedBy(2));
+        assertThat(emailOutboxRepository.findAll()).hasSize(1);
+
+        assertThat(SMTP_SERVER.awaitMessages(messagesBefore + 1, Duration.ofSeconds(15))).isTrue();
+        assertThat(SMTP_SERVER.getMessages().get(messagesBefore).recipients()).containsExactly("latency@example.com");
+        assertThat(awaitStatus(EmailOutboxStatus.SENT, Duration.ofSeconds(5))).isTrue();
+    }
+
+    private boolean awaitStatus(EmailOutboxStatus expected, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (emailOutboxRepository.findAll().stream().allMatch(message -> message.getStatus() == expected)) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return false;
+    }
+
+    private void register(String email) throws Exception {
+        RegisterRequest request = RegisterRequest.builder()
+                .firstname("Lena")
+                .lastname("Latency")
+                .email(email)
+                .username(email)
+                .password("Password123")
+                .repeatedPassword("Password123")
+                .build();
+        mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+    }
+
+    private static SlowSmtpServer startSmtpServer() {
+        try {
+            return SlowSmtpServer.start(SMTP_DATA_DELAY);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start SMTP stand-in", e);
+        }
+    }
+}
@@ -12,6 +12,7 @@ import com.dev.education_nearby_server.repositories.TokenRepository;
 import com.dev.education_nearby_server.repositories.UserRepository;
 import com.dev.education_nearby_server.services.AuthenticationService;
 import com.dev.education_nearby_server.services.EmailService;
+import com.dev.education_nearby_server.utils.TokenDigests;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -69,7 +70,8 @@ class AuthenticationServiceIT {
 
         List<Token> tokens = tokenRepository.findAll();
         assertThat(tokens).hasSize(1);
-        assertThat(tokens.getFirst().getTokenValue()).isEqualTo(response.getAccessToken());
+        assertThat(tokens.getFirst().getTokenHash()).isEqualTo(TokenDigests.hmac(response.getAccessToken()));
+        assertThat(tokenRepository.findByToken(response.getAccessToken())).contains(tokens.getFirst());
         assertThat(tokens.getFirst().isExpired()).isFalse();
         assertThat(tokens.getFirst().isRevoked()).isFalse();
     }
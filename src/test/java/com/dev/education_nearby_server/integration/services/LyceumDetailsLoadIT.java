@@ -0,0 +1,197 @@
+package com.dev.education_nearby_server.integration.services;
+
+import com.dev.education_nearby_server.enums.AgeGroup;
+import com.dev.education_nearby_server.enums.CourseType;
+import com.dev.education_nearby_server.enums.ImageRole;
+import com.dev.education_nearby_server.enums.Role;
+import com.dev.education_nearby_server.enums.VerificationStatus;
+import com.dev.education_nearby_server.models.dto.request.ReviewRequest;
+import com.dev.education_nearby_server.models.dto.response.CourseResponse;
+import com.dev.education_nearby_server.models.dto.response.LyceumDetailsResponse;
+import com.dev.education_nearby_server.models.entity.Course;
+import com.dev.education_nearby_server.models.entity.CourseImage;
+import com.dev.education_nearby_server.models.entity.Lyceum;
+import com.dev.education_nearby_server.models.entity.LyceumImage;
+import com.dev.education_nearby_server.models.entity.User;
+import com.dev.education_nearby_server.repositories.CourseRepository;
+import com.dev.education_nearby_server.repositories.LyceumRepository;
+import com.dev.education_nearby_server.repositories.ReviewRepository;
+import com.dev.education_nearby_server.repositories.UserRepository;
+import com.dev.education_nearby_server.services.LyceumDetailsService;
+import com.dev.education_nearby_server.services.LyceumService;
+import com.dev.education_nearby_server.services.ReviewService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Compares the lyceum page aggregate with the five separate calls it replaces, on a lyceum large
+ * enough for per-row lookups to show: the aggregate must return the same data and finish sooner.
+ */
+@SpringBootTest
+class LyceumDetailsLoadIT {
+
+    private static final int COURSES = 40;
+    private static final int LECTURERS = 8;
+    private static final int REVIEWERS = 15;
+    private static final int WARM_UP_RUNS = 5;
+    private static final int TIMED_RUNS = 15;
+
+    @Autowired
+    private LyceumDetailsService lyceumDetailsService;
+    @Autowired
+    private LyceumService lyceumService;
+    @Autowired
+    private ReviewService reviewService;
+    @Autowired
+    private LyceumRepository lyceumRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void cleanUp() {
+        SecurityContextHolder.clearContext();
+        courseRepository.deleteAll();
+        lyceumRepository.deleteAll();
+        reviewRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void aggregateMatchesSeparateCallsAndIsFaster() {
+        Long lyceumId = seedLyceum();
+
+        LyceumDetailsResponse details = lyceumDetailsService.getLyceumDetails(lyceumId);
+        List<CourseResponse> courses = lyceumService.getLyceumCourses(lyceumId);
+        assertThat(details.getLyceum().getCoursesCount()).isEqualTo(COURSES);
+        assertThat(details.getImages()).hasSize(2);
+        assertThat(details.getCourses()).hasSize(COURSES);
+        assertThat(details.getCourses())
+                .extracting(CourseResponse::getId, course -> course.getMainImage().getId())
+                .containsExactlyInAnyOrderElementsOf(courses.stream()
+                        .map(course -> tuple(course.getId(), course.getMainImage().getId()))
+                        .toList());
+        assertThat(details.getCourses()).allSatisfy(course -> assertThat(course.getLecturerIds()).hasSize(2));
+        assertThat(details.getLecturers()).hasSize(LECTURERS)
+                .allSatisfy(lecturer -> assertThat(lecturer.getLecturedLyceumIds()).containsExactly(lyceumId));
+        assertThat(details.getReviews()).hasSize(10);
+
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            lyceumDetailsService.getLyceumDetails(lyceumId);
+            loadSeparately(lyceumId);
+        }
+        List<Long> aggregate = new ArrayList<>();
+        List<Long> separate = new ArrayList<>();
+        for (int i = 0; i < TIMED_RUNS; i++) {
+            long start = System.nanoTime();
+            lyceumDetailsService.getLyceumDetails(lyceumId);
+            aggregate.add(System.nanoTime() - start);
+            start = System.nanoTime();
+            loadSeparately(lyceumId);
+            separate.add(System.nanoTime() - start);
+        }
+
+        assertThat(median(aggregate)).isLessThan(median(separate));
+    }
+
+    private void loadSeparately(Long lyceumId) {
+        lyceumService.getLyceumById(lyceumId);
+        lyceumService.getLyceumImages(lyceumId);
+        lyceumService.getLyceumCourses(lyceumId);
+        lyceumService.getLyceumLecturers(lyceumId);
+        reviewService.getLyceumReviews(lyceumId);
+    }
+
+    private static long median(List<Long> samples) {
+        List<Long> sorted = new ArrayList<>(samples);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    private Long seedLyceum() {
+        List<User> lecturers = new ArrayList<>();
+        for (int i = 0; i < LECTURERS; i++) {
+            lecturers.add(persistUser());
+        }
+        Lyceum lyceum = new Lyceum();
+        lyceum.setName("Lyceum " + UUID.randomUUID());
+        lyceum.setTown("Varna");
+        lyceum.setVerificationStatus(VerificationStatus.VERIFIED);
+        lyceum.setLecturers(new ArrayList<>(lecturers));
+        lyceum.setImages(new ArrayList<>(List.of(
+                lyceumImage(lyceum, ImageRole.MAIN, 0),
+                lyceumImage(lyceum, ImageRole.GALLERY, 1))));
+        lyceum = lyceumRepository.save(lyceum);
+
+        for (int i = 0; i < COURSES; i++) {
+            Course course = new Course();
+            course.setName("Course " + i);
+            course.setDescription("Description");
+            course.setType(CourseType.MUSIC);
+            course.setAgeGroupList(new ArrayList<>(List.of(AgeGroup.ADULT)));
+            course.setLyceum(lyceum);
+            course.setLecturers(new ArrayList<>(List.of(
+                    lecturers.get(i % LECTURERS), lecturers.get((i + 1) % LECTURERS))));
+            CourseImage image = new CourseImage();
+            image.setCourse(course);
+            image.setRole(ImageRole.MAIN);
+            image.setS3Key("courses/" + UUID.randomUUID() + "/main.png");
+            image.setUrl("https://example.com/" + image.getS3Key());
+            course.setImages(new ArrayList<>(List.of(image)));
+            courseRepository.save(course);
+        }
+
+        for (int i = 0; i < REVIEWERS; i++) {
+            authenticate(persistUser());
+            ReviewRequest request = new ReviewRequest();
+            request.setRating(1 + i % 5);
+            request.setComment("Review " + i);
+            reviewService.createLyceumReview(lyceum.getId(), request);
+        }
+        SecurityContextHolder.clearContext();
+        return lyceum.getId();
+    }
+
+    private static LyceumImage lyceumImage(Lyceum lyceum, ImageRole role, int orderIndex) {
+        LyceumImage image = new LyceumImage();
+        image.setLyceum(lyceum);
+        image.setRole(role);
+        image.setOrderIndex(orderIndex);
+        image.setS3Key("lyceums/" + UUID.randomUUID() + "/" + role.name().toLowerCase() + ".png");
+        image.setUrl("https://example.com/" + image.getS3Key());
+        return image;
+    }
+
+    private User persistUser() {
+        User user = new User();
+        user.setFirstname("Load");
+        user.setLastname("User");
+        user.setEmail("load-" + UUID.randomUUID() + "@example.com");
+        user.setUsername("load-" + UUID.randomUUID());
+        user.setPassword("Password123!");
+        user.setRole(Role.USER);
+        user.setEnabled(true);
+        return userRepository.save(user);
+    }
+
+    private void authenticate(User user) {
+        UsernamePasswordAuthenticationToken auth =
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(auth);
+    }
+}
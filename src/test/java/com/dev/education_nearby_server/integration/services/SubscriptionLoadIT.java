@@ -0,0 +1,149 @@
+package com.dev.education_nearby_server.integration.services;
+
+import com.dev.education_nearby_server.enums.AgeGroup;
+import com.dev.education_nearby_server.enums.CourseType;
+import com.dev.education_nearby_server.enums.Role;
+import com.dev.education_nearby_server.models.entity.Course;
+import com.dev.education_nearby_server.models.entity.User;
+import com.dev.education_nearby_server.repositories.CourseRepository;
+import com.dev.education_nearby_server.repositories.UserRepository;
+import com.dev.education_nearby_server.services.CourseService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bursts concurrent subscribe calls against one course and checks that the join table and the
+ * denormalized counter both end up with exactly one entry per user, and that the cost of a call
+ * does not depend on how many subscriptions the caller already has.
+ */
+@SpringBootTest
+class SubscriptionLoadIT {
+
+    private static final int SUBSCRIBERS = 200;
+    private static final int ATTEMPTS_PER_SUBSCRIBER = 3;
+    private static final int THREADS = 16;
+    private static final int EXISTING_SUBSCRIPTIONS = 300;
+    private static final int TIMED_CALLS = 50;
+
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void cleanUp() {
+        SecurityContextHolder.clearContext();
+        userRepository.deleteAll();
+        courseRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentRepeatedSubscribesStoreOneRowPerUser() throws Exception {
+        Course course = persistCourse();
+        List<Callable<Void>> calls = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            User user = persistUser();
+            for (int attempt = 0; attempt < ATTEMPTS_PER_SUBSCRIBER; attempt++) {
+                calls.add(() -> {
+                    authenticate(user);
+                    try {
+                        courseService.subscribeToCourse(course.getId());
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                    return null;
+                });
+            }
+        }
+        Collections.shuffle(calls);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (Future<Void> result : executor.invokeAll(calls)) {
+                result.get();
+            }
+        }
+
+        assertThat(courseRepository.countSubscriptionsByCourseId(course.getId())).isEqualTo(SUBSCRIBERS);
+        assertThat(courseRepository.findById(course.getId()).orElseThrow().getSubscriberCount())
+                .isEqualTo(SUBSCRIBERS);
+    }
+
+    @Test
+    void subscribeLatencyDoesNotGrowWithExistingSubscriptions() {
+        User light = persistUser();
+        User heavy = persistUser();
+        authenticate(heavy);
+        for (int i = 0; i < EXISTING_SUBSCRIPTIONS; i++) {
+            courseService.subscribeToCourse(persistCourse().getId());
+        }
+        List<Long> targets = new ArrayList<>();
+        for (int i = 0; i < TIMED_CALLS * 2; i++) {
+            targets.add(persistCourse().getId());
+        }
+
+        long lightMedian = medianSubscribeNanos(light, targets.subList(0, TIMED_CALLS));
+        long heavyMedian = medianSubscribeNanos(heavy, targets.subList(TIMED_CALLS, TIMED_CALLS * 2));
+
+        // Generous bound: the old path loaded the whole collection, which scaled linearly with it.
+        assertThat(heavyMedian).isLessThan(Math.max(lightMedian, 1_000_000L) * 5);
+        assertThat(courseRepository.countSubscriptionsByCourseId(targets.getLast())).isEqualTo(1);
+    }
+
+    private long medianSubscribeNanos(User user, List<Long> courseIds) {
+        authenticate(user);
+        List<Long> samples = new ArrayList<>();
+        for (Long courseId : courseIds) {
+            long start = System.nanoTime();
+            courseService.subscribeToCourse(courseId);
+            samples.add(System.nanoTime() - start);
+        }
+        Collections.sort(samples);
+        return samples.get(samples.size() / 2);
+    }
+
+    private Course persistCourse() {
+        Course course = new Course();
+        course.setName("Course " + UUID.randomUUID());
+        course.setDescription("Description");
+        course.setType(CourseType.MUSIC);
+        course.setAgeGroupList(new ArrayList<>(List.of(AgeGroup.ADULT)));
+        course.setImages(new ArrayList<>());
+        course.setLecturers(new ArrayList<>());
+        return courseRepository.save(course);
+    }
+
+    private User persistUser() {
+        User user = new User();
+        user.setFirstname("Load");
+        user.setLastname("User");
+        user.setEmail("load-" + UUID.randomUUID() + "@example.com");
+        user.setUsername("load-" + UUID.randomUUID());
+        user.setPassword("Password123!");
+        user.setRole(Role.USER);
+        user.setEnabled(true);
+        return userRepository.save(user);
+    }
+
+    private void authenticate(User user) {
+        UsernamePasswordAuthenticationToken auth =
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(auth);
+    }
+}
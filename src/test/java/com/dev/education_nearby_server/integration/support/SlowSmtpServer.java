@@ -0,0 +1,192 @@
+package com.dev.education_nearby_server.integration.support;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal local SMTP stand-in for tests. Accepts every command, optionally delays the greeting
+ * to imitate connection setup (TLS and AUTH) and delays the reply to the end of each DATA section
+ * to imitate a slow relay. Received messages are kept in memory.
+ */
+public final class SlowSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final Duration greetingDelay;
+    private final Duration dataDelay;
+    private final List<ReceivedMessage> messages = new CopyOnWriteArrayList<>();
+    private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Thread acceptThread;
+
+    private SlowSmtpServer(Duration greetingDelay, Duration dataDelay) throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.greetingDelay = greetingDelay;
+        this.dataDelay = dataDelay;
+        this.acceptThread = Thread.ofPlatform().daemon().name("slow-smtp-accept").start(this::acceptLoop);
+    }
+
+    /**
+     * Starts a server on an ephemeral loopback port.
+     *
+     * @param dataDelay time to wait before acknowledging each message body
+     */
+    public static SlowSmtpServer start(Duration dataDelay) throws IOException {
+        return new SlowSmtpServer(Duration.ZERO, dataDelay);
+    }
+
+    /**
+     * Starts a server on an ephemeral loopback port.
+     *
+     * @param greetingDelay time to wait before greeting each new connection
+     * @param dataDelay time to wait before acknowledging each message body
+     */
+    public static SlowSmtpServer start(Duration greetingDelay, Duration dataDelay) throws IOException {
+        return new SlowSmtpServer(greetingDelay, dataDelay);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public List<ReceivedMessage> getMessages() {
+        return List.copyOf(messages);
+    }
+
+    /**
+     * Number of SMTP connections accepted so far.
+     */
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    /**
+     * Blocks until at least {@code count} messages arrived or the timeout elapsed.
+     *
+     * @return true when the expected messages arrived in time
+     */
+    public boolean awaitMessages(int count, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (messages.size() < count) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(20);
+        }
+        return true;
+    }
+
+    /**
+     * Closes every open client session without a goodbye, as a relay dropping idle connections would.
+     */
+    public void dropConnections() throws IOException {
+        for (Socket socket : openSockets) {
+            socket.close();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        acceptThread.interrupt();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                openSockets.add(socket);
+                Thread.ofVirtual().name("slow-smtp-session").start(() -> handle(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             OutputStream out = socket.getOutputStream()) {
+            sleep(greetingDelay);
+            reply(out, "220 localhost ESMTP slow stand-in");
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String command = line.toUpperCase(Locale.ROOT);
+                if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                    reply(out, "250 localhost");
+                } else if (command.startsWith("MAIL FROM")) {
+                    recipients.clear();
+                    reply(out, "250 OK");
+                } else if (command.startsWith("RCPT TO")) {
+                    recipients.add(extractAddress(line));
+                    reply(out, "250 OK");
+                } else if (command.equals("DATA")) {
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                    String data = readData(reader);
+                    sleep(dataDelay);
+                    messages.add(new ReceivedMessage(List.copyOf(recipients), data));
+                    reply(out, "250 OK queued");
+                } else if (command.equals("QUIT")) {
+                    reply(out, "221 Bye");
+                    return;
+                } else {
+                    reply(out, "250 OK");
+                }
+            }
+        } catch (IOException ignored) {
+            // client went away
+        } finally {
+            openSockets.remove(socket);
+        }
+    }
+
+    private static String readData(BufferedReader reader) throws IOException {
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null && !line.equals(".")) {
+            data.append(line.startsWith("..") ? line.substring(1) : line).append("\r\n");
+        }
+        return data.toString();
+    }
+
+    private static String extractAddress(String line) {
+        int start = line.indexOf('<');
+        int end = line.indexOf('>');
+        return start >= 0 && end > start ? line.substring(start + 1, end) : line.substring(line.indexOf(':') + 1).trim();
+    }
+
+    private static void reply(OutputStream out, String response) throws IOException {
+        out.write((response + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private static void sleep(Duration delay) {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Envelope recipients and raw body of one accepted message.
+     */
+    public record ReceivedMessage(List<String> recipients, String data) {
+    }
+}
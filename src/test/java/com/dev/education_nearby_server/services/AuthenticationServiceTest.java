@@ -1,5 +1,6 @@
 package com.dev.education_nearby_server.services;
 
+import com.dev.education_nearby_server.config.AuthenticatedUserCache;
 import com.dev.education_nearby_server.config.JwtService;
 import com.dev.education_nearby_server.config.PasswordResetProperties;
 import com.dev.education_nearby_server.enums.Role;
@@ -70,6 +71,8 @@ class AuthenticationServiceTest {
     private EmailService emailService;
     @Mock
     private PasswordResetProperties passwordResetProperties;
+    @Mock
+    private AuthenticatedUserCache authenticatedUserCache;
 
     @InjectMocks
     private AuthenticationService authenticationService;
@@ -0,0 +1,189 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.CalendarFeedProperties;
+import com.dev.education_nearby_server.exceptions.common.NoSuchElementException;
+import com.dev.education_nearby_server.models.entity.Course;
+import com.dev.education_nearby_server.models.entity.CourseSchedule;
+import com.dev.education_nearby_server.models.entity.CourseScheduleSpecialCase;
+import com.dev.education_nearby_server.repositories.CourseRepository;
+import com.dev.education_nearby_server.repositories.UserRepository;
+import com.dev.education_nearby_server.utils.TokenDigests;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarFeedServiceTest {
+
+    private static final String TOKEN = "feed-secret";
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private CourseRepository courseRepository;
+
+    private CalendarFeedService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CalendarFeedService(userRepository, courseRepository, new CalendarFeedProperties());
+    }
+
+    @Test
+    void openFeedRejectsMissingOrWrongToken() {
+        when(userRepository.findCalendarTokenHash(5L)).thenReturn(Optional.of(TokenDigests.sha256(TOKEN)));
+        when(userRepository.findCalendarTokenHash(6L)).thenReturn(Optional.empty());
+
+        assertThrows(NoSuchElementException.class, () -> service.openFeed(5L, "wrong"));
+        assertThrows(NoSuchElementException.class, () -> service.openFeed(5L, " "));
+        assertThrows(NoSuchElementException.class, () -> service.openFeed(6L, TOKEN));
+        verify(courseRepository, never()).findCalendarEntriesBySubscriberId(any());
+    }
+
+    @Test
+    void etagIsStableUntilAScheduleVersionChanges() {
+        when(userRepository.findCalendarTokenHash(5L)).thenReturn(Optional.of(TokenDigests.sha256(TOKEN)));
+        when(courseRepository.findCalendarEntriesBySubscriberId(5L)).thenReturn(
+                List.of(entry(7L, 0L)),
+                List.of(entry(7L, 0L)),
+                List.of(entry(7L, 1L)));
+
+        String first = service.openFeed(5L, TOKEN).etag();
+        String repeated = service.openFeed(5L, TOKEN).etag();
+        String changed = service.openFeed(5L, TOKEN).etag();
+
+        assertThat(first).startsWith("\"").endsWith("\"");
+        assertThat(repeated).isEqualTo(first);
+        assertThat(changed).isNotEqualTo(first);
+    }
+
+    @Test
+    void openBodyRendersOnceAndServesCachedBytesForSameEtag() throws IOException {
+        when(userRepository.findCalendarTokenHash(5L)).thenReturn(Optional.of(TokenDigests.sha256(TOKEN)));
+        when(courseRepository.findCalendarEntriesBySubscriberId(5L)).thenReturn(List.of(entry(7L, 0L)));
+        when(courseRepository.findWithScheduleByIdIn(List.of(7L))).thenReturn(List.of(course()));
+
+        CalendarFeedService.CalendarFeed feed = service.openFeed(5L, TOKEN);
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        service.openBody(feed).writeTo(first);
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        service.openBody(feed).writeTo(second);
+
+        assertThat(second.toByteArray()).isEqualTo(first.toByteArray());
+        assertThat(first.toString(StandardCharsets.UTF_8)).contains("BEGIN:VEVENT");
+        verify(courseRepository, times(1)).findWithScheduleByIdIn(any());
+    }
+
+    @Test
+    void evictForcesReRender() throws IOException {
+        when(userRepository.findCalendarTokenHash(5L)).thenReturn(Optional.of(TokenDigests.sha256(TOKEN)));
+        when(courseRepository.findCalendarEntriesBySubscriberId(5L)).thenReturn(List.of(entry(7L, 0L)));
+        when(courseRepository.findWithScheduleByIdIn(List.of(7L))).thenReturn(List.of(course()));
+
+        CalendarFeedService.CalendarFeed feed = service.openFeed(5L, TOKEN);
+        service.openBody(feed).writeTo(new ByteArrayOutputStream());
+        service.evict(5L);
+        service.openBody(feed).writeTo(new ByteArrayOutputStream());
+
+        verify(courseRepository, times(2)).findWithScheduleByIdIn(any());
+    }
+
+    @Test
+    void renderEmitsRecurringEventsPerClassWithCancellationsAndFoldedLines() throws IOException {
+        StringWriter writer = new StringWriter();
+
+        service.render(writer, List.of(course()), LocalDate.of(2026, 10, 1));
+
+        String feed = writer.toString();
+        assertThat(feed).startsWith("BEGIN:VCALENDAR\r\n").endsWith("END:VCALENDAR\r\n");
+        assertThat(Arrays.stream(feed.split("\r\n")))
+                .allSatisfy(line -> assertThat(line.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(75));
+
+        List<String> lines = Arrays.asList(feed.replace("\r\n ", "").split("\r\n"));
+        assertThat(lines).containsSubsequence(
+                "BEGIN:VEVENT",
+                "UID:course-7-slot-0-class-0@education-nearby",
+                "DTSTART;TZID=Europe/Sofia:20261005T170000",
+                "DTEND;TZID=Europe/Sofia:20261005T174500",
+                "RRULE:FREQ=WEEKLY;BYDAY=MO;BYMONTH=9,10,11,12,1,2,3,4,5,6",
+                "EXDATE;TZID=Europe/Sofia:20261012T170000",
+                "END:VEVENT",
+                "BEGIN:VEVENT",
+                "UID:course-7-slot-0-class-1@education-nearby",
+                "DTSTART;TZID=Europe/Sofia:20261005T175500");
+        assertThat(lines).contains("LOCATION:ул. Витоша 1\\, София");
+        assertThat(lines).anySatisfy(line -> assertThat(line).startsWith("SUMMARY:Пиано за начинаещи"));
+        assertThat(lines).noneMatch(line -> line.contains("20260928"));
+    }
+
+    private static Course course() {
+        var slot = ScheduleExpanderTest.weekly(DayOfWeek.MONDAY, LocalTime.of(17, 0), null);
+        slot.setClassesCount(2);
+        slot.setSingleClassDurationMinutes(45);
+        slot.setGapBetweenClassesMinutes(10);
+        CourseSchedule schedule = ScheduleExpanderTest.schedule(slot);
+        schedule.getSpecialCases().add(cancellation(LocalDate.of(2026, 9, 28)));
+        schedule.getSpecialCases().add(cancellation(LocalDate.of(2026, 10, 12)));
+
+        Course course = new Course();
+        course.setId(7L);
+        course.setName("Пиано за начинаещи – група за деца и възрастни с дълго име, което се пренася");
+        course.setAddress("ул. Витоша 1, София");
+        course.setSchedule(schedule);
+        course.setActiveStartMonth(Month.SEPTEMBER);
+        course.setActiveEndMonth(Month.JUNE);
+        return course;
+    }
+
+    private static CourseScheduleSpecialCase cancellation(LocalDate date) {
+        CourseScheduleSpecialCase specialCase = new CourseScheduleSpecialCase();
+        specialCase.setDate(date);
+        return specialCase;
+    }
+
+    private static CourseRepository.CalendarEntry entry(Long id, long scheduleVersion) {
+        return new CourseRepository.CalendarEntry() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return "Course " + id;
+            }
+
+            @Override
+            public String getAddress() {
+                return null;
+            }
+
+            @Override
+            public long getScheduleVersion() {
+                return scheduleVersion;
+            }
+        };
+    }
+}
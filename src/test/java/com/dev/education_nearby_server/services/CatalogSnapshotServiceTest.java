@@ -0,0 +1,232 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.ApplicationConfig;
+import com.dev.education_nearby_server.config.CatalogSnapshotProperties;
+import com.dev.education_nearby_server.enums.CatalogSnapshotType;
+import com.dev.education_nearby_server.models.dto.response.CourseResponse;
+import com.dev.education_nearby_server.models.dto.response.LyceumResponse;
+import com.dev.education_nearby_server.repositories.CourseImageRepository;
+import com.dev.education_nearby_server.repositories.CourseRepository;
+import com.dev.education_nearby_server.repositories.LyceumImageRepository;
+import com.dev.education_nearby_server.repositories.LyceumRepository;
+import com.dev.education_nearby_server.repositories.SyncTombstoneRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSnapshotServiceTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2026, 10, 5, 9, 0);
+
+    @Mock
+    private LyceumService lyceumService;
+    @Mock
+    private CourseService courseService;
+    @Mock
+    private LyceumRepository lyceumRepository;
+    @Mock
+    private CourseRepository courseRepository;
+    @Mock
+    private LyceumImageRepository lyceumImageRepository;
+    @Mock
+    private CourseImageRepository courseImageRepository;
+    @Mock
+    private SyncTombstoneRepository syncTombstoneRepository;
+    @Mock
+    private StatisticsService statisticsService;
+
+    @TempDir
+    private Path directory;
+
+    private final ObjectMapper objectMapper = new ApplicationConfig(null).objectMapper();
+    private final MutableClock clock = new MutableClock(MONDAY.toInstant(ZoneOffset.UTC));
+    private CatalogSnapshotService service;
+
+    @BeforeEach
+    void setUp() {
+        CatalogSnapshotProperties properties = new CatalogSnapshotProperties();
+        properties.setDirectory(directory.toString());
+        service = new CatalogSnapshotService(lyceumService, courseService, lyceumRepository, courseRepository,
+                lyceumImageRepository, courseImageRepository, syncTombstoneRepository, statisticsService,
+                objectMapper, properties, clock);
+    }
+
+    @Test
+    void getSnapshotWritesPlainAndGzipFilesNamedByContent() throws IOException {
+        stubCatalog(List.of(lyceum(1L, "Prosveta"), lyceum(2L, "Svetlina")), List.of(course(7L)));
+
+        CatalogSnapshotService.Snapshot snapshot = service.getSnapshot(CatalogSnapshotType.LYCEUMS);
+
+        JsonNode lyceums = objectMapper.readTree(snapshot.json().path().toFile());
+        assertThat(lyceums).hasSize(2);
+        assertThat(lyceums.get(1).get("name").asText()).isEqualTo("Svetlina");
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(snapshot.gzip().path()))) {
+            assertThat(in.readAllBytes()).isEqualTo(Files.readAllBytes(snapshot.json().path()));
+        }
+        assertThat(snapshot.json().length()).isEqualTo(Files.size(snapshot.json().path()));
+        assertThat(snapshot.json().etag()).isEqualTo("\"" + snapshot.version() + "\"");
+        assertThat(snapshot.gzip().etag()).isNotEqualTo(snapshot.json().etag());
+        assertThat(snapshot.ids()).containsExactly(1L, 2L);
+        assertThat(service.getSnapshot(CatalogSnapshotType.COURSES).ids()).containsExactly(7L);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(file -> file.getFileName().toString()))
+                    .containsExactlyInAnyOrder(
+                            "lyceums-" + snapshot.version() + ".json",
+                            "lyceums-" + snapshot.version() + ".json.gz",
+                            "courses-" + service.getSnapshot(CatalogSnapshotType.COURSES).version() + ".json",
+                            "courses-" + service.getSnapshot(CatalogSnapshotType.COURSES).version() + ".json.gz");
+        }
+    }
+
+    @Test
+    void refreshIfDueWaitsUntilCatalogIsQuiet() {
+        stubCatalog(List.of(lyceum(1L, "Prosveta")), List.of());
+        when(lyceumRepository.findLastUpdatedAt()).thenReturn(MONDAY, MONDAY.plusMinutes(1));
+        service.getSnapshot(CatalogSnapshotType.LYCEUMS);
+
+        assertThat(service.refreshIfDue()).isFalse();
+        clock.advance(Duration.ofSeconds(29));
+        assertThat(service.refreshIfDue()).isFalse();
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(service.refreshIfDue()).isTrue();
+        assertThat(service.refreshIfDue()).isFalse();
+
+        verify(lyceumService, times(2)).getVerifiedLyceumsForSnapshot();
+    }
+
+    @Test
+    void refreshIfDuePublishesContinuousEditsAfterMaxDelay() {
+        stubCatalog(List.of(lyceum(1L, "Prosveta")), List.of());
+        when(lyceumRepository.findLastUpdatedAt()).thenAnswer(invocation ->
+                LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC));
+        service.getSnapshot(CatalogSnapshotType.LYCEUMS);
+
+        for (int poll = 0; poll < 6; poll++) {
+            clock.advance(Duration.ofSeconds(20));
+            assertThat(service.refreshIfDue()).isFalse();
+        }
+        clock.advance(Duration.ofSeconds(20));
+        assertThat(service.refreshIfDue()).isTrue();
+    }
+
+    @Test
+    void refreshIfDueRebuildsExpiredSnapshotUnderSameVersion() {
+        stubCatalog(List.of(lyceum(1L, "Prosveta")), List.of());
+        CatalogSnapshotService.Snapshot first = service.getSnapshot(CatalogSnapshotType.LYCEUMS);
+
+        clock.advance(Duration.ofMinutes(14));
+        assertThat(service.refreshIfDue()).isFalse();
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(service.refreshIfDue()).isTrue();
+
+        CatalogSnapshotService.Snapshot second = service.getSnapshot(CatalogSnapshotType.LYCEUMS);
+        assertThat(second.version()).isEqualTo(first.version());
+        assertThat(second.gzip().path()).isEqualTo(first.gzip().path()).exists();
+    }
+
+    @Test
+    void rebuildRemovesFilesOlderThanPreviousSnapshot() throws IOException {
+        when(lyceumService.getVerifiedLyceumsForSnapshot()).thenReturn(
+                List.of(lyceum(1L, "First")), List.of(lyceum(1L, "Second")), List.of(lyceum(1L, "Third")));
+        when(courseService.getAllCoursesForSnapshot()).thenReturn(List.of());
+        Path stale = Files.writeString(directory.resolve("lyceums-stale.json"), "[]");
+        Path unrelated = Files.writeString(directory.resolve("notes.txt"), "keep");
+
+        Path first = service.getSnapshot(CatalogSnapshotType.LYCEUMS).json().path();
+        clock.advance(Duration.ofMinutes(15));
+        service.refreshIfDue();
+        Path second = service.getSnapshot(CatalogSnapshotType.LYCEUMS).json().path();
+        clock.advance(Duration.ofMinutes(15));
+        service.refreshIfDue();
+        Path third = service.getSnapshot(CatalogSnapshotType.LYCEUMS).json().path();
+
+        assertThat(stale).doesNotExist();
+        assertThat(first).doesNotExist();
+        assertThat(second).exists();
+        assertThat(third).exists();
+        assertThat(unrelated).exists();
+    }
+
+    @Test
+    void flushDownloadsRecordsTalliedViewsOfSnapshotRows() {
+        stubCatalog(List.of(lyceum(1L, "Prosveta"), lyceum(2L, "Svetlina")), List.of(course(7L)));
+        service.getSnapshot(CatalogSnapshotType.LYCEUMS);
+        service.recordDownload(CatalogSnapshotType.LYCEUMS);
+        service.recordDownload(CatalogSnapshotType.LYCEUMS);
+        service.recordDownload(CatalogSnapshotType.COURSES);
+
+        service.flushDownloads();
+        service.flushDownloads();
+
+        verify(statisticsService).recordLyceumsSeenInResults(List.of(1L, 2L), 2);
+        verify(statisticsService).recordCoursesSeenInResults(List.of(7L), 1);
+        verifyNoMoreInteractions(statisticsService);
+    }
+
+    private void stubCatalog(List<LyceumResponse> lyceums, List<CourseResponse> courses) {
+        when(lyceumService.getVerifiedLyceumsForSnapshot()).thenReturn(lyceums);
+        when(courseService.getAllCoursesForSnapshot()).thenReturn(courses);
+    }
+
+    private static LyceumResponse lyceum(Long id, String name) {
+        return LyceumResponse.builder().id(id).name(name).town("Varna").build();
+    }
+
+    private static CourseResponse course(Long id) {
+        return CourseResponse.builder().id(id).name("Folk dances").build();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.ScheduleOccurrenceProperties;
+import com.dev.education_nearby_server.exceptions.common.BadRequestException;
+import com.dev.education_nearby_server.exceptions.common.NoSuchElementException;
+import com.dev.education_nearby_server.models.dto.response.CourseOccurrenceResponse;
+import com.dev.education_nearby_server.models.entity.Course;
+import com.dev.education_nearby_server.repositories.CourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CourseOccurrenceServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 9, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 9, 15);
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    private ScheduleOccurrenceProperties properties;
+    private CourseOccurrenceService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ScheduleOccurrenceProperties();
+        properties.setMaxCourses(2);
+        service = new CourseOccurrenceService(courseRepository, properties);
+    }
+
+    @Test
+    void getOccurrencesExpandsOnceAndServesSameVersionFromCache() {
+        when(courseRepository.findScheduleVersionsByIdIn(List.of(1L))).thenReturn(List.of(version(1L, 0L)));
+        when(courseRepository.findWithScheduleByIdIn(Set.of(1L)))
+                .thenReturn(List.of(course(1L, 0L, DayOfWeek.MONDAY)));
+
+        List<CourseOccurrenceResponse> first = service.getOccurrences(1L, FROM, TO);
+        List<CourseOccurrenceResponse> second = service.getOccurrences(1L, FROM, TO);
+
+        assertThat(first).extracting(CourseOccurrenceResponse::getDate)
+                .containsExactly(LocalDate.of(2026, 9, 7), LocalDate.of(2026, 9, 14));
+        assertThat(second).extracting(CourseOccurrenceResponse::getDate)
+                .containsExactly(LocalDate.of(2026, 9, 7), LocalDate.of(2026, 9, 14));
+        verify(courseRepository, times(1)).findWithScheduleByIdIn(any());
+    }
+
+    @Test
+    void getOccurrencesReexpandsWhenScheduleVersionChanges() {
+        when(courseRepository.findScheduleVersionsByIdIn(List.of(1L)))
+                .thenReturn(List.of(version(1L, 0L)), List.of(version(1L, 1L)));
+        when(courseRepository.findWithScheduleByIdIn(Set.of(1L))).thenReturn(
+                List.of(course(1L, 0L, DayOfWeek.MONDAY)),
+                List.of(course(1L, 1L, DayOfWeek.TUESDAY)));
+
+        service.getOccurrences(1L, FROM, TO);
+        List<CourseOccurrenceResponse> updated = service.getOccurrences(1L, FROM, TO);
+
+        assertThat(updated).extracting(CourseOccurrenceResponse::getDate)
+                .containsExactly(LocalDate.of(2026, 9, 1), LocalDate.of(2026, 9, 8), LocalDate.of(2026, 9, 15));
+    }
+
+    @Test
+    void getOccurrencesMergesSeveralCoursesChronologically() {
+        when(courseRepository.findScheduleVersionsByIdIn(Set.of(1L, 2L)))
+                .thenReturn(List.of(version(1L, 0L), version(2L, 3L)));
+        when(courseRepository.findWithScheduleByIdIn(Set.of(1L, 2L))).thenReturn(List.of(
+                course(1L, 0L, DayOfWeek.MONDAY),
+                course(2L, 3L, DayOfWeek.SUNDAY)));
+
+        List<CourseOccurrenceResponse> occurrences = service.getOccurrences(List.of(1L, 2L, 1L), FROM, TO);
+
+        assertThat(occurrences)
+                .extracting(CourseOccurrenceResponse::getCourseId, CourseOccurrenceResponse::getDate)
+                .containsExactly(
+                        tuple(2L, LocalDate.of(2026, 9, 6)),
+                        tuple(1L, LocalDate.of(2026, 9, 7)),
+                        tuple(2L, LocalDate.of(2026, 9, 13)),
+                        tuple(1L, LocalDate.of(2026, 9, 14)));
+    }
+
+    @Test
+    void getOccurrencesThrowsWhenCourseMissing() {
+        when(courseRepository.findScheduleVersionsByIdIn(List.of(9L))).thenReturn(List.of());
+
+        assertThrows(NoSuchElementException.class, () -> service.getOccurrences(9L, FROM, TO));
+        verify(courseRepository, never()).findWithScheduleByIdIn(any());
+    }
+
+    @Test
+    void getOccurrencesRejectsInvalidRangesAndTooManyCourses() {
+        assertThrows(BadRequestException.class, () -> service.getOccurrences(1L, TO, FROM));
+        assertThrows(BadRequestException.class, () -> service.getOccurrences(1L, FROM, FROM.plusDays(366)));
+        assertThrows(BadRequestException.class, () -> service.getOccurrences(1L, null, TO));
+        assertThrows(BadRequestException.class, () -> service.getOccurrences(List.of(1L, 2L, 3L), FROM, TO));
+        verify(courseRepository, never()).findScheduleVersionsByIdIn(any());
+    }
+
+    private static CourseRepository.ScheduleVersion version(Long id, long scheduleVersion) {
+        return new CourseRepository.ScheduleVersion() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public long getScheduleVersion() {
+                return scheduleVersion;
+            }
+        };
+    }
+
+    private static Course course(Long id, long scheduleVersion, DayOfWeek dayOfWeek) {
+        Course course = new Course();
+        course.setId(id);
+        course.setScheduleVersion(scheduleVersion);
+        course.setSchedule(ScheduleExpanderTest.schedule(
+                ScheduleExpanderTest.weekly(dayOfWeek, LocalTime.of(17, 0), LocalTime.of(18, 0))));
+        return course;
+    }
+}
@@ -6,6 +6,8 @@ import com.dev.education_nearby_server.enums.CourseType;
 import com.dev.education_nearby_server.enums.ImageRole;
 import com.dev.education_nearby_server.enums.Role;
 import com.dev.education_nearby_server.enums.ScheduleRecurrence;
+import com.dev.education_nearby_server.enums.SubscriberNotificationType;
+import com.dev.education_nearby_server.enums.SyncEntityType;
 import com.dev.education_nearby_server.exceptions.common.AccessDeniedException;
 import com.dev.education_nearby_server.exceptions.common.BadRequestException;
 import com.dev.education_nearby_server.exceptions.common.ConflictException;
@@ -19,18 +21,23 @@ import com.dev.education_nearby_server.models.dto.request.CourseUpdateRequest;
 import com.dev.education_nearby_server.models.dto.response.CourseFilterResponse;
 import com.dev.education_nearby_server.models.dto.response.CourseImageResponse;
 import com.dev.education_nearby_server.models.dto.response.CourseResponse;
+import com.dev.education_nearby_server.models.dto.response.SubscriberPageResponse;
+import com.dev.education_nearby_server.models.dto.response.SubscriberResponse;
 import com.dev.education_nearby_server.models.entity.Course;
 import com.dev.education_nearby_server.models.entity.CourseSchedule;
 import com.dev.education_nearby_server.models.entity.CourseScheduleSlot;
+import com.dev.education_nearby_server.models.entity.CourseScheduleSpecialCase;
 import com.dev.education_nearby_server.models.entity.CourseImage;
 import com.dev.education_nearby_server.models.entity.Lyceum;
+import com.dev.education_nearby_server.models.entity.SyncTombstone;
 import com.dev.education_nearby_server.models.entity.User;
 import com.dev.education_nearby_server.repositories.CourseImageRepository;
 import com.dev.education_nearby_server.repositories.CourseReviewRepository;
 import com.dev.education_nearby_server.repositories.CourseRepository;
 import com.dev.education_nearby_server.repositories.LyceumRepository;
-import com.dev.education_nearby_server.repositories.UserReviewRepository;
+import com.dev.education_nearby_server.repositories.SyncTombstoneRepository;
 import com.dev.education_nearby_server.repositories.UserRepository;
+import com.dev.education_nearby_server.utils.FieldSelection;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -38,6 +45,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -46,6 +54,8 @@ import org.springframework.data.domain.Sort;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.Month;
 import java.util.ArrayList;
@@ -53,13 +63,19 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -78,11 +94,17 @@ class CourseServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private UserReviewRepository userReviewRepository;
-    @Mock
     private S3Properties s3Properties;
     @Mock
     private StatisticsService statisticsService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private CalendarFeedService calendarFeedService;
+    @Mock
+    private ScheduleConflictService scheduleConflictService;
+    @Mock
+    private SyncTombstoneRepository syncTombstoneRepository;
 
     @InjectMocks
     private CourseService courseService;
@@ -100,7 +122,7 @@ class CourseServiceTest {
         second.setLecturers(new ArrayList<>());
         when(courseRepository.findAll()).thenReturn(List.of(first, second));
 
-        List<CourseResponse> responses = courseService.getAllCourses();
+        List<CourseResponse> responses = courseService.getAllCourses(FieldSelection.all());
 
         assertThat(responses).hasSize(2);
         assertThat(responses.get(0).getId()).isEqualTo(1L);
@@ -178,7 +200,7 @@ class CourseServiceTest {
         when(courseRepository.filterCourses(anyList(), anyBoolean(), anyList(), anyBoolean(), any(), any(), any(), anyList(), anyBoolean(), any(), any(), any(), any(), any(), anyBoolean(), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(List.of(course), PageRequest.of(0, 9), 1));
 
-        Page<CourseFilterResponse> responses = courseService.filterCourses(null, 0, 9, Sort.unsorted());
+        Page<CourseFilterResponse> responses = courseService.filterCourses(null, 0, 9, Sort.unsorted(), FieldSelection.all());
 
         assertThat(responses.getContent()).hasSize(1);
         assertThat(responses.getContent().getFirst().getId()).isEqualTo(1L);
@@ -220,7 +242,7 @@ class CourseServiceTest {
         when(courseRepository.filterCourses(anyList(), anyBoolean(), anyList(), anyBoolean(), any(), any(), any(), anyList(), anyBoolean(), any(), any(), any(), any(), any(), anyBoolean(), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(List.of(createCourseEntity(2L)), PageRequest.of(0, 9), 1));
 
-        courseService.filterCourses(request, 0, 9, Sort.unsorted());
+        courseService.filterCourses(request, 0, 9, Sort.unsorted(), FieldSelection.all());
 
         verify(courseRepository).filterCourses(
                 List.of(),
@@ -249,7 +271,7 @@ class CourseServiceTest {
                 .maxPrice(50f)
                 .build();
 
-        assertThrows(BadRequestException.class, () -> courseService.filterCourses(request, 0, 9, Sort.unsorted()));
+        assertThrows(BadRequestException.class, () -> courseService.filterCourses(request, 0, 9, Sort.unsorted(), FieldSelection.all()));
         verifyNoInteractions(courseRepository);
     }
 
@@ -260,7 +282,7 @@ class CourseServiceTest {
                 .startTimeTo(LocalTime.of(10, 0))
                 .build();
 
-        assertThrows(BadRequestException.class, () -> courseService.filterCourses(request, 0, 9, Sort.unsorted()));
+        assertThrows(BadRequestException.class, () -> courseService.filterCourses(request, 0, 9, Sort.unsorted(), FieldSelection.all()));
         verifyNoInteractions(courseRepository);
     }
 
@@ -270,7 +292,7 @@ class CourseServiceTest {
                 .activeStartMonth(Month.MAY)
                 .build();
 
-        assertThrows(ValidationException.class, () -> courseService.filterCourses(request, 0, 9, Sort.unsorted()));
+        assertThrows(ValidationException.class, () -> courseService.filterCourses(request, 0, 9, Sort.unsorted(), FieldSelection.all()));
         verifyNoInteractions(courseRepository);
     }
 
@@ -283,7 +305,7 @@ class CourseServiceTest {
         when(courseRepository.filterCourses(anyList(), anyBoolean(), anyList(), anyBoolean(), any(), any(), any(), anyList(), anyBoolean(), any(), any(), any(), any(), any(), anyBoolean(), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(List.of(createCourseEntity(2L)), PageRequest.of(0, 9), 1));
 
-        courseService.filterCourses(request, 0, 9, Sort.unsorted());
+        courseService.filterCourses(request, 0, 9, Sort.unsorted(), FieldSelection.all());
 
         verify(courseRepository).filterCourses(
                 List.of(),
@@ -310,7 +332,7 @@ class CourseServiceTest {
         CourseFilterRequest request = CourseFilterRequest.builder().build();
 
         assertThrows(BadRequestException.class,
-                () -> courseService.filterCourses(request, 0, 9, Sort.by("unknownField")));
+                () -> courseService.filterCourses(request, 0, 9, Sort.by("unknownField"), FieldSelection.all()));
         verifyNoInteractions(courseRepository);
     }
 
@@ -341,12 +363,12 @@ class CourseServiceTest {
         course.setSeenInResultsCount(12L);
         course.setVisitCount(4L);
         course.setShareCount(7L);
+        course.setSubscriberCount(9L);
         User lecturer = createUser(201L, Role.USER);
         course.setLecturers(new ArrayList<>(List.of(lecturer)));
         when(courseRepository.findDetailedById(64L)).thenReturn(Optional.of(course));
         authenticate(lecturer);
         when(userRepository.findById(lecturer.getId())).thenReturn(Optional.of(lecturer));
-        when(courseRepository.countSubscriptionsByCourseId(64L)).thenReturn(9L);
 
         var response = courseService.getCourseStatistics(64L);
 
@@ -949,6 +971,8 @@ class CourseServiceTest {
 
         verify(courseImageRepository).delete(courseImage);
         assertThat(course.getImages()).isEmpty();
+        verify(syncTombstoneRepository).save(argThat(tombstone ->
+                tombstone.getEntityType() == SyncEntityType.COURSE_IMAGE && tombstone.getEntityId().equals(3L)));
     }
 
     @Test
@@ -999,6 +1023,71 @@ class CourseServiceTest {
         assertThat(course.getAchievements()).isEqualTo("Awards");
         assertThat(course.getLyceum()).isEqualTo(newLyceum);
         verify(courseRepository).save(course);
+        verify(courseRepository).touchUpdatedAt(40L);
+    }
+
+    @Test
+    void updateCoursePublishesScheduleChangeAndNewCancellations() {
+        Course course = createCourseEntity(41L);
+        Lyceum lyceum = new Lyceum();
+        lyceum.setId(6L);
+        course.setLyceum(lyceum);
+        course.setSchedule(scheduleWith(weeklySlot(DayOfWeek.MONDAY)));
+        LocalDate upcoming = LocalDate.now().plusDays(3);
+        LocalDate past = LocalDate.now().minusDays(3);
+        CourseSchedule newSchedule = scheduleWith(weeklySlot(DayOfWeek.TUESDAY));
+        newSchedule.getSpecialCases().add(cancellation(upcoming));
+        newSchedule.getSpecialCases().add(cancellation(past));
+
+        when(courseRepository.findDetailedById(41L)).thenReturn(Optional.of(course));
+        User admin = createUser(70L, Role.ADMIN);
+        authenticate(admin);
+        when(userRepository.findById(admin.getId())).thenReturn(Optional.of(admin));
+        when(courseRepository.save(course)).thenAnswer(invocation -> invocation.getArgument(0));
+
+        courseService.updateCourse(41L, CourseUpdateRequest.builder().schedule(newSchedule).build());
+
+        ArgumentCaptor<CourseChangedEvent> captor = ArgumentCaptor.forClass(CourseChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+        assertThat(captor.getAllValues())
+                .extracting(CourseChangedEvent::type, CourseChangedEvent::dedupKey)
+                .containsExactly(
+                        tuple(SubscriberNotificationType.SCHEDULE_CHANGED, "v1"),
+                        tuple(SubscriberNotificationType.CLASS_CANCELLED, upcoming.toString())
+                );
+        assertThat(captor.getAllValues()).allSatisfy(event -> {
+            assertThat(event.courseId()).isEqualTo(41L);
+            assertThat(event.lyceumId()).isEqualTo(6L);
+        });
+        assertThat(course.getScheduleVersion()).isEqualTo(1L);
+        verify(scheduleConflictService).ensureNoConflicts(course, List.of());
+    }
+
+    @Test
+    void updateCourseDoesNotPublishWhenScheduleUnchanged() {
+        Course course = createCourseEntity(42L);
+        CourseSchedule schedule = scheduleWith(weeklySlot(DayOfWeek.MONDAY));
+        schedule.getSpecialCases().add(cancellation(LocalDate.now().plusDays(1)));
+        course.setSchedule(schedule);
+        course.getLecturers().add(createUser(61L, Role.USER));
+        CourseSchedule sameSchedule = scheduleWith(weeklySlot(DayOfWeek.MONDAY));
+        sameSchedule.getSpecialCases().add(cancellation(LocalDate.now().plusDays(1)));
+
+        when(courseRepository.findDetailedById(42L)).thenReturn(Optional.of(course));
+        User admin = createUser(70L, Role.ADMIN);
+        authenticate(admin);
+        when(userRepository.findById(admin.getId())).thenReturn(Optional.of(admin));
+        when(courseRepository.save(course)).thenAnswer(invocation -> invocation.getArgument(0));
+
+        courseService.updateCourse(42L, CourseUpdateRequest.builder()
+                .schedule(sameSchedule)
+                .name("Renamed")
+                .build());
+
+        verifyNoInteractions(eventPublisher);
+        assertThat(course.getScheduleVersion()).isZero();
+        verify(scheduleConflictService).ensureNoConflicts(course, List.of());
+        verify(scheduleConflictService).courseChanged(course, List.of(61L));
     }
 
     @Test
@@ -1206,6 +1295,25 @@ class CourseServiceTest {
         verify(courseRepository).save(course);
     }
 
+    @Test
+    void addLecturerToCourseRejectsLecturerWithOverlappingCourse() {
+        Course course = createCourseEntity(58L);
+        when(courseRepository.findDetailedById(58L)).thenReturn(Optional.of(course));
+        User admin = createUser(93L, Role.ADMIN);
+        authenticate(admin);
+        when(userRepository.findById(admin.getId())).thenReturn(Optional.of(admin));
+        User lecturer = createUser(78L, Role.USER);
+        when(userRepository.findById(lecturer.getId())).thenReturn(Optional.of(lecturer));
+        doThrow(new ConflictException("Lecturer with id 78 is already teaching \"Piano\" on MONDAY from 17:00 to 18:00."))
+                .when(scheduleConflictService).ensureNoConflicts(course, List.of(78L));
+
+        assertThrows(ConflictException.class, () -> courseService.addLecturerToCourse(58L, lecturer.getId()));
+
+        assertThat(course.getLecturers()).isEmpty();
+        verify(courseRepository, never()).save(any());
+        verify(scheduleConflictService, never()).courseChanged(any(), any());
+    }
+
     @Test
     void addLecturerToCourseSkipsDuplicateLecturer() {
         Course course = createCourseEntity(55L);
@@ -1262,18 +1370,17 @@ class CourseServiceTest {
         Course course = createCourseEntity(571L);
         User lecturer = createUser(150L, Role.USER);
         course.setLecturers(new ArrayList<>(List.of(lecturer)));
-        User subscriber = createUser(151L, Role.USER);
-        course.setSubscribers(new ArrayList<>(List.of(subscriber)));
-        when(courseRepository.findDetailedById(571L)).thenReturn(Optional.of(course));
+        when(courseRepository.findById(571L)).thenReturn(Optional.of(course));
         authenticate(lecturer);
         when(userRepository.findById(lecturer.getId())).thenReturn(Optional.of(lecturer));
-        when(userReviewRepository.findAverageRatingByReviewedUserId(subscriber.getId())).thenReturn(4.8);
+        when(userRepository.findCourseSubscribersAfter(571L, 0L, PageRequest.of(0, 51)))
+                .thenReturn(List.of(subscriberSummary(151L)));
 
-        var response = courseService.getCourseSubscribers(571L);
+        SubscriberPageResponse response = courseService.getCourseSubscribers(571L, null, 50);
 
-        assertThat(response).hasSize(1);
-        assertThat(response.getFirst().getId()).isEqualTo(151L);
-        assertThat(response.getFirst().getAverageRating()).isEqualTo(4.8);
+        assertThat(response.getItems()).extracting(SubscriberResponse::getId).containsExactly(151L);
+        assertThat(response.getItems().getFirst().getUsername()).isEqualTo("subscriber151");
+        assertThat(response.getNextCursor()).isNull();
     }
 
     @Test
@@ -1284,129 +1391,122 @@ class CourseServiceTest {
         course.setLyceum(lyceum);
         User lyceumAdmin = createUser(152L, Role.USER);
         lyceumAdmin.setAdministratedLyceum(lyceum);
-        User subscriber = createUser(153L, Role.USER);
-        course.setSubscribers(new ArrayList<>(List.of(subscriber)));
-        when(courseRepository.findDetailedById(572L)).thenReturn(Optional.of(course));
+        when(courseRepository.findById(572L)).thenReturn(Optional.of(course));
         authenticate(lyceumAdmin);
         when(userRepository.findById(lyceumAdmin.getId())).thenReturn(Optional.of(lyceumAdmin));
-        when(userReviewRepository.findAverageRatingByReviewedUserId(subscriber.getId())).thenReturn(4.1);
+        when(userRepository.findCourseSubscribersAfter(572L, 0L, PageRequest.of(0, 51)))
+                .thenReturn(List.of(subscriberSummary(153L)));
 
-        var response = courseService.getCourseSubscribers(572L);
+        SubscriberPageResponse response = courseService.getCourseSubscribers(572L, null, 50);
 
-        assertThat(response).hasSize(1);
-        assertThat(response.getFirst().getId()).isEqualTo(153L);
+        assertThat(response.getItems()).extracting(SubscriberResponse::getId).containsExactly(153L);
     }
 
     @Test
-    void getCourseSubscribersAllowsAdmin() {
+    void getCourseSubscribersReturnsCursorWhenMoreSubscribersFollow() {
         Course course = createCourseEntity(573L);
         User admin = createUser(154L, Role.ADMIN);
-        User subscriber = createUser(155L, Role.USER);
-        course.setSubscribers(new ArrayList<>(List.of(subscriber)));
-        when(courseRepository.findDetailedById(573L)).thenReturn(Optional.of(course));
+        when(courseRepository.findById(573L)).thenReturn(Optional.of(course));
         authenticate(admin);
         when(userRepository.findById(admin.getId())).thenReturn(Optional.of(admin));
-        when(userReviewRepository.findAverageRatingByReviewedUserId(subscriber.getId())).thenReturn(3.9);
+        when(userRepository.findCourseSubscribersAfter(573L, 155L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(subscriberSummary(156L), subscriberSummary(158L), subscriberSummary(160L)));
 
-        var response = courseService.getCourseSubscribers(573L);
+        SubscriberPageResponse response = courseService.getCourseSubscribers(573L, 155L, 2);
+
+        assertThat(response.getItems()).extracting(SubscriberResponse::getId).containsExactly(156L, 158L);
+        assertThat(response.getNextCursor()).isEqualTo(158L);
+    }
 
-        assertThat(response).hasSize(1);
-        assertThat(response.getFirst().getId()).isEqualTo(155L);
+    @Test
+    void getCourseSubscribersRejectsInvalidPageRequest() {
+        assertThrows(BadRequestException.class, () -> courseService.getCourseSubscribers(575L, null, 0));
+        assertThrows(BadRequestException.class, () -> courseService.getCourseSubscribers(575L, null, 201));
+        assertThrows(BadRequestException.class, () -> courseService.getCourseSubscribers(575L, -1L, 50));
+        verifyNoInteractions(courseRepository, userRepository);
     }
 
     @Test
     void getCourseSubscribersThrowsWhenUserCannotView() {
         Course course = createCourseEntity(574L);
         User regularUser = createUser(156L, Role.USER);
-        when(courseRepository.findDetailedById(574L)).thenReturn(Optional.of(course));
+        when(courseRepository.findById(574L)).thenReturn(Optional.of(course));
         authenticate(regularUser);
         when(userRepository.findById(regularUser.getId())).thenReturn(Optional.of(regularUser));
 
-        assertThrows(AccessDeniedException.class, () -> courseService.getCourseSubscribers(574L));
-        verify(userReviewRepository, never()).findAverageRatingByReviewedUserId(any());
+        assertThrows(AccessDeniedException.class, () -> courseService.getCourseSubscribers(574L, null, 50));
+        verify(userRepository, never()).findCourseSubscribersAfter(any(), anyLong(), any());
     }
 
     @Test
-    void subscribeToCourseAddsSubscriptionWhenMissing() {
-        Course course = createCourseEntity(58L);
-        when(courseRepository.findById(58L)).thenReturn(Optional.of(course));
-
-        User user = createUser(95L, Role.USER);
-        user.setSubscribedCourses(new ArrayList<>());
-        authenticate(user);
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+    void subscribeToCourseInsertsJoinRowWithoutLoadingCollections() {
+        when(courseRepository.lockForSubscriptionChange(58L)).thenReturn(Optional.of(58L));
+        when(courseRepository.insertSubscription(95L, 58L)).thenReturn(1);
+        authenticate(createUser(95L, Role.USER));
 
         courseService.subscribeToCourse(58L);
 
-        assertThat(user.getSubscribedCourses()).hasSize(1);
-        assertThat(user.getSubscribedCourses().getFirst().getId()).isEqualTo(58L);
-        verify(userRepository).save(user);
+        verify(courseRepository).adjustSubscriberCount(58L, 1);
+        verify(calendarFeedService).evict(95L);
+        verifyNoInteractions(userRepository);
     }
 
     @Test
-    void subscribeToCourseThrowsWhenAlreadySubscribed() {
-        Course course = createCourseEntity(59L);
-        when(courseRepository.findById(59L)).thenReturn(Optional.of(course));
+    void subscribeToCourseIsIdempotent() {
+        when(courseRepository.lockForSubscriptionChange(59L)).thenReturn(Optional.of(59L));
+        when(courseRepository.insertSubscription(96L, 59L)).thenReturn(1, 0);
+        authenticate(createUser(96L, Role.USER));
 
-        User user = createUser(96L, Role.USER);
-        user.setSubscribedCourses(new ArrayList<>(List.of(course)));
-        authenticate(user);
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        courseService.subscribeToCourse(59L);
+        courseService.subscribeToCourse(59L);
 
-        assertThrows(ConflictException.class, () -> courseService.subscribeToCourse(59L));
+        verify(courseRepository, times(2)).insertSubscription(96L, 59L);
+        verify(courseRepository, times(1)).adjustSubscriberCount(59L, 1);
+    }
 
-        assertThat(user.getSubscribedCourses()).hasSize(1);
-        verify(userRepository, never()).save(any());
+    @Test
+    void subscribeToCourseThrowsWhenCourseMissing() {
+        when(courseRepository.lockForSubscriptionChange(57L)).thenReturn(Optional.empty());
+        authenticate(createUser(94L, Role.USER));
+
+        assertThrows(NoSuchElementException.class, () -> courseService.subscribeToCourse(57L));
+        verify(courseRepository, never()).insertSubscription(any(), any());
+        verifyNoInteractions(calendarFeedService);
     }
 
     @Test
     void subscribeToCourseThrowsWhenUnauthenticated() {
-        Course course = createCourseEntity(60L);
-        when(courseRepository.findById(60L)).thenReturn(Optional.of(course));
-
         assertThrows(UnauthorizedException.class, () -> courseService.subscribeToCourse(60L));
-        verify(userRepository, never()).save(any());
+        verify(courseRepository, never()).insertSubscription(any(), any());
     }
 
     @Test
-    void unsubscribeFromCourseRemovesSubscriptionWhenPresent() {
-        Course course = createCourseEntity(61L);
-        when(courseRepository.findById(61L)).thenReturn(Optional.of(course));
-
-        User user = createUser(97L, Role.USER);
-        user.setSubscribedCourses(new ArrayList<>(List.of(course)));
-        course.setSubscribers(new ArrayList<>(List.of(user)));
-        authenticate(user);
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+    void unsubscribeFromCourseDeletesJoinRowWithoutLoadingCollections() {
+        when(courseRepository.lockForSubscriptionChange(61L)).thenReturn(Optional.of(61L));
+        when(courseRepository.deleteSubscription(97L, 61L)).thenReturn(1);
+        authenticate(createUser(97L, Role.USER));
 
         courseService.unsubscribeFromCourse(61L);
 
-        assertThat(user.getSubscribedCourses()).isEmpty();
-        assertThat(course.getSubscribers()).isEmpty();
-        verify(userRepository).save(user);
+        verify(courseRepository).adjustSubscriberCount(61L, -1);
+        verify(calendarFeedService).evict(97L);
+        verifyNoInteractions(userRepository);
     }
 
     @Test
-    void unsubscribeFromCourseThrowsWhenNotSubscribed() {
-        Course course = createCourseEntity(62L);
-        when(courseRepository.findById(62L)).thenReturn(Optional.of(course));
+    void unsubscribeFromCourseIsNoOpWhenNotSubscribed() {
+        when(courseRepository.lockForSubscriptionChange(62L)).thenReturn(Optional.of(62L));
+        when(courseRepository.deleteSubscription(98L, 62L)).thenReturn(0);
+        authenticate(createUser(98L, Role.USER));
 
-        User user = createUser(98L, Role.USER);
-        user.setSubscribedCourses(new ArrayList<>());
-        authenticate(user);
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-
-        assertThrows(BadRequestException.class, () -> courseService.unsubscribeFromCourse(62L));
-        verify(userRepository, never()).save(any());
+        assertDoesNotThrow(() -> courseService.unsubscribeFromCourse(62L));
+        verify(courseRepository, never()).adjustSubscriberCount(any(), anyLong());
     }
 
     @Test
     void unsubscribeFromCourseThrowsWhenUnauthenticated() {
-        Course course = createCourseEntity(63L);
-        when(courseRepository.findById(63L)).thenReturn(Optional.of(course));
-
         assertThrows(UnauthorizedException.class, () -> courseService.unsubscribeFromCourse(63L));
-        verify(userRepository, never()).save(any());
+        verify(courseRepository, never()).deleteSubscription(any(), any());
     }
 
     @Test
@@ -1487,6 +1587,12 @@ class CourseServiceTest {
         courseService.deleteCourse(25L);
 
         verify(courseRepository).delete(course);
+        verify(scheduleConflictService).courseDeleted(25L, List.of(60L));
+        ArgumentCaptor<List<SyncTombstone>> tombstonesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(syncTombstoneRepository).saveAll(tombstonesCaptor.capture());
+        assertThat(tombstonesCaptor.getValue())
+                .extracting(SyncTombstone::getEntityType, SyncTombstone::getEntityId)
+                .containsExactly(tuple(SyncEntityType.COURSE, 25L));
         verify(lyceumRepository, never()).delete(any());
         verify(userRepository, never()).delete(any());
         assertThat(course.getLecturers()).containsExactly(lecturer);
@@ -1533,6 +1639,28 @@ class CourseServiceTest {
         return course;
     }
 
+    private CourseSchedule scheduleWith(CourseScheduleSlot slot) {
+        CourseSchedule schedule = new CourseSchedule();
+        schedule.getSlots().add(slot);
+        return schedule;
+    }
+
+    private CourseScheduleSlot weeklySlot(DayOfWeek dayOfWeek) {
+        CourseScheduleSlot slot = new CourseScheduleSlot();
+        slot.setRecurrence(ScheduleRecurrence.WEEKLY);
+        slot.setDayOfWeek(dayOfWeek);
+        slot.setStartTime(LocalTime.of(17, 0));
+        slot.setEndTime(LocalTime.of(18, 0));
+        return slot;
+    }
+
+    private CourseScheduleSpecialCase cancellation(LocalDate date) {
+        CourseScheduleSpecialCase specialCase = new CourseScheduleSpecialCase();
+        specialCase.setDate(date);
+        specialCase.setCancelled(true);
+        return specialCase;
+    }
+
     private CourseImage buildCourseImage(Long id, Course course, String key, String url, ImageRole role, Integer order) {
         CourseImage image = new CourseImage();
         image.setId(id);
@@ -1569,4 +1697,33 @@ class CourseServiceTest {
         user.setCoursesLectured(new ArrayList<>());
         return user;
     }
+
+    private static UserRepository.SubscriberSummary subscriberSummary(Long id) {
+        return new UserRepository.SubscriberSummary() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getFirstname() {
+                return "Jane";
+            }
+
+            @Override
+            public String getLastname() {
+                return "Doe";
+            }
+
+            @Override
+            public String getUsername() {
+                return "subscriber" + id;
+            }
+
+            @Override
+            public String getEmail() {
+                return "subscriber" + id + "@example.com";
+            }
+        };
+    }
 }
@@ -0,0 +1,183 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.EmailOutboxProperties;
+import com.dev.education_nearby_server.enums.EmailOutboxStatus;
+import com.dev.education_nearby_server.enums.EmailTemplate;
+import com.dev.education_nearby_server.models.entity.EmailOutboxMessage;
+import com.dev.education_nearby_server.repositories.EmailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxWorkerTest {
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+    @Mock
+    private EmailService emailService;
+
+    private EmailOutboxProperties properties;
+    private EmailOutboxWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EmailOutboxProperties();
+        properties.setInitialBackoff(Duration.ofSeconds(30));
+        properties.setMaxBackoff(Duration.ofMinutes(5));
+        properties.setMaxAttempts(3);
+        worker = new EmailOutboxWorker(emailOutboxRepository, emailService, properties, Runnable::run);
+    }
+
+    @Test
+    void backoffDoublesPerFailureAndIsCapped() {
+        assertThat(worker.backoffFor(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(worker.backoffFor(2)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(worker.backoffFor(4)).isEqualTo(Duration.ofSeconds(240));
+        assertThat(worker.backoffFor(5)).isEqualTo(Duration.ofMinutes(5));
+        assertThat(worker.backoffFor(80)).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    @Test
+    void drainDueDeliversClaimedMessagesAndMarksThemSent() {
+        EmailOutboxMessage message = message(0);
+        stubSingleDueMessage(message, 1);
+        when(emailService.deliverAll(List.of(message))).thenReturn(Map.of());
+
+        int processed = worker.drainDue();
+
+        assertThat(processed).isEqualTo(1);
+        verify(emailOutboxRepository).saveAll(List.of(message));
+        assertThat(message.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+        assertThat(message.getAttempts()).isEqualTo(1);
+        assertThat(message.getSentAt()).isNotNull();
+        assertThat(message.getLockedUntil()).isNull();
+        assertThat(message.getPayload()).containsOnlyKeys("expirationMinutes");
+    }
+
+    @Test
+    void expiredMessageIsDeadLetteredWithoutSending() {
+        EmailOutboxMessage message = message(0);
+        message.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        stubSingleDueMessage(message, 1);
+
+        worker.drainDue();
+
+        assertThat(message.getStatus()).isEqualTo(EmailOutboxStatus.DEAD);
+        assertThat(message.getLastError()).isEqualTo("Expired before delivery");
+        assertThat(message.getPayload()).doesNotContainKey("token");
+        verifyNoInteractions(emailService);
+        verify(emailOutboxRepository).saveAll(List.of(message));
+    }
+
+    @Test
+    void retryDelayIsCappedBeforeExpiry() {
+        properties.setMaxBackoff(Duration.ofHours(1));
+        EmailOutboxMessage message = message(0);
+        LocalDateTime now = LocalDateTime.now();
+        message.setExpiresAt(now.plusMinutes(10));
+
+        assertThat(worker.retryDelay(message, 1, now)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(worker.retryDelay(message, 6, now)).isEqualTo(Duration.ofMinutes(5));
+        message.setExpiresAt(now.minusMinutes(1));
+        assertThat(worker.retryDelay(message, 6, now)).isZero();
+    }
+
+    @Test
+    void drainDueSkipsMessagesClaimedByAnotherWorker() {
+        when(emailOutboxRepository.findDueIds(any(), eq(properties.getBatchSize()))).thenReturn(List.of(7L));
+        when(emailOutboxRepository.claim(eq(7L), any(), any(), eq(EmailOutboxStatus.PENDING), eq(EmailOutboxStatus.SENDING)))
+                .thenReturn(0);
+
+        int processed = worker.drainDue();
+
+        assertThat(processed).isZero();
+        verify(emailOutboxRepository, never()).findAllById(any());
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void failedDeliveryIsRescheduledWithBackoff() {
+        EmailOutboxMessage message = message(1);
+        stubSingleDueMessage(message, 1);
+        when(emailService.deliverAll(List.of(message)))
+                .thenReturn(Map.of(message.getId(), new MailSendException("relay unavailable")));
+        LocalDateTime before = LocalDateTime.now();
+
+        worker.drainDue();
+
+        assertThat(message.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+        assertThat(message.getAttempts()).isEqualTo(2);
+        assertThat(message.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(60));
+        assertThat(message.getLastError()).contains("relay unavailable");
+        verify(emailOutboxRepository).saveAll(List.of(message));
+    }
+
+    @Test
+    void deliveryIsDeadLetteredAfterMaxAttempts() {
+        EmailOutboxMessage message = message(2);
+        stubSingleDueMessage(message, 1);
+        when(emailService.deliverAll(List.of(message))).thenThrow(new MailSendException("mailbox rejected"));
+
+        worker.drainDue();
+
+        assertThat(message.getStatus()).isEqualTo(EmailOutboxStatus.DEAD);
+        assertThat(message.getAttempts()).isEqualTo(3);
+        assertThat(message.getPayload()).doesNotContainKey("token");
+        verify(emailOutboxRepository).saveAll(List.of(message));
+    }
+
+    @Test
+    void requestDrainDoesNothingWhenDisabled() {
+        properties.setEnabled(false);
+
+        worker.requestDrain();
+
+        verifyNoInteractions(emailOutboxRepository, emailService);
+    }
+
+    @Test
+    void requestDrainRunsLoopOnExecutor() {
+        when(emailOutboxRepository.findDueIds(any(), anyInt())).thenReturn(List.of());
+
+        worker.requestDrain();
+
+        verify(emailOutboxRepository).findDueIds(any(), eq(properties.getBatchSize()));
+    }
+
+    private void stubSingleDueMessage(EmailOutboxMessage message, int claimResult) {
+        when(emailOutboxRepository.findDueIds(any(), eq(properties.getBatchSize())))
+                .thenReturn(List.of(message.getId()), List.of());
+        when(emailOutboxRepository.claim(eq(message.getId()), any(), any(), eq(EmailOutboxStatus.PENDING), eq(EmailOutboxStatus.SENDING)))
+                .thenReturn(claimResult);
+        when(emailOutboxRepository.findAllById(List.of(message.getId()))).thenReturn(List.of(message));
+    }
+
+    private EmailOutboxMessage message(int attempts) {
+        return EmailOutboxMessage.builder()
+                .id(11L)
+                .template(EmailTemplate.PASSWORD_RESET)
+                .recipient("user@example.com")
+                .payload(Map.of("token", "123456", "expirationMinutes", "15"))
+                .status(EmailOutboxStatus.SENDING)
+                .attempts(attempts)
+                .build();
+    }
+}
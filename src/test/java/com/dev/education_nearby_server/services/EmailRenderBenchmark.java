@@ -0,0 +1,120 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.enums.EmailTemplate;
+import com.dev.education_nearby_server.models.entity.EmailOutboxMessage;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares per-message CPU and allocation of building and serializing an email with
+ * {@link MimeMessageHelper} (previous behaviour) against the precompiled templates.
+ * Serialization is included because that is where the logo used to be base64-encoded.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.dev.education_nearby_server.services.EmailRenderBenchmark};
+ * the {@code gc.alloc.rate.norm} column reports bytes allocated per message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailRenderBenchmark {
+
+    private static final String REGISTER_URL = "https://shkoli.bg/auth/register";
+    private static final String LOGIN_URL = "https://shkoli.bg/auth/login";
+
+    private JavaMailSenderImpl mailSender;
+    private EmailService emailService;
+    private EmailOutboxMessage message;
+    private byte[] logoPng;
+
+    @Setup
+    public void setUp() {
+        mailSender = new JavaMailSenderImpl();
+        emailService = new EmailService(mailSender, null);
+        emailService.precompileTemplates();
+        logoPng = ReflectionTestUtils.invokeMethod(emailService, "loadLogoPng");
+        message = EmailOutboxMessage.builder()
+                .id(1L)
+                .template(EmailTemplate.LYCEUM_LECTURER_INVITATION)
+                .recipient("teacher@example.com")
+                .payload(Map.of("lyceumName", "Art Lyceum", "town", "Sofia"))
+                .build();
+    }
+
+    @Benchmark
+    public MimeMessage precompiledTemplate() throws MessagingException, IOException {
+        MimeMessage mimeMessage = emailService.render(message);
+        mimeMessage.saveChanges();
+        mimeMessage.writeTo(OutputStream.nullOutputStream());
+        return mimeMessage;
+    }
+
+    @Benchmark
+    public MimeMessage mimeMessageHelper() throws MessagingException, IOException {
+        String text = "Здравейте,\n\n" +
+                "Вие сте поканени да се присъедините към Школи като преподавател към читалище '" + "Art Lyceum" +
+                "' в " + "Sofia" + ".\n\n" +
+                "Ако все още нямате акаунт, Ви молим да се регистрирате с тази е-поща: " + REGISTER_URL + ". " +
+                "След като се регистрирате, Вие автоматично ще бъдете добавен като преподавател към читалището.\n\n" +
+                "Ако вече имате акаунт, може да влезете и да започнете да обучавате: " + LOGIN_URL + ".\n\n" +
+                "Поздрави,\nекипът на Школи";
+        String escapedText = HtmlUtils.htmlEscape(text)
+                .replace(REGISTER_URL, "<a href=\"" + REGISTER_URL + "\">Регистрация</a>")
+                .replace(LOGIN_URL, "<a href=\"" + LOGIN_URL + "\">Вход</a>")
+                .replace("\n", "<br>");
+        String html = """
+                <html>
+                  <body style="font-family: Arial, sans-serif; color: #1f2937;">
+                    <div>
+                      <img src="cid:%s" alt="Shkoli" style="width: 120px; height: auto; margin-bottom: 16px;">
+                    </div>
+                    <div>%s</div>
+                  </body>
+                </html>
+                """.formatted("educationNearbyLogo", escapedText);
+
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(
+                mimeMessage, MimeMessageHelper.MULTIPART_MODE_RELATED, StandardCharsets.UTF_8.name());
+        helper.setTo("teacher@example.com");
+        helper.setSubject("Школи: покана за преподавател");
+        helper.setText(text, html);
+        helper.addInline("educationNearbyLogo", new ByteArrayResource(logoPng), "image/png");
+        mimeMessage.saveChanges();
+        mimeMessage.writeTo(OutputStream.nullOutputStream());
+        return mimeMessage;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmailRenderBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -1,5 +1,10 @@
 package com.dev.education_nearby_server.services;
 
+import com.dev.education_nearby_server.enums.EmailOutboxStatus;
+import com.dev.education_nearby_server.enums.EmailTemplate;
+import com.dev.education_nearby_server.models.entity.EmailOutboxMessage;
+import com.dev.education_nearby_server.repositories.EmailOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import jakarta.mail.Part;
 import jakarta.mail.Session;
@@ -11,8 +16,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -21,22 +29,40 @@ class EmailServiceIT {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
     @MockitoBean
     private JavaMailSender mailSender;
 
+    @AfterEach
+    void tearDown() {
+        emailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void sendPersistsPendingOutboxRowWithoutTouchingSmtp() {
+        emailService.sendLyceumLecturerInvitationEmail("teacher@example.com", "Art Lyceum", "Sofia");
+
+        List<EmailOutboxMessage> queued = emailOutboxRepository.findAll();
+        assertThat(queued).hasSize(1);
+        EmailOutboxMessage message = queued.get(0);
+        assertThat(message.getTemplate()).isEqualTo(EmailTemplate.LYCEUM_LECTURER_INVITATION);
+        assertThat(message.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+        assertThat(message.getRecipient()).isEqualTo("teacher@example.com");
+        assertThat(message.getPayload()).containsEntry("lyceumName", "Art Lyceum").containsEntry("town", "Sofia");
+        verifyNoInteractions(mailSender);
+    }
+
     @Test
     void sendLyceumVerificationEmailUsesConfiguredBean() throws Exception {
-        when(mailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
         emailService.sendLyceumVerificationEmail(
                 "admin@example.com",
                 "Integration Lyceum",
                 "Sofia",
                 "integration-token");
 
-        ArgumentCaptor<MimeMessage> messageCaptor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(mailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
-        message.saveChanges();
+        MimeMessage message = deliverQueuedMessage();
 
         assertThat(((InternetAddress) message.getAllRecipients()[0]).getAddress())
                 .isEqualTo("admin@example.com");
@@ -55,17 +81,13 @@ class EmailServiceIT {
 
     @Test
     void sendLyceumVerificationEmailBuildsFormattedBody() throws Exception {
-        when(mailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
         emailService.sendLyceumVerificationEmail(
                 "admin@example.com",
                 "Integration Lyceum",
                 "Sofia",
                 "integration-token");
 
-        ArgumentCaptor<MimeMessage> messageCaptor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(mailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
-        message.saveChanges();
+        MimeMessage message = deliverQueuedMessage();
 
         String expectedText = """
                 Здравейте,
@@ -86,13 +108,9 @@ class EmailServiceIT {
 
     @Test
     void sendPasswordResetEmailUsesConfiguredBean() throws Exception {
-        when(mailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
         emailService.sendPasswordResetEmail("user@example.com", "123456", 15L);
 
-        ArgumentCaptor<MimeMessage> messageCaptor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(mailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
-        message.saveChanges();
+        MimeMessage message = deliverQueuedMessage();
 
         assertThat(((InternetAddress) message.getAllRecipients()[0]).getAddress())
                 .isEqualTo("user@example.com");
@@ -104,4 +122,19 @@ class EmailServiceIT {
                 .contains("The code expires in 15 minutes.");
         assertThat(parts.htmlText()).contains("cid:educationNearbyLogo");
     }
+
+    private MimeMessage deliverQueuedMessage() throws Exception {
+        List<EmailOutboxMessage> queued = emailOutboxRepository.findAll();
+        assertThat(queued).hasSize(1);
+        verifyNoInteractions(mailSender);
+
+        when(mailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
+        emailService.deliver(queued.get(0));
+
+        ArgumentCaptor<MimeMessage> messageCaptor = ArgumentCaptor.forClass(MimeMessage.class);
+        verify(mailSender).send(messageCaptor.capture());
+        MimeMessage message = messageCaptor.getValue();
+        message.saveChanges();
+        return message;
+    }
 }
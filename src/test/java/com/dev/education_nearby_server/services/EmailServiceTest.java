@@ -1,8 +1,11 @@
 package com.dev.education_nearby_server.services;
 
+import com.dev.education_nearby_server.enums.EmailTemplate;
+import com.dev.education_nearby_server.models.entity.EmailOutboxMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import jakarta.mail.MessagingException;
 import jakarta.mail.Part;
 import jakarta.mail.Session;
 import jakarta.mail.internet.InternetAddress;
@@ -10,12 +13,21 @@ import jakarta.mail.internet.MimeMessage;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 
 import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,13 +35,29 @@ class EmailServiceTest {
 
     @Mock
     private JavaMailSender mailSender;
+    @Mock
+    private EmailOutboxService emailOutboxService;
 
     private EmailService emailService;
 
     @BeforeEach
     void setUp() {
-        emailService = new EmailService(mailSender);
-        when(mailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
+        emailService = new EmailService(mailSender, emailOutboxService);
+    }
+
+    @Test
+    void sendMethodsOnlyQueueMessages() {
+        emailService.sendPasswordResetEmail("user@example.com", "123456", 15L);
+
+        LocalDateTime before = LocalDateTime.now();
+        ArgumentCaptor<LocalDateTime> expiresAtCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(emailOutboxService).enqueue(
+                eq(EmailTemplate.PASSWORD_RESET),
+                eq("user@example.com"),
+                eq(Map.of("token", "123456", "expirationMinutes", "15")),
+                expiresAtCaptor.capture());
+        assertThat(expiresAtCaptor.getValue()).isBetween(before.plusMinutes(14), before.plusMinutes(15));
+        verifyNoInteractions(mailSender);
     }
 
     @Test
@@ -40,10 +68,7 @@ class EmailServiceTest {
                 "Sofia",
                 "token-123");
 
-        ArgumentCaptor<MimeMessage> messageCaptor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(mailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
-        message.saveChanges();
+        MimeMessage message = deliverQueuedMessage();
 
         assertThat(((InternetAddress) message.getAllRecipients()[0]).getAddress())
                 .isEqualTo("admin@example.com");
@@ -68,10 +93,7 @@ class EmailServiceTest {
                 "Sofia",
                 "token-456");
 
-        ArgumentCaptor<MimeMessage> messageCaptor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(mailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
-        message.saveChanges();
+        MimeMessage message = deliverQueuedMessage();
 
         String expectedText = """
                 Здравейте,
@@ -97,10 +119,7 @@ class EmailServiceTest {
                 "Art Lyceum",
                 "Sofia");
 
-        ArgumentCaptor<MimeMessage> messageCaptor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(mailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
-        message.saveChanges();
+        MimeMessage message = deliverQueuedMessage();
 
         EmailTestSupport.EmailParts parts = EmailTestSupport.extractParts(message);
         assertThat(parts.plainText())
@@ -123,10 +142,11 @@ class EmailServiceTest {
                 "123456",
                 15L);
 
-        ArgumentCaptor<MimeMessage> messageCaptor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(mailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
-        message.saveChanges();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, String>> fieldsCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(emailOutboxService).enqueue(
+                eq(EmailTemplate.PASSWORD_RESET), eq("user@example.com"), fieldsCaptor.capture(), any());
+        MimeMessage message = deliver(EmailTemplate.PASSWORD_RESET, "user@example.com", fieldsCaptor.getValue());
 
         assertThat(((InternetAddress) message.getAllRecipients()[0]).getAddress())
                 .isEqualTo("user@example.com");
@@ -150,10 +170,7 @@ class EmailServiceTest {
                 "Sofia",
                 "token-789");
 
-        ArgumentCaptor<MimeMessage> messageCaptor = ArgumentCaptor.forClass(MimeMessage.class);
-        verify(mailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
-        message.saveChanges();
+        MimeMessage message = deliverQueuedMessage();
 
         EmailTestSupport.EmailParts parts = EmailTestSupport.extractParts(message);
         assertThat(parts.inlineParts())
@@ -161,6 +178,107 @@ class EmailServiceTest {
                 .anySatisfy(contentType -> assertThat(contentType).contains("image/svg+xml"));
     }
 
+    @Test
+    void renderEscapesFieldValuesOnlyInHtmlPart() throws Exception {
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+
+        MimeMessage message = emailService.render(EmailOutboxMessage.builder()
+                .template(EmailTemplate.LYCEUM_LECTURER_INVITATION)
+                .recipient("teacher@example.com")
+                .payload(Map.of("lyceumName", "<Art & Craft>", "town", "Sofia"))
+                .build());
+        message.saveChanges();
+
+        EmailTestSupport.EmailParts parts = EmailTestSupport.extractParts(message);
+        assertThat(parts.plainText()).contains("'<Art & Craft>' в Sofia.");
+        assertThat(parts.htmlText())
+                .contains("&lt;Art &amp; Craft&gt;")
+                .startsWith("<html>")
+                .contains("<br>");
+        assertThat(message.getSubject()).isEqualTo("Школи: покана за преподавател");
+    }
+
+    @Test
+    void renderReusesEncodedLogoAcrossMessages() throws Exception {
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        EmailOutboxMessage queued = passwordResetMessage(1L, "user@example.com");
+
+        MimeMessage first = emailService.render(queued);
+        MimeMessage second = emailService.render(queued);
+        first.saveChanges();
+        second.saveChanges();
+
+        Part firstLogo = EmailTestSupport.extractParts(first).inlineParts().get(0);
+        Part secondLogo = EmailTestSupport.extractParts(second).inlineParts().get(0);
+        assertThat(firstLogo).isNotSameAs(secondLogo);
+        assertThat(firstLogo.getHeader("Content-ID")).containsExactly("<educationNearbyLogo>");
+        assertThat(firstLogo.getDisposition()).isEqualTo(Part.INLINE);
+        assertThat(firstLogo.getInputStream().readAllBytes()).isEqualTo(secondLogo.getInputStream().readAllBytes());
+    }
+
+    @Test
+    void deliverAllSendsOneBatchAndReportsPerMessageFailures() {
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        doAnswer(invocation -> {
+            MimeMessage[] batch = (MimeMessage[]) invocation.getRawArguments()[0];
+            assertThat(batch).hasSize(2);
+            throw new MailSendException(Map.<Object, Exception>of(batch[1], new MessagingException("mailbox full")));
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        Map<Long, Exception> failures = emailService.deliverAll(List.of(
+                passwordResetMessage(1L, "first@example.com"),
+                passwordResetMessage(2L, "second@example.com")));
+
+        assertThat(failures).containsOnlyKeys(2L);
+        assertThat(failures.get(2L)).hasMessage("mailbox full");
+    }
+
+    @Test
+    void deliverAllMarksEveryMessageFailedWhenRelayIsUnreachable() {
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        doThrow(new MailSendException("connection refused")).when(mailSender).send(any(MimeMessage[].class));
+
+        Map<Long, Exception> failures = emailService.deliverAll(List.of(
+                passwordResetMessage(1L, "first@example.com"),
+                passwordResetMessage(2L, "second@example.com")));
+
+        assertThat(failures).containsOnlyKeys(1L, 2L);
+    }
+
+    private EmailOutboxMessage passwordResetMessage(Long id, String recipient) {
+        return EmailOutboxMessage.builder()
+                .id(id)
+                .template(EmailTemplate.PASSWORD_RESET)
+                .recipient(recipient)
+                .payload(Map.of("token", "123456", "expirationMinutes", "15"))
+                .build();
+    }
+
+    private MimeMessage deliverQueuedMessage() throws Exception {
+        ArgumentCaptor<EmailTemplate> templateCaptor = ArgumentCaptor.forClass(EmailTemplate.class);
+        ArgumentCaptor<String> recipientCaptor = ArgumentCaptor.forClass(String.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, String>> fieldsCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(emailOutboxService).enqueue(templateCaptor.capture(), recipientCaptor.capture(), fieldsCaptor.capture());
+        return deliver(templateCaptor.getValue(), recipientCaptor.getValue(), fieldsCaptor.getValue());
+    }
+
+    private MimeMessage deliver(EmailTemplate template, String recipient, Map<String, String> fields) throws Exception {
+        verifyNoInteractions(mailSender);
+        when(mailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
+        emailService.deliver(EmailOutboxMessage.builder()
+                .template(template)
+                .recipient(recipient)
+                .payload(fields)
+                .build());
+
+        ArgumentCaptor<MimeMessage> messageCaptor = ArgumentCaptor.forClass(MimeMessage.class);
+        verify(mailSender).send(messageCaptor.capture());
+        MimeMessage message = messageCaptor.getValue();
+        message.saveChanges();
+        return message;
+    }
+
     private void setCachedLogoPng(byte[] value) throws Exception {
         Field cachedLogoField = EmailService.class.getDeclaredField("cachedLogoPng");
         cachedLogoField.setAccessible(true);
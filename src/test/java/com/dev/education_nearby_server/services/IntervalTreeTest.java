@@ -0,0 +1,74 @@
+package com.dev.education_nearby_server.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IntervalTreeTest {
+
+    @Test
+    void overlappingTreatsRangesAsHalfOpen() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(60, 120, "a");
+        tree.insert(120, 180, "b");
+        tree.insert(100, 130, "c");
+
+        assertThat(tree.overlapping(0, 60)).isEmpty();
+        assertThat(tree.overlapping(110, 121)).containsExactly("a", "c", "b");
+        assertThat(tree.overlapping(120, 125)).containsExactly("c", "b");
+        assertThat(tree.overlapping(180, 240)).isEmpty();
+    }
+
+    @Test
+    void removeDropsOnlyTheEntryOfTheHandle() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        IntervalTree.Handle first = tree.insert(10, 20, "first");
+        tree.insert(10, 20, "second");
+
+        assertThat(tree.remove(first)).isTrue();
+        assertThat(tree.remove(first)).isFalse();
+        assertThat(tree.overlapping(0, 100)).containsExactly("second");
+        assertThat(tree.size()).isEqualTo(1);
+    }
+
+    @Test
+    void insertRejectsEmptyRanges() {
+        IntervalTree<String> tree = new IntervalTree<>();
+
+        assertThrows(IllegalArgumentException.class, () -> tree.insert(10, 10, "empty"));
+    }
+
+    @Test
+    void matchesBruteForceAfterRandomInsertsAndRemovals() {
+        Random random = new Random(7);
+        IntervalTree<int[]> tree = new IntervalTree<>();
+        List<int[]> live = new ArrayList<>();
+        List<IntervalTree.Handle> handles = new ArrayList<>();
+        for (int index = 0; index < 2_000; index++) {
+            int low = random.nextInt(10_000);
+            int[] interval = {low, low + 1 + random.nextInt(300)};
+            handles.add(tree.insert(interval[0], interval[1], interval));
+            live.add(interval);
+        }
+        for (int index = 0; index < 700; index++) {
+            int victim = random.nextInt(live.size());
+            assertThat(tree.remove(handles.remove(victim))).isTrue();
+            live.remove(victim);
+        }
+
+        for (int query = 0; query < 200; query++) {
+            int low = random.nextInt(10_000);
+            int high = low + 1 + random.nextInt(500);
+            List<int[]> expected = live.stream()
+                    .filter(interval -> interval[0] < high && low < interval[1])
+                    .toList();
+            assertThat(tree.overlapping(low, high)).containsExactlyInAnyOrderElementsOf(expected);
+        }
+        assertThat(tree.size()).isEqualTo(live.size());
+    }
+}
@@ -0,0 +1,284 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.exceptions.common.AccessDeniedException;
+import com.dev.education_nearby_server.exceptions.common.BadRequestException;
+import com.dev.education_nearby_server.exceptions.common.NoSuchElementException;
+import com.dev.education_nearby_server.models.dto.response.CourseResponse;
+import com.dev.education_nearby_server.models.dto.response.LyceumDetailsResponse;
+import com.dev.education_nearby_server.models.dto.response.LyceumImageResponse;
+import com.dev.education_nearby_server.models.dto.response.LyceumResponse;
+import com.dev.education_nearby_server.models.dto.response.ReviewResponse;
+import com.dev.education_nearby_server.models.dto.response.UserResponse;
+import com.dev.education_nearby_server.models.entity.Course;
+import com.dev.education_nearby_server.models.entity.Lyceum;
+import com.dev.education_nearby_server.models.entity.LyceumImage;
+import com.dev.education_nearby_server.models.entity.LyceumReview;
+import com.dev.education_nearby_server.models.entity.Review;
+import com.dev.education_nearby_server.models.entity.User;
+import com.dev.education_nearby_server.repositories.CourseRepository;
+import com.dev.education_nearby_server.repositories.CourseReviewRepository;
+import com.dev.education_nearby_server.repositories.LyceumRepository;
+import com.dev.education_nearby_server.repositories.LyceumReviewRepository;
+import com.dev.education_nearby_server.repositories.UserRepository;
+import com.dev.education_nearby_server.repositories.UserReviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LyceumDetailsServiceTest {
+
+    private static final Long LYCEUM_ID = 1L;
+
+    @Mock
+    private LyceumRepository lyceumRepository;
+    @Mock
+    private CourseRepository courseRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private LyceumReviewRepository lyceumReviewRepository;
+    @Mock
+    private CourseReviewRepository courseReviewRepository;
+    @Mock
+    private UserReviewRepository userReviewRepository;
+    @Mock
+    private LyceumService lyceumService;
+    @Mock
+    private CourseService courseService;
+    @Mock
+    private ReviewService reviewService;
+    @Mock
+    private StatisticsService statisticsService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LyceumDetailsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LyceumDetailsService(lyceumRepository, courseRepository, userRepository,
+                lyceumReviewRepository, courseReviewRepository, userReviewRepository,
+                lyceumService, courseService, reviewService, statisticsService, transactionManager);
+    }
+
+    @Test
+    void getLyceumDetailsMapsEveryPartFromBatchedLookups() {
+        LyceumImage second = image(11L, 2);
+        LyceumImage first = image(10L, 1);
+        Lyceum lyceum = lyceum(first, second);
+        Course course = course(20L);
+        Course otherCourse = course(21L);
+        User lecturer = user(30L);
+        Review review = new Review();
+        review.setId(40L);
+        LyceumReview link = new LyceumReview();
+        link.setReview(review);
+
+        when(lyceumRepository.findWithImagesById(LYCEUM_ID)).thenReturn(Optional.of(lyceum));
+        when(lyceumReviewRepository.findAverageRatingByLyceumId(LYCEUM_ID)).thenReturn(4.0);
+        LyceumImageResponse firstImage = LyceumImageResponse.builder().id(10L).build();
+        LyceumImageResponse secondImage = LyceumImageResponse.builder().id(11L).build();
+        when(lyceumService.mapToResponse(first)).thenReturn(firstImage);
+        when(lyceumService.mapToResponse(second)).thenReturn(secondImage);
+        LyceumResponse lyceumResponse = LyceumResponse.builder().id(LYCEUM_ID).build();
+        when(lyceumService.mapToResponse(lyceum, 4.0, 2)).thenReturn(lyceumResponse);
+
+        when(courseRepository.findWithImagesByLyceumId(LYCEUM_ID)).thenReturn(List.of(course, otherCourse));
+        when(courseRepository.findLecturerIdsByLyceumId(LYCEUM_ID))
+                .thenReturn(List.of(courseLecturer(20L, 30L), courseLecturer(20L, 31L)));
+        when(courseReviewRepository.findAverageRatingsByLyceumId(LYCEUM_ID))
+                .thenReturn(List.of(courseRating(21L, 3.5)));
+        CourseResponse courseResponse = CourseResponse.builder().id(20L).build();
+        CourseResponse otherCourseResponse = CourseResponse.builder().id(21L).build();
+        when(courseService.mapToResponse(course, List.of(30L, 31L), null)).thenReturn(courseResponse);
+        when(courseService.mapToResponse(otherCourse, List.of(), 3.5)).thenReturn(otherCourseResponse);
+
+        when(userRepository.findLecturersByLyceumId(LYCEUM_ID)).thenReturn(List.of(lecturer));
+        when(userRepository.findLecturedCourseIds(List.of(30L))).thenReturn(List.of(lecturedTarget(30L, 20L)));
+        when(userRepository.findLecturedLyceumIds(List.of(30L)))
+                .thenReturn(List.of(lecturedTarget(30L, LYCEUM_ID), lecturedTarget(30L, 2L)));
+        when(userReviewRepository.findAverageRatingsByReviewedUserIds(List.of(30L)))
+                .thenReturn(List.of(userRating(30L, 5.0)));
+        UserResponse lecturerResponse = UserResponse.builder().id(30L).build();
+        when(lyceumService.mapToUserResponse(lecturer, List.of(20L), List.of(LYCEUM_ID, 2L), 5.0))
+                .thenReturn(lecturerResponse);
+
+        when(lyceumReviewRepository.findRecentByLyceumId(LYCEUM_ID,
+                PageRequest.of(0, LyceumDetailsService.RECENT_REVIEWS))).thenReturn(List.of(link));
+        ReviewResponse reviewResponse = ReviewResponse.builder().id(40L).build();
+        when(reviewService.mapToResponse(review)).thenReturn(reviewResponse);
+
+        LyceumDetailsResponse details = service.getLyceumDetails(LYCEUM_ID);
+
+        assertThat(details.getLyceum()).isSameAs(lyceumResponse);
+        assertThat(details.getImages()).containsExactly(firstImage, secondImage);
+        assertThat(details.getCourses()).containsExactly(courseResponse, otherCourseResponse);
+        assertThat(details.getLecturers()).containsExactly(lecturerResponse);
+        assertThat(details.getReviews()).containsExactly(reviewResponse);
+        verify(courseRepository).findWithScheduleByIdIn(List.of(20L, 21L));
+        verify(statisticsService).recordLyceumVisit(LYCEUM_ID);
+        verify(statisticsService).recordCoursesSeenInResults(List.of(20L, 21L));
+
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(4)).getTransaction(definitions.capture());
+        assertThat(definitions.getAllValues()).allSatisfy(definition -> {
+            assertThat(definition.isReadOnly()).isTrue();
+            assertThat(definition.getPropagationBehavior())
+                    .isEqualTo(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        });
+    }
+
+    @Test
+    void getLyceumDetailsSkipsFollowUpQueriesForEmptyParts() {
+        Lyceum lyceum = lyceum();
+        when(lyceumRepository.findWithImagesById(LYCEUM_ID)).thenReturn(Optional.of(lyceum));
+        when(lyceumReviewRepository.findAverageRatingByLyceumId(LYCEUM_ID)).thenReturn(null);
+        LyceumResponse lyceumResponse = LyceumResponse.builder().id(LYCEUM_ID).build();
+        when(lyceumService.mapToResponse(lyceum, null, 0)).thenReturn(lyceumResponse);
+
+        LyceumDetailsResponse details = service.getLyceumDetails(LYCEUM_ID);
+
+        assertThat(details.getLyceum()).isSameAs(lyceumResponse);
+        assertThat(details.getCourses()).isEmpty();
+        assertThat(details.getLecturers()).isEmpty();
+        assertThat(details.getReviews()).isEmpty();
+        verify(courseRepository, never()).findWithScheduleByIdIn(anyCollection());
+        verify(courseRepository, never()).findLecturerIdsByLyceumId(any());
+        verify(userRepository, never()).findLecturedCourseIds(anyCollection());
+        verify(userReviewRepository, never()).findAverageRatingsByReviewedUserIds(anyCollection());
+    }
+
+    @Test
+    void getLyceumDetailsThrowsNotFoundForMissingLyceum() {
+        when(lyceumRepository.findWithImagesById(LYCEUM_ID)).thenReturn(Optional.empty());
+
+        assertThrows(NoSuchElementException.class, () -> service.getLyceumDetails(LYCEUM_ID));
+
+        verifyNoInteractions(statisticsService, courseRepository, userRepository);
+        verify(lyceumReviewRepository, never()).findRecentByLyceumId(any(), any());
+    }
+
+    @Test
+    void getLyceumDetailsRejectsHiddenLyceumWithoutRecordingVisit() {
+        Lyceum lyceum = lyceum();
+        when(lyceumRepository.findWithImagesById(LYCEUM_ID)).thenReturn(Optional.of(lyceum));
+        doThrow(new AccessDeniedException("You do not have permission to access this lyceum."))
+                .when(lyceumService).ensureLyceumVisible(lyceum);
+
+        assertThrows(AccessDeniedException.class, () -> service.getLyceumDetails(LYCEUM_ID));
+
+        verifyNoInteractions(statisticsService, courseRepository, userRepository);
+        verify(lyceumReviewRepository, never()).findRecentByLyceumId(any(), any());
+    }
+
+    @Test
+    void getLyceumDetailsRequiresId() {
+        assertThrows(BadRequestException.class, () -> service.getLyceumDetails(null));
+
+        verifyNoInteractions(lyceumRepository, transactionManager);
+    }
+
+    private static Lyceum lyceum(LyceumImage... images) {
+        Lyceum lyceum = new Lyceum();
+        lyceum.setId(LYCEUM_ID);
+        lyceum.setImages(new ArrayList<>(List.of(images)));
+        return lyceum;
+    }
+
+    private static LyceumImage image(Long id, int orderIndex) {
+        LyceumImage image = new LyceumImage();
+        image.setId(id);
+        image.setOrderIndex(orderIndex);
+        return image;
+    }
+
+    private static Course course(Long id) {
+        Course course = new Course();
+        course.setId(id);
+        return course;
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private static CourseRepository.CourseLecturer courseLecturer(Long courseId, Long lecturerId) {
+        return new CourseRepository.CourseLecturer() {
+            @Override
+            public Long getCourseId() {
+                return courseId;
+            }
+
+            @Override
+            public Long getLecturerId() {
+                return lecturerId;
+            }
+        };
+    }
+
+    private static UserRepository.LecturedTarget lecturedTarget(Long userId, Long targetId) {
+        return new UserRepository.LecturedTarget() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public Long getTargetId() {
+                return targetId;
+            }
+        };
+    }
+
+    private static CourseReviewRepository.AverageRating courseRating(Long id, Double averageRating) {
+        return new CourseReviewRepository.AverageRating() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Double getAverageRating() {
+                return averageRating;
+            }
+        };
+    }
+
+    private static UserReviewRepository.AverageRating userRating(Long id, Double averageRating) {
+        return new UserReviewRepository.AverageRating() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Double getAverageRating() {
+                return averageRating;
+            }
+        };
+    }
+}
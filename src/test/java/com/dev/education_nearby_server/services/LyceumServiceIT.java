@@ -17,6 +17,7 @@ import com.dev.education_nearby_server.models.entity.User;
 import com.dev.education_nearby_server.repositories.LyceumRepository;
 import com.dev.education_nearby_server.repositories.TokenRepository;
 import com.dev.education_nearby_server.repositories.UserRepository;
+import com.dev.education_nearby_server.utils.FieldSelection;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -101,7 +102,7 @@ class LyceumServiceIT {
         persistLyceum("First", "Varna", "first@example.org");
         persistLyceum("Second", "Sofia", "second@example.org");
 
-        List<LyceumResponse> responses = lyceumService.getAllLyceums();
+        List<LyceumResponse> responses = lyceumService.getAllLyceums(FieldSelection.all());
 
         assertThat(responses).hasSize(2);
         assertThat(responses).extracting(LyceumResponse::getName)
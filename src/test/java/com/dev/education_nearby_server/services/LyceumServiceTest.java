@@ -1,8 +1,10 @@
 package com.dev.education_nearby_server.services;
 
+import com.dev.education_nearby_server.config.AuthenticatedUserCache;
 import com.dev.education_nearby_server.config.S3Properties;
 import com.dev.education_nearby_server.enums.ImageRole;
 import com.dev.education_nearby_server.enums.Role;
+import com.dev.education_nearby_server.enums.SyncEntityType;
 import com.dev.education_nearby_server.enums.TokenType;
 import com.dev.education_nearby_server.enums.VerificationStatus;
 import com.dev.education_nearby_server.exceptions.common.AccessDeniedException;
@@ -20,20 +22,25 @@ import com.dev.education_nearby_server.models.dto.request.LyceumRequest;
 import com.dev.education_nearby_server.models.dto.response.CourseResponse;
 import com.dev.education_nearby_server.models.dto.response.LyceumImageResponse;
 import com.dev.education_nearby_server.models.dto.response.LyceumResponse;
+import com.dev.education_nearby_server.models.dto.response.SubscriberPageResponse;
+import com.dev.education_nearby_server.models.dto.response.SubscriberResponse;
 import com.dev.education_nearby_server.models.dto.response.UserResponse;
 import com.dev.education_nearby_server.models.entity.Course;
 import com.dev.education_nearby_server.models.entity.Lyceum;
 import com.dev.education_nearby_server.models.entity.LyceumImage;
 import com.dev.education_nearby_server.models.entity.LyceumLecturerInvitation;
+import com.dev.education_nearby_server.models.entity.SyncTombstone;
 import com.dev.education_nearby_server.models.entity.Token;
 import com.dev.education_nearby_server.models.entity.User;
 import com.dev.education_nearby_server.repositories.LyceumReviewRepository;
 import com.dev.education_nearby_server.repositories.LyceumRepository;
 import com.dev.education_nearby_server.repositories.LyceumLecturerInvitationRepository;
 import com.dev.education_nearby_server.repositories.LyceumImageRepository;
+import com.dev.education_nearby_server.repositories.SyncTombstoneRepository;
 import com.dev.education_nearby_server.repositories.TokenRepository;
 import com.dev.education_nearby_server.repositories.UserReviewRepository;
 import com.dev.education_nearby_server.repositories.UserRepository;
+import com.dev.education_nearby_server.utils.FieldSelection;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -54,11 +61,16 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -88,6 +100,10 @@ class LyceumServiceTest {
     private S3Properties s3Properties;
     @Mock
     private StatisticsService statisticsService;
+    @Mock
+    private SyncTombstoneRepository syncTombstoneRepository;
+    @Mock
+    private AuthenticatedUserCache authenticatedUserCache;
 
     @InjectMocks
     private LyceumService lyceumService;
@@ -120,7 +136,7 @@ class LyceumServiceTest {
                 .thenReturn(List.of(verifiedLyceum));
         when(lyceumReviewRepository.findAverageRatingByLyceumId(15L)).thenReturn(4.6);
 
-        List<LyceumResponse> result = lyceumService.getVerifiedLyceums();
+        List<LyceumResponse> result = lyceumService.getVerifiedLyceums(FieldSelection.all());
 
         assertThat(result).hasSize(1);
         LyceumResponse response = result.getFirst();
@@ -139,7 +155,7 @@ class LyceumServiceTest {
         Lyceum lyceum = createLyceum(3L, "Lyceum", "Varna", "contact@example.com");
         when(lyceumRepository.findAll()).thenReturn(List.of(lyceum));
 
-        List<LyceumResponse> result = lyceumService.getAllLyceums();
+        List<LyceumResponse> result = lyceumService.getAllLyceums(FieldSelection.all());
 
         assertThat(result).hasSize(1);
         LyceumResponse response = result.getFirst();
@@ -152,6 +168,20 @@ class LyceumServiceTest {
         verify(lyceumRepository).findAll();
     }
 
+    @Test
+    void getAllLyceumsSkipsRatingLookupWhenNotRequested() {
+        Lyceum lyceum = createLyceum(3L, "Lyceum", "Varna", "contact@example.com");
+        when(lyceumRepository.findAll()).thenReturn(List.of(lyceum));
+
+        List<LyceumResponse> result = lyceumService.getAllLyceums(
+                FieldSelection.parse("name,town", LyceumResponse.class));
+
+        assertThat(result).hasSize(1);
+        assertThat(result.getFirst().getName()).isEqualTo("Lyceum");
+        assertThat(result.getFirst().getAverageRating()).isNull();
+        verify(lyceumReviewRepository, never()).findAverageRatingByLyceumId(anyLong());
+    }
+
     @Test
     void getLyceumsByTownReturnsRepositoryResult() {
         Lyceum lyceum = createLyceum(16L, "Town Lyceum", "Varna", "varna@example.com");
@@ -219,86 +249,71 @@ class LyceumServiceTest {
     }
 
     @Test
-    void subscribeToLyceumAddsSubscriptionWhenMissing() {
-        Lyceum lyceum = createLyceum(6L, "Lyceum", "Varna", "contact@example.com");
-        when(lyceumRepository.findById(6L)).thenReturn(Optional.of(lyceum));
-
-        User user = createUser(30L);
-        user.setSubscribedLyceums(new ArrayList<>());
-        mockAuthenticatedUser(user);
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+    void subscribeToLyceumInsertsJoinRowWithoutLoadingCollections() {
+        when(lyceumRepository.lockForSubscriptionChange(6L)).thenReturn(Optional.of(6L));
+        when(lyceumRepository.insertSubscription(30L, 6L)).thenReturn(1);
+        mockAuthenticatedUser(createUser(30L));
 
         lyceumService.subscribeToLyceum(6L);
 
-        assertThat(user.getSubscribedLyceums()).hasSize(1);
-        assertThat(user.getSubscribedLyceums().getFirst().getId()).isEqualTo(6L);
-        verify(userRepository).save(user);
+        verify(lyceumRepository).adjustSubscriberCount(6L, 1);
+        verifyNoInteractions(userRepository);
     }
 
     @Test
-    void subscribeToLyceumThrowsWhenAlreadySubscribed() {
-        Lyceum lyceum = createLyceum(7L, "Lyceum", "Varna", "contact@example.com");
-        when(lyceumRepository.findById(7L)).thenReturn(Optional.of(lyceum));
+    void subscribeToLyceumIsIdempotent() {
+        when(lyceumRepository.lockForSubscriptionChange(7L)).thenReturn(Optional.of(7L));
+        when(lyceumRepository.insertSubscription(31L, 7L)).thenReturn(1, 0);
+        mockAuthenticatedUser(createUser(31L));
 
-        User user = createUser(31L);
-        user.setSubscribedLyceums(new ArrayList<>(List.of(lyceum)));
-        mockAuthenticatedUser(user);
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        lyceumService.subscribeToLyceum(7L);
+        lyceumService.subscribeToLyceum(7L);
 
-        assertThrows(ConflictException.class, () -> lyceumService.subscribeToLyceum(7L));
+        verify(lyceumRepository, times(2)).insertSubscription(31L, 7L);
+        verify(lyceumRepository, times(1)).adjustSubscriberCount(7L, 1);
+    }
 
-        assertThat(user.getSubscribedLyceums()).hasSize(1);
-        verify(userRepository, never()).save(any());
+    @Test
+    void subscribeToLyceumThrowsWhenLyceumMissing() {
+        when(lyceumRepository.lockForSubscriptionChange(5L)).thenReturn(Optional.empty());
+        mockAuthenticatedUser(createUser(29L));
+
+        assertThrows(NoSuchElementException.class, () -> lyceumService.subscribeToLyceum(5L));
+        verify(lyceumRepository, never()).insertSubscription(any(), any());
     }
 
     @Test
     void subscribeToLyceumThrowsWhenUnauthenticated() {
-        Lyceum lyceum = createLyceum(8L, "Lyceum", "Varna", "contact@example.com");
-        when(lyceumRepository.findById(8L)).thenReturn(Optional.of(lyceum));
-
         assertThrows(UnauthorizedException.class, () -> lyceumService.subscribeToLyceum(8L));
-        verify(userRepository, never()).save(any());
+        verify(lyceumRepository, never()).insertSubscription(any(), any());
     }
 
     @Test
-    void unsubscribeFromLyceumRemovesSubscriptionWhenPresent() {
-        Lyceum lyceum = createLyceum(9L, "Lyceum", "Varna", "contact@example.com");
-        when(lyceumRepository.findById(9L)).thenReturn(Optional.of(lyceum));
-
-        User user = createUser(32L);
-        user.setSubscribedLyceums(new ArrayList<>(List.of(lyceum)));
-        lyceum.setSubscribers(new ArrayList<>(List.of(user)));
-        mockAuthenticatedUser(user);
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+    void unsubscribeFromLyceumDeletesJoinRowWithoutLoadingCollections() {
+        when(lyceumRepository.lockForSubscriptionChange(9L)).thenReturn(Optional.of(9L));
+        when(lyceumRepository.deleteSubscription(32L, 9L)).thenReturn(1);
+        mockAuthenticatedUser(createUser(32L));
 
         lyceumService.unsubscribeFromLyceum(9L);
 
-        assertThat(user.getSubscribedLyceums()).isEmpty();
-        assertThat(lyceum.getSubscribers()).isEmpty();
-        verify(userRepository).save(user);
+        verify(lyceumRepository).adjustSubscriberCount(9L, -1);
+        verifyNoInteractions(userRepository);
     }
 
     @Test
-    void unsubscribeFromLyceumThrowsWhenNotSubscribed() {
-        Lyceum lyceum = createLyceum(10L, "Lyceum", "Varna", "contact@example.com");
-        when(lyceumRepository.findById(10L)).thenReturn(Optional.of(lyceum));
-
-        User user = createUser(33L);
-        user.setSubscribedLyceums(new ArrayList<>());
-        mockAuthenticatedUser(user);
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+    void unsubscribeFromLyceumIsNoOpWhenNotSubscribed() {
+        when(lyceumRepository.lockForSubscriptionChange(10L)).thenReturn(Optional.of(10L));
+        when(lyceumRepository.deleteSubscription(33L, 10L)).thenReturn(0);
+        mockAuthenticatedUser(createUser(33L));
 
-        assertThrows(BadRequestException.class, () -> lyceumService.unsubscribeFromLyceum(10L));
-        verify(userRepository, never()).save(any());
+        assertDoesNotThrow(() -> lyceumService.unsubscribeFromLyceum(10L));
+        verify(lyceumRepository, never()).adjustSubscriberCount(any(), anyLong());
     }
 
     @Test
     void unsubscribeFromLyceumThrowsWhenUnauthenticated() {
-        Lyceum lyceum = createLyceum(11L, "Lyceum", "Varna", "contact@example.com");
-        when(lyceumRepository.findById(11L)).thenReturn(Optional.of(lyceum));
-
         assertThrows(UnauthorizedException.class, () -> lyceumService.unsubscribeFromLyceum(11L));
-        verify(userRepository, never()).save(any());
+        verify(lyceumRepository, never()).deleteSubscription(any(), any());
     }
 
     @Test
@@ -312,36 +327,34 @@ class LyceumServiceTest {
         Lyceum lyceum = createLyceum(12L, "Lyceum", "Varna", "contact@example.com");
         User admin = createUser(34L);
         admin.setRole(Role.ADMIN);
-        User subscriber = createUser(35L);
-        lyceum.setSubscribers(new ArrayList<>(List.of(subscriber)));
         mockAuthenticatedUser(admin);
         when(lyceumRepository.findById(12L)).thenReturn(Optional.of(lyceum));
         when(userRepository.findById(admin.getId())).thenReturn(Optional.of(admin));
-        when(userReviewRepository.findAverageRatingByReviewedUserId(subscriber.getId())).thenReturn(4.7);
+        when(userRepository.findLyceumSubscribersAfter(12L, 0L, PageRequest.of(0, 51)))
+                .thenReturn(List.of(subscriberSummary(35L)));
 
-        List<UserResponse> response = lyceumService.getLyceumSubscribers(12L);
+        SubscriberPageResponse response = lyceumService.getLyceumSubscribers(12L, null, 50);
 
-        assertThat(response).hasSize(1);
-        assertThat(response.getFirst().getId()).isEqualTo(35L);
-        assertThat(response.getFirst().getAverageRating()).isEqualTo(4.7);
+        assertThat(response.getItems()).extracting(SubscriberResponse::getId).containsExactly(35L);
+        assertThat(response.getItems().getFirst().getEmail()).isEqualTo("subscriber35@example.com");
+        assertThat(response.getNextCursor()).isNull();
     }
 
     @Test
-    void getLyceumSubscribersAllowsLyceumAdministrator() {
+    void getLyceumSubscribersAllowsLyceumAdministratorAndPagesByCursor() {
         Lyceum lyceum = createLyceum(13L, "Lyceum", "Varna", "contact@example.com");
         User lyceumAdmin = createUser(36L);
         lyceumAdmin.setAdministratedLyceum(lyceum);
-        User subscriber = createUser(37L);
-        lyceum.setSubscribers(new ArrayList<>(List.of(subscriber)));
         mockAuthenticatedUser(lyceumAdmin);
         when(lyceumRepository.findById(13L)).thenReturn(Optional.of(lyceum));
         when(userRepository.findById(lyceumAdmin.getId())).thenReturn(Optional.of(lyceumAdmin));
-        when(userReviewRepository.findAverageRatingByReviewedUserId(subscriber.getId())).thenReturn(4.0);
+        when(userRepository.findLyceumSubscribersAfter(13L, 37L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(subscriberSummary(39L), subscriberSummary(40L)));
 
-        List<UserResponse> response = lyceumService.getLyceumSubscribers(13L);
+        SubscriberPageResponse response = lyceumService.getLyceumSubscribers(13L, 37L, 1);
 
-        assertThat(response).hasSize(1);
-        assertThat(response.getFirst().getId()).isEqualTo(37L);
+        assertThat(response.getItems()).extracting(SubscriberResponse::getId).containsExactly(39L);
+        assertThat(response.getNextCursor()).isEqualTo(39L);
     }
 
     @Test
@@ -352,8 +365,8 @@ class LyceumServiceTest {
         when(lyceumRepository.findById(14L)).thenReturn(Optional.of(lyceum));
         when(userRepository.findById(regularUser.getId())).thenReturn(Optional.of(regularUser));
 
-        assertThrows(AccessDeniedException.class, () -> lyceumService.getLyceumSubscribers(14L));
-        verify(userReviewRepository, never()).findAverageRatingByReviewedUserId(any());
+        assertThrows(AccessDeniedException.class, () -> lyceumService.getLyceumSubscribers(14L, null, 50));
+        verify(userRepository, never()).findLyceumSubscribersAfter(any(), anyLong(), any());
     }
 
     @Test
@@ -495,7 +508,7 @@ class LyceumServiceTest {
     void filterLyceumsDelegatesToRepositoryWithPagination() {
         Lyceum lyceum = createLyceum(30L, "Central", "Varna", "central@example.com");
         lyceum.setVerificationStatus(VerificationStatus.VERIFIED);
-        when(lyceumRepository.filterLyceums(any(), any(), any(), any(), any(Pageable.class)))
+        when(lyceumRepository.filterPopularLyceums(any(), any(), any(), any(), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(List.of(lyceum), PageRequest.of(0, 2), 1));
 
         ArgumentCaptor<String> townCaptor = ArgumentCaptor.forClass(String.class);
@@ -504,18 +517,19 @@ class LyceumServiceTest {
         ArgumentCaptor<String> statusCaptor = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
 
-        Page<LyceumResponse> result = lyceumService.filterLyceums("Varna", 42.5, 23.3, 0, 2);
+        Page<LyceumResponse> result = lyceumService.filterLyceums("Varna", 42.5, 23.3, true, 0, 2, FieldSelection.all());
 
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().getFirst().getName()).isEqualTo("Central");
 
-        verify(lyceumRepository).filterLyceums(
+        verify(lyceumRepository).filterPopularLyceums(
                 townCaptor.capture(),
                 latCaptor.capture(),
                 lonCaptor.capture(),
                 statusCaptor.capture(),
                 pageableCaptor.capture()
         );
+        verify(lyceumRepository, never()).filterLyceums(any(), any(), any(), any(), any(Pageable.class));
         assertThat(townCaptor.getValue()).isEqualTo("Varna");
         assertThat(latCaptor.getValue()).isEqualTo(42.5);
         assertThat(lonCaptor.getValue()).isEqualTo(23.3);
@@ -535,7 +549,7 @@ class LyceumServiceTest {
         ArgumentCaptor<String> statusCaptor = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
 
-        lyceumService.filterLyceums("   ", null, null, 1, 4);
+        lyceumService.filterLyceums("   ", null, null, false, 1, 4, FieldSelection.all());
 
         verify(lyceumRepository).filterLyceums(
                 townCaptor.capture(),
@@ -544,6 +558,7 @@ class LyceumServiceTest {
                 statusCaptor.capture(),
                 pageableCaptor.capture()
         );
+        verify(lyceumRepository, never()).filterPopularLyceums(any(), any(), any(), any(), any(Pageable.class));
         assertThat(townCaptor.getValue()).isNull();
         assertThat(latCaptor.getValue()).isNull();
         assertThat(lonCaptor.getValue()).isNull();
@@ -555,19 +570,19 @@ class LyceumServiceTest {
 
     @Test
     void filterLyceumsThrowsWhenCoordinatesIncomplete() {
-        assertThrows(BadRequestException.class, () -> lyceumService.filterLyceums("Varna", 42.5, null, 0, 3));
+        assertThrows(BadRequestException.class, () -> lyceumService.filterLyceums("Varna", 42.5, null, false, 0, 3, FieldSelection.all()));
         verify(lyceumRepository, never()).filterLyceums(any(), any(), any(), any(), any(Pageable.class));
     }
 
     @Test
     void filterLyceumsThrowsWhenPageSizeNonPositive() {
-        assertThrows(BadRequestException.class, () -> lyceumService.filterLyceums("Varna", null, null, 0, 0));
+        assertThrows(BadRequestException.class, () -> lyceumService.filterLyceums("Varna", null, null, false, 0, 0, FieldSelection.all()));
         verify(lyceumRepository, never()).filterLyceums(any(), any(), any(), any(), any(Pageable.class));
     }
 
     @Test
     void filterLyceumsThrowsWhenPageNegative() {
-        assertThrows(BadRequestException.class, () -> lyceumService.filterLyceums("Varna", null, null, -1, 10));
+        assertThrows(BadRequestException.class, () -> lyceumService.filterLyceums("Varna", null, null, false, -1, 10, FieldSelection.all()));
         verify(lyceumRepository, never()).filterLyceums(any(), any(), any(), any(), any(Pageable.class));
     }
 
@@ -841,6 +856,7 @@ class LyceumServiceTest {
                 .contains(target.getId());
         verify(userRepository).save(target);
         verify(lyceumRepository).save(lyceum);
+        verify(authenticatedUserCache).evict(target.getEmail(), target.getUsername());
     }
 
     @Test
@@ -1031,12 +1047,12 @@ class LyceumServiceTest {
         lyceum.setSeenInResultsCount(19L);
         lyceum.setVisitCount(5L);
         lyceum.setShareCount(8L);
+        lyceum.setSubscriberCount(11L);
         User lecturer = createUser(201L);
         lyceum.setLecturers(new ArrayList<>(List.of(lecturer)));
         when(lyceumRepository.findWithLecturersById(81L)).thenReturn(Optional.of(lyceum));
         mockAuthenticatedUser(lecturer);
         when(userRepository.findById(lecturer.getId())).thenReturn(Optional.of(lecturer));
-        when(lyceumRepository.countSubscriptionsByLyceumId(81L)).thenReturn(11L);
 
         var response = lyceumService.getLyceumStatistics(81L);
 
@@ -1449,9 +1465,15 @@ class LyceumServiceTest {
         List<User> savedUsers = usersCaptor.getValue();
         assertThat(savedUsers).containsExactly(admin);
         assertThat(savedUsers.getFirst().getAdministratedLyceum()).isNull();
+        verify(authenticatedUserCache).evict(admin.getEmail(), admin.getUsername());
 
         verify(tokenRepository).deleteAllByLyceum_Id(5L);
         verify(lyceumRepository).delete(lyceum);
+        ArgumentCaptor<List<SyncTombstone>> tombstonesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(syncTombstoneRepository).saveAll(tombstonesCaptor.capture());
+        assertThat(tombstonesCaptor.getValue())
+                .extracting(SyncTombstone::getEntityType, SyncTombstone::getEntityId)
+                .containsExactly(tuple(SyncEntityType.LYCEUM, 5L));
     }
 
     @Test
@@ -2412,6 +2434,8 @@ class LyceumServiceTest {
         lyceumService.deleteLyceumImage(13L, 3L);
 
         verify(lyceumImageRepository).delete(image);
+        verify(syncTombstoneRepository).save(argThat(tombstone ->
+                tombstone.getEntityType() == SyncEntityType.LYCEUM_IMAGE && tombstone.getEntityId().equals(3L)));
     }
 
     @Test
@@ -2482,4 +2506,33 @@ class LyceumServiceTest {
         image.setOrderIndex(order);
         return image;
     }
+
+    private static UserRepository.SubscriberSummary subscriberSummary(Long id) {
+        return new UserRepository.SubscriberSummary() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getFirstname() {
+                return "Jane";
+            }
+
+            @Override
+            public String getLastname() {
+                return "Doe";
+            }
+
+            @Override
+            public String getUsername() {
+                return "subscriber" + id;
+            }
+
+            @Override
+            public String getEmail() {
+                return "subscriber" + id + "@example.com";
+            }
+        };
+    }
 }
@@ -0,0 +1,160 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.ScheduleConflictProperties;
+import com.dev.education_nearby_server.exceptions.common.ConflictException;
+import com.dev.education_nearby_server.models.dto.response.ScheduleConflictResponse;
+import com.dev.education_nearby_server.models.dto.response.ScheduleValidationReportResponse;
+import com.dev.education_nearby_server.models.entity.Course;
+import com.dev.education_nearby_server.models.entity.CourseScheduleSlot;
+import com.dev.education_nearby_server.models.entity.User;
+import com.dev.education_nearby_server.repositories.CourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleConflictServiceTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    private ScheduleConflictProperties properties;
+    private ScheduleConflictService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ScheduleConflictProperties();
+        properties.setReportParallelism(2);
+        service = new ScheduleConflictService(courseRepository, properties);
+    }
+
+    @Test
+    void ensureNoConflictsRejectsSlotOverlappingAnotherCourseOfTheLecturer() {
+        Course existing = course(1L, DayOfWeek.MONDAY, LocalTime.of(18, 0), LocalTime.of(19, 0));
+        stubTimetable(5L, existing);
+        CourseScheduleSlot slot = ScheduleExpanderTest.weekly(DayOfWeek.MONDAY, LocalTime.of(16, 30), null);
+        slot.setClassesCount(2);
+        slot.setSingleClassDurationMinutes(45);
+        slot.setGapBetweenClassesMinutes(10);
+        Course candidate = new Course();
+        candidate.setSchedule(ScheduleExpanderTest.schedule(slot));
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> service.ensureNoConflicts(candidate, List.of(5L)));
+
+        assertThat(exception.getMessage())
+                .isEqualTo("Lecturer with id 5 is already teaching \"Course 1\" on MONDAY from 18:00 to 19:00.");
+    }
+
+    @Test
+    void findConflictsIgnoresAdjacentSlotsDisjointActivePeriodsAndTheCourseItself() {
+        Course existing = course(1L, DayOfWeek.MONDAY, LocalTime.of(17, 0), LocalTime.of(18, 0));
+        existing.setActiveStartMonth(Month.SEPTEMBER);
+        existing.setActiveEndMonth(Month.DECEMBER);
+        stubTimetable(5L, existing);
+
+        Course adjacent = course(null, DayOfWeek.MONDAY, LocalTime.of(18, 0), LocalTime.of(19, 0));
+        Course springTerm = course(null, DayOfWeek.MONDAY, LocalTime.of(17, 0), LocalTime.of(18, 0));
+        springTerm.setActiveStartMonth(Month.JANUARY);
+        springTerm.setActiveEndMonth(Month.JUNE);
+        Course overWinter = course(null, DayOfWeek.MONDAY, LocalTime.of(17, 30), LocalTime.of(18, 30));
+        overWinter.setActiveStartMonth(Month.NOVEMBER);
+        overWinter.setActiveEndMonth(Month.FEBRUARY);
+        Course itself = course(1L, DayOfWeek.MONDAY, LocalTime.of(17, 15), LocalTime.of(18, 15));
+
+        assertThat(service.findConflicts(adjacent, List.of(5L))).isEmpty();
+        assertThat(service.findConflicts(springTerm, List.of(5L))).isEmpty();
+        assertThat(service.findConflicts(itself, List.of(5L))).isEmpty();
+        assertThat(service.findConflicts(overWinter, List.of(5L)))
+                .extracting(ScheduleConflictResponse::getConflictingCourseId)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void committedChangesUpdateTheCachedTimetableInPlace() {
+        stubTimetable(5L, course(1L, DayOfWeek.MONDAY, LocalTime.of(17, 0), LocalTime.of(18, 0)));
+        Course candidate = course(null, DayOfWeek.MONDAY, LocalTime.of(17, 0), LocalTime.of(18, 0));
+        assertThat(service.findConflicts(candidate, List.of(5L))).hasSize(1);
+
+        Course moved = course(1L, DayOfWeek.TUESDAY, LocalTime.of(17, 0), LocalTime.of(18, 0));
+        moved.getLecturers().add(lecturer(5L));
+        service.courseChanged(moved, List.of(5L));
+        assertThat(service.findConflicts(candidate, List.of(5L))).isEmpty();
+
+        service.courseDeleted(1L, List.of(5L));
+        assertThat(service.findConflicts(course(null, DayOfWeek.TUESDAY, LocalTime.of(17, 0), LocalTime.of(18, 0)),
+                List.of(5L))).isEmpty();
+        verify(courseRepository, times(1)).findDistinctByLecturers_Id(5L);
+    }
+
+    @Test
+    void ensureNoConflictsOnlyLogsWhenEnforcementIsDisabled() {
+        properties.setEnforce(false);
+        stubTimetable(5L, course(1L, DayOfWeek.MONDAY, LocalTime.of(17, 0), LocalTime.of(18, 0)));
+
+        assertDoesNotThrow(() -> service.ensureNoConflicts(
+                course(null, DayOfWeek.MONDAY, LocalTime.of(17, 0), LocalTime.of(18, 0)), List.of(5L)));
+    }
+
+    @Test
+    void validateAllSchedulesReportsEachOverlappingPairOnce() {
+        when(courseRepository.findAllLecturerIds()).thenReturn(List.of(5L, 6L));
+        stubTimetable(5L,
+                course(1L, DayOfWeek.MONDAY, LocalTime.of(17, 0), LocalTime.of(18, 0)),
+                course(2L, DayOfWeek.MONDAY, LocalTime.of(17, 30), LocalTime.of(18, 30)),
+                course(3L, DayOfWeek.FRIDAY, LocalTime.of(17, 0), LocalTime.of(18, 0)));
+        stubTimetable(6L, course(4L, DayOfWeek.MONDAY, LocalTime.of(17, 0), LocalTime.of(18, 0)));
+
+        ScheduleValidationReportResponse report = service.validateAllSchedules();
+
+        assertThat(report.getLecturersScanned()).isEqualTo(2);
+        assertThat(report.getConflicts()).singleElement().satisfies(conflict -> {
+            assertThat(conflict.getLecturerId()).isEqualTo(5L);
+            assertThat(conflict.getCourseId()).isEqualTo(1L);
+            assertThat(conflict.getConflictingCourseId()).isEqualTo(2L);
+            assertThat(conflict.getConflictingStartTime()).isEqualTo(LocalTime.of(17, 30));
+        });
+    }
+
+    private void stubTimetable(Long lecturerId, Course... courses) {
+        List<Long> ids = new ArrayList<>();
+        List<Course> summaries = new ArrayList<>();
+        for (Course course : courses) {
+            ids.add(course.getId());
+            Course summary = new Course();
+            summary.setId(course.getId());
+            summaries.add(summary);
+        }
+        when(courseRepository.findDistinctByLecturers_Id(lecturerId)).thenReturn(summaries);
+        when(courseRepository.findWithScheduleByIdIn(ids)).thenReturn(List.of(courses));
+    }
+
+    private static Course course(Long id, DayOfWeek dayOfWeek, LocalTime start, LocalTime end) {
+        Course course = new Course();
+        course.setId(id);
+        course.setName("Course " + id);
+        course.setSchedule(ScheduleExpanderTest.schedule(ScheduleExpanderTest.weekly(dayOfWeek, start, end)));
+        return course;
+    }
+
+    private static User lecturer(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,168 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.ScheduleOccurrenceProperties;
+import com.dev.education_nearby_server.enums.ScheduleRecurrence;
+import com.dev.education_nearby_server.models.entity.Course;
+import com.dev.education_nearby_server.models.entity.CourseSchedule;
+import com.dev.education_nearby_server.models.entity.CourseScheduleSlot;
+import com.dev.education_nearby_server.models.entity.CourseScheduleSpecialCase;
+import com.dev.education_nearby_server.repositories.CourseRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Proxy;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures expanding a year of sessions for 10k courses, once straight through the expander
+ * (a cold cache) and once through {@link CourseOccurrenceService} after its cache is warm, which
+ * is the steady state for repeated calendar requests.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.dev.education_nearby_server.services.ScheduleExpanderBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScheduleExpanderBenchmark {
+
+    private static final int COURSES = 10_000;
+    private static final int BATCH = 100;
+    private static final LocalDate FROM = LocalDate.of(2026, 9, 1);
+    private static final LocalDate TO = LocalDate.of(2027, 8, 31);
+
+    private List<Course> courses;
+    private List<List<Long>> batches;
+    private CourseOccurrenceService service;
+
+    @Setup
+    public void setUp() {
+        courses = new ArrayList<>(COURSES);
+        Map<Long, Course> byId = new HashMap<>();
+        for (long id = 1; id <= COURSES; id++) {
+            Course course = course(id);
+            courses.add(course);
+            byId.put(id, course);
+        }
+        batches = new ArrayList<>();
+        for (int start = 0; start < COURSES; start += BATCH) {
+            List<Long> batch = new ArrayList<>(BATCH);
+            for (int index = start; index < start + BATCH; index++) {
+                batch.add(courses.get(index).getId());
+            }
+            batches.add(batch);
+        }
+
+        ScheduleOccurrenceProperties properties = new ScheduleOccurrenceProperties();
+        properties.setMaxCourses(BATCH);
+        properties.setCacheMaxOccurrences(10_000_000);
+        service = new CourseOccurrenceService(inMemoryRepository(byId), properties);
+        servedFromCache();
+    }
+
+    @Benchmark
+    public int expandWithoutCache() {
+        int total = 0;
+        for (Course course : courses) {
+            total += ScheduleExpander.expand(
+                    course.getSchedule(), course.getActiveStartMonth(), course.getActiveEndMonth(), FROM, TO).size();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int servedFromCache() {
+        int total = 0;
+        for (List<Long> batch : batches) {
+            total += service.getOccurrences(batch, FROM, TO).size();
+        }
+        return total;
+    }
+
+    /**
+     * Two weekly slots of two classes each, one monthly slot and a handful of cancellations,
+     * active over a school year.
+     */
+    private static Course course(long id) {
+        CourseSchedule schedule = new CourseSchedule();
+        schedule.getSlots().add(slot(ScheduleRecurrence.WEEKLY, DayOfWeek.of((int) (id % 7) + 1), null));
+        schedule.getSlots().add(slot(ScheduleRecurrence.WEEKLY, DayOfWeek.of((int) ((id + 3) % 7) + 1), null));
+        schedule.getSlots().add(slot(ScheduleRecurrence.MONTHLY, null, (int) (id % 28) + 1));
+        for (int week = 0; week < 6; week++) {
+            CourseScheduleSpecialCase cancelled = new CourseScheduleSpecialCase();
+            cancelled.setDate(FROM.plusWeeks(week * 6L).plusDays(id % 7));
+            schedule.getSpecialCases().add(cancelled);
+        }
+        Course course = new Course();
+        course.setId(id);
+        course.setSchedule(schedule);
+        course.setActiveStartMonth(Month.SEPTEMBER);
+        course.setActiveEndMonth(Month.JUNE);
+        return course;
+    }
+
+    private static CourseScheduleSlot slot(ScheduleRecurrence recurrence, DayOfWeek dayOfWeek, Integer dayOfMonth) {
+        CourseScheduleSlot slot = new CourseScheduleSlot();
+        slot.setRecurrence(recurrence);
+        slot.setDayOfWeek(dayOfWeek);
+        slot.setDayOfMonth(dayOfMonth);
+        slot.setStartTime(LocalTime.of(16, 30));
+        slot.setClassesCount(2);
+        slot.setSingleClassDurationMinutes(45);
+        slot.setGapBetweenClassesMinutes(10);
+        return slot;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CourseRepository inMemoryRepository(Map<Long, Course> byId) {
+        return (CourseRepository) Proxy.newProxyInstance(
+                CourseRepository.class.getClassLoader(),
+                new Class<?>[]{CourseRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findScheduleVersionsByIdIn" -> ((Collection<Long>) args[0]).stream()
+                            .map(byId::get)
+                            .map(course -> (CourseRepository.ScheduleVersion) new CourseRepository.ScheduleVersion() {
+                                @Override
+                                public Long getId() {
+                                    return course.getId();
+                                }
+
+                                @Override
+                                public long getScheduleVersion() {
+                                    return course.getScheduleVersion();
+                                }
+                            })
+                            .toList();
+                    case "findWithScheduleByIdIn" -> ((Collection<Long>) args[0]).stream().map(byId::get).toList();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ScheduleExpanderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
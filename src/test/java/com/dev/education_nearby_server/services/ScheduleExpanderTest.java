@@ -0,0 +1,121 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.enums.ScheduleRecurrence;
+import com.dev.education_nearby_server.models.entity.CourseSchedule;
+import com.dev.education_nearby_server.models.entity.CourseScheduleSlot;
+import com.dev.education_nearby_server.models.entity.CourseScheduleSpecialCase;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Month;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ScheduleExpanderTest {
+
+    @Test
+    void weeklySlotRepeatsOnItsDayOfWeekWithinRange() {
+        CourseSchedule schedule = schedule(weekly(DayOfWeek.MONDAY, LocalTime.of(17, 0), LocalTime.of(18, 0)));
+
+        List<ScheduleExpander.Occurrence> occurrences = ScheduleExpander.expand(
+                schedule, null, null, LocalDate.of(2026, 9, 1), LocalDate.of(2026, 9, 30));
+
+        assertThat(occurrences).extracting(ScheduleExpander.Occurrence::date).containsExactly(
+                LocalDate.of(2026, 9, 7),
+                LocalDate.of(2026, 9, 14),
+                LocalDate.of(2026, 9, 21),
+                LocalDate.of(2026, 9, 28));
+        assertThat(occurrences.get(0).startTime()).isEqualTo(LocalTime.of(17, 0));
+        assertThat(occurrences.get(0).endTime()).isEqualTo(LocalTime.of(18, 0));
+    }
+
+    @Test
+    void monthlySlotSkipsMonthsThatAreTooShort() {
+        CourseScheduleSlot slot = new CourseScheduleSlot();
+        slot.setRecurrence(ScheduleRecurrence.MONTHLY);
+        slot.setDayOfMonth(31);
+        slot.setStartTime(LocalTime.of(10, 0));
+
+        List<ScheduleExpander.Occurrence> occurrences = ScheduleExpander.expand(
+                schedule(slot), null, null, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 4, 30));
+
+        assertThat(occurrences).extracting(ScheduleExpander.Occurrence::date)
+                .containsExactly(LocalDate.of(2026, 1, 31), LocalDate.of(2026, 3, 31));
+        assertThat(occurrences.get(0).endTime()).isNull();
+    }
+
+    @Test
+    void slotWithSeveralClassesIsSplitUsingDurationAndGap() {
+        CourseScheduleSlot slot = weekly(DayOfWeek.SATURDAY, LocalTime.of(9, 0), null);
+        slot.setClassesCount(3);
+        slot.setSingleClassDurationMinutes(45);
+        slot.setGapBetweenClassesMinutes(15);
+
+        List<ScheduleExpander.Occurrence> occurrences = ScheduleExpander.expand(
+                schedule(slot), null, null, LocalDate.of(2026, 9, 5), LocalDate.of(2026, 9, 5));
+
+        assertThat(occurrences)
+                .extracting(ScheduleExpander.Occurrence::startTime, ScheduleExpander.Occurrence::endTime)
+                .containsExactly(
+                        tuple(LocalTime.of(9, 0), LocalTime.of(9, 45)),
+                        tuple(LocalTime.of(10, 0), LocalTime.of(10, 45)),
+                        tuple(LocalTime.of(11, 0), LocalTime.of(11, 45)));
+    }
+
+    @Test
+    void cancelledDatesAndInactiveMonthsAreDropped() {
+        CourseSchedule schedule = schedule(weekly(DayOfWeek.MONDAY, LocalTime.of(17, 0), LocalTime.of(18, 0)));
+        CourseScheduleSpecialCase cancelled = new CourseScheduleSpecialCase();
+        cancelled.setDate(LocalDate.of(2026, 6, 8));
+        schedule.getSpecialCases().add(cancelled);
+
+        List<ScheduleExpander.Occurrence> occurrences = ScheduleExpander.expand(
+                schedule, Month.SEPTEMBER, Month.JUNE, LocalDate.of(2026, 6, 1), LocalDate.of(2026, 9, 14));
+
+        assertThat(occurrences).extracting(ScheduleExpander.Occurrence::date).containsExactly(
+                LocalDate.of(2026, 6, 1),
+                LocalDate.of(2026, 6, 15),
+                LocalDate.of(2026, 6, 22),
+                LocalDate.of(2026, 6, 29),
+                LocalDate.of(2026, 9, 7),
+                LocalDate.of(2026, 9, 14));
+    }
+
+    @Test
+    void occurrencesOfSeveralSlotsAreMergedChronologically() {
+        CourseSchedule schedule = schedule(weekly(DayOfWeek.WEDNESDAY, LocalTime.of(18, 0), null));
+        schedule.getSlots().add(weekly(DayOfWeek.MONDAY, LocalTime.of(17, 0), null));
+        CourseScheduleSlot oneTime = new CourseScheduleSlot();
+        oneTime.setRecurrence(ScheduleRecurrence.ONE_TIME);
+        oneTime.setStartTime(LocalTime.of(12, 0));
+        schedule.getSlots().add(oneTime);
+
+        List<ScheduleExpander.Occurrence> occurrences = ScheduleExpander.expand(
+                schedule, null, null, LocalDate.of(2026, 9, 7), LocalDate.of(2026, 9, 16));
+
+        assertThat(occurrences).extracting(ScheduleExpander.Occurrence::date).containsExactly(
+                LocalDate.of(2026, 9, 7),
+                LocalDate.of(2026, 9, 9),
+                LocalDate.of(2026, 9, 14),
+                LocalDate.of(2026, 9, 16));
+    }
+
+    static CourseSchedule schedule(CourseScheduleSlot slot) {
+        CourseSchedule schedule = new CourseSchedule();
+        schedule.getSlots().add(slot);
+        return schedule;
+    }
+
+    static CourseScheduleSlot weekly(DayOfWeek dayOfWeek, LocalTime start, LocalTime end) {
+        CourseScheduleSlot slot = new CourseScheduleSlot();
+        slot.setRecurrence(ScheduleRecurrence.WEEKLY);
+        slot.setDayOfWeek(dayOfWeek);
+        slot.setStartTime(start);
+        slot.setEndTime(end);
+        return slot;
+    }
+}
@@ -0,0 +1,77 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.models.entity.SchedulerLock;
+import com.dev.education_nearby_server.repositories.SchedulerLockRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SchedulerLockServiceTest {
+
+    @Mock
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @InjectMocks
+    private SchedulerLockService schedulerLockService;
+
+    @Test
+    void tryAcquireSucceedsWhenExpiredLeaseIsUpdated() {
+        when(schedulerLockRepository.tryLock(eq("job"), any(LocalDateTime.class), any(LocalDateTime.class), anyString()))
+                .thenReturn(1);
+
+        assertThat(schedulerLockService.tryAcquire("job", Duration.ofMinutes(5))).isTrue();
+        verify(schedulerLockRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void tryAcquireFailsWhenLeaseIsHeld() {
+        when(schedulerLockRepository.tryLock(eq("job"), any(LocalDateTime.class), any(LocalDateTime.class), anyString()))
+                .thenReturn(0);
+        when(schedulerLockRepository.existsById("job")).thenReturn(true);
+
+        assertThat(schedulerLockService.tryAcquire("job", Duration.ofMinutes(5))).isFalse();
+    }
+
+    @Test
+    void tryAcquireCreatesMissingLockRow() {
+        when(schedulerLockRepository.tryLock(eq("job"), any(LocalDateTime.class), any(LocalDateTime.class), anyString()))
+                .thenReturn(0);
+        when(schedulerLockRepository.existsById("job")).thenReturn(false);
+
+        assertThat(schedulerLockService.tryAcquire("job", Duration.ofMinutes(5))).isTrue();
+        verify(schedulerLockRepository).saveAndFlush(any(SchedulerLock.class));
+    }
+
+    @Test
+    void tryAcquireFailsWhenAnotherNodeCreatesRowFirst() {
+        when(schedulerLockRepository.tryLock(eq("job"), any(LocalDateTime.class), any(LocalDateTime.class), anyString()))
+                .thenReturn(0);
+        when(schedulerLockRepository.existsById("job")).thenReturn(false);
+        when(schedulerLockRepository.saveAndFlush(any(SchedulerLock.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        assertThat(schedulerLockService.tryAcquire("job", Duration.ofMinutes(5))).isFalse();
+    }
+
+    @Test
+    void releaseOnlyUnlocksOwnLease() {
+        schedulerLockService.release("job");
+
+        verify(schedulerLockRepository).unlock(eq("job"), any(LocalDateTime.class), anyString());
+    }
+}
@@ -0,0 +1,88 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.SubscriberCountProperties;
+import com.dev.education_nearby_server.repositories.CourseRepository;
+import com.dev.education_nearby_server.repositories.LyceumRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SubscriberCountReconciliationServiceTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+    @Mock
+    private LyceumRepository lyceumRepository;
+    @Mock
+    private SchedulerLockService schedulerLockService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SubscriberCountProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private SubscriberCountReconciliationService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SubscriberCountProperties();
+        properties.setBatchSize(10);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new SubscriberCountReconciliationService(courseRepository, lyceumRepository,
+                schedulerLockService, properties, transactionManager, meterRegistry);
+    }
+
+    @Test
+    void reconcileWalksIdRangesOfBothTablesAndCountsCorrections() {
+        when(schedulerLockService.tryAcquire(SubscriberCountReconciliationService.LOCK_NAME,
+                properties.getLockDuration())).thenReturn(true);
+        when(courseRepository.findMaxId()).thenReturn(25L);
+        when(courseRepository.reconcileSubscriberCounts(0L, 10L)).thenReturn(1);
+        when(courseRepository.reconcileSubscriberCounts(10L, 20L)).thenReturn(0);
+        when(courseRepository.reconcileSubscriberCounts(20L, 25L)).thenReturn(2);
+        when(lyceumRepository.findMaxId()).thenReturn(4L);
+        when(lyceumRepository.reconcileSubscriberCounts(0L, 4L)).thenReturn(1);
+
+        int corrected = service.reconcile();
+
+        assertThat(corrected).isEqualTo(4);
+        assertThat(meterRegistry.counter("subscriptions.counts.corrected").count()).isEqualTo(4.0);
+        verify(schedulerLockService).release(SubscriberCountReconciliationService.LOCK_NAME);
+    }
+
+    @Test
+    void reconcileContinuesWithNextRangeWhenOneFails() {
+        when(schedulerLockService.tryAcquire(SubscriberCountReconciliationService.LOCK_NAME,
+                properties.getLockDuration())).thenReturn(true);
+        when(courseRepository.findMaxId()).thenReturn(20L);
+        when(courseRepository.reconcileSubscriberCounts(0L, 10L))
+                .thenThrow(new CannotAcquireLockException("deadlock"));
+        when(courseRepository.reconcileSubscriberCounts(10L, 20L)).thenReturn(3);
+        when(lyceumRepository.findMaxId()).thenReturn(0L);
+
+        assertThat(service.reconcile()).isEqualTo(3);
+        verify(lyceumRepository, never()).reconcileSubscriberCounts(anyLong(), anyLong());
+    }
+
+    @Test
+    void reconcileSkipsWhenLockIsHeldElsewhere() {
+        when(schedulerLockService.tryAcquire(SubscriberCountReconciliationService.LOCK_NAME,
+                properties.getLockDuration())).thenReturn(false);
+
+        assertThat(service.reconcile()).isZero();
+        verifyNoInteractions(courseRepository, lyceumRepository);
+        verify(schedulerLockService, never()).release(SubscriberCountReconciliationService.LOCK_NAME);
+    }
+}
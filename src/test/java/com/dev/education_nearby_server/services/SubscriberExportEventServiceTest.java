@@ -0,0 +1,117 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.ExportProperties;
+import com.dev.education_nearby_server.enums.SubscriberExportFormat;
+import com.dev.education_nearby_server.enums.SubscriberExportScope;
+import com.dev.education_nearby_server.enums.SubscriberExportStatus;
+import com.dev.education_nearby_server.models.entity.SubscriberExportJob;
+import com.dev.education_nearby_server.repositories.SubscriberExportJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SubscriberExportEventServiceTest {
+
+    @Mock
+    private SubscriberExportJobRepository exportJobRepository;
+
+    private SubscriberExportEventService service;
+
+    @BeforeEach
+    void setUp() {
+        ExportProperties properties = new ExportProperties();
+        properties.setMaxEventStreams(2);
+        service = new SubscriberExportEventService(exportJobRepository, properties);
+    }
+
+    @Test
+    void openFinishedJobDoesNotKeepStream() {
+        service.open(buildJob(1L, SubscriberExportStatus.COMPLETED));
+
+        assertThat(service.openStreamCount()).isZero();
+    }
+
+    @Test
+    void openRejectsStreamsAboveLimit() {
+        service.open(buildJob(1L, SubscriberExportStatus.PENDING));
+        service.open(buildJob(1L, SubscriberExportStatus.PENDING));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> service.open(buildJob(2L, SubscriberExportStatus.IN_PROGRESS)));
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(service.openStreamCount()).isEqualTo(2);
+    }
+
+    @Test
+    void publishStatusClosesStreamsOnceJobFinishes() {
+        SubscriberExportJob job = buildJob(3L, SubscriberExportStatus.IN_PROGRESS);
+        service.open(job);
+        service.open(job);
+        service.publishProgress(3L, 1000, 2500);
+
+        job.setStatus(SubscriberExportStatus.FAILED);
+        service.publishStatus(job);
+
+        assertThat(service.openStreamCount()).isZero();
+        service.open(buildJob(4L, SubscriberExportStatus.PENDING));
+        service.open(buildJob(5L, SubscriberExportStatus.PENDING));
+        assertThat(service.openStreamCount()).isEqualTo(2);
+    }
+
+    @Test
+    void heartbeatReportsJobsFinishedElsewhere() {
+        service.open(buildJob(6L, SubscriberExportStatus.PENDING));
+        service.open(buildJob(7L, SubscriberExportStatus.PENDING));
+        when(exportJobRepository.findAllById(Set.of(6L, 7L))).thenReturn(List.of(
+                buildJob(6L, SubscriberExportStatus.COMPLETED),
+                buildJob(7L, SubscriberExportStatus.PENDING)));
+
+        service.heartbeat();
+
+        assertThat(service.openStreamCount()).isEqualTo(1);
+    }
+
+    @Test
+    void heartbeatSkipsQueryWithoutStreams() {
+        service.heartbeat();
+
+        verifyNoInteractions(exportJobRepository);
+    }
+
+    @Test
+    void sendFailureDropsStream() {
+        SubscriberExportJob job = buildJob(8L, SubscriberExportStatus.IN_PROGRESS);
+        SseEmitter emitter = service.open(job);
+        emitter.complete();
+
+        service.publishProgress(8L, 1, 2);
+
+        assertThat(service.openStreamCount()).isZero();
+    }
+
+    private SubscriberExportJob buildJob(Long id, SubscriberExportStatus status) {
+        SubscriberExportJob job = new SubscriberExportJob();
+        job.setId(id);
+        job.setScope(SubscriberExportScope.COURSE);
+        job.setTargetId(19L);
+        job.setFormat(SubscriberExportFormat.CSV);
+        job.setStatus(status);
+        job.setRequestedByUserId(1L);
+        return job;
+    }
+}
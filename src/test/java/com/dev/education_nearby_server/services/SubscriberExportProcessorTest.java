@@ -19,20 +19,44 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
-
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
@@ -53,6 +77,8 @@ class SubscriberExportProcessorTest {
     private S3Properties s3Properties;
     @Mock
     private S3Client s3Client;
+    @Mock
+    private SubscriberExportEventService exportEventService;
 
     @InjectMocks
     private SubscriberExportProcessor subscriberExportProcessor;
@@ -78,6 +104,7 @@ class SubscriberExportProcessorTest {
         when(exportJobRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
         when(courseRepository.existsById(19L)).thenReturn(true);
         when(userRepository.findDistinctBySubscribedCourses_IdOrderByIdAsc(19L)).thenReturn(List.of(subscriber));
+        when(exportJobRepository.updateRowsWrittenIfInProgress(eq(2L), eq(1L), any())).thenReturn(1);
         when(exportProperties.getDirectory()).thenReturn(tempDir.toString());
         when(exportProperties.getS3Prefix()).thenReturn("exports/subscribers/");
         when(s3Properties.getBucketName()).thenReturn("education-nearby-demo-bucket");
@@ -102,6 +129,10 @@ class SubscriberExportProcessorTest {
         assertThat(job.getFileName()).endsWith(".csv");
         assertThat(job.getContentType()).isEqualTo("text/csv");
         assertThat(job.getCompletedAt()).isNotNull();
+        assertThat(job.getRowsTotal()).isEqualTo(1);
+        assertThat(job.getRowsWritten()).isEqualTo(1);
+        verify(exportEventService, times(2)).publishStatus(job);
+        verify(exportEventService).publishProgress(2L, 1, 1);
     }
 
     @Test
@@ -142,6 +173,7 @@ class SubscriberExportProcessorTest {
         assertThat(job.getErrorMessage()).isEqualTo("Target resource no longer exists.");
         assertThat(job.getCompletedAt()).isNotNull();
         verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(Path.class));
+        verify(exportEventService, times(2)).publishStatus(job);
     }
 
     @Test
@@ -179,6 +211,7 @@ class SubscriberExportProcessorTest {
         when(exportJobRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
         when(courseRepository.existsById(32L)).thenReturn(true);
         when(userRepository.findDistinctBySubscribedCourses_IdOrderByIdAsc(32L)).thenReturn(List.of(subscriber));
+        when(exportJobRepository.updateRowsWrittenIfInProgress(eq(6L), eq(1L), any())).thenReturn(1);
         when(exportProperties.getDirectory()).thenReturn(tempDir.toString());
         when(exportProperties.getS3Prefix()).thenReturn("exports/subscribers/");
         when(s3Properties.getBucketName()).thenReturn("education-nearby-demo-bucket");
@@ -237,6 +270,225 @@ class SubscriberExportProcessorTest {
         assertThat(job.getCompletedAt()).isNotNull();
     }
 
+    @Test
+    void processExportJobSkipsJobCancelledWhileQueued() {
+        SubscriberExportJob job = buildJob(9L, SubscriberExportScope.COURSE, 35L, SubscriberExportFormat.CSV);
+        job.setStatus(SubscriberExportStatus.CANCELLED);
+        when(exportJobRepository.findById(9L)).thenReturn(Optional.of(job));
+
+        subscriberExportProcessor.processExportJob(9L);
+
+        verify(exportJobRepository).findById(9L);
+        verifyNoMoreInteractions(exportJobRepository);
+        verifyNoInteractions(userRepository, s3Client, exportEventService);
+    }
+
+    @Test
+    void processExportJobStopsBeforeUploadWhenCancelledMidWrite() throws IOException {
+        SubscriberExportJob job = buildJob(10L, SubscriberExportScope.COURSE, 36L, SubscriberExportFormat.CSV);
+        List<User> subscribers = LongStream.rangeClosed(1, 2500).mapToObj(this::createUser).toList();
+        when(exportJobRepository.findById(10L)).thenReturn(Optional.of(job));
+        when(exportJobRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(courseRepository.existsById(36L)).thenReturn(true);
+        when(userRepository.findDistinctBySubscribedCourses_IdOrderByIdAsc(36L)).thenReturn(subscribers);
+        when(exportProperties.getDirectory()).thenReturn(tempDir.toString());
+        when(exportJobRepository.updateRowsWrittenIfInProgress(eq(10L), eq(1000L), any())).thenReturn(1);
+        when(exportJobRepository.updateRowsWrittenIfInProgress(eq(10L), eq(2000L), any())).thenReturn(0);
+
+        subscriberExportProcessor.processExportJob(10L);
+
+        assertThat(job.getStatus()).isEqualTo(SubscriberExportStatus.IN_PROGRESS);
+        assertThat(job.getRowsTotal()).isEqualTo(2500);
+        assertThat(job.getRowsWritten()).isEqualTo(2000);
+        verify(exportEventService).publishProgress(10L, 1000, 2500);
+        verifyNoInteractions(s3Client);
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void processExportJobDeletesUploadWhenCancelledDuringUpload() {
+        SubscriberExportJob job = buildJob(11L, SubscriberExportScope.LYCEUM, 37L, SubscriberExportFormat.CSV);
+        when(exportJobRepository.findById(11L)).thenReturn(Optional.of(job));
+        when(exportJobRepository.save(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new OptimisticLockingFailureException("cancelled"));
+        when(lyceumRepository.existsById(37L)).thenReturn(true);
+        when(userRepository.findDistinctBySubscribedLyceums_IdOrderByIdAsc(37L)).thenReturn(List.of());
+        when(exportProperties.getDirectory()).thenReturn(tempDir.toString());
+        when(exportProperties.getS3Prefix()).thenReturn("exports/subscribers/");
+        when(s3Properties.getBucketName()).thenReturn("education-nearby-demo-bucket");
+
+        subscriberExportProcessor.processExportJob(11L);
+
+        ArgumentCaptor<PutObjectRequest> uploadCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        ArgumentCaptor<DeleteObjectRequest> deleteCaptor = ArgumentCaptor.forClass(DeleteObjectRequest.class);
+        verify(s3Client).putObject(uploadCaptor.capture(), any(Path.class));
+        verify(s3Client).deleteObject(deleteCaptor.capture());
+        assertThat(deleteCaptor.getValue().key()).isEqualTo(uploadCaptor.getValue().key());
+        verify(exportJobRepository, times(3)).save(job);
+    }
+
+    @Test
+    void processExportJobStreamsCourseArchiveForLyceum() throws IOException {
+        SubscriberExportJob job = buildJob(12L, SubscriberExportScope.LYCEUM_COURSES, 38L, SubscriberExportFormat.CSV);
+        ByteArrayOutputStream uploaded = new ByteArrayOutputStream();
+        when(exportJobRepository.findById(12L)).thenReturn(Optional.of(job));
+        when(exportJobRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(lyceumRepository.existsById(38L)).thenReturn(true);
+        when(courseRepository.findSubscriptionsByLyceumId(38L))
+                .thenReturn(List.of(courseSubscriptions(40L, 2), courseSubscriptions(41L, 1)));
+        when(userRepository.findCourseSubscriberExportRowsAfter(40L, 0L, PageRequest.of(0, 1000)))
+                .thenReturn(List.of(exportRow(1L), exportRow(2L)));
+        when(userRepository.findCourseSubscriberExportRowsAfter(41L, 0L, PageRequest.of(0, 1000)))
+                .thenReturn(List.of(exportRow(3L)));
+        when(exportJobRepository.updateRowsWrittenIfInProgress(eq(12L), eq(3L), any())).thenReturn(1);
+        when(exportProperties.getArchiveConcurrency()).thenReturn(1);
+        when(exportProperties.getArchivePartSizeMb()).thenReturn(1);
+        when(exportProperties.getS3Prefix()).thenReturn("exports/subscribers/");
+        when(s3Properties.getBucketName()).thenReturn("education-nearby-demo-bucket");
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-12").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenAnswer(invocation -> {
+            RequestBody body = invocation.getArgument(1);
+            try (InputStream part = body.contentStreamProvider().newStream()) {
+                part.transferTo(uploaded);
+            }
+            return UploadPartResponse.builder().eTag("etag-1").build();
+        });
+
+        subscriberExportProcessor.processExportJob(12L);
+
+        ArgumentCaptor<CreateMultipartUploadRequest> requestCaptor =
+                ArgumentCaptor.forClass(CreateMultipartUploadRequest.class);
+        ArgumentCaptor<CompleteMultipartUploadRequest> completeCaptor =
+                ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3Client).createMultipartUpload(requestCaptor.capture());
+        verify(s3Client).completeMultipartUpload(completeCaptor.capture());
+        assertThat(requestCaptor.getValue().key()).startsWith("exports/subscribers/lyceum-38-course-subscribers-12-");
+        assertThat(requestCaptor.getValue().key()).endsWith(".zip");
+        assertThat(requestCaptor.getValue().contentType()).isEqualTo("application/zip");
+        assertThat(completeCaptor.getValue().uploadId()).isEqualTo("upload-12");
+        assertThat(completeCaptor.getValue().multipartUpload().parts()).hasSize(1);
+
+        Map<String, List<String>> entries = readZip(uploaded.toByteArray());
+        assertThat(entries).containsOnlyKeys("course-40-subscribers.csv", "course-41-subscribers.csv");
+        assertThat(entries.get("course-40-subscribers.csv")).hasSize(3);
+        assertThat(entries.get("course-41-subscribers.csv"))
+                .containsExactly("id,firstname,lastname,email,username,role,enabled",
+                        "\"3\",\"Jane\",\"Doe\",\"jane3@example.com\",\"jane3\",\"USER\",\"true\"");
+
+        assertThat(job.getStatus()).isEqualTo(SubscriberExportStatus.COMPLETED);
+        assertThat(job.getFilePath()).isEqualTo(requestCaptor.getValue().key());
+        assertThat(job.getContentType()).isEqualTo("application/zip");
+        assertThat(job.getRowsTotal()).isEqualTo(3);
+        assertThat(job.getRowsWritten()).isEqualTo(3);
+        verify(exportEventService).publishProgress(12L, 3, 3);
+    }
+
+    @Test
+    void processExportJobAbortsCourseArchiveWhenCancelled() {
+        SubscriberExportJob job = buildJob(13L, SubscriberExportScope.LYCEUM_COURSES, 39L, SubscriberExportFormat.CSV);
+        List<UserRepository.SubscriberExportRow> subscribers =
+                LongStream.rangeClosed(1, 1500).mapToObj(this::exportRow).toList();
+        when(exportJobRepository.findById(13L)).thenReturn(Optional.of(job));
+        when(exportJobRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(lyceumRepository.existsById(39L)).thenReturn(true);
+        when(courseRepository.findSubscriptionsByLyceumId(39L)).thenReturn(List.of(courseSubscriptions(42L, 1500)));
+        when(userRepository.findCourseSubscriberExportRowsAfter(42L, 0L, PageRequest.of(0, 1000)))
+                .thenReturn(subscribers.subList(0, 1000));
+        when(userRepository.findCourseSubscriberExportRowsAfter(42L, 1000L, PageRequest.of(0, 1000)))
+                .thenReturn(subscribers.subList(1000, 1500));
+        when(exportJobRepository.updateRowsWrittenIfInProgress(eq(13L), eq(1000L), any())).thenReturn(0);
+        when(exportProperties.getArchiveConcurrency()).thenReturn(4);
+        when(exportProperties.getArchivePartSizeMb()).thenReturn(8);
+        when(exportProperties.getS3Prefix()).thenReturn("exports/subscribers/");
+        when(s3Properties.getBucketName()).thenReturn("education-nearby-demo-bucket");
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-13").build());
+
+        subscriberExportProcessor.processExportJob(13L);
+
+        ArgumentCaptor<AbortMultipartUploadRequest> abortCaptor =
+                ArgumentCaptor.forClass(AbortMultipartUploadRequest.class);
+        verify(s3Client).abortMultipartUpload(abortCaptor.capture());
+        assertThat(abortCaptor.getValue().uploadId()).isEqualTo("upload-13");
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+        verify(s3Client, never()).deleteObject(any(DeleteObjectRequest.class));
+        assertThat(job.getStatus()).isEqualTo(SubscriberExportStatus.IN_PROGRESS);
+        assertThat(job.getRowsWritten()).isEqualTo(1000);
+    }
+
+    private Map<String, List<String>> readZip(byte[] archive) throws IOException {
+        Map<String, List<String>> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive), StandardCharsets.UTF_8)) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8).lines().toList());
+            }
+        }
+        return entries;
+    }
+
+    private CourseRepository.CourseSubscriptions courseSubscriptions(Long id, long subscriberCount) {
+        return new CourseRepository.CourseSubscriptions() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public long getSubscriptionVersion() {
+                return 0;
+            }
+
+            @Override
+            public long getSubscriberCount() {
+                return subscriberCount;
+            }
+        };
+    }
+
+    private UserRepository.SubscriberExportRow exportRow(Long id) {
+        return new UserRepository.SubscriberExportRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getFirstname() {
+                return "Jane";
+            }
+
+            @Override
+            public String getLastname() {
+                return "Doe";
+            }
+
+            @Override
+            public String getUsername() {
+                return "jane" + id;
+            }
+
+            @Override
+            public String getEmail() {
+                return "jane" + id + "@example.com";
+            }
+
+            @Override
+            public Role getRole() {
+                return Role.USER;
+            }
+
+            @Override
+            public boolean isEnabled() {
+                return true;
+            }
+        };
+    }
+
     private SubscriberExportJob buildJob(
             Long id,
             SubscriberExportScope scope,
@@ -14,8 +14,11 @@ import com.dev.education_nearby_server.exceptions.common.UnauthorizedException;
 import com.dev.education_nearby_server.models.dto.response.SubscriberExportJobResponse;
 import com.dev.education_nearby_server.models.entity.SubscriberExportJob;
 import com.dev.education_nearby_server.models.entity.User;
+import com.dev.education_nearby_server.repositories.CourseRepository;
+import com.dev.education_nearby_server.repositories.LyceumRepository;
 import com.dev.education_nearby_server.repositories.SubscriberExportJobRepository;
 import com.dev.education_nearby_server.repositories.UserRepository;
+import com.dev.education_nearby_server.utils.TokenDigests;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,6 +28,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
@@ -34,12 +38,14 @@ import java.net.URI;
 import java.net.URL;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -47,11 +53,18 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class SubscriberExportServiceTest {
 
+    private static final List<SubscriberExportScope> LYCEUM_SCOPES =
+            List.of(SubscriberExportScope.LYCEUM, SubscriberExportScope.LYCEUM_COURSES);
+
     @Mock
     private SubscriberExportJobRepository exportJobRepository;
     @Mock
     private UserRepository userRepository;
     @Mock
+    private CourseRepository courseRepository;
+    @Mock
+    private LyceumRepository lyceumRepository;
+    @Mock
     private CourseService courseService;
     @Mock
     private LyceumService lyceumService;
@@ -63,6 +76,8 @@ class SubscriberExportServiceTest {
     private ExportProperties exportProperties;
     @Mock
     private S3Presigner s3Presigner;
+    @Mock
+    private SubscriberExportEventService exportEventService;
 
     @InjectMocks
     private SubscriberExportService subscriberExportService;
@@ -77,6 +92,7 @@ class SubscriberExportServiceTest {
         User authenticated = createUser(11L);
         authenticate(authenticated);
         when(userRepository.findById(11L)).thenReturn(Optional.of(authenticated));
+        when(courseRepository.lockSubscriptionVersion(5L)).thenReturn(Optional.of(3L));
         when(exportJobRepository.save(any())).thenAnswer(invocation -> {
             SubscriberExportJob job = invocation.getArgument(0);
             job.setId(99L);
@@ -96,6 +112,7 @@ class SubscriberExportServiceTest {
         assertThat(savedJob.getFormat()).isEqualTo(SubscriberExportFormat.CSV);
         assertThat(savedJob.getStatus()).isEqualTo(SubscriberExportStatus.PENDING);
         assertThat(savedJob.getRequestedByUserId()).isEqualTo(11L);
+        assertThat(savedJob.getSubscriptionFingerprint()).isEqualTo(TokenDigests.sha256("5:3"));
 
         assertThat(response.getId()).isEqualTo(99L);
         assertThat(response.getScope()).isEqualTo(SubscriberExportScope.COURSE);
@@ -109,6 +126,7 @@ class SubscriberExportServiceTest {
         User authenticated = createUser(15L);
         authenticate(authenticated);
         when(userRepository.findById(15L)).thenReturn(Optional.of(authenticated));
+        when(lyceumRepository.lockSubscriptionVersion(21L)).thenReturn(Optional.of(0L));
         when(exportJobRepository.save(any())).thenAnswer(invocation -> {
             SubscriberExportJob job = invocation.getArgument(0);
             job.setId(120L);
@@ -126,6 +144,139 @@ class SubscriberExportServiceTest {
         assertThat(response.getFormat()).isEqualTo(SubscriberExportFormat.XLSX);
     }
 
+    @Test
+    void createLyceumSubscribersExportReusesFreshCompletedJob() {
+        User authenticated = createUser(16L);
+        authenticate(authenticated);
+        SubscriberExportJob completed = buildJob(130L, SubscriberExportScope.LYCEUM, 22L, SubscriberExportStatus.COMPLETED);
+        completed.setSubscriptionFingerprint(TokenDigests.sha256("22:4"));
+        completed.setCompletedAt(LocalDateTime.now().minusMinutes(2));
+        when(userRepository.findById(16L)).thenReturn(Optional.of(authenticated));
+        when(lyceumRepository.lockSubscriptionVersion(22L)).thenReturn(Optional.of(4L));
+        when(exportJobRepository.findFirstByScopeAndTargetIdAndFormatAndStatusInOrderByIdDesc(
+                eq(SubscriberExportScope.LYCEUM), eq(22L), eq(SubscriberExportFormat.CSV), any()))
+                .thenReturn(Optional.of(completed));
+        when(exportProperties.getReuseWindow()).thenReturn(Duration.ofMinutes(5));
+
+        SubscriberExportJobResponse response =
+                subscriberExportService.createLyceumSubscribersExport(22L, SubscriberExportFormat.CSV);
+
+        assertThat(response.getId()).isEqualTo(130L);
+        assertThat(response.getStatus()).isEqualTo(SubscriberExportStatus.COMPLETED);
+        verify(exportJobRepository, never()).save(any());
+        verifyNoInteractions(exportProcessor);
+    }
+
+    @Test
+    void createCourseSubscribersExportJoinsRunningJob() {
+        User authenticated = createUser(17L);
+        authenticate(authenticated);
+        SubscriberExportJob running = buildJob(131L, SubscriberExportScope.COURSE, 6L, SubscriberExportStatus.IN_PROGRESS);
+        running.setSubscriptionFingerprint(TokenDigests.sha256("6:2"));
+        running.setUpdatedAt(LocalDateTime.now().minusSeconds(10));
+        when(userRepository.findById(17L)).thenReturn(Optional.of(authenticated));
+        when(courseRepository.lockSubscriptionVersion(6L)).thenReturn(Optional.of(2L));
+        when(exportJobRepository.findFirstByScopeAndTargetIdAndFormatAndStatusInOrderByIdDesc(
+                eq(SubscriberExportScope.COURSE), eq(6L), eq(SubscriberExportFormat.CSV), any()))
+                .thenReturn(Optional.of(running));
+        when(exportProperties.getReuseWindow()).thenReturn(Duration.ofMinutes(5));
+
+        SubscriberExportJobResponse response =
+                subscriberExportService.createCourseSubscribersExport(6L, SubscriberExportFormat.CSV);
+
+        assertThat(response.getId()).isEqualTo(131L);
+        verify(exportJobRepository, never()).save(any());
+        verifyNoInteractions(exportProcessor);
+    }
+
+    @Test
+    void createCourseSubscribersExportStartsNewJobWhenSubscribersChanged() {
+        User authenticated = createUser(18L);
+        authenticate(authenticated);
+        SubscriberExportJob completed = buildJob(132L, SubscriberExportScope.COURSE, 6L, SubscriberExportStatus.COMPLETED);
+        completed.setSubscriptionFingerprint(TokenDigests.sha256("6:2"));
+        completed.setCompletedAt(LocalDateTime.now().minusMinutes(1));
+        when(userRepository.findById(18L)).thenReturn(Optional.of(authenticated));
+        when(courseRepository.lockSubscriptionVersion(6L)).thenReturn(Optional.of(3L));
+        when(exportJobRepository.findFirstByScopeAndTargetIdAndFormatAndStatusInOrderByIdDesc(
+                eq(SubscriberExportScope.COURSE), eq(6L), eq(SubscriberExportFormat.CSV), any()))
+                .thenReturn(Optional.of(completed));
+        when(exportProperties.getReuseWindow()).thenReturn(Duration.ofMinutes(5));
+        when(exportJobRepository.save(any())).thenAnswer(invocation -> {
+            SubscriberExportJob job = invocation.getArgument(0);
+            job.setId(133L);
+            return job;
+        });
+
+        SubscriberExportJobResponse response =
+                subscriberExportService.createCourseSubscribersExport(6L, SubscriberExportFormat.CSV);
+
+        assertThat(response.getId()).isEqualTo(133L);
+        verify(exportProcessor).processExportJob(133L);
+    }
+
+    @Test
+    void createCourseSubscribersExportStartsNewJobWhenCompletedJobExpired() {
+        User authenticated = createUser(19L);
+        authenticate(authenticated);
+        SubscriberExportJob completed = buildJob(134L, SubscriberExportScope.COURSE, 6L, SubscriberExportStatus.COMPLETED);
+        completed.setSubscriptionFingerprint(TokenDigests.sha256("6:2"));
+        completed.setCompletedAt(LocalDateTime.now().minusMinutes(6));
+        when(userRepository.findById(19L)).thenReturn(Optional.of(authenticated));
+        when(courseRepository.lockSubscriptionVersion(6L)).thenReturn(Optional.of(2L));
+        when(exportJobRepository.findFirstByScopeAndTargetIdAndFormatAndStatusInOrderByIdDesc(
+                eq(SubscriberExportScope.COURSE), eq(6L), eq(SubscriberExportFormat.CSV), any()))
+                .thenReturn(Optional.of(completed));
+        when(exportProperties.getReuseWindow()).thenReturn(Duration.ofMinutes(5));
+        when(exportJobRepository.save(any())).thenAnswer(invocation -> {
+            SubscriberExportJob job = invocation.getArgument(0);
+            job.setId(135L);
+            return job;
+        });
+
+        subscriberExportService.createCourseSubscribersExport(6L, SubscriberExportFormat.CSV);
+
+        verify(exportProcessor).processExportJob(135L);
+    }
+
+    @Test
+    void createCourseSubscribersExportThrowsWhenCourseMissing() {
+        User authenticated = createUser(20L);
+        authenticate(authenticated);
+        when(userRepository.findById(20L)).thenReturn(Optional.of(authenticated));
+        when(courseRepository.lockSubscriptionVersion(404L)).thenReturn(Optional.empty());
+
+        assertThrows(NoSuchElementException.class,
+                () -> subscriberExportService.createCourseSubscribersExport(404L, SubscriberExportFormat.CSV));
+
+        verifyNoInteractions(exportProcessor);
+    }
+
+    @Test
+    void createLyceumCourseSubscribersExportKeysJobOnCourseVersions() {
+        User authenticated = createUser(21L);
+        authenticate(authenticated);
+        when(userRepository.findById(21L)).thenReturn(Optional.of(authenticated));
+        when(lyceumRepository.lockForSubscriptionChange(23L)).thenReturn(Optional.of(23L));
+        when(courseRepository.lockSubscriptionsByLyceumId(23L))
+                .thenReturn(List.of(courseSubscriptions(3L, 1L), courseSubscriptions(4L, 7L)));
+        when(exportJobRepository.save(any())).thenAnswer(invocation -> {
+            SubscriberExportJob job = invocation.getArgument(0);
+            job.setId(136L);
+            return job;
+        });
+
+        SubscriberExportJobResponse response = subscriberExportService.createLyceumCourseSubscribersExport(23L);
+
+        ArgumentCaptor<SubscriberExportJob> captor = ArgumentCaptor.forClass(SubscriberExportJob.class);
+        verify(exportJobRepository).save(captor.capture());
+        assertThat(captor.getValue().getSubscriptionFingerprint()).isEqualTo(TokenDigests.sha256("3:1\n4:7"));
+        assertThat(response.getScope()).isEqualTo(SubscriberExportScope.LYCEUM_COURSES);
+        assertThat(response.getFormat()).isEqualTo(SubscriberExportFormat.CSV);
+        verify(lyceumService).ensureCurrentUserCanAccessLyceumSubscribers(23L);
+        verify(exportProcessor).processExportJob(136L);
+    }
+
     @Test
     void createCourseSubscribersExportThrowsWhenFormatMissing() {
         BadRequestException exception = assertThrows(BadRequestException.class,
@@ -189,7 +340,7 @@ class SubscriberExportServiceTest {
     @Test
     void getLyceumSubscribersExportStatusReturnsMappedResponse() {
         SubscriberExportJob job = buildJob(210L, SubscriberExportScope.LYCEUM, 17L, SubscriberExportStatus.IN_PROGRESS);
-        when(exportJobRepository.findByIdAndScopeAndTargetId(210L, SubscriberExportScope.LYCEUM, 17L))
+        when(exportJobRepository.findByIdAndScopeInAndTargetId(210L, LYCEUM_SCOPES, 17L))
                 .thenReturn(Optional.of(job));
 
         SubscriberExportJobResponse response = subscriberExportService.getLyceumSubscribersExportStatus(17L, 210L);
@@ -200,6 +351,31 @@ class SubscriberExportServiceTest {
         verify(lyceumService).ensureCurrentUserCanAccessLyceumSubscribers(17L);
     }
 
+    @Test
+    void streamCourseSubscribersExportOpensStreamAfterAuthorization() {
+        SubscriberExportJob job = buildJob(220L, SubscriberExportScope.COURSE, 7L, SubscriberExportStatus.IN_PROGRESS);
+        SseEmitter emitter = new SseEmitter();
+        when(exportJobRepository.findByIdAndScopeAndTargetId(220L, SubscriberExportScope.COURSE, 7L))
+                .thenReturn(Optional.of(job));
+        when(exportEventService.open(job)).thenReturn(emitter);
+
+        assertThat(subscriberExportService.streamCourseSubscribersExport(7L, 220L)).isSameAs(emitter);
+
+        verify(courseService).ensureCurrentUserCanAccessCourseSubscribers(7L);
+    }
+
+    @Test
+    void streamLyceumSubscribersExportThrowsWhenJobMissing() {
+        when(exportJobRepository.findByIdAndScopeInAndTargetId(221L, LYCEUM_SCOPES, 17L))
+                .thenReturn(Optional.empty());
+
+        assertThrows(NoSuchElementException.class,
+                () -> subscriberExportService.streamLyceumSubscribersExport(17L, 221L));
+
+        verify(lyceumService).ensureCurrentUserCanAccessLyceumSubscribers(17L);
+        verifyNoInteractions(exportEventService);
+    }
+
     @Test
     void getCourseSubscribersExportStatusThrowsWhenJobMissing() {
         when(exportJobRepository.findByIdAndScopeAndTargetId(201L, SubscriberExportScope.COURSE, 8L))
@@ -211,6 +387,81 @@ class SubscriberExportServiceTest {
         verify(courseService).ensureCurrentUserCanAccessCourseSubscribers(8L);
     }
 
+    @Test
+    void cancelCourseSubscribersExportMarksRunningJobCancelled() {
+        SubscriberExportJob job = buildJob(230L, SubscriberExportScope.COURSE, 7L, SubscriberExportStatus.IN_PROGRESS);
+        SubscriberExportJob cancelled = buildJob(230L, SubscriberExportScope.COURSE, 7L, SubscriberExportStatus.CANCELLED);
+        when(exportJobRepository.findByIdAndScopeAndTargetId(230L, SubscriberExportScope.COURSE, 7L))
+                .thenReturn(Optional.of(job));
+        when(exportJobRepository.cancelIfActive(eq(230L), any(LocalDateTime.class))).thenReturn(1);
+        when(exportJobRepository.findById(230L)).thenReturn(Optional.of(cancelled));
+
+        subscriberExportService.cancelCourseSubscribersExport(7L, 230L);
+
+        verify(courseService).ensureCurrentUserCanAccessCourseSubscribers(7L);
+        verify(exportJobRepository, never()).saveAndFlush(any());
+        verify(exportEventService).publishStatus(cancelled);
+    }
+
+    @Test
+    void cancelCourseSubscribersExportSucceedsAfterWorkerBumpedVersion() {
+        SubscriberExportJob stale = buildJob(233L, SubscriberExportScope.COURSE, 7L, SubscriberExportStatus.PENDING);
+        stale.setVersion(0L);
+        SubscriberExportJob cancelled = buildJob(233L, SubscriberExportScope.COURSE, 7L, SubscriberExportStatus.CANCELLED);
+        cancelled.setVersion(3L);
+        when(exportJobRepository.findByIdAndScopeAndTargetId(233L, SubscriberExportScope.COURSE, 7L))
+                .thenReturn(Optional.of(stale));
+        // The worker moved the job to IN_PROGRESS and saved its row total after the job was read.
+        when(exportJobRepository.cancelIfActive(eq(233L), any(LocalDateTime.class))).thenReturn(1);
+        when(exportJobRepository.findById(233L)).thenReturn(Optional.of(cancelled));
+
+        subscriberExportService.cancelCourseSubscribersExport(7L, 233L);
+
+        verify(exportEventService).publishStatus(cancelled);
+    }
+
+    @Test
+    void cancelLyceumSubscribersExportThrowsWhenJobAlreadyFinished() {
+        SubscriberExportJob job = buildJob(231L, SubscriberExportScope.LYCEUM, 17L, SubscriberExportStatus.COMPLETED);
+        when(exportJobRepository.findByIdAndScopeInAndTargetId(231L, LYCEUM_SCOPES, 17L))
+                .thenReturn(Optional.of(job));
+
+        assertThrows(ConflictException.class,
+                () -> subscriberExportService.cancelLyceumSubscribersExport(17L, 231L));
+
+        assertThat(job.getStatus()).isEqualTo(SubscriberExportStatus.COMPLETED);
+        verify(lyceumService).ensureCurrentUserCanAccessLyceumSubscribers(17L);
+        verifyNoInteractions(exportEventService);
+    }
+
+    @Test
+    void cancelCourseSubscribersExportThrowsWhenJobFinishesConcurrently() {
+        SubscriberExportJob job = buildJob(232L, SubscriberExportScope.COURSE, 7L, SubscriberExportStatus.IN_PROGRESS);
+        when(exportJobRepository.findByIdAndScopeAndTargetId(232L, SubscriberExportScope.COURSE, 7L))
+                .thenReturn(Optional.of(job));
+        SubscriberExportJob completed = buildJob(232L, SubscriberExportScope.COURSE, 7L, SubscriberExportStatus.COMPLETED);
+        when(exportJobRepository.cancelIfActive(eq(232L), any(LocalDateTime.class))).thenReturn(0);
+        when(exportJobRepository.findById(232L)).thenReturn(Optional.of(completed));
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> subscriberExportService.cancelCourseSubscribersExport(7L, 232L));
+
+        assertThat(exception.getMessage()).isEqualTo("Export finished before it could be cancelled.");
+        verifyNoInteractions(exportEventService);
+    }
+
+    @Test
+    void downloadCourseSubscribersExportThrowsWhenJobCancelled() {
+        SubscriberExportJob job = buildJob(307L, SubscriberExportScope.COURSE, 9L, SubscriberExportStatus.CANCELLED);
+        when(exportJobRepository.findByIdAndScopeAndTargetId(307L, SubscriberExportScope.COURSE, 9L))
+                .thenReturn(Optional.of(job));
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> subscriberExportService.downloadCourseSubscribersExport(9L, 307L));
+
+        assertThat(exception.getMessage()).isEqualTo("Export was cancelled.");
+    }
+
     @Test
     void downloadCourseSubscribersExportThrowsWhenJobFailed() {
         SubscriberExportJob job = buildJob(300L, SubscriberExportScope.COURSE, 9L, SubscriberExportStatus.FAILED);
@@ -327,7 +578,7 @@ class SubscriberExportServiceTest {
         job.setFilePath("exports/subscribers/export-401.xlsx");
         job.setFileName("export-401.xlsx");
         job.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
-        when(exportJobRepository.findByIdAndScopeAndTargetId(401L, SubscriberExportScope.LYCEUM, 20L))
+        when(exportJobRepository.findByIdAndScopeInAndTargetId(401L, LYCEUM_SCOPES, 20L))
                 .thenReturn(Optional.of(job));
         when(s3Properties.getBucketName()).thenReturn("education-nearby-demo-bucket");
         when(exportProperties.getPresignedUrlMinutes()).thenReturn(10);
@@ -340,7 +591,7 @@ class SubscriberExportServiceTest {
 
         assertThat(response.url()).isEqualTo(URI.create("https://download.example.com/export-401.xlsx"));
         verify(lyceumService).ensureCurrentUserCanAccessLyceumSubscribers(20L);
-        verify(exportJobRepository).findByIdAndScopeAndTargetId(401L, SubscriberExportScope.LYCEUM, 20L);
+        verify(exportJobRepository).findByIdAndScopeInAndTargetId(401L, LYCEUM_SCOPES, 20L);
     }
 
     @Test
@@ -359,6 +610,25 @@ class SubscriberExportServiceTest {
         assertThat(exception.getMessage()).isEqualTo("Could not generate export download URL.");
     }
 
+    private CourseRepository.CourseSubscriptions courseSubscriptions(Long id, long subscriptionVersion) {
+        return new CourseRepository.CourseSubscriptions() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public long getSubscriptionVersion() {
+                return subscriptionVersion;
+            }
+
+            @Override
+            public long getSubscriberCount() {
+                return 0;
+            }
+        };
+    }
+
     private SubscriberExportJob buildJob(Long id, SubscriberExportScope scope, Long targetId, SubscriberExportStatus status) {
         SubscriberExportJob job = new SubscriberExportJob();
         job.setId(id);
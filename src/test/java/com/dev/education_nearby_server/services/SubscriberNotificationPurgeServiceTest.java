@@ -0,0 +1,89 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.SubscriberNotificationProperties;
+import com.dev.education_nearby_server.repositories.SubscriberNotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SubscriberNotificationPurgeServiceTest {
+
+    @Mock
+    private SubscriberNotificationRepository notificationRepository;
+    @Mock
+    private SchedulerLockService schedulerLockService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SubscriberNotificationProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private SubscriberNotificationPurgeService purgeService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SubscriberNotificationProperties();
+        properties.setPurgeBatchSize(2);
+        properties.setRetention(Duration.ofDays(3));
+        meterRegistry = new SimpleMeterRegistry();
+        purgeService = new SubscriberNotificationPurgeService(
+                notificationRepository, schedulerLockService, properties, transactionManager, meterRegistry);
+    }
+
+    @Test
+    void purgeDeletesRowsOlderThanRetentionInBatches() {
+        LocalDateTime before = LocalDateTime.now().minusDays(3);
+        when(schedulerLockService.tryAcquire(SubscriberNotificationPurgeService.LOCK_NAME, properties.getPurgeLockDuration()))
+                .thenReturn(true);
+        when(notificationRepository.findPurgeableIds(any(LocalDateTime.class), eq(2)))
+                .thenAnswer(invocation -> {
+                    assertThat((LocalDateTime) invocation.getArgument(0)).isAfterOrEqualTo(before);
+                    return List.of(1L, 2L);
+                })
+                .thenReturn(List.of(3L));
+        when(notificationRepository.deleteAllByIdIn(List.of(1L, 2L))).thenReturn(2);
+        when(notificationRepository.deleteAllByIdIn(List.of(3L))).thenReturn(1);
+
+        int purged = purgeService.purgeDeliveredNotifications();
+
+        assertThat(purged).isEqualTo(3);
+        verify(schedulerLockService).release(SubscriberNotificationPurgeService.LOCK_NAME);
+        assertThat(meterRegistry.counter("subscriber.notifications.purged").count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void purgeSkipsWhenLockHeldElsewhere() {
+        when(schedulerLockService.tryAcquire(SubscriberNotificationPurgeService.LOCK_NAME, properties.getPurgeLockDuration()))
+                .thenReturn(false);
+
+        assertThat(purgeService.purgeDeliveredNotifications()).isZero();
+
+        verifyNoInteractions(notificationRepository);
+        verify(schedulerLockService, never()).release(any());
+    }
+
+    @Test
+    void scheduledPurgeDoesNothingWhenDisabled() {
+        properties.setPurgeEnabled(false);
+
+        purgeService.scheduledPurge();
+
+        verifyNoInteractions(schedulerLockService, notificationRepository);
+    }
+}
@@ -0,0 +1,188 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.SubscriberNotificationProperties;
+import com.dev.education_nearby_server.enums.NotificationFrequency;
+import com.dev.education_nearby_server.enums.SubscriberNotificationStatus;
+import com.dev.education_nearby_server.enums.SubscriberNotificationType;
+import com.dev.education_nearby_server.models.entity.SubscriberNotification;
+import com.dev.education_nearby_server.repositories.SubscriberNotificationRepository;
+import com.dev.education_nearby_server.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SubscriberNotificationServiceTest {
+
+    private static final CourseChangedEvent EVENT = new CourseChangedEvent(
+            7L, 3L, SubscriberNotificationType.SCHEDULE_CHANGED, "2026-10-18", "Курс 'Piano': графикът е променен.");
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private SubscriberNotificationRepository notificationRepository;
+    @Mock
+    private EmailService emailService;
+    @Mock
+    private SchedulerLockService schedulerLockService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SubscriberNotificationProperties properties;
+    private SubscriberNotificationService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SubscriberNotificationProperties();
+        properties.setChunkSize(2);
+        service = new SubscriberNotificationService(
+                userRepository, notificationRepository, emailService, schedulerLockService, properties, transactionManager);
+    }
+
+    @Test
+    void fanOutPagesSubscribersByKeysetAndEmailsImmediateUsersPerChunk() {
+        when(userRepository.findCourseSubscriberIdsAfter(7L, 3L, 0L, 2)).thenReturn(List.of(1L, 2L));
+        when(userRepository.findCourseSubscriberIdsAfter(7L, 3L, 2L, 2)).thenReturn(List.of(5L));
+        when(userRepository.findNotificationRecipients(List.of(1L, 2L))).thenReturn(List.of(
+                recipient(1L, NotificationFrequency.IMMEDIATE),
+                recipient(2L, NotificationFrequency.DAILY_DIGEST)));
+        when(userRepository.findNotificationRecipients(List.of(5L)))
+                .thenReturn(List.of(recipient(5L, NotificationFrequency.IMMEDIATE)));
+        when(notificationRepository.insertIfAbsent(any(), eq(7L), eq("SCHEDULE_CHANGED"), eq("2026-10-18"),
+                anyString(), anyString(), any(LocalDateTime.class))).thenReturn(1);
+
+        int notified = service.fanOut(EVENT);
+
+        assertThat(notified).isEqualTo(3);
+        verify(notificationRepository).insertIfAbsent(eq(2L), eq(7L), eq("SCHEDULE_CHANGED"), eq("2026-10-18"),
+                eq(EVENT.summary()), eq(SubscriberNotificationStatus.PENDING_DIGEST.name()), any());
+        verify(emailService).sendCourseChangedEmails(List.of("user1@example.com"), EVENT.summary());
+        verify(emailService).sendCourseChangedEmails(List.of("user5@example.com"), EVENT.summary());
+    }
+
+    @Test
+    void fanOutSkipsUsersAlreadyNotifiedAboutTheSameChange() {
+        when(userRepository.findCourseSubscriberIdsAfter(7L, 3L, 0L, 2)).thenReturn(List.of(1L));
+        when(userRepository.findNotificationRecipients(List.of(1L)))
+                .thenReturn(List.of(recipient(1L, NotificationFrequency.IMMEDIATE)));
+        when(notificationRepository.insertIfAbsent(eq(1L), any(), any(), any(), any(), any(), any())).thenReturn(0);
+
+        int notified = service.fanOut(EVENT);
+
+        assertThat(notified).isZero();
+        verify(emailService, never()).sendCourseChangedEmails(anyCollection(), anyString());
+    }
+
+    @Test
+    void sendDailyDigestsGroupsPendingNotificationsPerUserAndMarksThemDigested() {
+        when(schedulerLockService.tryAcquire(SubscriberNotificationService.DIGEST_LOCK_NAME, properties.getDigestLockDuration()))
+                .thenReturn(true);
+        when(notificationRepository.findUserIdsWithStatusAfter("PENDING_DIGEST", 0L, 2)).thenReturn(List.of(4L));
+        when(notificationRepository.findByUserIdInAndStatusOrderByUserIdAscIdAsc(
+                List.of(4L), SubscriberNotificationStatus.PENDING_DIGEST)).thenReturn(List.of(
+                notification(11L, 4L, "first"),
+                notification(12L, 4L, "second")));
+        when(userRepository.findNotificationRecipients(Set.of(4L)))
+                .thenReturn(List.of(recipient(4L, NotificationFrequency.DAILY_DIGEST)));
+
+        int sent = service.sendDailyDigests();
+
+        assertThat(sent).isEqualTo(1);
+        verify(emailService).sendCourseChangesDigestEmail("user4@example.com", List.of("first", "second"));
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.captor();
+        verify(notificationRepository).updateStatus(ids.capture(), eq(SubscriberNotificationStatus.DIGESTED), any());
+        assertThat(ids.getValue()).containsExactly(11L, 12L);
+        verify(schedulerLockService).release(SubscriberNotificationService.DIGEST_LOCK_NAME);
+    }
+
+    @Test
+    void sendDailyDigestsCapsItemsPerEmail() {
+        properties.setMaxDigestItems(1);
+        when(schedulerLockService.tryAcquire(SubscriberNotificationService.DIGEST_LOCK_NAME, properties.getDigestLockDuration()))
+                .thenReturn(true);
+        when(notificationRepository.findUserIdsWithStatusAfter("PENDING_DIGEST", 0L, 2)).thenReturn(List.of(4L));
+        when(notificationRepository.findByUserIdInAndStatusOrderByUserIdAscIdAsc(
+                List.of(4L), SubscriberNotificationStatus.PENDING_DIGEST)).thenReturn(List.of(
+                notification(11L, 4L, "first"),
+                notification(12L, 4L, "second"),
+                notification(13L, 4L, "third")));
+        when(userRepository.findNotificationRecipients(Set.of(4L)))
+                .thenReturn(List.of(recipient(4L, NotificationFrequency.DAILY_DIGEST)));
+
+        service.sendDailyDigests();
+
+        verify(emailService).sendCourseChangesDigestEmail("user4@example.com", List.of("first", "...и още 2 промени."));
+    }
+
+    @Test
+    void sendDailyDigestsSkipsWhenLockHeldElsewhere() {
+        when(schedulerLockService.tryAcquire(SubscriberNotificationService.DIGEST_LOCK_NAME, properties.getDigestLockDuration()))
+                .thenReturn(false);
+
+        int sent = service.sendDailyDigests();
+
+        assertThat(sent).isZero();
+        verifyNoInteractions(notificationRepository, emailService);
+        verify(schedulerLockService, never()).release(anyString());
+    }
+
+    @Test
+    void onCourseChangedDoesNothingWhenDisabled() {
+        properties.setEnabled(false);
+
+        service.onCourseChanged(EVENT);
+
+        verifyNoInteractions(userRepository, notificationRepository, emailService);
+    }
+
+    private static UserRepository.NotificationRecipient recipient(Long id, NotificationFrequency frequency) {
+        return new TestRecipient(id, "user" + id + "@example.com", frequency);
+    }
+
+    private static SubscriberNotification notification(Long id, Long userId, String summary) {
+        SubscriberNotification notification = new SubscriberNotification();
+        notification.setId(id);
+        notification.setUserId(userId);
+        notification.setSummary(summary);
+        notification.setStatus(SubscriberNotificationStatus.PENDING_DIGEST);
+        return notification;
+    }
+
+    private record TestRecipient(Long id, String email, NotificationFrequency frequency)
+            implements UserRepository.NotificationRecipient {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getEmail() {
+            return email;
+        }
+
+        @Override
+        public NotificationFrequency getNotificationFrequency() {
+            return frequency;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.SyncProperties;
+import com.dev.education_nearby_server.enums.SyncEntityType;
+import com.dev.education_nearby_server.exceptions.common.BadRequestException;
+import com.dev.education_nearby_server.models.dto.response.LyceumResponse;
+import com.dev.education_nearby_server.models.dto.response.SyncDeletionResponse;
+import com.dev.education_nearby_server.models.dto.response.SyncResponse;
+import com.dev.education_nearby_server.models.entity.Lyceum;
+import com.dev.education_nearby_server.models.entity.SyncTombstone;
+import com.dev.education_nearby_server.repositories.CourseImageRepository;
+import com.dev.education_nearby_server.repositories.CourseRepository;
+import com.dev.education_nearby_server.repositories.CourseReviewRepository;
+import com.dev.education_nearby_server.repositories.LyceumImageRepository;
+import com.dev.education_nearby_server.repositories.LyceumRepository;
+import com.dev.education_nearby_server.repositories.LyceumReviewRepository;
+import com.dev.education_nearby_server.repositories.SyncTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SyncServiceTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2026, 10, 5, 9, 0);
+    private static final LocalDateTime NOW = MONDAY.plusHours(1);
+
+    @Mock
+    private LyceumRepository lyceumRepository;
+    @Mock
+    private CourseRepository courseRepository;
+    @Mock
+    private LyceumImageRepository lyceumImageRepository;
+    @Mock
+    private CourseImageRepository courseImageRepository;
+    @Mock
+    private SyncTombstoneRepository syncTombstoneRepository;
+    @Mock
+    private LyceumReviewRepository lyceumReviewRepository;
+    @Mock
+    private CourseReviewRepository courseReviewRepository;
+    @Mock
+    private LyceumService lyceumService;
+    @Mock
+    private CourseService courseService;
+
+    private SyncService syncService;
+
+    @BeforeEach
+    void setUp() {
+        SyncProperties properties = new SyncProperties();
+        properties.setPageSize(2);
+        properties.setCommitLag(Duration.ZERO);
+        properties.setTombstoneRetention(Duration.ofDays(30));
+        syncService = new SyncService(lyceumRepository, courseRepository, lyceumImageRepository,
+                courseImageRepository, syncTombstoneRepository, lyceumReviewRepository, courseReviewRepository,
+                lyceumService, courseService, properties);
+    }
+
+    @Test
+    void getChangesReturnsOnePageAndTokenAtLastDeliveredRow() {
+        Lyceum first = lyceum(1L, MONDAY);
+        Lyceum second = lyceum(2L, MONDAY);
+        Lyceum third = lyceum(3L, MONDAY.plusMinutes(1));
+        when(syncTombstoneRepository.findDatabaseTime()).thenReturn(NOW);
+        when(lyceumRepository.findChangedSince(eq(SyncToken.Position.START.updatedAt()), eq(0L), any(), any()))
+                .thenReturn(List.of(first, second, third));
+        when(lyceumService.mapToResponse(any(Lyceum.class), any(), eq(0)))
+                .thenAnswer(invocation -> LyceumResponse.builder()
+                        .id(invocation.<Lyceum>getArgument(0).getId())
+                        .build());
+
+        SyncResponse response = syncService.getChanges(null);
+
+        assertThat(response.isHasMore()).isTrue();
+        assertThat(response.isResyncRequired()).isFalse();
+        assertThat(response.getLyceums()).extracting(LyceumResponse::getId).containsExactly(1L, 2L);
+        SyncToken next = SyncToken.parse(response.getNextToken());
+        assertThat(next.lyceums()).isEqualTo(new SyncToken.Position(MONDAY, 2L));
+        assertThat(next.courses()).isEqualTo(SyncToken.Position.START);
+        assertThat(next.deletions()).isEqualTo(new SyncToken.Position(NOW, Long.MAX_VALUE));
+        verify(lyceumRepository).findWithImagesByIdIn(List.of(1L, 2L));
+        verify(syncTombstoneRepository, never()).findRecordedSince(any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void getChangesResumesFromTokenPosition() {
+        SyncToken token = new SyncToken(
+                new SyncToken.Position(MONDAY, 2L),
+                SyncToken.Position.START,
+                SyncToken.Position.START,
+                SyncToken.Position.START,
+                new SyncToken.Position(MONDAY, 7L));
+        when(syncTombstoneRepository.findDatabaseTime()).thenReturn(NOW);
+
+        SyncResponse response = syncService.getChanges(token.encode());
+
+        assertThat(response.isHasMore()).isFalse();
+        assertThat(response.isResyncRequired()).isFalse();
+        assertThat(response.getLyceums()).isEmpty();
+        SyncToken next = SyncToken.parse(response.getNextToken());
+        assertThat(next.lyceums()).isEqualTo(token.lyceums());
+        assertThat(next.deletions()).isEqualTo(new SyncToken.Position(NOW, Long.MAX_VALUE));
+        verify(lyceumRepository).findChangedSince(eq(MONDAY), eq(2L), eq(NOW), any(Pageable.class));
+        verify(syncTombstoneRepository).findRecordedSince(eq(MONDAY), eq(7L), eq(NOW), any(Pageable.class));
+        verifyNoInteractions(lyceumReviewRepository, courseReviewRepository, lyceumService, courseService);
+    }
+
+    @Test
+    void getChangesReportsDeletionsAndStopsAtLastDeliveredTombstone() {
+        SyncToken token = new SyncToken(
+                SyncToken.Position.START,
+                SyncToken.Position.START,
+                SyncToken.Position.START,
+                SyncToken.Position.START,
+                new SyncToken.Position(MONDAY.minusDays(1), 0L));
+        when(syncTombstoneRepository.findDatabaseTime()).thenReturn(NOW);
+        when(syncTombstoneRepository.findRecordedSince(any(), anyLong(), any(), any()))
+                .thenReturn(List.of(tombstone(4L, 25L), tombstone(5L, 26L), tombstone(6L, 27L)));
+
+        SyncResponse response = syncService.getChanges(token.encode());
+
+        assertThat(response.isHasMore()).isTrue();
+        assertThat(response.getDeleted())
+                .extracting(SyncDeletionResponse::getType, SyncDeletionResponse::getId)
+                .containsExactly(tuple(SyncEntityType.COURSE, 25L), tuple(SyncEntityType.COURSE, 26L));
+        assertThat(SyncToken.parse(response.getNextToken()).deletions())
+                .isEqualTo(new SyncToken.Position(MONDAY, 5L));
+    }
+
+    @Test
+    void getChangesRestartsFullSyncWhenTokenIsOlderThanTombstoneRetention() {
+        SyncToken stale = new SyncToken(
+                new SyncToken.Position(MONDAY.minusDays(40), 2L),
+                SyncToken.Position.START,
+                SyncToken.Position.START,
+                SyncToken.Position.START,
+                new SyncToken.Position(MONDAY.minusDays(40), 7L));
+        when(syncTombstoneRepository.findDatabaseTime()).thenReturn(NOW);
+
+        SyncResponse response = syncService.getChanges(stale.encode());
+
+        assertThat(response.isResyncRequired()).isTrue();
+        verify(lyceumRepository).findChangedSince(
+                eq(SyncToken.Position.START.updatedAt()), eq(0L), eq(NOW), any(Pageable.class));
+        verify(syncTombstoneRepository, never()).findRecordedSince(any(), anyLong(), any(), any());
+        assertThat(SyncToken.parse(response.getNextToken()).deletions())
+                .isEqualTo(new SyncToken.Position(NOW, Long.MAX_VALUE));
+    }
+
+    @Test
+    void getChangesRejectsMalformedToken() {
+        assertThrows(BadRequestException.class, () -> syncService.getChanges("not-a-token"));
+        verifyNoInteractions(lyceumRepository, syncTombstoneRepository);
+    }
+
+    private static SyncTombstone tombstone(Long id, Long courseId) {
+        return SyncTombstone.builder()
+                .id(id)
+                .entityType(SyncEntityType.COURSE)
+                .entityId(courseId)
+                .deletedAt(MONDAY)
+                .build();
+    }
+
+    private static Lyceum lyceum(Long id, LocalDateTime updatedAt) {
+        Lyceum lyceum = new Lyceum();
+        lyceum.setId(id);
+        lyceum.setUpdatedAt(updatedAt);
+        return lyceum;
+    }
+}
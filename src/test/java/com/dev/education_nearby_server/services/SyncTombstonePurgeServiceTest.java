@@ -0,0 +1,88 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.SyncProperties;
+import com.dev.education_nearby_server.repositories.SyncTombstoneRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SyncTombstonePurgeServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 18, 4, 45);
+
+    @Mock
+    private SyncTombstoneRepository syncTombstoneRepository;
+    @Mock
+    private SchedulerLockService schedulerLockService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SyncProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private SyncTombstonePurgeService purgeService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SyncProperties();
+        properties.setPurgeBatchSize(2);
+        properties.setTombstoneRetention(Duration.ofDays(30));
+        meterRegistry = new SimpleMeterRegistry();
+        purgeService = new SyncTombstonePurgeService(
+                syncTombstoneRepository, schedulerLockService, properties, transactionManager, meterRegistry);
+    }
+
+    @Test
+    void purgeDeletesTombstonesOlderThanRetentionInBatches() {
+        LocalDateTime cutoff = NOW.minusDays(30);
+        when(schedulerLockService.tryAcquire(SyncTombstonePurgeService.LOCK_NAME, properties.getPurgeLockDuration()))
+                .thenReturn(true);
+        when(syncTombstoneRepository.findDatabaseTime()).thenReturn(NOW);
+        when(syncTombstoneRepository.findPurgeableIds(cutoff, 2))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+        when(syncTombstoneRepository.deleteAllByIdIn(List.of(1L, 2L))).thenReturn(2);
+        when(syncTombstoneRepository.deleteAllByIdIn(List.of(3L))).thenReturn(1);
+
+        int purged = purgeService.purgeExpiredTombstones();
+
+        assertThat(purged).isEqualTo(3);
+        verify(schedulerLockService).release(SyncTombstonePurgeService.LOCK_NAME);
+        assertThat(meterRegistry.counter("sync.tombstones.purged").count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void purgeSkipsWhenLockHeldElsewhere() {
+        when(schedulerLockService.tryAcquire(SyncTombstonePurgeService.LOCK_NAME, properties.getPurgeLockDuration()))
+                .thenReturn(false);
+
+        assertThat(purgeService.purgeExpiredTombstones()).isZero();
+
+        verifyNoInteractions(syncTombstoneRepository);
+        verify(schedulerLockService, never()).release(any());
+    }
+
+    @Test
+    void scheduledPurgeDoesNothingWhenDisabled() {
+        properties.setPurgeEnabled(false);
+
+        purgeService.scheduledPurge();
+
+        verifyNoInteractions(schedulerLockService, syncTombstoneRepository);
+    }
+}
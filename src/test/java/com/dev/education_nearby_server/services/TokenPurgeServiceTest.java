@@ -0,0 +1,116 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.TokenPurgeProperties;
+import com.dev.education_nearby_server.repositories.TokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenPurgeServiceTest {
+
+    @Mock
+    private TokenRepository tokenRepository;
+    @Mock
+    private SchedulerLockService schedulerLockService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TokenPurgeProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private TokenPurgeService tokenPurgeService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TokenPurgeProperties();
+        properties.setBatchSize(2);
+        properties.setMaxBatchesPerRun(5);
+        meterRegistry = new SimpleMeterRegistry();
+        tokenPurgeService = new TokenPurgeService(
+                tokenRepository, schedulerLockService, properties, transactionManager, meterRegistry, 3_600_000L);
+    }
+
+    @Test
+    void purgeDeletesInBatchesUntilShortBatchAndRecordsMetrics() {
+        when(schedulerLockService.tryAcquire(TokenPurgeService.LOCK_NAME, properties.getLockDuration())).thenReturn(true);
+        when(tokenRepository.findPurgeableTokenIds(any(LocalDateTime.class), any(LocalDateTime.class), eq(2)))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(tokenRepository.deleteAllByIdIn(List.of(1L, 2L))).thenReturn(2);
+        when(tokenRepository.deleteAllByIdIn(List.of(3L))).thenReturn(1);
+
+        int purged = tokenPurgeService.purgeExpiredTokens();
+
+        assertThat(purged).isEqualTo(3);
+        verify(tokenRepository, times(2)).findPurgeableTokenIds(any(), any(), anyInt());
+        verify(schedulerLockService).release(TokenPurgeService.LOCK_NAME);
+        assertThat(meterRegistry.counter("auth.tokens.purged").count()).isEqualTo(3.0);
+        assertThat(meterRegistry.timer("auth.tokens.purge.duration").count()).isEqualTo(1L);
+    }
+
+    @Test
+    void purgeStopsAfterMaxBatchesPerRun() {
+        properties.setMaxBatchesPerRun(2);
+        when(schedulerLockService.tryAcquire(TokenPurgeService.LOCK_NAME, properties.getLockDuration())).thenReturn(true);
+        when(tokenRepository.findPurgeableTokenIds(any(LocalDateTime.class), any(LocalDateTime.class), eq(2)))
+                .thenReturn(List.of(1L, 2L), List.of(3L, 4L));
+        when(tokenRepository.deleteAllByIdIn(any())).thenReturn(2);
+
+        int purged = tokenPurgeService.purgeExpiredTokens();
+
+        assertThat(purged).isEqualTo(4);
+        verify(tokenRepository, times(2)).deleteAllByIdIn(any());
+    }
+
+    @Test
+    void purgeUsesBearerCutoffOlderThanGraceCutoff() {
+        properties.setGracePeriod(Duration.ofDays(1));
+        when(schedulerLockService.tryAcquire(TokenPurgeService.LOCK_NAME, properties.getLockDuration())).thenReturn(true);
+        when(tokenRepository.findPurgeableTokenIds(any(LocalDateTime.class), any(LocalDateTime.class), eq(2)))
+                .thenAnswer(invocation -> {
+                    LocalDateTime graceCutoff = invocation.getArgument(0);
+                    LocalDateTime bearerCutoff = invocation.getArgument(1);
+                    assertThat(bearerCutoff).isEqualTo(graceCutoff.minusHours(1));
+                    return List.of();
+                });
+
+        assertThat(tokenPurgeService.purgeExpiredTokens()).isZero();
+        verify(tokenRepository, never()).deleteAllByIdIn(any());
+    }
+
+    @Test
+    void purgeSkipsWhenLockHeldElsewhere() {
+        when(schedulerLockService.tryAcquire(TokenPurgeService.LOCK_NAME, properties.getLockDuration())).thenReturn(false);
+
+        assertThat(tokenPurgeService.purgeExpiredTokens()).isZero();
+
+        verifyNoInteractions(tokenRepository);
+        verify(schedulerLockService, never()).release(any());
+    }
+
+    @Test
+    void scheduledPurgeDoesNothingWhenDisabled() {
+        properties.setEnabled(false);
+
+        tokenPurgeService.scheduledPurge();
+
+        verifyNoInteractions(schedulerLockService, tokenRepository);
+    }
+}
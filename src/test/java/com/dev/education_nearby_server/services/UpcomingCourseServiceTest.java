@@ -0,0 +1,185 @@
+package com.dev.education_nearby_server.services;
+
+import com.dev.education_nearby_server.config.UpcomingCourseProperties;
+import com.dev.education_nearby_server.enums.ScheduleRecurrence;
+import com.dev.education_nearby_server.exceptions.common.BadRequestException;
+import com.dev.education_nearby_server.models.dto.response.UpcomingCourseResponse;
+import com.dev.education_nearby_server.models.entity.Course;
+import com.dev.education_nearby_server.models.entity.CourseScheduleSlot;
+import com.dev.education_nearby_server.models.entity.CourseScheduleSpecialCase;
+import com.dev.education_nearby_server.repositories.CourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UpcomingCourseServiceTest {
+
+    private static final double SOFIA_LATITUDE = 42.6977;
+    private static final double SOFIA_LONGITUDE = 23.3219;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    private UpcomingCourseService service;
+
+    @BeforeEach
+    void setUp() {
+        // Monday 2026-10-05, 16:10 in Sofia.
+        ZonedDateTime now = ZonedDateTime.of(2026, 10, 5, 16, 10, 0, 0, ZoneId.of("Europe/Sofia"));
+        service = new UpcomingCourseService(courseRepository, new UpcomingCourseProperties(),
+                Clock.fixed(now.toInstant(), ZoneId.of("UTC")));
+    }
+
+    @Test
+    void findUpcomingReturnsClassesInWindowAndRadiusSoonestFirst() {
+        Course later = weeklyCourse(1L, DayOfWeek.MONDAY, LocalTime.of(17, 30));
+        Course sooner = weeklyCourse(2L, DayOfWeek.MONDAY, LocalTime.of(16, 15));
+        Course started = weeklyCourse(3L, DayOfWeek.MONDAY, LocalTime.of(16, 0));
+        Course tooFar = weeklyCourse(4L, DayOfWeek.MONDAY, LocalTime.of(17, 0));
+        Course otherDay = weeklyCourse(5L, DayOfWeek.TUESDAY, LocalTime.of(17, 0));
+        stubIndex(
+                List.of(
+                        location(1L, SOFIA_LATITUDE + 0.01, SOFIA_LONGITUDE),
+                        location(2L, SOFIA_LATITUDE, SOFIA_LONGITUDE + 0.02),
+                        location(3L, SOFIA_LATITUDE, SOFIA_LONGITUDE),
+                        location(4L, 42.1354, 24.7453),
+                        location(5L, SOFIA_LATITUDE, SOFIA_LONGITUDE)),
+                List.of(later, sooner, started, tooFar, otherDay));
+
+        List<UpcomingCourseResponse> upcoming = service.findUpcoming(SOFIA_LATITUDE, SOFIA_LONGITUDE, 5.0, 120);
+
+        assertThat(upcoming)
+                .extracting(UpcomingCourseResponse::getCourseId, UpcomingCourseResponse::getStartTime)
+                .containsExactly(
+                        tuple(2L, LocalTime.of(16, 15)),
+                        tuple(1L, LocalTime.of(17, 30)));
+        assertThat(upcoming.get(1).getDate()).isEqualTo(LocalDate.of(2026, 10, 5));
+        assertThat(upcoming.get(1).getDistanceKm()).isBetween(1.0, 1.2);
+        assertThat(upcoming.get(0).getLyceumName()).isEqualTo("Lyceum 2");
+    }
+
+    @Test
+    void findUpcomingSkipsCancelledDatesInactiveMonthsAndCrossesMidnight() {
+        Course cancelled = weeklyCourse(1L, DayOfWeek.MONDAY, LocalTime.of(18, 0));
+        CourseScheduleSpecialCase cancellation = new CourseScheduleSpecialCase();
+        cancellation.setDate(LocalDate.of(2026, 10, 5));
+        cancelled.getSchedule().getSpecialCases().add(cancellation);
+        Course summerOnly = weeklyCourse(2L, DayOfWeek.MONDAY, LocalTime.of(18, 0));
+        summerOnly.setActiveStartMonth(Month.JUNE);
+        summerOnly.setActiveEndMonth(Month.AUGUST);
+        Course tuesdayMorning = weeklyCourse(3L, DayOfWeek.TUESDAY, LocalTime.of(8, 0));
+        Course monthly = new Course();
+        monthly.setId(4L);
+        CourseScheduleSlot slot = new CourseScheduleSlot();
+        slot.setRecurrence(ScheduleRecurrence.MONTHLY);
+        slot.setDayOfMonth(6);
+        slot.setStartTime(LocalTime.of(9, 0));
+        monthly.setSchedule(ScheduleExpanderTest.schedule(slot));
+        stubIndex(
+                List.of(
+                        location(1L, SOFIA_LATITUDE, SOFIA_LONGITUDE),
+                        location(2L, SOFIA_LATITUDE, SOFIA_LONGITUDE),
+                        location(3L, SOFIA_LATITUDE, SOFIA_LONGITUDE),
+                        location(4L, SOFIA_LATITUDE, SOFIA_LONGITUDE)),
+                List.of(cancelled, summerOnly, tuesdayMorning, monthly));
+
+        List<UpcomingCourseResponse> upcoming = service.findUpcoming(SOFIA_LATITUDE, SOFIA_LONGITUDE, 1.0, 18 * 60);
+
+        assertThat(upcoming)
+                .extracting(UpcomingCourseResponse::getCourseId, UpcomingCourseResponse::getDate)
+                .containsExactly(
+                        tuple(3L, LocalDate.of(2026, 10, 6)),
+                        tuple(4L, LocalDate.of(2026, 10, 6)));
+    }
+
+    @Test
+    void findUpcomingBuildsTheIndexOnceAndReusesIt() {
+        stubIndex(List.of(location(1L, SOFIA_LATITUDE, SOFIA_LONGITUDE)),
+                List.of(weeklyCourse(1L, DayOfWeek.MONDAY, LocalTime.of(17, 0))));
+
+        service.findUpcoming(SOFIA_LATITUDE, SOFIA_LONGITUDE, 5.0, 120);
+        service.findUpcoming(SOFIA_LATITUDE, SOFIA_LONGITUDE, 5.0, 60);
+
+        verify(courseRepository, times(1)).findLocatedCourses();
+    }
+
+    @Test
+    void findUpcomingRejectsInvalidParameters() {
+        assertThrows(BadRequestException.class, () -> service.findUpcoming(null, SOFIA_LONGITUDE, 5.0, 120));
+        assertThrows(BadRequestException.class, () -> service.findUpcoming(91.0, SOFIA_LONGITUDE, 5.0, 120));
+        assertThrows(BadRequestException.class, () -> service.findUpcoming(SOFIA_LATITUDE, SOFIA_LONGITUDE, 0.0, 120));
+        assertThrows(BadRequestException.class, () -> service.findUpcoming(SOFIA_LATITUDE, SOFIA_LONGITUDE, 500.0, 120));
+        assertThrows(BadRequestException.class, () -> service.findUpcoming(SOFIA_LATITUDE, SOFIA_LONGITUDE, 5.0, 0));
+        assertThrows(BadRequestException.class,
+                () -> service.findUpcoming(SOFIA_LATITUDE, SOFIA_LONGITUDE, 5.0, 8 * 24 * 60));
+        verify(courseRepository, never()).findWithScheduleByIdIn(any());
+    }
+
+    private void stubIndex(List<CourseRepository.CourseLocation> locations, List<Course> courses) {
+        when(courseRepository.findLocatedCourses()).thenReturn(locations);
+        when(courseRepository.findWithScheduleByIdIn(any())).thenAnswer(invocation -> {
+            Collection<?> ids = invocation.getArgument(0);
+            return courses.stream().filter(course -> ids.contains(course.getId())).toList();
+        });
+    }
+
+    private static Course weeklyCourse(Long id, DayOfWeek dayOfWeek, LocalTime start) {
+        Course course = new Course();
+        course.setId(id);
+        course.setName("Course " + id);
+        course.setSchedule(ScheduleExpanderTest.schedule(
+                ScheduleExpanderTest.weekly(dayOfWeek, start, start.plusMinutes(45))));
+        return course;
+    }
+
+    private static CourseRepository.CourseLocation location(Long id, double latitude, double longitude) {
+        return new CourseRepository.CourseLocation() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getLyceumId() {
+                return id;
+            }
+
+            @Override
+            public String getLyceumName() {
+                return "Lyceum " + id;
+            }
+
+            @Override
+            public Double getLatitude() {
+                return latitude;
+            }
+
+            @Override
+            public Double getLongitude() {
+                return longitude;
+            }
+        };
+    }
+}
@@ -1,5 +1,7 @@
 package com.dev.education_nearby_server.services;
 
+import com.dev.education_nearby_server.config.AuthenticatedUser;
+import com.dev.education_nearby_server.config.AuthenticatedUserCache;
 import com.dev.education_nearby_server.config.S3Properties;
 import com.dev.education_nearby_server.enums.ImageRole;
 import com.dev.education_nearby_server.enums.Role;
@@ -13,16 +15,20 @@ import com.dev.education_nearby_server.models.dto.auth.ChangePasswordRequest;
 import com.dev.education_nearby_server.models.dto.request.UserImageRequest;
 import com.dev.education_nearby_server.models.dto.request.UserRoleUpdateRequest;
 import com.dev.education_nearby_server.models.dto.request.UserUpdateRequest;
+import com.dev.education_nearby_server.models.dto.response.CalendarTokenResponse;
 import com.dev.education_nearby_server.models.dto.response.UserResponse;
 import com.dev.education_nearby_server.models.entity.Course;
 import com.dev.education_nearby_server.models.entity.Lyceum;
 import com.dev.education_nearby_server.models.entity.User;
 import com.dev.education_nearby_server.models.entity.UserImage;
+import com.dev.education_nearby_server.repositories.CourseRepository;
+import com.dev.education_nearby_server.repositories.LyceumRepository;
 import com.dev.education_nearby_server.repositories.ReviewRepository;
 import com.dev.education_nearby_server.repositories.TokenRepository;
 import com.dev.education_nearby_server.repositories.UserImageRepository;
 import com.dev.education_nearby_server.repositories.UserReviewRepository;
 import com.dev.education_nearby_server.repositories.UserRepository;
+import com.dev.education_nearby_server.utils.TokenDigests;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -61,6 +67,10 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private CourseRepository courseRepository;
+    @Mock
+    private LyceumRepository lyceumRepository;
+    @Mock
     private ReviewRepository reviewRepository;
     @Mock
     private TokenRepository tokenRepository;
@@ -68,6 +78,10 @@ class UserServiceTest {
     private UserImageRepository userImageRepository;
     @Mock
     private S3Properties s3Properties;
+    @Mock
+    private AuthenticatedUserCache authenticatedUserCache;
+    @Mock
+    private CalendarFeedService calendarFeedService;
 
     @InjectMocks
     private UserService userService;
@@ -176,6 +190,32 @@ class UserServiceTest {
 
         assertThat(user.getPassword()).isEqualTo("new-encoded");
         verify(userRepository).save(any(User.class));
+        verify(authenticatedUserCache).evict(user.getEmail(), user.getUsername());
+    }
+
+    @Test
+    void changePasswordAcceptsCachedPrincipal() {
+        User user = User.builder()
+                .id(1L)
+                .username("cached")
+                .password("encoded")
+                .role(Role.USER)
+                .build();
+        AuthenticatedUser cached = AuthenticatedUser.from(user);
+        Principal principal = new UsernamePasswordAuthenticationToken(cached, null, cached.getAuthorities());
+        ChangePasswordRequest request = ChangePasswordRequest.builder()
+                .currentPassword("old")
+                .newPassword("newPassword123")
+                .confirmationPassword("newPassword123")
+                .build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("old", "encoded")).thenReturn(true);
+        when(passwordEncoder.encode("newPassword123")).thenReturn("new-encoded");
+
+        userService.changePassword(request, principal);
+
+        assertThat(user.getPassword()).isEqualTo("new-encoded");
+        verify(authenticatedUserCache).evict(null, "cached");
     }
 
     @Test
@@ -386,6 +426,33 @@ class UserServiceTest {
         assertThrows(UnauthorizedException.class, () -> userService.getAuthenticatedUser(principal));
     }
 
+    @Test
+    void issueCalendarTokenStoresOnlyDigestAndEvictsCachedFeed() {
+        User user = User.builder().id(11L).role(Role.USER).build();
+        Principal principal = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        when(userRepository.findById(11L)).thenReturn(Optional.of(user));
+
+        CalendarTokenResponse response = userService.issueCalendarToken(11L, principal);
+
+        assertThat(response.getToken()).isNotBlank();
+        assertThat(response.getFeedPath()).isEqualTo("/api/v1/users/11/calendar.ics?token=" + response.getToken());
+        assertThat(user.getCalendarTokenHash()).isEqualTo(TokenDigests.sha256(response.getToken()));
+        verify(userRepository).save(user);
+        verify(calendarFeedService).evict(11L);
+    }
+
+    @Test
+    void issueCalendarTokenRejectsOtherUsers() {
+        User target = User.builder().id(12L).role(Role.USER).build();
+        User actor = User.builder().id(11L).role(Role.USER).build();
+        Principal principal = new UsernamePasswordAuthenticationToken(actor, null, actor.getAuthorities());
+        when(userRepository.findById(12L)).thenReturn(Optional.of(target));
+        when(userRepository.findById(11L)).thenReturn(Optional.of(actor));
+
+        assertThrows(AccessDeniedException.class, () -> userService.issueCalendarToken(12L, principal));
+        verify(calendarFeedService, never()).evict(any());
+    }
+
     @Test
     void updateUserUpdatesSelfProfile() {
         User user = User.builder()
@@ -420,6 +487,8 @@ class UserServiceTest {
         assertThat(response.getUsername()).isEqualTo("new-user");
         assertThat(response.getDescription()).isEqualTo("Updated");
         verify(userRepository).save(user);
+        verify(authenticatedUserCache).evict("old@example.com", "old-user");
+        verify(authenticatedUserCache).evict("new@example.com", "new-user");
     }
 
     @Test
@@ -518,6 +587,7 @@ class UserServiceTest {
         assertThat(target.getRole()).isEqualTo(Role.ADMIN);
         assertThat(response.getRole()).isEqualTo(Role.ADMIN);
         verify(userRepository).save(target);
+        verify(authenticatedUserCache).evict("target@example.com", "target");
     }
 
     @Test
@@ -544,7 +614,10 @@ class UserServiceTest {
 
         verify(tokenRepository).deleteAllByUser_Id(30L);
         verify(reviewRepository).deleteAllByUser_Id(30L);
+        verify(courseRepository).decrementSubscriberCountsOfUser(30L);
+        verify(lyceumRepository).decrementSubscriberCountsOfUser(30L);
         verify(userRepository).delete(user);
+        verify(authenticatedUserCache).evict(null, null);
     }
 
     @Test
@@ -575,6 +648,7 @@ class UserServiceTest {
         assertThrows(AccessDeniedException.class, () -> userService.deleteUser(32L, principal));
         verify(tokenRepository, never()).deleteAllByUser_Id(anyLong());
         verify(reviewRepository, never()).deleteAllByUser_Id(anyLong());
+        verify(courseRepository, never()).decrementSubscriberCountsOfUser(anyLong());
         verify(userRepository, never()).delete(any(User.class));
     }
 
@@ -22,6 +22,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -242,7 +243,7 @@ class OAuth2AuthenticationServiceTest {
                 .registrationToken("token")
                 .username("user123")
                 .build();
-        when(jwtService.extractAllClaims("token")).thenThrow(new RuntimeException("broken token"));
+        when(jwtService.parseToken("token")).thenThrow(new RuntimeException("broken token"));
 
         UnauthorizedException ex = assertThrows(UnauthorizedException.class,
                 () -> service.completeRegistration(request));
@@ -257,7 +258,7 @@ class OAuth2AuthenticationServiceTest {
                 .username("user123")
                 .build();
         Claims claims = claims("WRONG_TYPE", "GOOGLE", "provider-id", "email@example.com", "A", "B", true);
-        when(jwtService.extractAllClaims("token")).thenReturn(claims);
+        when(jwtService.parseToken("token")).thenReturn(parsedToken(claims, false));
 
         UnauthorizedException ex = assertThrows(UnauthorizedException.class,
                 () -> service.completeRegistration(request));
@@ -272,8 +273,7 @@ class OAuth2AuthenticationServiceTest {
                 .username("user123")
                 .build();
         Claims claims = claims("OAUTH2_REGISTRATION", "GOOGLE", "provider-id", "email@example.com", "A", "B", true);
-        when(jwtService.extractAllClaims("token")).thenReturn(claims);
-        when(jwtService.isTokenExpired("token")).thenReturn(true);
+        when(jwtService.parseToken("token")).thenReturn(parsedToken(claims, true));
 
         UnauthorizedException ex = assertThrows(UnauthorizedException.class,
                 () -> service.completeRegistration(request));
@@ -291,8 +291,7 @@ class OAuth2AuthenticationServiceTest {
                 .lastname("B")
                 .build();
         Claims claims = claims("OAUTH2_REGISTRATION", "GOOGLE", "provider-id", "email@example.com", "A", "B", true);
-        when(jwtService.extractAllClaims("token")).thenReturn(claims);
-        when(jwtService.isTokenExpired("token")).thenReturn(false);
+        when(jwtService.parseToken("token")).thenReturn(parsedToken(claims, false));
 
         BadRequestException ex = assertThrows(BadRequestException.class,
                 () -> service.completeRegistration(request));
@@ -310,8 +309,7 @@ class OAuth2AuthenticationServiceTest {
                 .lastname("B")
                 .build();
         Claims claims = claims("OAUTH2_REGISTRATION", "GOOGLE", "provider-id", "email@example.com", "A", "B", true);
-        when(jwtService.extractAllClaims("token")).thenReturn(claims);
-        when(jwtService.isTokenExpired("token")).thenReturn(false);
+        when(jwtService.parseToken("token")).thenReturn(parsedToken(claims, false));
 
         BadRequestException ex = assertThrows(BadRequestException.class,
                 () -> service.completeRegistration(request));
@@ -326,8 +324,7 @@ class OAuth2AuthenticationServiceTest {
                 .username("validusername")
                 .build();
         Claims claims = claims("OAUTH2_REGISTRATION", "GOOGLE", "provider-id", null, null, null, false);
-        when(jwtService.extractAllClaims("token")).thenReturn(claims);
-        when(jwtService.isTokenExpired("token")).thenReturn(false);
+        when(jwtService.parseToken("token")).thenReturn(parsedToken(claims, false));
 
         BadRequestException ex = assertThrows(BadRequestException.class,
                 () -> service.completeRegistration(request));
@@ -345,8 +342,7 @@ class OAuth2AuthenticationServiceTest {
                 .lastname("B")
                 .build();
         Claims claims = claims("OAUTH2_REGISTRATION", "GOOGLE", "provider-id", "email@example.com", "A", "B", true);
-        when(jwtService.extractAllClaims("token")).thenReturn(claims);
-        when(jwtService.isTokenExpired("token")).thenReturn(false);
+        when(jwtService.parseToken("token")).thenReturn(parsedToken(claims, false));
         when(userRepository.findByUsername("existing-user")).thenReturn(Optional.of(User.builder().id(1L).build()));
 
         ConflictException ex = assertThrows(ConflictException.class,
@@ -365,8 +361,7 @@ class OAuth2AuthenticationServiceTest {
                 .lastname("B")
                 .build();
         Claims claims = claims("OAUTH2_REGISTRATION", "GOOGLE", "provider-id", "email@example.com", "A", "B", true);
-        when(jwtService.extractAllClaims("token")).thenReturn(claims);
-        when(jwtService.isTokenExpired("token")).thenReturn(false);
+        when(jwtService.parseToken("token")).thenReturn(parsedToken(claims, false));
         when(userRepository.findByUsername("new-user")).thenReturn(Optional.empty());
         when(userRepository.findByEmailIgnoreCase("existing@example.com"))
                 .thenReturn(Optional.of(User.builder().id(2L).build()));
@@ -398,8 +393,7 @@ class OAuth2AuthenticationServiceTest {
                 .refreshToken("refresh")
                 .build();
 
-        when(jwtService.extractAllClaims("token")).thenReturn(claims);
-        when(jwtService.isTokenExpired("token")).thenReturn(false);
+        when(jwtService.parseToken("token")).thenReturn(parsedToken(claims, false));
         when(userRepository.findByUsername("new-user")).thenReturn(Optional.empty());
         when(userRepository.findByEmailIgnoreCase("email@example.com")).thenReturn(Optional.empty());
         when(userRepository.findByAuthProviderAndAuthProviderId(AuthProvider.GOOGLE, "provider-id"))
@@ -429,8 +423,7 @@ class OAuth2AuthenticationServiceTest {
                 .authProviderId("provider-id")
                 .build();
 
-        when(jwtService.extractAllClaims("token")).thenReturn(claims);
-        when(jwtService.isTokenExpired("token")).thenReturn(false);
+        when(jwtService.parseToken("token")).thenReturn(parsedToken(claims, false));
         when(userRepository.findByUsername("new-user")).thenReturn(Optional.empty());
         when(userRepository.findByEmailIgnoreCase("email@example.com")).thenReturn(Optional.empty());
         when(userRepository.findByAuthProviderAndAuthProviderId(AuthProvider.GOOGLE, "provider-id"))
@@ -459,8 +452,7 @@ class OAuth2AuthenticationServiceTest {
                 .refreshToken("refresh")
                 .build();
 
-        when(jwtService.extractAllClaims("token")).thenReturn(claims);
-        when(jwtService.isTokenExpired("token")).thenReturn(false);
+        when(jwtService.parseToken("token")).thenReturn(parsedToken(claims, false));
         when(userRepository.findByUsername("new-user")).thenReturn(Optional.empty());
         when(userRepository.findByEmailIgnoreCase("new-email@example.com")).thenReturn(Optional.empty());
         when(userRepository.findByAuthProviderAndAuthProviderId(AuthProvider.GOOGLE, "provider-id"))
@@ -507,8 +499,7 @@ class OAuth2AuthenticationServiceTest {
                 .refreshToken("refresh")
                 .build();
 
-        when(jwtService.extractAllClaims("token")).thenReturn(claims);
-        when(jwtService.isTokenExpired("token")).thenReturn(false);
+        when(jwtService.parseToken("token")).thenReturn(parsedToken(claims, false));
         when(userRepository.findByUsername("new-user")).thenReturn(Optional.empty());
         when(userRepository.findByEmailIgnoreCase("from-token@example.com")).thenReturn(Optional.empty());
         when(userRepository.findByAuthProviderAndAuthProviderId(AuthProvider.GOOGLE, "provider-id"))
@@ -536,8 +527,7 @@ class OAuth2AuthenticationServiceTest {
                 .build();
         Claims claims = claims("OAUTH2_REGISTRATION", "INVALID_PROVIDER", "provider-id",
                 "mail@example.com", "A", "B", true);
-        when(jwtService.extractAllClaims("token")).thenReturn(claims);
-        when(jwtService.isTokenExpired("token")).thenReturn(false);
+        when(jwtService.parseToken("token")).thenReturn(parsedToken(claims, false));
 
         UnauthorizedException ex = assertThrows(UnauthorizedException.class,
                 () -> service.completeRegistration(request));
@@ -554,8 +544,7 @@ class OAuth2AuthenticationServiceTest {
                 .build();
         Claims claims = claims("OAUTH2_REGISTRATION", "GOOGLE", "   ",
                 "mail@example.com", "A", "B", true);
-        when(jwtService.extractAllClaims("token")).thenReturn(claims);
-        when(jwtService.isTokenExpired("token")).thenReturn(false);
+        when(jwtService.parseToken("token")).thenReturn(parsedToken(claims, false));
 
         UnauthorizedException ex = assertThrows(UnauthorizedException.class,
                 () -> service.completeRegistration(request));
@@ -589,4 +578,9 @@ class OAuth2AuthenticationServiceTest {
         claims.put("email_verified", emailVerified);
         return Jwts.claims(claims);
     }
+
+    private JwtService.ParsedToken parsedToken(Claims claims, boolean expired) {
+        long offset = expired ? -60_000L : 60_000L;
+        return new JwtService.ParsedToken(claims.getSubject(), new Date(System.currentTimeMillis() + offset), claims);
+    }
 }
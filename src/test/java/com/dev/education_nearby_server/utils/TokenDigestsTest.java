@@ -0,0 +1,57 @@
+package com.dev.education_nearby_server.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TokenDigestsTest {
+
+    private static final String TEST_SECRET = "test-token-digest-secret";
+
+    @AfterEach
+    void restoreSecret() {
+        TokenDigests.useSecret(TEST_SECRET);
+    }
+
+    @Test
+    void hmacMatchesRfc4231Vector() {
+        TokenDigests.useSecret("Jefe");
+
+        assertThat(HexFormat.of().formatHex(TokenDigests.hmac("what do ya want for nothing?")))
+                .isEqualTo("5bdcc146bf60754e6a042426089575c75a003f089d2739839dec58b964ec3843");
+    }
+
+    @Test
+    void hmacDependsOnSecret() {
+        TokenDigests.useSecret("first-secret");
+        byte[] first = TokenDigests.hmac("123456");
+        TokenDigests.useSecret("second-secret");
+        byte[] second = TokenDigests.hmac("123456");
+
+        assertThat(first).hasSize(TokenDigests.LENGTH);
+        assertThat(second).hasSize(TokenDigests.LENGTH);
+        assertThat(first).isNotEqualTo(second);
+        assertThat(first).isNotEqualTo(TokenDigests.sha256("123456"));
+    }
+
+    @Test
+    void hmacIsStableForSameSecret() {
+        assertThat(TokenDigests.hmac("reset-code")).isEqualTo(TokenDigests.hmac("reset-code"));
+    }
+
+    @Test
+    void useSecretRejectsBlankSecret() {
+        assertThrows(IllegalArgumentException.class, () -> TokenDigests.useSecret(" "));
+        assertThrows(IllegalArgumentException.class, () -> TokenDigests.useSecret(null));
+    }
+
+    @Test
+    void sha256MatchesKnownDigest() {
+        assertThat(HexFormat.of().formatHex(TokenDigests.sha256("abc")))
+                .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+}